@@ -0,0 +1,93 @@
+package com.paf.exercise.benchmark;
+
+import com.paf.exercise.entity.Tournament;
+import com.paf.exercise.service.TournamentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP load comparison of the blocking API under /api and the reactive one under /api/reactive, both served by the
+ * same Tomcat against the same database. Many client threads hit the uncached keyset page and player registration so
+ * the numbers reflect each stack's database path rather than the blocking API's read cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(32)
+@Fork(1)
+public class ApiLoadBenchmark {
+    private static final int TOURNAMENTS = 200;
+
+    @Param({"/api", "/api/reactive"})
+    public String api;
+
+    @Param({"10", "100"})
+    public int players;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUrl;
+    private String tournamentId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(WebApplicationType.SERVLET);
+        TournamentService tournamentService = context.getBean(TournamentService.class);
+        Tournament tournament = null;
+        for (int i = 0; i < TOURNAMENTS; i++) {
+            tournament = BenchmarkContext.createTournament(tournamentService, players);
+        }
+        tournamentId = tournament.getTournamentId();
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + api;
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int tournamentsPage() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/getTournamentsPage?size=20")).GET().build());
+    }
+
+    @Benchmark
+    public int addPlayer() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/addPlayerIntoTournament?tournamentId=" + tournamentId))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"playerName\":\"Load Test Player\"}"))
+                .build());
+    }
+
+    private int send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode() + " for " + request.uri());
+        }
+        return response.body().length;
+    }
+}
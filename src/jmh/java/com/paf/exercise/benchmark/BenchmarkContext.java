@@ -0,0 +1,54 @@
+package com.paf.exercise.benchmark;
+
+import com.paf.exercise.ExerciseApplication;
+import com.paf.exercise.dto.BulkRegistrationRequest;
+import com.paf.exercise.dto.PlayerRequest;
+import com.paf.exercise.dto.TournamentRequest;
+import com.paf.exercise.entity.Tournament;
+import com.paf.exercise.service.TournamentService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Boots the application against its own in-memory H2 database, so every benchmark trial starts from an empty schema
+ * and runs the same service and repository beans as production.
+ */
+final class BenchmarkContext {
+    private static final int SEED_CHUNK_SIZE = 1_000;
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        return start(WebApplicationType.NONE);
+    }
+
+    //With a servlet web application the server listens on a random port, see local.server.port
+    static ConfigurableApplicationContext start(WebApplicationType webApplicationType) {
+        return new SpringApplicationBuilder(ExerciseApplication.class)
+                .web(webApplicationType)
+                //Passed as command line arguments so they take precedence over application.properties
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;LOCK_TIMEOUT=10000",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN");
+    }
+
+    static Tournament createTournament(TournamentService tournamentService, int players) {
+        Tournament tournament = tournamentService.addTournament(new TournamentRequest("Benchmark " + UUID.randomUUID(), 1000, "EUR", new ArrayList<>()));
+        for (int offset = 0; offset < players; offset += SEED_CHUNK_SIZE) {
+            List<PlayerRequest> chunk = new ArrayList<>();
+            for (int i = offset; i < Math.min(players, offset + SEED_CHUNK_SIZE); i++) {
+                chunk.add(new PlayerRequest("Player " + i));
+            }
+            tournamentService.registerPlayers(List.of(new BulkRegistrationRequest(tournament.getTournamentId(), chunk)));
+        }
+        return tournament;
+    }
+}
@@ -0,0 +1,94 @@
+package com.paf.exercise.benchmark;
+
+import com.paf.exercise.identifier.Uuids;
+import com.paf.exercise.repository.PlayerRepository;
+import com.paf.exercise.repository.TournamentRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Id lookups by tournament and player business key with {@code rows} tournaments and players in the tables. Backed by
+ * the unique indexes, the time per lookup should stay flat from the smallest to the largest table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BusinessKeyLookupBenchmark {
+    private static final int SEED_BATCH_SIZE = 5_000;
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private TournamentRepository tournamentRepository;
+    private PlayerRepository playerRepository;
+    private final List<String> tournamentIds = new ArrayList<>();
+    private final List<String> playerIds = new ArrayList<>();
+    private int next;
+
+    //Seeded with plain JDBC batches, going through the service would take minutes for the largest tables
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        tournamentRepository = context.getBean(TournamentRepository.class);
+        playerRepository = context.getBean(PlayerRepository.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        for (int offset = 0; offset < rows; offset += SEED_BATCH_SIZE) {
+            int batch = Math.min(SEED_BATCH_SIZE, rows - offset);
+            List<Object[]> tournaments = new ArrayList<>(batch);
+            List<Object[]> players = new ArrayList<>(batch);
+            for (int i = 0; i < batch; i++) {
+                String tournamentId = Uuids.timeOrdered().toString();
+                String playerId = Uuids.timeOrdered().toString();
+                tournamentIds.add(tournamentId);
+                playerIds.add(playerId);
+                tournaments.add(new Object[]{Uuids.toBytes(tournamentId), "Tournament " + tournamentId, 100, "EUR"});
+                players.add(new Object[]{Uuids.toBytes(playerId), "Player " + playerId});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO TOURNAMENT_TBL (TOURNAMENT_ID, TOURNAMENT_NAME, REWARD_AMOUNT, CURRENCY, VERSION, PLAYER_COUNT, CREATED_AT) VALUES (?, ?, ?, ?, 0, 0, LOCALTIMESTAMP)", tournaments);
+            jdbcTemplate.batchUpdate("INSERT INTO PLAYERS_TBL (PLAYER_ID, PLAYER_NAME) VALUES (?, ?)", players);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    //Walks the keys with a large stride so consecutive lookups land far apart in the index
+    @Benchmark
+    public Optional<Long> lookupTournamentId() {
+        return tournamentRepository.findIdByTournamentId(tournamentIds.get(nextIndex()));
+    }
+
+    @Benchmark
+    public Optional<Long> lookupPlayerId() {
+        return playerRepository.findIdByPlayerId(playerIds.get(nextIndex()));
+    }
+
+    private int nextIndex() {
+        next = (next + 7919) % rows;
+        return next;
+    }
+}
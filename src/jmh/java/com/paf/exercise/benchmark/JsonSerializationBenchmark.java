@@ -0,0 +1,67 @@
+package com.paf.exercise.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.paf.exercise.entity.Player;
+import com.paf.exercise.entity.Tournament;
+import com.paf.exercise.identifier.Uuids;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the response entities with a roster of {@code players} entries, using pre-built writers
+ * the way the controller's message converters do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+    @Param({"10", "1000", "10000"})
+    public int players;
+
+    private ObjectWriter tournamentWriter;
+    private ObjectWriter playerWriter;
+    private Tournament tournament;
+    private Player player;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        tournamentWriter = objectMapper.writerFor(Tournament.class);
+        playerWriter = objectMapper.writerFor(Player.class);
+        List<Player> roster = new ArrayList<>(players);
+        for (int i = 0; i < players; i++) {
+            roster.add(new Player(i, Uuids.timeOrdered().toString(), "Player " + i));
+        }
+        tournament = new Tournament(1L, Uuids.timeOrdered().toString(), "Benchmark", 1000, "EUR", roster);
+        player = roster.get(0);
+    }
+
+    @Benchmark
+    public byte[] serializeTournament() throws JsonProcessingException {
+        return tournamentWriter.writeValueAsBytes(tournament);
+    }
+
+    @Benchmark
+    public byte[] serializePlayer() throws JsonProcessingException {
+        return playerWriter.writeValueAsBytes(player);
+    }
+}
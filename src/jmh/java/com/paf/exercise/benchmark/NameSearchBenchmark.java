@@ -0,0 +1,63 @@
+package com.paf.exercise.benchmark;
+
+import com.paf.exercise.search.IndexEntry;
+import com.paf.exercise.search.NameIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Name search over {@code names} generated player names of two syllable words, from a one letter prefix matching a
+ * large share of the names to a full two word name matching a handful.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NameSearchBenchmark {
+    private static final String[] SYLLABLES = {"an", "be", "ca", "do", "el", "fi", "ga", "ho", "is", "ju", "ka", "lo",
+            "ma", "ne", "or", "pa", "qu", "ri", "sa", "to", "ul", "vi", "wa", "xe", "yo", "za"};
+
+    @Param({"100000", "1000000"})
+    public int names;
+
+    @Param({"m", "mane", "mane ri", "mane rito"})
+    public String query;
+
+    private NameIndex nameIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        nameIndex = new NameIndex();
+        Random random = new Random(42);
+        for (int i = 0; i < names; i++) {
+            nameIndex.put(IndexEntry.player("tournament-" + i / 100, "player-" + i, word(random) + " " + word(random)));
+        }
+    }
+
+    @Benchmark
+    public List<IndexEntry> search() {
+        return nameIndex.search(query, null, 1000);
+    }
+
+    private static String word(Random random) {
+        String first = SYLLABLES[random.nextInt(SYLLABLES.length)];
+        String second = SYLLABLES[random.nextInt(SYLLABLES.length)];
+        return Character.toUpperCase(first.charAt(0)) + first.substring(1) + second + SYLLABLES[random.nextInt(SYLLABLES.length)];
+    }
+}
@@ -0,0 +1,80 @@
+package com.paf.exercise.benchmark;
+
+import com.paf.exercise.payout.PayoutCalculator;
+import com.paf.exercise.payout.PayoutTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Payouts of a {@code players} field with plenty of ties, from the winner-takes-all and top-3 tables to a table paying
+ * the top 14625 places. The BigDecimal variant computes the same place amounts the way a per-player decimal
+ * implementation would, as a baseline for the long arithmetic of the calculator.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayoutBenchmark {
+    private static final long POOL = 2_000_000_000L * 100;
+
+    @Param({"1000", "100000"})
+    public int players;
+
+    @Param({"1:100%", "1:50%,2:30%,3:20%", "1:5%,2:3%,3:2%,4-100:0.2%,101-1000:0.03%,1001-14625:0.0032%"})
+    public String table;
+
+    private PayoutTable payoutTable;
+    private long[] scores;
+    private long[] payouts;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        payoutTable = PayoutTable.parse(table);
+        Random random = new Random(42);
+        scores = new long[players];
+        for (int i = 0; i < players; i++) {
+            scores[i] = -random.nextInt(players / 4);
+        }
+        Arrays.sort(scores);
+        for (int i = 0; i < players; i++) {
+            scores[i] = -scores[i];
+        }
+        payouts = new long[players];
+    }
+
+    @Benchmark
+    public int distribute() {
+        return PayoutCalculator.distribute(POOL, payoutTable, scores, players, payouts);
+    }
+
+    @Benchmark
+    public BigDecimal[] bigDecimalPlaces() {
+        int paid = Math.min(payoutTable.places(), players);
+        BigDecimal pool = BigDecimal.valueOf(POOL);
+        BigDecimal whole = BigDecimal.valueOf(PayoutTable.WHOLE);
+        BigDecimal[] amounts = new BigDecimal[paid];
+        for (int place = 0; place < paid; place++) {
+            BigDecimal share = BigDecimal.valueOf(payoutTable.shareOfPlace(place + 1));
+            amounts[place] = pool.multiply(share).divide(whole, 0, RoundingMode.DOWN);
+        }
+        return amounts;
+    }
+}
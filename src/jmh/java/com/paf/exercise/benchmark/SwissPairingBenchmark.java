@@ -0,0 +1,57 @@
+package com.paf.exercise.benchmark;
+
+import com.paf.exercise.bracket.BracketFormat;
+import com.paf.exercise.bracket.Schedule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pairing one Swiss round of a {@code players} field after {@code playedRounds} rounds of random results, when the
+ * score groups are mixed and the rematch checks matter. Each invocation pairs a fresh copy of the same position.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SwissPairingBenchmark {
+    @Param({"1000", "10000"})
+    public int players;
+
+    @Param({"0", "8"})
+    public int playedRounds;
+
+    private Schedule schedule;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        schedule = BracketFormat.SWISS.create(players, playedRounds + 1);
+        Random random = new Random(42);
+        for (int round = 0; round < playedRounds; round++) {
+            int[] pairs = schedule.nextRound();
+            for (int i = 0; i < pairs.length; i += 2) {
+                boolean first = random.nextBoolean();
+                schedule.recordResult(first ? pairs[i] : pairs[i + 1], first ? pairs[i + 1] : pairs[i]);
+            }
+        }
+    }
+
+    @Benchmark
+    public int[] pairRound() {
+        return schedule.nextRound();
+    }
+}
@@ -0,0 +1,102 @@
+package com.paf.exercise.benchmark;
+
+import com.paf.exercise.dto.PlayerRequest;
+import com.paf.exercise.dto.TournamentRequest;
+import com.paf.exercise.entity.Player;
+import com.paf.exercise.entity.Tournament;
+import com.paf.exercise.exceptions.PlayerNotFoundException;
+import com.paf.exercise.exceptions.TournamentNotFoundException;
+import com.paf.exercise.repository.TournamentRepository;
+import com.paf.exercise.service.TournamentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service hot paths against embedded H2 with a roster of {@code players} entries and {@code tournaments} other
+ * tournaments in the table. Cached reads go through the service, uncached ones through the fetch-join repository
+ * query the service falls back to on a miss.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TournamentServiceBenchmark {
+    @Param({"10", "1000", "10000"})
+    public int players;
+
+    @Param({"100", "10000"})
+    public int tournaments;
+
+    private ConfigurableApplicationContext context;
+    private TournamentService tournamentService;
+    private TournamentRepository tournamentRepository;
+    private TransactionTemplate transactionTemplate;
+    private String tournamentId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        tournamentService = context.getBean(TournamentService.class);
+        tournamentRepository = context.getBean(TournamentRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        for (int i = 0; i < tournaments; i++) {
+            tournamentService.addTournament(new TournamentRequest("Filler " + i, 100, "EUR", new ArrayList<>()));
+        }
+        tournamentId = BenchmarkContext.createTournament(tournamentService, players).getTournamentId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Tournament createTournament() {
+        return tournamentService.addTournament(new TournamentRequest(UUID.randomUUID().toString(), 1000, "EUR", new ArrayList<>()));
+    }
+
+    @Benchmark
+    public Tournament lookupCached() throws TournamentNotFoundException {
+        return tournamentService.getTournament(tournamentId);
+    }
+
+    //Add and remove in one operation so the roster keeps its size across iterations
+    @Benchmark
+    public Tournament addAndRemovePlayer() throws TournamentNotFoundException, PlayerNotFoundException {
+        Tournament tournament = tournamentService.addPlayerIntoTournament(tournamentId, new PlayerRequest("Transient Player"));
+        Player added = tournament.getPlayers().get(tournament.getPlayers().size() - 1);
+        tournamentService.removePlayerFromTournament(tournamentId, added.getPlayerId());
+        return tournament;
+    }
+
+    //The fetch-join query behind getTournament and getPlayersInTournament on a cache miss
+    @Benchmark
+    public List<Player> listPlayersUncached() {
+        return transactionTemplate.execute(status -> tournamentRepository.findWithPlayersByTournamentId(tournamentId).orElseThrow().getPlayers());
+    }
+
+    @Benchmark
+    public List<Tournament> listTournamentsPage() {
+        return tournamentService.getTournamentsPage(null, null).getTournaments();
+    }
+}
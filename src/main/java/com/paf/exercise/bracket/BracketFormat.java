@@ -0,0 +1,25 @@
+package com.paf.exercise.bracket;
+
+public enum BracketFormat {
+    SINGLE_ELIMINATION,
+    DOUBLE_ELIMINATION,
+    ROUND_ROBIN,
+    SWISS;
+
+    //Rounds only applies to Swiss, null plays enough rounds to leave a single unbeaten player
+    public Schedule create(int players, Integer rounds) {
+        if (players < 2) {
+            throw new IllegalArgumentException("A bracket needs at least 2 players, got " + players);
+        }
+        switch (this) {
+            case SINGLE_ELIMINATION:
+                return new EliminationSchedule(players, false);
+            case DOUBLE_ELIMINATION:
+                return new EliminationSchedule(players, true);
+            case ROUND_ROBIN:
+                return new RoundRobinSchedule(players);
+            default:
+                return new SwissSchedule(players, rounds == null ? 32 - Integer.numberOfLeadingZeros(players - 1) : rounds);
+        }
+    }
+}
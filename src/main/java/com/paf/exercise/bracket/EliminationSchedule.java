@@ -0,0 +1,220 @@
+package com.paf.exercise.bracket;
+
+import java.util.Arrays;
+
+/**
+ * Single or double elimination. The winners bracket is seeded so the top seeds meet last, 1 v 16, 8 v 9 and so on,
+ * and the top seeds get the byes when the field is not a power of two. In double elimination the losers of the
+ * winners bracket drop into the losers bracket, where they meet the losers bracket survivors in reverse order to put
+ * off rematches, and the survivors play each other until they are few enough for the next drop. The two bracket
+ * winners meet in the grand final, replayed once if the losers bracket winner takes it. Rounds are played one after
+ * the other, a losers bracket round is never played alongside a winners bracket round.
+ */
+final class EliminationSchedule implements Schedule {
+    private static final int BYE = -1;
+
+    private enum Stage {
+        WINNERS,
+        LOSERS_DROP,
+        LOSERS,
+        FINAL
+    }
+
+    private final boolean doubleElimination;
+    private final int[] matchOf;
+    //Players still in the winners bracket in bracket order, the players still in the losers bracket and the
+    //players who just lost their first match in the winners bracket
+    private int[] winners;
+    private int[] losers = new int[0];
+    private int[] dropped = new int[0];
+    //Current round, BYE in a slot advances the other player of the pair without a match
+    private Stage stage;
+    private int[] slots;
+    private int[] results;
+    private int pending;
+    private int winner = BYE;
+
+    EliminationSchedule(int players, boolean doubleElimination) {
+        this.doubleElimination = doubleElimination;
+        this.matchOf = new int[players];
+        int size = Integer.highestOneBit(players) == players ? players : Integer.highestOneBit(players) << 1;
+        winners = new int[size];
+        int[] seeds = seedOrder(size);
+        for (int i = 0; i < size; i++) {
+            winners[i] = seeds[i] < players ? seeds[i] : BYE;
+        }
+    }
+
+    @Override
+    public int[] nextRound() {
+        if (pending > 0) {
+            throw new IllegalStateException("The current round still has " + pending + " matches without a result");
+        }
+        if (stage != null) {
+            closeRound();
+        }
+        stage = nextStage();
+        if (stage == null) {
+            slots = new int[0];
+            return new int[0];
+        }
+        slots = pairings(stage);
+        results = new int[slots.length / 2];
+        Arrays.fill(results, BYE);
+        int[] round = new int[slots.length];
+        int matches = 0;
+        for (int pair = 0; pair < results.length; pair++) {
+            int a = slots[2 * pair];
+            int b = slots[2 * pair + 1];
+            if (a != BYE && b != BYE) {
+                matchOf[a] = pair;
+                matchOf[b] = pair;
+                round[2 * matches] = a;
+                round[2 * matches + 1] = b;
+                matches++;
+            }
+        }
+        pending = matches;
+        return Arrays.copyOf(round, 2 * matches);
+    }
+
+    @Override
+    public void recordResult(int winner, int loser) {
+        int pair = matchOf[winner];
+        if (stage == null || pair >= results.length || matchOf[loser] != pair || results[pair] != BYE
+                || !((slots[2 * pair] == winner && slots[2 * pair + 1] == loser) || (slots[2 * pair] == loser && slots[2 * pair + 1] == winner))) {
+            throw new IllegalArgumentException("No open match between players " + winner + " and " + loser + " in the current round");
+        }
+        results[pair] = winner;
+        pending--;
+    }
+
+    @Override
+    public int winner() {
+        return winner;
+    }
+
+    private Stage nextStage() {
+        int alive = alive(winners);
+        if (!doubleElimination) {
+            if (alive == 1) {
+                winner = first(winners);
+            }
+            return alive >= 2 ? Stage.WINNERS : null;
+        }
+        if (dropped.length > 0) {
+            if (losers.length > 0) {
+                return Stage.LOSERS_DROP;
+            }
+            losers = dropped;
+            dropped = new int[0];
+        }
+        if (alive >= 2 && losers.length <= alive / 2) {
+            return Stage.WINNERS;
+        }
+        if (losers.length >= 2) {
+            return Stage.LOSERS;
+        }
+        if (alive == 1 && losers.length == 1) {
+            return Stage.FINAL;
+        }
+        winner = alive == 1 ? first(winners) : losers[0];
+        return null;
+    }
+
+    private int[] pairings(Stage stage) {
+        switch (stage) {
+            case WINNERS:
+                return winners;
+            case LOSERS_DROP:
+                //Survivors meet the dropped players in reverse order, the longer list's extra players advance
+                int pairs = Math.max(losers.length, dropped.length);
+                int[] drop = new int[pairs * 2];
+                for (int i = 0; i < pairs; i++) {
+                    drop[2 * i] = i < losers.length ? losers[i] : BYE;
+                    drop[2 * i + 1] = i < dropped.length ? dropped[dropped.length - 1 - i] : BYE;
+                }
+                return drop;
+            case LOSERS:
+                int[] survivors = Arrays.copyOf(losers, losers.length + losers.length % 2);
+                if (losers.length % 2 == 1) {
+                    survivors[losers.length] = BYE;
+                }
+                return survivors;
+            default:
+                return new int[]{first(winners), losers[0]};
+        }
+    }
+
+    private void closeRound() {
+        int pairs = slots.length / 2;
+        int[] advancing = new int[pairs];
+        int[] beaten = new int[pairs];
+        int beatenCount = 0;
+        for (int pair = 0; pair < pairs; pair++) {
+            int a = slots[2 * pair];
+            int b = slots[2 * pair + 1];
+            if (a == BYE || b == BYE) {
+                advancing[pair] = a == BYE ? b : a;
+            } else {
+                advancing[pair] = results[pair];
+                beaten[beatenCount++] = results[pair] == a ? b : a;
+            }
+        }
+        switch (stage) {
+            case WINNERS:
+                winners = advancing;
+                dropped = doubleElimination ? Arrays.copyOf(beaten, beatenCount) : new int[0];
+                break;
+            case LOSERS_DROP:
+                losers = advancing;
+                dropped = new int[0];
+                break;
+            case LOSERS:
+                losers = advancing;
+                break;
+            default:
+                //The winners bracket winner takes its first loss in the grand final and plays it again
+                if (advancing[0] == slots[1]) {
+                    winners = new int[0];
+                    dropped = new int[]{slots[0]};
+                } else {
+                    losers = new int[0];
+                }
+                break;
+        }
+    }
+
+    //Seeds 0 to size - 1 in bracket order, seed s of the first round meets seed size - 1 - s
+    private static int[] seedOrder(int size) {
+        int[] order = {0};
+        while (order.length < size) {
+            int[] next = new int[order.length * 2];
+            for (int i = 0; i < order.length; i++) {
+                next[2 * i] = order[i];
+                next[2 * i + 1] = order.length * 2 - 1 - order[i];
+            }
+            order = next;
+        }
+        return order;
+    }
+
+    private static int alive(int[] players) {
+        int alive = 0;
+        for (int player : players) {
+            if (player != BYE) {
+                alive++;
+            }
+        }
+        return alive;
+    }
+
+    private static int first(int[] players) {
+        for (int player : players) {
+            if (player != BYE) {
+                return player;
+            }
+        }
+        return BYE;
+    }
+}
@@ -0,0 +1,74 @@
+package com.paf.exercise.bracket;
+
+import java.util.Arrays;
+
+/**
+ * Everybody plays everybody once, paired with the circle method: the first player stays put and the others rotate
+ * one place a round, so n - 1 rounds (n for an odd field, where the player drawn against the empty seat sits out)
+ * cover every pairing exactly once. The winner is the player with the most wins, the higher seed on equal wins.
+ */
+final class RoundRobinSchedule implements Schedule {
+    private final int players;
+    private final int seats;
+    private final int[] wins;
+    private int round;
+    private int pending;
+
+    RoundRobinSchedule(int players) {
+        this.players = players;
+        this.seats = players + players % 2;
+        this.wins = new int[players];
+    }
+
+    @Override
+    public int[] nextRound() {
+        if (pending > 0) {
+            throw new IllegalStateException("The current round still has " + pending + " matches without a result");
+        }
+        if (round == seats - 1) {
+            return new int[0];
+        }
+        int[] pairs = new int[seats];
+        int matches = 0;
+        for (int i = 0; i < seats / 2; i++) {
+            int a = seat(i);
+            int b = seat(seats - 1 - i);
+            if (a < players && b < players) {
+                pairs[2 * matches] = a;
+                pairs[2 * matches + 1] = b;
+                matches++;
+            }
+        }
+        round++;
+        pending = matches;
+        return Arrays.copyOf(pairs, 2 * matches);
+    }
+
+    @Override
+    public void recordResult(int winner, int loser) {
+        if (pending == 0) {
+            throw new IllegalArgumentException("No open match between players " + winner + " and " + loser + " in the current round");
+        }
+        wins[winner]++;
+        pending--;
+    }
+
+    @Override
+    public int winner() {
+        if (round < seats - 1 || pending > 0) {
+            return -1;
+        }
+        int winner = 0;
+        for (int player = 1; player < players; player++) {
+            if (wins[player] > wins[winner]) {
+                winner = player;
+            }
+        }
+        return winner;
+    }
+
+    //Player in a seat of the current round, seat 0 never moves
+    private int seat(int seat) {
+        return seat == 0 ? 0 : (seat - 1 + round) % (seats - 1) + 1;
+    }
+}
@@ -0,0 +1,18 @@
+package com.paf.exercise.bracket;
+
+/**
+ * Pairings of one tournament format, round by round. Players are the indexes 0 to n - 1 in seed order, so the engines
+ * work on primitive arrays and the service maps indexes back to player ids. Every result of a round has to be recorded
+ * before the next round is asked for; the pairings only depend on the results, so replaying the recorded results into
+ * a fresh schedule rebuilds it exactly.
+ */
+public interface Schedule {
+
+    //Pairs of the next round, the player at 2i plays the player at 2i + 1; empty once the schedule is complete
+    int[] nextRound();
+
+    void recordResult(int winner, int loser);
+
+    //Index of the overall winner once the schedule is complete, -1 before that
+    int winner();
+}
@@ -0,0 +1,157 @@
+package com.paf.exercise.bracket;
+
+import java.util.Arrays;
+
+/**
+ * Swiss pairing: every round players are ordered by wins, then seed, and each unpaired player meets the next one in
+ * that order they have not played yet. Who played whom is one bit per pair of players in a single long array, so the
+ * rematch check is a bit test rather than a search through past rounds and a 10k player field takes about 12 MB.
+ * With an odd field the lowest ranked player who has not had a bye yet sits out and scores a win. A player left with
+ * nobody new to meet swaps into the latest pair that makes both pairs fresh, and only when no pair does is the rematch
+ * allowed rather than failing the round.
+ */
+final class SwissSchedule implements Schedule {
+    //The played bits grow with the square of the field, 32 MB at this size
+    private static final int MAX_PLAYERS = 1 << 14;
+
+    private final int players;
+    private final int rounds;
+    private final int words;
+    private final long[] played;
+    private final int[] wins;
+    private final boolean[] hadBye;
+    private final long[] order;
+    private final boolean[] paired;
+    private int round;
+    private int pending;
+
+    SwissSchedule(int players, int rounds) {
+        if (players > MAX_PLAYERS) {
+            throw new IllegalArgumentException("A Swiss bracket takes at most " + MAX_PLAYERS + " players, got " + players);
+        }
+        if (rounds < 1) {
+            throw new IllegalArgumentException("A Swiss bracket needs at least 1 round, got " + rounds);
+        }
+        this.players = players;
+        this.rounds = rounds;
+        this.words = (players + 63) >>> 6;
+        this.played = new long[players * words];
+        this.wins = new int[players];
+        this.hadBye = new boolean[players];
+        this.order = new long[players];
+        this.paired = new boolean[players];
+    }
+
+    @Override
+    public int[] nextRound() {
+        if (pending > 0) {
+            throw new IllegalStateException("The current round still has " + pending + " matches without a result");
+        }
+        if (round == rounds) {
+            return new int[0];
+        }
+        //Most wins first, then seed, sorted as primitive keys without boxing
+        for (int player = 0; player < players; player++) {
+            order[player] = (long) (Integer.MAX_VALUE - wins[player]) << 32 | player;
+            paired[player] = false;
+        }
+        Arrays.sort(order);
+        if (players % 2 == 1) {
+            for (int i = players - 1; i >= 0; i--) {
+                int player = (int) order[i];
+                if (!hadBye[player] || i == 0) {
+                    hadBye[player] = true;
+                    paired[player] = true;
+                    wins[player]++;
+                    break;
+                }
+            }
+        }
+        int[] pairs = new int[players - players % 2];
+        int matches = 0;
+        for (int i = 0; i < players; i++) {
+            int a = (int) order[i];
+            if (paired[a]) {
+                continue;
+            }
+            int opponent = -1;
+            int fallback = -1;
+            for (int j = i + 1; j < players; j++) {
+                int b = (int) order[j];
+                if (!paired[b]) {
+                    if (!hasPlayed(a, b)) {
+                        opponent = b;
+                        break;
+                    } else if (fallback < 0) {
+                        fallback = b;
+                    }
+                }
+            }
+            int b = opponent >= 0 ? opponent : fallback;
+            paired[a] = true;
+            paired[b] = true;
+            if (opponent < 0) {
+                b = swapIntoEarlierPair(a, b, pairs, matches);
+            }
+            pairs[2 * matches] = a;
+            pairs[2 * matches + 1] = b;
+            matches++;
+        }
+        for (int i = 0; i < pairs.length; i += 2) {
+            markPlayed(pairs[i], pairs[i + 1]);
+        }
+        round++;
+        pending = matches;
+        return pairs;
+    }
+
+    @Override
+    public void recordResult(int winner, int loser) {
+        if (pending == 0 || !hasPlayed(winner, loser)) {
+            throw new IllegalArgumentException("No open match between players " + winner + " and " + loser + " in the current round");
+        }
+        wins[winner]++;
+        pending--;
+    }
+
+    @Override
+    public int winner() {
+        if (round < rounds || pending > 0) {
+            return -1;
+        }
+        int winner = 0;
+        for (int player = 1; player < players; player++) {
+            if (wins[player] > wins[winner]) {
+                winner = player;
+            }
+        }
+        return winner;
+    }
+
+    //Everybody still unpaired met a before: the latest pair whose two players a and b can each meet for the first time
+    //is split between them instead of a rematch of a and b. Returns who a plays, still b when no pair fits.
+    private int swapIntoEarlierPair(int a, int b, int[] pairs, int matches) {
+        for (int match = matches - 1; match >= 0; match--) {
+            int c = pairs[2 * match];
+            int d = pairs[2 * match + 1];
+            if (!hasPlayed(a, d) && !hasPlayed(b, c)) {
+                pairs[2 * match + 1] = b;
+                return d;
+            }
+            if (!hasPlayed(a, c) && !hasPlayed(b, d)) {
+                pairs[2 * match] = b;
+                return c;
+            }
+        }
+        return b;
+    }
+
+    private boolean hasPlayed(int a, int b) {
+        return (played[a * words + (b >>> 6)] & 1L << b) != 0;
+    }
+
+    private void markPlayed(int a, int b) {
+        played[a * words + (b >>> 6)] |= 1L << b;
+        played[b * words + (a >>> 6)] |= 1L << a;
+    }
+}
@@ -0,0 +1,55 @@
+package com.paf.exercise.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+//Opt-in async execution mode, serves /api/async from a bounded executor instead of the servlet threads
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "tournament.async.enabled", havingValue = "true")
+public class AsyncExecutionConfig {
+    public static final String REQUEST_EXECUTOR = "requestExecutor";
+    private static final String THREAD_NAME_PREFIX = "request-";
+
+    //A fixed number of workers and a fixed queue, anything beyond that is rejected with a RejectedExecutionException
+    //which the GlobalExceptionHandler turns into a 503 with Retry-After
+    @Bean(name = REQUEST_EXECUTOR, destroyMethod = "shutdown")
+    public ExecutorService requestExecutor(@Value("${tournament.async.threads:64}") int threads,
+                                           @Value("${tournament.async.queue-capacity:256}") int queueCapacity,
+                                           @Value("${tournament.async.virtual-threads:true}") boolean virtualThreads,
+                                           MeterRegistry meterRegistry) {
+        ThreadFactory threadFactory = virtualThreads ? virtualThreadFactory() : null;
+        if (threadFactory == null) {
+            threadFactory = new CustomizableThreadFactory(THREAD_NAME_PREFIX);
+        }
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, REQUEST_EXECUTOR);
+    }
+
+    //Thread.ofVirtual() is looked up reflectively so the build keeps targeting Java 11, older JDKs get platform threads
+    private ThreadFactory virtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, THREAD_NAME_PREFIX, 1L);
+            log.info("Serving async requests on virtual threads");
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.info("Virtual threads are not available, serving async requests on platform threads");
+            return null;
+        }
+    }
+}
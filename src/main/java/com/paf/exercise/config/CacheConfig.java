@@ -0,0 +1,28 @@
+package com.paf.exercise.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String TOURNAMENT_CACHE = "tournament";
+    public static final String TOURNAMENT_PLAYERS_CACHE = "tournamentPlayers";
+    public static final String TOURNAMENTS_CACHE = "tournaments";
+    public static final String PLAYER_ENTRIES_CACHE = "playerEntries";
+
+    //Bounded by size and TTL through the Caffeine spec, e.g. maximumSize=10000,expireAfterWrite=60s,recordStats
+    @Bean
+    public CacheManager cacheManager(@Value("${tournament.cache.spec}") String cacheSpecification) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager(TOURNAMENT_CACHE, TOURNAMENT_PLAYERS_CACHE, TOURNAMENTS_CACHE, PLAYER_ENTRIES_CACHE);
+        caffeineCacheManager.setCacheSpecification(cacheSpecification);
+        caffeineCacheManager.setAllowNullValues(false);
+        //Puts and evictions are applied after commit so readers never cache state that may still roll back
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
@@ -0,0 +1,52 @@
+package com.paf.exercise.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paf.exercise.journal.EventJournal;
+import com.paf.exercise.journal.JournalTransactionListener;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.nio.file.Path;
+
+//Durable journal of every committed tournament change, kept next to the database for disputes and rebuilds
+@Configuration
+@ConditionalOnProperty(name = "tournament.journal.enabled", havingValue = "true")
+public class JournalConfig {
+
+    @Bean(destroyMethod = "close")
+    public EventJournal eventJournal(@Value("${tournament.journal.directory}") Path directory,
+                                     @Value("${tournament.journal.ring-capacity:8192}") int ringCapacity,
+                                     @Value("${tournament.journal.batch-size:512}") int batchSize,
+                                     @Value("${tournament.journal.segment-size:64MB}") DataSize segmentSize,
+                                     @Value("${tournament.journal.force-each-batch:true}") boolean forceEachBatch,
+                                     ObjectMapper objectMapper) throws IOException {
+        EventJournal eventJournal = new EventJournal(directory, ringCapacity, batchSize, (int) segmentSize.toBytes(), forceEachBatch, objectMapper);
+        eventJournal.start();
+        return eventJournal;
+    }
+
+    @Bean
+    public JournalTransactionListener journalTransactionListener(EventJournal eventJournal, EntityManager entityManager,
+                                                                 @Value("${tournament.journal.lock-stripes:64}") int lockStripes) {
+        return new JournalTransactionListener(eventJournal, entityManager, lockStripes);
+    }
+
+    @Bean
+    public MeterBinder journalGauges(EventJournal eventJournal) {
+        return meterRegistry -> {
+            Gauge.builder("tournament.journal.pending", eventJournal, EventJournal::pending)
+                    .description("Changes appended to the journal but not yet on disk")
+                    .register(meterRegistry);
+            Gauge.builder("tournament.journal.written", eventJournal, EventJournal::writtenEntries)
+                    .description("Changes written to the journal since startup")
+                    .register(meterRegistry);
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package com.paf.exercise.config;
+
+import com.paf.exercise.event.TournamentEventBroadcaster;
+import com.paf.exercise.metrics.StatementMetricsInterceptor;
+import com.paf.exercise.repository.PlayerRepository;
+import com.paf.exercise.repository.TournamentRepository;
+import com.paf.exercise.service.InMemoryTournamentService;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class MetricsConfig {
+    public static final String SERVICE_TIMER = "tournament.service";
+
+    //Backs the @Timed service operations, tagged with class, method and exception
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    //Evaluated on every scrape, each gauge is a single aggregate query
+    @Bean
+    public MeterBinder tournamentGauges(TournamentRepository tournamentRepository, PlayerRepository playerRepository,
+                                        TournamentEventBroadcaster tournamentEventBroadcaster) {
+        return meterRegistry -> {
+            Gauge.builder("tournament.count", tournamentRepository, TournamentRepository::count)
+                    .description("Number of tournaments")
+                    .register(meterRegistry);
+            Gauge.builder("tournament.players.count", playerRepository, PlayerRepository::count)
+                    .description("Number of players")
+                    .register(meterRegistry);
+            Gauge.builder("tournament.roster.largest", tournamentRepository, TournamentRepository::findLargestRosterSize)
+                    .description("Number of players in the largest tournament roster")
+                    .register(meterRegistry);
+            Gauge.builder("tournament.events.subscribers", tournamentEventBroadcaster, TournamentEventBroadcaster::subscriberCount)
+                    .description("Number of open event stream subscriptions")
+                    .register(meterRegistry);
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "tournament.store", havingValue = "memory")
+    public MeterBinder inMemoryStoreGauges(InMemoryTournamentService inMemoryTournamentService) {
+        return meterRegistry -> Gauge.builder("tournament.store.unwritten", inMemoryTournamentService, InMemoryTournamentService::unwrittenTournaments)
+                .description("Tournaments changed in memory but not yet written to the database")
+                .register(meterRegistry);
+    }
+
+    @Bean
+    public WebMvcConfigurer statementMetricsConfigurer(MeterRegistry meterRegistry) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new StatementMetricsInterceptor(meterRegistry));
+            }
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package com.paf.exercise.config;
+
+import com.paf.exercise.payout.PayoutTables;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.Map;
+
+//Payout tables from the tournament.payout.tables.<name>=<places>:<percent>%,... properties
+@Configuration
+public class PayoutConfig {
+
+    @Bean
+    public PayoutTables payoutTables(Environment environment, @Value("${tournament.payout.default-table}") String defaultTable) {
+        Map<String, String> specifications = Binder.get(environment)
+                .bind("tournament.payout.tables", Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of());
+        return new PayoutTables(specifications, defaultTable);
+    }
+}
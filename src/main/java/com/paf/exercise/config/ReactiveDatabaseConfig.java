@@ -0,0 +1,46 @@
+package com.paf.exercise.config;
+
+import io.r2dbc.h2.H2ConnectionConfiguration;
+import io.r2dbc.h2.H2ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+//R2DBC access to the same H2 database the JPA stack uses, for the reactive API under /api/reactive.
+//The connection factory is deliberately not a bean: Boot would then skip the JDBC DataSource, and a second
+//TransactionManager bean would make the blocking @Transactional methods ambiguous.
+//It is not pooled either: the H2 driver runs statements on the subscribing thread, and a pool hands released
+//connections to waiting subscribers on the releasing thread, so one request thread ends up serving everybody.
+//An embedded H2 session is cheap to open per request.
+@Configuration
+public class ReactiveDatabaseConfig {
+    private static final String JDBC_H2_PREFIX = "jdbc:h2:";
+
+    private final H2ConnectionFactory connectionFactory;
+
+    public ReactiveDatabaseConfig(@Value("${spring.datasource.url}") String url,
+                                  @Value("${spring.datasource.username:sa}") String username,
+                                  @Value("${spring.datasource.password:}") String password) {
+        if (!url.startsWith(JDBC_H2_PREFIX)) {
+            throw new IllegalStateException("The reactive API needs an H2 datasource, got: " + url);
+        }
+        this.connectionFactory = new H2ConnectionFactory(H2ConnectionConfiguration.builder()
+                .url(url.substring(JDBC_H2_PREFIX.length()))
+                .username(username)
+                .password(password)
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient() {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator() {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+}
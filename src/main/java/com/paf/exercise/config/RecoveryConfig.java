@@ -0,0 +1,40 @@
+package com.paf.exercise.config;
+
+import com.paf.exercise.journal.EventJournal;
+import com.paf.exercise.recovery.SnapshotStore;
+import com.paf.exercise.recovery.StateRecovery;
+import com.paf.exercise.repository.TournamentRestoreRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+//Snapshot plus journal recovery, rebuilds the database at startup instead of starting from an empty schema
+@Configuration
+@ConditionalOnProperty(name = {"tournament.journal.enabled", "tournament.recovery.enabled"}, havingValue = "true")
+public class RecoveryConfig {
+
+    @Bean
+    public SnapshotStore snapshotStore(@Value("${tournament.recovery.snapshot-directory}") Path directory,
+                                       @Value("${tournament.recovery.retain:3}") int retain) throws IOException {
+        return new SnapshotStore(directory, retain);
+    }
+
+    //Taking the EntityManagerFactory makes sure the schema exists before the restore, and the restore runs before the web server starts
+    @Bean(destroyMethod = "close")
+    public StateRecovery stateRecovery(EventJournal eventJournal, SnapshotStore snapshotStore, EntityManagerFactory entityManagerFactory,
+                                       TournamentRestoreRepository restoreRepository, PlatformTransactionManager transactionManager,
+                                       @Value("${tournament.recovery.snapshot-interval:5m}") Duration snapshotInterval) throws IOException {
+        StateRecovery stateRecovery = new StateRecovery(eventJournal, snapshotStore);
+        stateRecovery.recover(restoreRepository, new TransactionTemplate(transactionManager));
+        stateRecovery.start(snapshotInterval);
+        return stateRecovery;
+    }
+}
@@ -0,0 +1,127 @@
+package com.paf.exercise.controller;
+
+import com.paf.exercise.dto.BulkRegistrationRequest;
+import com.paf.exercise.dto.PlayerRequest;
+import com.paf.exercise.dto.TournamentRequest;
+import com.paf.exercise.entity.Player;
+import com.paf.exercise.entity.Tournament;
+import com.paf.exercise.response.RegistrationResult;
+import com.paf.exercise.response.TournamentPage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import static com.paf.exercise.config.AsyncExecutionConfig.REQUEST_EXECUTOR;
+
+//Same operations as ExerciseController, which serves each of them on a worker: the servlet thread is released as soon as
+//the work is queued, and both APIs answer and validate exactly alike
+@Slf4j
+@RestController
+@RequestMapping("/api/async")
+@ConditionalOnProperty(name = "tournament.async.enabled", havingValue = "true")
+public class AsyncExerciseController {
+
+    private ExerciseController exerciseController;
+    private ExecutorService requestExecutor;
+
+    public AsyncExerciseController(ExerciseController exerciseController, @Qualifier(REQUEST_EXECUTOR) ExecutorService requestExecutor) {
+        this.exerciseController = exerciseController;
+        this.requestExecutor = requestExecutor;
+    }
+
+    //Create a new tournament
+    @PostMapping(value = "/addTournament")
+    public CompletableFuture<ResponseEntity<Tournament>> createNewTournament(@Valid @RequestBody TournamentRequest tournamentRequest) {
+        return submit(() -> exerciseController.createNewTournament(tournamentRequest));
+    }
+
+    //Fetching all tournaments
+    @GetMapping(value = "/getTournaments")
+    public CompletableFuture<ResponseEntity<List<Tournament>>> retrieveAllTournaments() {
+        return submit(exerciseController::getAllTournaments);
+    }
+
+    //Fetching one keyset page of tournaments, pass the returned nextCursor to get the following page
+    @GetMapping(value = "/getTournamentsPage")
+    public CompletableFuture<ResponseEntity<TournamentPage>> retrieveTournamentsPage(@RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        return submit(() -> exerciseController.getTournamentsPage(cursor, size));
+    }
+
+    //Fetching a particular tournament with its tournament id
+    @GetMapping(value = "/getTournament")
+    public CompletableFuture<ResponseEntity<Tournament>> retrieveTournamentById(@RequestParam String tournamentId,
+                                                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) List<String> ifNoneMatch) {
+        return submit(() -> exerciseController.retrieveTournamentById(tournamentId, ifNoneMatch));
+    }
+
+    //Update tournament details with the tournament id
+    @PutMapping("/updateTournament")
+    public CompletableFuture<ResponseEntity<Tournament>> updateTournamentDetails(@RequestParam String tournamentId, @RequestBody Tournament tournament) {
+        return submit(() -> exerciseController.updateTournamentDetails(tournamentId, tournament));
+    }
+
+    //Deleting a particular tournament using its tournament id
+    @DeleteMapping(value = "/removeTournament")
+    public CompletableFuture<ResponseEntity<Void>> deleteTournament(@RequestParam String tournamentId) {
+        return submit(() -> {
+            exerciseController.deleteTournament(tournamentId);
+            return ResponseEntity.ok().build();
+        });
+    }
+
+    //Create a new player and register with a tournament
+    @PostMapping(value = "/addPlayerIntoTournament")
+    public CompletableFuture<ResponseEntity<Tournament>> registerPlayerToATournament(@RequestParam String tournamentId, @RequestBody @Valid PlayerRequest playerRequest) {
+        return submit(() -> exerciseController.registerPlayerToATournament(tournamentId, playerRequest));
+    }
+
+    //Create new players in bulk and register them with a tournament, one result per entry
+    @PostMapping(value = "/addPlayersIntoTournament")
+    public CompletableFuture<ResponseEntity<List<RegistrationResult>>> registerPlayersToATournament(@RequestParam String tournamentId, @RequestBody List<PlayerRequest> playerRequests) {
+        return submit(() -> exerciseController.registerPlayersToATournament(tournamentId, playerRequests));
+    }
+
+    //Create new players in bulk and register them with several tournaments in one transaction
+    @PostMapping(value = "/registerPlayers")
+    public CompletableFuture<ResponseEntity<List<RegistrationResult>>> registerPlayers(@RequestBody List<BulkRegistrationRequest> registrationRequests) {
+        return submit(() -> exerciseController.registerPlayers(registrationRequests));
+    }
+
+    //Deleting a player from a particular tournament using the tournament id and player id
+    @DeleteMapping(value = "/removePlayerFromTournament")
+    public CompletableFuture<ResponseEntity<Void>> removeAPlayerFromATournament(@RequestParam String tournamentId, @RequestParam String playerId) {
+        return submit(() -> {
+            exerciseController.removeAPlayerFromATournament(tournamentId, playerId);
+            return ResponseEntity.ok().build();
+        });
+    }
+
+    //Fetching all players in a particular tournament using the tournament id
+    @GetMapping(value = "/getPlayersInTournament")
+    public CompletableFuture<ResponseEntity<List<Player>>> getAllPlayersInATournament(@RequestParam String tournamentId,
+                                                                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) List<String> ifNoneMatch) {
+        return submit(() -> exerciseController.getAllPlayersInATournament(tournamentId, ifNoneMatch));
+    }
+
+    //Rejections surface synchronously from execute, failures of the task complete the future and reach the GlobalExceptionHandler
+    private <T> CompletableFuture<T> submit(Callable<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        requestExecutor.execute(() -> {
+            try {
+                result.complete(task.call());
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+}
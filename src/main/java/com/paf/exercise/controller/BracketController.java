@@ -0,0 +1,46 @@
+package com.paf.exercise.controller;
+
+import com.paf.exercise.dto.BracketRequest;
+import com.paf.exercise.dto.MatchResultRequest;
+import com.paf.exercise.exceptions.TournamentNotFoundException;
+import com.paf.exercise.response.BracketStatus;
+import com.paf.exercise.service.BracketService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+
+@Slf4j
+@RestController
+@RequestMapping("/api")
+public class BracketController {
+
+    private BracketService bracketService;
+
+    public BracketController(BracketService bracketService) {
+        this.bracketService = bracketService;
+    }
+
+    //Seeding the current roster into a bracket of the given format, returns the first round
+    @PostMapping(value = "/createBracket")
+    public ResponseEntity<BracketStatus> createBracket(@RequestParam String tournamentId, @Valid @RequestBody BracketRequest bracketRequest) throws TournamentNotFoundException {
+        log.info("Creating a {} bracket for tournament {}", bracketRequest.getFormat(), tournamentId);
+        return ResponseEntity.ok(bracketService.createBracket(tournamentId, bracketRequest));
+    }
+
+    //Fetching every match of the bracket, or the matches of one round
+    @GetMapping(value = "/getBracket")
+    public ResponseEntity<BracketStatus> getBracket(@RequestParam String tournamentId, @RequestParam(required = false) Integer round) throws TournamentNotFoundException {
+        log.info("Getting the bracket of tournament {}", tournamentId);
+        return ResponseEntity.ok(bracketService.getBracket(tournamentId, round));
+    }
+
+    //Reporting the winner of a match, returns the current round, which is the next one once this result completed it
+    @PostMapping(value = "/reportResult")
+    public ResponseEntity<BracketStatus> reportResult(@RequestParam String tournamentId, @RequestParam int matchNumber,
+                                                      @Valid @RequestBody MatchResultRequest resultRequest) throws TournamentNotFoundException {
+        log.info("Reporting the result of match {} in tournament {}", matchNumber, tournamentId);
+        return ResponseEntity.ok(bracketService.reportResult(tournamentId, matchNumber, resultRequest));
+    }
+}
@@ -0,0 +1,55 @@
+package com.paf.exercise.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+//Conditional GETs on the tournament version, shared by the blocking and the async controllers. If-None-Match is matched
+//like WebRequest.checkNotModified does it: weak comparison, any number of tags per header and * for any version.
+final class ConditionalRequests {
+    private static final Pattern ETAGS = Pattern.compile("\\*|\\s*((W/)?(\"[^\"]*\"))\\s*,?");
+
+    private ConditionalRequests() {
+    }
+
+    //A 304 without the body when the client already has the current version, else the body loaded. The body may come
+    //from a cache and lag the version probe, so its ETag is the version the body was read at, never the probed one.
+    static <R, T, E extends Exception> ResponseEntity<T> ifNoneMatch(long version, List<String> ifNoneMatch, Body<R, E> body,
+                                                                     ToLongFunction<R> versionOf, Function<R, T> content) throws E {
+        if (matches(eTag(version), ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag(version)).build();
+        }
+        R loaded = body.load();
+        return ResponseEntity.ok().eTag(eTag(versionOf.applyAsLong(loaded))).body(content.apply(loaded));
+    }
+
+    //Strong validator for the tournament and its roster, the version is bumped by every mutation
+    static String eTag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    static boolean matches(String eTag, List<String> ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String header : ifNoneMatch) {
+            Matcher matcher = ETAGS.matcher(header);
+            while (matcher.find()) {
+                if ("*".equals(matcher.group()) || eTag.equals(matcher.group(3))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @FunctionalInterface
+    interface Body<T, E extends Exception> {
+        T load() throws E;
+    }
+}
@@ -1,19 +1,38 @@
 package com.paf.exercise.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.paf.exercise.dto.BulkRegistrationRequest;
 import com.paf.exercise.dto.PlayerRequest;
+import com.paf.exercise.dto.TournamentQuery;
 import com.paf.exercise.dto.TournamentRequest;
 import com.paf.exercise.entity.Player;
 import com.paf.exercise.exceptions.PlayerNotFoundException;
 import com.paf.exercise.exceptions.TournamentNotFoundException;
 import com.paf.exercise.entity.Tournament;
+import com.paf.exercise.response.Dashboard;
+import com.paf.exercise.response.DashboardTournament;
+import com.paf.exercise.response.RegistrationResult;
+import com.paf.exercise.response.Roster;
+import com.paf.exercise.response.TournamentPage;
 import com.paf.exercise.service.TournamentService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
 
 @Slf4j
 @RestController
@@ -21,9 +40,11 @@ import java.util.List;
 public class ExerciseController {
 
     private TournamentService tournamentService;
+    private ObjectMapper objectMapper;
 
-    public ExerciseController(TournamentService tournamentService) {
+    public ExerciseController(TournamentService tournamentService, ObjectMapper objectMapper) {
         this.tournamentService = tournamentService;
+        this.objectMapper = objectMapper;
     }
 
     //Create a new tournament
@@ -40,11 +61,58 @@ public class ExerciseController {
         return ResponseEntity.ok(tournamentService.getTournaments());
     }
 
+    //Fetching one keyset page of tournaments, pass the returned nextCursor to get the following page
+    @GetMapping(value = "/getTournamentsPage")
+    public ResponseEntity<TournamentPage> getTournamentsPage(@RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        log.info("Getting a page of tournaments after cursor {} with size {}", cursor, size);
+        return ResponseEntity.ok(tournamentService.getTournamentsPage(cursor, size));
+    }
+
+    //Finding tournaments by reward, currency, player count and creation time, one sorted keyset page at a time
+    @GetMapping(value = "/findTournaments")
+    public ResponseEntity<TournamentPage> findTournaments(@Valid TournamentQuery query) {
+        log.info("Finding tournaments matching {}", query);
+        return ResponseEntity.ok(tournamentService.findTournaments(query));
+    }
+
+    //Streaming all tournaments as a JSON array while they are read from a database cursor
+    @GetMapping(value = "/streamTournaments")
+    public ResponseEntity<StreamingResponseBody> streamAllTournaments() {
+        log.info("Streaming all available tournaments from the database");
+        //Let the generator flush when its buffer fills instead of after every element
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                tournamentService.streamTournaments(tournament -> {
+                    try {
+                        writer.writeValue(generator, tournament);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    //Fetching every tournament with its roster in one call, fields limits the tournament fields returned, e.g. fields=tournamentName,playerCount
+    @GetMapping(value = "/getDashboard")
+    public ResponseEntity<Dashboard> getDashboard(@RequestParam(required = false) List<String> fields) {
+        log.info("Getting the dashboard with fields {}", fields);
+        //Sorted so equal projections share one cache entry whatever order they were requested in
+        Set<String> projection = new TreeSet<>(fields == null || fields.isEmpty() ? DashboardTournament.FIELDS : fields);
+        return ResponseEntity.ok(tournamentService.getDashboard(projection));
+    }
+
     //Fetching a particular tournament with its tournament id
     @GetMapping(value = "/getTournament")
-    public ResponseEntity<Tournament> retrieveTournamentById(@RequestParam String tournamentId) throws TournamentNotFoundException {
+    public ResponseEntity<Tournament> retrieveTournamentById(@RequestParam String tournamentId,
+                                                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) List<String> ifNoneMatch) throws TournamentNotFoundException {
         log.info("Getting details of tournament with id {}", tournamentId);
-        return ResponseEntity.ok(tournamentService.getTournament(tournamentId));
+        return ConditionalRequests.ifNoneMatch(tournamentService.getTournamentVersion(tournamentId), ifNoneMatch,
+                () -> tournamentService.getTournament(tournamentId), Tournament::getVersion, Function.identity());
     }
 
     //Update tournament details with the tournament id
@@ -68,6 +136,20 @@ public class ExerciseController {
         return new ResponseEntity<>(tournamentService.addPlayerIntoTournament(tournamentId, playerRequest), HttpStatus.CREATED);
     }
 
+    //Create new players in bulk and register them with a tournament, one result per entry
+    @PostMapping(value = "/addPlayersIntoTournament")
+    public ResponseEntity<List<RegistrationResult>> registerPlayersToATournament(@RequestParam String tournamentId, @RequestBody List<PlayerRequest> playerRequests) {
+        log.info("Registering {} new players to tournament {}", playerRequests.size(), tournamentId);
+        return ResponseEntity.ok(tournamentService.registerPlayers(List.of(new BulkRegistrationRequest(tournamentId, playerRequests))));
+    }
+
+    //Create new players in bulk and register them with several tournaments in one transaction
+    @PostMapping(value = "/registerPlayers")
+    public ResponseEntity<List<RegistrationResult>> registerPlayers(@RequestBody List<BulkRegistrationRequest> registrationRequests) {
+        log.info("Registering players for {} tournaments", registrationRequests.size());
+        return ResponseEntity.ok(tournamentService.registerPlayers(registrationRequests));
+    }
+
     //Deleting a player from a particular tournament using the tournament id and player id
     @DeleteMapping(value = "/removePlayerFromTournament")
     public void removeAPlayerFromATournament(@RequestParam String tournamentId, @RequestParam String playerId) throws TournamentNotFoundException, PlayerNotFoundException {
@@ -77,8 +159,10 @@ public class ExerciseController {
 
     //Fetching all players in a particular tournament using the tournament id
     @GetMapping(value = "/getPlayersInTournament")
-    public ResponseEntity<List<Player>> getAllPlayersInATournament(@RequestParam String tournamentId) throws TournamentNotFoundException {
+    public ResponseEntity<List<Player>> getAllPlayersInATournament(@RequestParam String tournamentId,
+                                                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) List<String> ifNoneMatch) throws TournamentNotFoundException {
         log.info("Getting all available players registered for the tournament with id {}", tournamentId);
-        return ResponseEntity.ok(tournamentService.getPlayersInTournament(tournamentId));
+        return ConditionalRequests.ifNoneMatch(tournamentService.getTournamentVersion(tournamentId), ifNoneMatch,
+                () -> tournamentService.getRoster(tournamentId), Roster::getVersion, Roster::getPlayers);
     }
 }
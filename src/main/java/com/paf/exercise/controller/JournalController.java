@@ -0,0 +1,55 @@
+package com.paf.exercise.controller;
+
+import com.paf.exercise.journal.EventJournal;
+import com.paf.exercise.journal.JournalEntry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+//Read access to the change journal, e.g. the full history of one tournament when a result is disputed
+@Slf4j
+@RestController
+@RequestMapping("/api")
+@ConditionalOnProperty(name = "tournament.journal.enabled", havingValue = "true")
+public class JournalController {
+    private static final int MAX_ENTRIES = 1000;
+    public static final String NEXT_SEQUENCE_HEADER = "Journal-Next-Sequence";
+
+    private EventJournal eventJournal;
+    private long maxScanned;
+
+    public JournalController(EventJournal eventJournal, @Value("${tournament.journal.max-scan:10000}") long maxScanned) {
+        this.eventJournal = eventJournal;
+        this.maxScanned = maxScanned;
+    }
+
+    //Fetching journal entries from a sequence on, optionally only those of one tournament. One request reads at most
+    //tournament.journal.max-scan entries of the journal, so a filtered page may come back short or even empty before the
+    //end of the journal; pass the Journal-Next-Sequence header as fromSequence to continue
+    @GetMapping(value = "/getJournal")
+    public ResponseEntity<List<JournalEntry>> getJournal(@RequestParam(required = false) String tournamentId,
+                                                         @RequestParam(defaultValue = "1") long fromSequence,
+                                                         @RequestParam(defaultValue = "" + MAX_ENTRIES) int limit) {
+        log.info("Getting journal entries of tournament {} from sequence {}", tournamentId == null ? "*" : tournamentId, fromSequence);
+        int maxEntries = Math.max(1, Math.min(limit, MAX_ENTRIES));
+        List<JournalEntry> entries = new ArrayList<>();
+        //Stops reading as soon as the page is full
+        long nextSequence = eventJournal.replay(fromSequence, maxScanned, entry -> {
+            if (tournamentId == null || tournamentId.equals(entry.getEvent().getTournamentId())) {
+                entries.add(entry);
+            }
+            return entries.size() < maxEntries;
+        });
+        return ResponseEntity.ok()
+                .header(NEXT_SEQUENCE_HEADER, String.valueOf(nextSequence))
+                .body(entries);
+    }
+}
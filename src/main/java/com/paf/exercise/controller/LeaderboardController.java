@@ -0,0 +1,55 @@
+package com.paf.exercise.controller;
+
+import com.paf.exercise.dto.ScoreRequest;
+import com.paf.exercise.exceptions.PlayerNotFoundException;
+import com.paf.exercise.exceptions.TournamentNotFoundException;
+import com.paf.exercise.response.Standing;
+import com.paf.exercise.service.LeaderboardService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api")
+public class LeaderboardController {
+
+    private LeaderboardService leaderboardService;
+
+    public LeaderboardController(LeaderboardService leaderboardService) {
+        this.leaderboardService = leaderboardService;
+    }
+
+    //Adding points to the score of a player in a tournament, returns the player's new standing
+    @PostMapping(value = "/submitScore")
+    public ResponseEntity<Standing> submitScore(@RequestParam String tournamentId, @RequestParam String playerId,
+                                                @Valid @RequestBody ScoreRequest scoreRequest) throws TournamentNotFoundException, PlayerNotFoundException {
+        log.info("Submitting {} points for player {} in tournament {}", scoreRequest.getPoints(), playerId, tournamentId);
+        return ResponseEntity.ok(leaderboardService.submitScore(tournamentId, playerId, scoreRequest));
+    }
+
+    //Fetching the top of the standings of a tournament
+    @GetMapping(value = "/getLeaderboard")
+    public ResponseEntity<List<Standing>> getLeaderboard(@RequestParam String tournamentId, @RequestParam(required = false) Integer limit) throws TournamentNotFoundException {
+        log.info("Getting the leaderboard of tournament {}", tournamentId);
+        return ResponseEntity.ok(leaderboardService.getLeaderboard(tournamentId, limit));
+    }
+
+    //Fetching the rank and score of one player
+    @GetMapping(value = "/getStanding")
+    public ResponseEntity<Standing> getStanding(@RequestParam String tournamentId, @RequestParam String playerId) throws TournamentNotFoundException, PlayerNotFoundException {
+        log.info("Getting the standing of player {} in tournament {}", playerId, tournamentId);
+        return ResponseEntity.ok(leaderboardService.getStanding(tournamentId, playerId));
+    }
+
+    //Fetching the standings within radius places of a rank, e.g. the players just ahead of and behind someone
+    @GetMapping(value = "/getStandingsAround")
+    public ResponseEntity<List<Standing>> getStandingsAround(@RequestParam String tournamentId, @RequestParam int rank,
+                                                             @RequestParam(required = false) Integer radius) throws TournamentNotFoundException {
+        log.info("Getting the standings around rank {} in tournament {}", rank, tournamentId);
+        return ResponseEntity.ok(leaderboardService.getStandingsAround(tournamentId, rank, radius));
+    }
+}
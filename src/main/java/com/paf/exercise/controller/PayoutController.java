@@ -0,0 +1,27 @@
+package com.paf.exercise.controller;
+
+import com.paf.exercise.exceptions.TournamentNotFoundException;
+import com.paf.exercise.response.Payouts;
+import com.paf.exercise.service.PayoutService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequestMapping("/api")
+public class PayoutController {
+
+    private PayoutService payoutService;
+
+    public PayoutController(PayoutService payoutService) {
+        this.payoutService = payoutService;
+    }
+
+    //Sharing the reward of a tournament out over its current standings with one of the configured payout tables
+    @GetMapping(value = "/getPayouts")
+    public ResponseEntity<Payouts> getPayouts(@RequestParam String tournamentId, @RequestParam(required = false) String table) throws TournamentNotFoundException {
+        log.info("Getting the payouts of tournament {}", tournamentId);
+        return ResponseEntity.ok(payoutService.getPayouts(tournamentId, table));
+    }
+}
@@ -0,0 +1,46 @@
+package com.paf.exercise.controller;
+
+import com.paf.exercise.exceptions.PlayerNotFoundException;
+import com.paf.exercise.response.PlayerMergeProgress;
+import com.paf.exercise.response.PlayerProfile;
+import com.paf.exercise.service.PlayerMergeService;
+import com.paf.exercise.service.PlayerService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequestMapping("/api")
+public class PlayerController {
+
+    private PlayerService playerService;
+    private PlayerMergeService playerMergeService;
+
+    public PlayerController(PlayerService playerService, PlayerMergeService playerMergeService) {
+        this.playerService = playerService;
+        this.playerMergeService = playerMergeService;
+    }
+
+    //Fetching the tournaments a player entered with the player's standing and winnings in each
+    @GetMapping(value = "/getPlayerProfile")
+    public ResponseEntity<PlayerProfile> getPlayerProfile(@RequestParam String playerId) throws PlayerNotFoundException {
+        log.info("Getting the profile of player {}", playerId);
+        return ResponseEntity.ok(playerService.getPlayerProfile(playerId));
+    }
+
+    //Starting the background merge of duplicate players, progress is polled with getPlayerMergeProgress
+    @PostMapping(value = "/mergeDuplicatePlayers")
+    public ResponseEntity<PlayerMergeProgress> mergeDuplicatePlayers() {
+        log.info("Starting the merge of duplicate players");
+        return new ResponseEntity<>(playerMergeService.startMerge(), HttpStatus.ACCEPTED);
+    }
+
+    //Fetching the progress of the latest merge of duplicate players
+    @GetMapping(value = "/getPlayerMergeProgress")
+    public ResponseEntity<PlayerMergeProgress> getPlayerMergeProgress() {
+        log.info("Getting the progress of the duplicate player merge");
+        return ResponseEntity.ok(playerMergeService.getMergeProgress());
+    }
+}
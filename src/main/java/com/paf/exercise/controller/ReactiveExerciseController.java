@@ -0,0 +1,92 @@
+package com.paf.exercise.controller;
+
+import com.paf.exercise.dto.PlayerRequest;
+import com.paf.exercise.dto.TournamentRequest;
+import com.paf.exercise.entity.Player;
+import com.paf.exercise.entity.Tournament;
+import com.paf.exercise.response.TournamentPage;
+import com.paf.exercise.service.ReactiveTournamentService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+
+//Reactive variant of ExerciseController, same DTOs and validation, served from R2DBC without holding a servlet thread
+@Slf4j
+@RestController
+@RequestMapping("/api/reactive")
+public class ReactiveExerciseController {
+
+    private ReactiveTournamentService reactiveTournamentService;
+
+    public ReactiveExerciseController(ReactiveTournamentService reactiveTournamentService) {
+        this.reactiveTournamentService = reactiveTournamentService;
+    }
+
+    //Create a new tournament
+    @PostMapping(value = "/addTournament")
+    public Mono<ResponseEntity<Tournament>> createNewTournament(@Valid @RequestBody TournamentRequest tournamentRequest) {
+        log.info("Creating a new tournament with request payload {}", tournamentRequest);
+        return reactiveTournamentService.addTournament(tournamentRequest).map(tournament -> new ResponseEntity<>(tournament, HttpStatus.CREATED));
+    }
+
+    //Fetching all tournaments
+    @GetMapping(value = "/getTournaments")
+    public Flux<Tournament> retrieveAllTournaments() {
+        log.info("Getting all tournaments");
+        return reactiveTournamentService.getTournaments();
+    }
+
+    //Fetching one keyset page of tournaments, pass the returned nextCursor to get the following page
+    @GetMapping(value = "/getTournamentsPage")
+    public Mono<TournamentPage> retrieveTournamentsPage(@RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        log.info("Getting a page of tournaments after cursor {}", cursor);
+        return reactiveTournamentService.getTournamentsPage(cursor, size);
+    }
+
+    //Fetching a particular tournament with its tournament id
+    @GetMapping(value = "/getTournament")
+    public Mono<Tournament> retrieveTournamentById(@RequestParam String tournamentId) {
+        log.info("Getting details of tournament with id {}", tournamentId);
+        return reactiveTournamentService.getTournament(tournamentId);
+    }
+
+    //Update tournament details with the tournament id
+    @PutMapping("/updateTournament")
+    public Mono<Tournament> updateTournamentDetails(@RequestParam String tournamentId, @RequestBody Tournament tournament) {
+        log.info("updating the details of tournament with id {}", tournamentId);
+        return reactiveTournamentService.updateTournament(tournamentId, tournament);
+    }
+
+    //Deleting a particular tournament using its tournament id
+    @DeleteMapping(value = "/removeTournament")
+    public Mono<Void> deleteTournament(@RequestParam String tournamentId) {
+        log.info("Initiating the process of removing the tournament with id {}", tournamentId);
+        return reactiveTournamentService.deleteTournament(tournamentId);
+    }
+
+    //Create a new player and register with a tournament
+    @PostMapping(value = "/addPlayerIntoTournament")
+    public Mono<ResponseEntity<Tournament>> registerPlayerToATournament(@RequestParam String tournamentId, @RequestBody @Valid PlayerRequest playerRequest) {
+        log.info("Creating a new player with request payload {} and adding to tournament {}", playerRequest, tournamentId);
+        return reactiveTournamentService.addPlayerIntoTournament(tournamentId, playerRequest).map(tournament -> new ResponseEntity<>(tournament, HttpStatus.CREATED));
+    }
+
+    //Deleting a player from a particular tournament using the tournament id and player id
+    @DeleteMapping(value = "/removePlayerFromTournament")
+    public Mono<Void> removeAPlayerFromATournament(@RequestParam String tournamentId, @RequestParam String playerId) {
+        log.info("Initiating the process of removing a player with id {} from the tournament with id {}", playerId, tournamentId);
+        return reactiveTournamentService.removePlayerFromTournament(tournamentId, playerId);
+    }
+
+    //Fetching all players in a particular tournament using the tournament id
+    @GetMapping(value = "/getPlayersInTournament")
+    public Flux<Player> getAllPlayersInATournament(@RequestParam String tournamentId) {
+        log.info("Getting all available players registered for the tournament with id {}", tournamentId);
+        return reactiveTournamentService.getPlayersInTournament(tournamentId);
+    }
+}
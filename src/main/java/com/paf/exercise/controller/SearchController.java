@@ -0,0 +1,28 @@
+package com.paf.exercise.controller;
+
+import com.paf.exercise.response.SearchResults;
+import com.paf.exercise.search.IndexEntry;
+import com.paf.exercise.service.SearchService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequestMapping("/api")
+public class SearchController {
+
+    private SearchService searchService;
+
+    public SearchController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    //Searching tournament and player names by the start of their words, best matches first
+    @GetMapping(value = "/search")
+    public ResponseEntity<SearchResults> search(@RequestParam String q, @RequestParam(required = false) IndexEntry.Type type,
+                                                @RequestParam(required = false) Integer page, @RequestParam(required = false) Integer size) {
+        log.info("Searching for '{}'", q);
+        return ResponseEntity.ok(searchService.search(q, type, page, size));
+    }
+}
@@ -0,0 +1,32 @@
+package com.paf.exercise.controller;
+
+import com.paf.exercise.event.TournamentEvent;
+import com.paf.exercise.event.TournamentEventBroadcaster;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+//Pushes tournament and roster changes to clients as server-sent events instead of having them poll the listing
+@Slf4j
+@RestController
+@RequestMapping("/api")
+public class TournamentEventController {
+
+    private TournamentEventBroadcaster tournamentEventBroadcaster;
+
+    public TournamentEventController(TournamentEventBroadcaster tournamentEventBroadcaster) {
+        this.tournamentEventBroadcaster = tournamentEventBroadcaster;
+    }
+
+    //Subscribe to the changes of one tournament, or of all tournaments when no tournament id is given
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<TournamentEvent>> subscribeToEvents(@RequestParam(required = false) String tournamentId) {
+        log.info("Subscribing to events of tournament {}", tournamentId == null ? "*" : tournamentId);
+        return tournamentEventBroadcaster.subscribe(tournamentId);
+    }
+}
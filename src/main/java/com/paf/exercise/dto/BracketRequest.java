@@ -0,0 +1,20 @@
+package com.paf.exercise.dto;
+
+import com.paf.exercise.bracket.BracketFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BracketRequest {
+    @NotNull(message = "format is required!")
+    private BracketFormat format;
+    //Swiss only, defaults to enough rounds to leave a single unbeaten player
+    @Positive(message = "rounds must be positive!")
+    private Integer rounds;
+}
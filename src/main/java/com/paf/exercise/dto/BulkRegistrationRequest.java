@@ -0,0 +1,16 @@
+package com.paf.exercise.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkRegistrationRequest {
+    private String tournamentId;
+    //Entries are validated one by one in the service so a single bad entry does not reject the whole batch
+    private List<PlayerRequest> players;
+}
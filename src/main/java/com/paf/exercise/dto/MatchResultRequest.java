@@ -0,0 +1,15 @@
+package com.paf.exercise.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotEmpty;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MatchResultRequest {
+    @NotEmpty(message = "winnerId is required!")
+    private String winnerId;
+}
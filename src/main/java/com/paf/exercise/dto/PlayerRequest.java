@@ -1,14 +1,28 @@
 package com.paf.exercise.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.AssertTrue;
 
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class PlayerRequest {
-    @NotBlank(message = "Name of the Player is required!")
     public String playerName;
+    //Registers an existing player instead of creating a new one, the stored name is kept and playerName is ignored
+    private String playerId;
+    //Identity of the player in another system, players sharing one are merged by the duplicate player job
+    private String externalKey;
+
+    public PlayerRequest(String playerName) {
+        this.playerName = playerName;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Name of the Player is required!")
+    public boolean isNamed() {
+        return playerId != null || (playerName != null && !playerName.isBlank());
+    }
 }
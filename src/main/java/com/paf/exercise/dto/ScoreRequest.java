@@ -0,0 +1,16 @@
+package com.paf.exercise.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotNull;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ScoreRequest {
+    //Added to the player's score, negative for penalties
+    @NotNull(message = "points are required!")
+    private Long points;
+}
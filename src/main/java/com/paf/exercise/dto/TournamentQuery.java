@@ -0,0 +1,43 @@
+package com.paf.exercise.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import javax.validation.constraints.PositiveOrZero;
+import java.time.Instant;
+
+//Filters of a tournament query, all optional and combined with and; bounds are inclusive except createdBefore
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TournamentQuery {
+
+    public enum SortBy {
+        REWARD,
+        PLAYERS,
+        CREATED
+    }
+
+    private String currency;
+    @PositiveOrZero(message = "minReward must not be negative!")
+    private Integer minReward;
+    @PositiveOrZero(message = "maxReward must not be negative!")
+    private Integer maxReward;
+    @PositiveOrZero(message = "minPlayers must not be negative!")
+    private Integer minPlayers;
+    @PositiveOrZero(message = "maxPlayers must not be negative!")
+    private Integer maxPlayers;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private Instant createdFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private Instant createdBefore;
+    //Ties are broken by the surrogate id in the same direction, so every tournament has one place in the order
+    private SortBy sort = SortBy.CREATED;
+    private Sort.Direction direction = Sort.Direction.ASC;
+    //nextCursor of the previous page of the same query
+    private String cursor;
+    private Integer size;
+}
@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import javax.validation.Valid;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotEmpty;
 import java.util.List;
@@ -18,5 +19,6 @@ public class TournamentRequest {
     private int rewardAmount;
     @NotEmpty(message = "Currency is required!")
     private String currency;
+    @Valid
     private List<PlayerRequest> players;
 }
@@ -0,0 +1,35 @@
+package com.paf.exercise.entity;
+
+import com.paf.exercise.bracket.BracketFormat;
+import com.paf.exercise.identifier.UuidBinaryConverter;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+//Format and seeding of the bracket of a tournament, the matches are replayed onto it on startup
+@Entity
+@Table(name = "BRACKETS_TBL", indexes = {
+        @Index(name = "UX_BRACKET_TOURNAMENT", columnList = "tournamentId", unique = true)
+})
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class Bracket {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+    @Convert(converter = UuidBinaryConverter.class)
+    @Column(nullable = false, updatable = false, length = 16, columnDefinition = "BINARY(16)")
+    private String tournamentId;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false)
+    private BracketFormat format;
+    //Swiss only, the number of rounds to play
+    private Integer rounds;
+    //Player ids in seed order, comma separated
+    @Lob
+    @Column(nullable = false, updatable = false)
+    private String seeds;
+}
@@ -0,0 +1,38 @@
+package com.paf.exercise.entity;
+
+import com.paf.exercise.identifier.UuidBinaryConverter;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+//One match of a bracket, numbered from 1 across all rounds; byes are not stored
+@Entity
+@Table(name = "MATCHES_TBL", indexes = {
+        @Index(name = "UX_MATCH_NUMBER", columnList = "tournamentId, number", unique = true)
+})
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class Match {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+    @Convert(converter = UuidBinaryConverter.class)
+    @Column(nullable = false, updatable = false, length = 16, columnDefinition = "BINARY(16)")
+    private String tournamentId;
+    @Column(nullable = false, updatable = false)
+    private int number;
+    @Column(nullable = false, updatable = false)
+    private int round;
+    @Convert(converter = UuidBinaryConverter.class)
+    @Column(nullable = false, updatable = false, length = 16, columnDefinition = "BINARY(16)")
+    private String playerA;
+    @Convert(converter = UuidBinaryConverter.class)
+    @Column(nullable = false, updatable = false, length = 16, columnDefinition = "BINARY(16)")
+    private String playerB;
+    @Convert(converter = UuidBinaryConverter.class)
+    @Column(length = 16, columnDefinition = "BINARY(16)")
+    private String winnerId;
+}
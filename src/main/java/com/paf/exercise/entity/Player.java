@@ -1,5 +1,6 @@
 package com.paf.exercise.entity;
 
+import com.paf.exercise.identifier.UuidBinaryConverter;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -7,7 +8,9 @@ import lombok.NoArgsConstructor;
 import javax.persistence.*;
 
 @Entity
-@Table(name = "PLAYERS_TBL")
+@Table(name = "PLAYERS_TBL", indexes = {
+        @Index(name = "UX_PLAYER_PLAYER_ID", columnList = "playerId", unique = true)
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -15,6 +18,14 @@ public class Player {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private long id;
+    @Convert(converter = UuidBinaryConverter.class)
+    @Column(nullable = false, updatable = false, length = 16, columnDefinition = "BINARY(16)")
     private String playerId;
     private String playerName;
+    //Identity in another system, optional; the duplicate player job merges players sharing one
+    private String externalKey;
+
+    public Player(long id, String playerId, String playerName) {
+        this(id, playerId, playerName, null);
+    }
 }
@@ -0,0 +1,29 @@
+package com.paf.exercise.entity;
+
+import com.paf.exercise.identifier.UuidBinaryConverter;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+//Score of one player in one tournament, removed together with the membership or the tournament
+@Entity
+@Table(name = "PLAYER_SCORES_TBL", indexes = {
+        @Index(name = "UX_PLAYER_SCORE", columnList = "tournamentId, playerId", unique = true)
+})
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PlayerScore {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+    @Convert(converter = UuidBinaryConverter.class)
+    @Column(nullable = false, updatable = false, length = 16, columnDefinition = "BINARY(16)")
+    private String tournamentId;
+    @Convert(converter = UuidBinaryConverter.class)
+    @Column(nullable = false, updatable = false, length = 16, columnDefinition = "BINARY(16)")
+    private String playerId;
+    private long score;
+}
@@ -1,26 +1,72 @@
 package com.paf.exercise.entity;
 
+import com.paf.exercise.identifier.UuidBinaryConverter;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 
 import javax.persistence.*;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 @Entity
-@Table(name = "TOURNAMENT_TBL")
+@Table(name = "TOURNAMENT_TBL", indexes = {
+        @Index(name = "UX_TOURNAMENT_TOURNAMENT_ID", columnList = "tournamentId", unique = true),
+        //Tournament queries: one index per sort key, after the filter it is combined with, ending in the id tie-breaker
+        @Index(name = "IX_TOURNAMENT_CURRENCY_REWARD", columnList = "currency, rewardAmount, id"),
+        @Index(name = "IX_TOURNAMENT_REWARD", columnList = "rewardAmount, id"),
+        @Index(name = "IX_TOURNAMENT_PLAYER_COUNT", columnList = "playerCount, id"),
+        @Index(name = "IX_TOURNAMENT_CREATED_AT", columnList = "createdAt, id")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class Tournament {
+    public static final String PLAYERS_TABLE = "TOURNAMENT_PLAYERS_TBL";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private long id;
+    @Convert(converter = UuidBinaryConverter.class)
+    @Column(nullable = false, updatable = false, length = 16, columnDefinition = "BINARY(16)")
     private String tournamentId;
     @Column(unique = true, nullable = false)
     private String tournamentName;
     private int rewardAmount;
     private String currency;
+    //Read-only view of the roster: membership is written row by row through TournamentRepository, never by mutating this list
     @ManyToMany
+    @JoinTable(name = PLAYERS_TABLE,
+            joinColumns = @JoinColumn(name = "tournament_id"),
+            inverseJoinColumns = @JoinColumn(name = "player_id"),
+            uniqueConstraints = @UniqueConstraint(name = "UX_TOURNAMENT_PLAYERS", columnNames = {"tournament_id", "player_id"}),
+            //Reverse direction, from a player to the tournaments it entered
+            indexes = @Index(name = "IX_TOURNAMENT_PLAYERS_PLAYER", columnList = "player_id, tournament_id"))
+    @BatchSize(size = 100)
     private List<Player> players;
+    //Incremented by every mutation of the tournament or its roster, exposed to clients as the ETag
+    @Column(nullable = false)
+    private long version;
+    //Size of the roster kept next to it so tournaments can be filtered and sorted by it through an index; moved by
+    //the same statements that bump the version
+    @Column(nullable = false)
+    private int playerCount;
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    public Tournament(long id, String tournamentId, String tournamentName, int rewardAmount, String currency, List<Player> players) {
+        this(id, tournamentId, tournamentName, rewardAmount, currency, players, 0L);
+    }
+
+    //Leaves the creation time to whoever stores the tournament
+    public Tournament(long id, String tournamentId, String tournamentName, int rewardAmount, String currency, List<Player> players, long version) {
+        this(id, tournamentId, tournamentName, rewardAmount, currency, players, version, players == null ? 0 : players.size(), null);
+    }
+
+    //Creation time in milliseconds, the precision query cursors carry it with
+    public static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    }
 }
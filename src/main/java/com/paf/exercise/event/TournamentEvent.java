@@ -0,0 +1,59 @@
+package com.paf.exercise.event;
+
+import com.paf.exercise.entity.Player;
+import com.paf.exercise.entity.Tournament;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TournamentEvent {
+    private TournamentEventType type;
+    private String tournamentId;
+    //Detached copy of the tournament for created and updated events, players are only included on creation
+    private Tournament tournament;
+    //The players that joined or left for roster events, the duplicate and the player it was merged into for merges
+    private List<Player> players;
+
+    public static TournamentEvent created(Tournament tournament) {
+        return new TournamentEvent(TournamentEventType.TOURNAMENT_CREATED, tournament.getTournamentId(), copyOf(tournament, copyOf(tournament.getPlayers())), null);
+    }
+
+    public static TournamentEvent updated(Tournament tournament) {
+        return new TournamentEvent(TournamentEventType.TOURNAMENT_UPDATED, tournament.getTournamentId(), copyOf(tournament, null), null);
+    }
+
+    public static TournamentEvent deleted(String tournamentId) {
+        return new TournamentEvent(TournamentEventType.TOURNAMENT_DELETED, tournamentId, null, null);
+    }
+
+    public static TournamentEvent playersJoined(String tournamentId, List<Player> players) {
+        return new TournamentEvent(TournamentEventType.PLAYERS_JOINED, tournamentId, null, copyOf(players));
+    }
+
+    public static TournamentEvent playerLeft(String tournamentId, String playerId) {
+        return new TournamentEvent(TournamentEventType.PLAYER_LEFT, tournamentId, null, List.of(new Player(0, playerId, null)));
+    }
+
+    //The duplicate's entry passes to the player it was merged into, who may already have had one of their own
+    public static TournamentEvent playerMerged(String tournamentId, String duplicatePlayerId, Player into) {
+        return new TournamentEvent(TournamentEventType.PLAYER_MERGED, tournamentId, null, List.of(new Player(0, duplicatePlayerId, null), copyOf(List.of(into)).get(0)));
+    }
+
+    //Events outlive the transaction, so they must never hold on to managed entities or lazy collections
+    private static Tournament copyOf(Tournament tournament, List<Player> players) {
+        return new Tournament(tournament.getId(), tournament.getTournamentId(), tournament.getTournamentName(),
+                tournament.getRewardAmount(), tournament.getCurrency(), players, tournament.getVersion(), tournament.getPlayerCount(), tournament.getCreatedAt());
+    }
+
+    private static List<Player> copyOf(List<Player> players) {
+        return players == null ? List.of() : players.stream()
+                .map(player -> new Player(player.getId(), player.getPlayerId(), player.getPlayerName(), player.getExternalKey()))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,87 @@
+package com.paf.exercise.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Fans committed tournament changes out to any number of subscribers. Subscribers are plain Reactor subscriptions on
+ * one multicast sink, so an idle subscriber holds no thread; each one gets a bounded buffer and loses its oldest
+ * events when it falls behind. Every event carries a sequence number as its SSE id, a gap tells the client to reload:
+ * the stream of all tournaments numbers events across all tournaments, the stream of one tournament numbers that
+ * tournament's events only, so neither has gaps other than events that were really lost.
+ */
+@Slf4j
+@Component
+public class TournamentEventBroadcaster {
+    private final Sinks.Many<Sequenced> sink = Sinks.many().multicast().directBestEffort();
+    private final int bufferSize;
+    private final Duration heartbeatInterval;
+    private long sequence;
+    //Next sequence per tournament, dropped with the tournament
+    private final Map<String, Long> tournamentSequences = new HashMap<>();
+
+    public TournamentEventBroadcaster(@Value("${tournament.events.buffer-size:256}") int bufferSize,
+                                      @Value("${tournament.events.heartbeat:15s}") Duration heartbeatInterval) {
+        this.bufferSize = bufferSize;
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    //Runs once the publishing transaction has committed, or straight away when it was published outside of one
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTournamentEvent(TournamentEvent event) {
+        publish(event);
+    }
+
+    //Serialised so sequence numbers follow emission order and the sink never sees concurrent emissions
+    public synchronized void publish(TournamentEvent event) {
+        sequence++;
+        long tournamentSequence = tournamentSequences.merge(event.getTournamentId(), 1L, Long::sum);
+        if (event.getType() == TournamentEventType.TOURNAMENT_DELETED) {
+            tournamentSequences.remove(event.getTournamentId());
+        }
+        sink.tryEmitNext(new Sequenced(sequence, tournamentSequence, event));
+    }
+
+    //Events of one tournament, or of all tournaments when no id is given, interleaved with heartbeat comments
+    public Flux<ServerSentEvent<TournamentEvent>> subscribe(String tournamentId) {
+        Flux<ServerSentEvent<TournamentEvent>> events = sink.asFlux()
+                .filter(sequenced -> tournamentId == null || tournamentId.equals(sequenced.event.getTournamentId()))
+                .map(sequenced -> ServerSentEvent.builder(sequenced.event)
+                        .id(String.valueOf(tournamentId == null ? sequenced.sequence : sequenced.tournamentSequence))
+                        .event(sequenced.event.getType().name())
+                        .build())
+                .onBackpressureBuffer(bufferSize, dropped -> log.warn("Dropped event {} for a slow subscriber", dropped.id()), BufferOverflowStrategy.DROP_OLDEST);
+        //Heartbeats keep proxies from closing idle connections and surface disconnected clients on the next write
+        Flux<ServerSentEvent<TournamentEvent>> heartbeats = Flux.interval(heartbeatInterval)
+                .map(tick -> ServerSentEvent.<TournamentEvent>builder().comment("heartbeat").build())
+                .onBackpressureDrop();
+        return Flux.merge(events, heartbeats);
+    }
+
+    public int subscriberCount() {
+        return sink.currentSubscriberCount();
+    }
+
+    //An event with its place in the stream of all tournaments and in the stream of its own tournament
+    private static final class Sequenced {
+        private final long sequence;
+        private final long tournamentSequence;
+        private final TournamentEvent event;
+
+        private Sequenced(long sequence, long tournamentSequence, TournamentEvent event) {
+            this.sequence = sequence;
+            this.tournamentSequence = tournamentSequence;
+            this.event = event;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.paf.exercise.event;
+
+public enum TournamentEventType {
+    TOURNAMENT_CREATED,
+    TOURNAMENT_UPDATED,
+    TOURNAMENT_DELETED,
+    PLAYERS_JOINED,
+    PLAYER_LEFT,
+    PLAYER_MERGED
+}
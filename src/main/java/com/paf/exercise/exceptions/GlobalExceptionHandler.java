@@ -1,6 +1,7 @@
 package com.paf.exercise.exceptions;
 
 import com.paf.exercise.response.ResponseEntityBuilder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -19,10 +20,14 @@ import javax.validation.ConstraintViolationException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 @ControllerAdvice
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
+    @Value("${tournament.async.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
     // handleHttpMediaTypeNotSupported : triggers when the JSON is invalid
     @Override
     protected ResponseEntity<Object> handleHttpMediaTypeNotSupported(
@@ -142,6 +147,20 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
     }
 
+    // handleRejectedExecutionException : triggers when the async request executor and its queue are full
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Object> handleRejectedExecutionException(RejectedExecutionException ex) {
+
+        List<String> details = new ArrayList<String>();
+        details.add("The server is busy, retry in " + retryAfterSeconds + " seconds");
+
+        ApiError err = new ApiError(LocalDateTime.now(), HttpStatus.SERVICE_UNAVAILABLE, "Service Busy", details);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        return new ResponseEntity<>(err, headers, err.getStatus());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handleAll(Exception ex, WebRequest request) {
         List<String> details = new ArrayList<>();
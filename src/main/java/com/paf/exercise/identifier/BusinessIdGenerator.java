@@ -0,0 +1,20 @@
+package com.paf.exercise.identifier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+//Generates tournament and player ids, time-ordered by default so new rows land at the end of the index
+@Component
+public class BusinessIdGenerator {
+    private final boolean timeOrdered;
+
+    public BusinessIdGenerator(@Value("${tournament.identifiers.time-ordered:true}") boolean timeOrdered) {
+        this.timeOrdered = timeOrdered;
+    }
+
+    public String nextId() {
+        return (timeOrdered ? Uuids.timeOrdered() : UUID.randomUUID()).toString();
+    }
+}
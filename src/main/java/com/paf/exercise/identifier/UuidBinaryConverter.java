@@ -0,0 +1,19 @@
+package com.paf.exercise.identifier;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+//Stores the string identifiers exposed by the API as BINARY(16) columns
+@Converter
+public class UuidBinaryConverter implements AttributeConverter<String, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(String attribute) {
+        return attribute == null ? null : Uuids.toBytes(attribute);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] dbData) {
+        return dbData == null ? null : Uuids.fromBytes(dbData);
+    }
+}
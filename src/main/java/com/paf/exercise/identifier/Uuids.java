@@ -0,0 +1,62 @@
+package com.paf.exercise.identifier;
+
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+//Conversions between the canonical 36 character UUID form used by the API and the 16 byte form used for storage
+public final class Uuids {
+    private static final int CANONICAL_LENGTH = 36;
+    private static final int SEQUENCE_BITS = 12;
+    private static final SecureRandom RANDOM = new SecureRandom();
+    //Unix millis shifted left by SEQUENCE_BITS plus a per-millisecond counter, keeps ids monotonic on this node
+    private static final AtomicLong LAST_TIMESTAMP_AND_SEQUENCE = new AtomicLong();
+
+    private Uuids() {
+    }
+
+    //UUIDv7 layout: 48 bit unix millis, version, 12 bit sequence, variant, 62 random bits
+    public static UUID timeOrdered() {
+        long timestampAndSequence = LAST_TIMESTAMP_AND_SEQUENCE.updateAndGet(last -> {
+            long now = System.currentTimeMillis() << SEQUENCE_BITS;
+            return now > last ? now : last + 1;
+        });
+        long millis = timestampAndSequence >>> SEQUENCE_BITS;
+        long sequence = timestampAndSequence & ((1L << SEQUENCE_BITS) - 1);
+        long mostSigBits = (millis << 16) | 0x7000L | sequence;
+        long leastSigBits = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    public static boolean isValid(String uuid) {
+        if (uuid == null || uuid.length() != CANONICAL_LENGTH) {
+            return false;
+        }
+        try {
+            UUID.fromString(uuid);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    public static byte[] toBytes(String uuid) {
+        if (!isValid(uuid)) {
+            throw new IllegalArgumentException("Invalid identifier: " + uuid);
+        }
+        UUID parsed = UUID.fromString(uuid);
+        return ByteBuffer.allocate(16)
+                .putLong(parsed.getMostSignificantBits())
+                .putLong(parsed.getLeastSignificantBits())
+                .array();
+    }
+
+    public static String fromBytes(byte[] bytes) {
+        if (bytes.length != 16) {
+            throw new IllegalArgumentException("Invalid identifier length: " + bytes.length);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong()).toString();
+    }
+}
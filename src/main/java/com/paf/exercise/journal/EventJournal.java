@@ -0,0 +1,172 @@
+package com.paf.exercise.journal;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.paf.exercise.event.TournamentEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Durable, append-only record of every committed tournament change. Appending only publishes the change into an
+ * in-memory ring buffer, so request threads never wait for the disk; a single background writer drains the ring in
+ * batches, assigns journal sequences in ring order and writes the batch to memory-mapped segment files, forcing it to
+ * disk once per batch. Entries are replayed in journal order.
+ */
+@Slf4j
+public class EventJournal implements AutoCloseable {
+    private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+    private static final long RETRY_PARK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Path directory;
+    private final RingBuffer<JournalEntry> ring;
+    private final JournalSegments segments;
+    private final int batchSize;
+    private final boolean forceEachBatch;
+    private final ObjectWriter entryWriter;
+    private final ObjectReader entryReader;
+    private final Thread writerThread;
+    private volatile boolean running;
+    //Ring sequences below this one are on disk
+    private volatile long written;
+    private volatile long writtenEntries;
+
+    public EventJournal(Path directory, int capacity, int batchSize, int segmentSize, boolean forceEachBatch, ObjectMapper objectMapper) throws IOException {
+        this.directory = directory;
+        this.ring = new RingBuffer<>(capacity);
+        this.segments = new JournalSegments(directory, segmentSize);
+        this.batchSize = batchSize;
+        this.forceEachBatch = forceEachBatch;
+        this.entryWriter = objectMapper.writerFor(JournalEntry.class);
+        this.entryReader = objectMapper.readerFor(JournalEntry.class);
+        this.writerThread = new Thread(this::writeLoop, "journal-writer");
+        this.writerThread.setDaemon(true);
+    }
+
+    public void start() {
+        running = true;
+        writerThread.start();
+        log.info("Journal writing to {}", directory);
+    }
+
+    //Lock-free unless the ring is full, then the caller waits for the writer to catch up rather than losing the change
+    public void append(TournamentEvent event) {
+        ring.put(new JournalEntry(0, Instant.now(), event));
+    }
+
+    //Blocks until everything appended before this call is on disk
+    public void awaitWritten() {
+        long target = ring.claimed();
+        while (written < target) {
+            if (!writerThread.isAlive()) {
+                throw new IllegalStateException("The journal writer is not running");
+            }
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+    }
+
+    //Every entry from fromSequence on, oldest first, including everything appended before this call
+    public void replay(long fromSequence, Consumer<JournalEntry> consumer) {
+        replay(fromSequence, Long.MAX_VALUE, entry -> {
+            consumer.accept(entry);
+            return true;
+        });
+    }
+
+    //Entries from fromSequence on until the consumer returns false or maxEntries have been read, whichever comes first.
+    //Returns the sequence to continue from, so a bounded reader can pick up where it stopped.
+    public long replay(long fromSequence, long maxEntries, Predicate<JournalEntry> consumer) {
+        awaitWritten();
+        long[] next = {fromSequence, 0};
+        try {
+            JournalSegments.read(directory, fromSequence, (sequence, payload) -> {
+                next[0] = sequence + 1;
+                try {
+                    return consumer.test(entryReader.readValue(payload)) && ++next[1] < maxEntries;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return next[0];
+    }
+
+    public long pending() {
+        return ring.claimed() - written;
+    }
+
+    public long writtenEntries() {
+        return writtenEntries;
+    }
+
+    //Stops after writing everything appended so far
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        writerThread.join();
+        segments.close();
+        log.info("Journal closed at sequence {}", segments.nextSequence() - 1);
+    }
+
+    private void writeLoop() {
+        List<JournalEntry> batch = new ArrayList<>(batchSize);
+        while (running || ring.consumed() < ring.claimed()) {
+            ring.drainTo(batch::add, batchSize);
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            write(batch);
+            batch.clear();
+            written = ring.consumed();
+        }
+    }
+
+    //Keeps retrying on I/O errors: producers are held back by the full ring instead of changes being dropped
+    private void write(List<JournalEntry> batch) {
+        int next = 0;
+        while (true) {
+            try {
+                for (; next < batch.size(); next++) {
+                    JournalEntry entry = batch.get(next);
+                    entry.setSequence(segments.nextSequence());
+                    byte[] payload = serialize(entry);
+                    if (payload != null) {
+                        segments.append(payload);
+                    }
+                }
+                if (forceEachBatch) {
+                    segments.force();
+                }
+                break;
+            } catch (IOException | UncheckedIOException e) {
+                log.error("Failed to write to the journal in {}, retrying", directory, e);
+                LockSupport.parkNanos(RETRY_PARK_NANOS);
+            }
+        }
+        writtenEntries += batch.size();
+    }
+
+    //An entry that cannot be serialized would fail forever, so it is logged and skipped instead of retried
+    private byte[] serialize(JournalEntry entry) {
+        try {
+            return entryWriter.writeValueAsBytes(entry);
+        } catch (JsonProcessingException e) {
+            log.error("Skipping a journal entry that cannot be serialized: " + entry, e);
+            return null;
+        }
+    }
+}
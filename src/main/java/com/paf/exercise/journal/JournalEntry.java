@@ -0,0 +1,19 @@
+package com.paf.exercise.journal;
+
+import com.paf.exercise.event.TournamentEvent;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class JournalEntry {
+    //Position in the journal, consecutive across segments and restarts
+    private long sequence;
+    //When the change was committed
+    private Instant timestamp;
+    private TournamentEvent event;
+}
@@ -0,0 +1,182 @@
+package com.paf.exercise.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.BiPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal on disk as a sequence of fixed-size, memory-mapped segment files, each named after the sequence
+ * of its first record. A record is [int length][int crc32][long sequence][payload]; a zero length marks the end of
+ * the written part of a segment. The length is stored last, so a record only becomes visible once it is complete, and
+ * a torn record left behind by a crash fails its checksum and is cut off on the next start.
+ * Not thread safe: written by the journal's single writer thread only.
+ */
+@Slf4j
+final class JournalSegments implements AutoCloseable {
+    static final String SEGMENT_SUFFIX = ".journal";
+    private static final int HEADER_SIZE = Integer.BYTES + Integer.BYTES + Long.BYTES;
+
+    private final Path directory;
+    private final int segmentSize;
+    private MappedByteBuffer segment;
+    private long nextSequence;
+
+    JournalSegments(Path directory, int segmentSize) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.segmentSize = segmentSize;
+        this.nextSequence = 1;
+        List<Path> segments = segments(directory);
+        if (!segments.isEmpty()) {
+            recover(segments.get(segments.size() - 1));
+        }
+    }
+
+    //Sequence the next appended record will get
+    long nextSequence() {
+        return nextSequence;
+    }
+
+    long append(byte[] payload) throws IOException {
+        int recordSize = HEADER_SIZE + payload.length;
+        //Keep room for the zero length that terminates the segment
+        if (segment == null || segment.remaining() < recordSize + Integer.BYTES) {
+            roll(recordSize + Integer.BYTES);
+        }
+        long sequence = nextSequence++;
+        int start = segment.position();
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        segment.position(start + Integer.BYTES);
+        segment.putInt((int) crc.getValue());
+        segment.putLong(sequence);
+        segment.put(payload);
+        segment.putInt(start, payload.length);
+        return sequence;
+    }
+
+    void force() {
+        if (segment != null) {
+            segment.force();
+        }
+    }
+
+    @Override
+    public void close() {
+        force();
+        segment = null;
+    }
+
+    //Reads intact records with a sequence of at least fromSequence in journal order, until the consumer returns false
+    static void read(Path directory, long fromSequence, BiPredicate<Long, byte[]> consumer) throws IOException {
+        List<Path> segments = segments(directory);
+        for (int i = 0; i < segments.size(); i++) {
+            //A later segment starting at or before fromSequence means this one holds nothing we need
+            if (i + 1 < segments.size() && firstSequence(segments.get(i + 1)) <= fromSequence) {
+                continue;
+            }
+            MappedByteBuffer buffer = map(segments.get(i), FileChannel.MapMode.READ_ONLY, Files.size(segments.get(i)));
+            byte[] payload;
+            while ((payload = next(buffer)) != null) {
+                long sequence = buffer.getLong(buffer.position() - payload.length - Long.BYTES);
+                if (sequence >= fromSequence && !consumer.test(sequence, payload)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    //Finds the end of the last segment and drops anything after the last intact record
+    private void recover(Path last) throws IOException {
+        MappedByteBuffer buffer = map(last, FileChannel.MapMode.READ_WRITE, Files.size(last));
+        long sequence = firstSequence(last) - 1;
+        byte[] payload;
+        while ((payload = next(buffer)) != null) {
+            sequence = buffer.getLong(buffer.position() - payload.length - Long.BYTES);
+        }
+        //A torn record may have left bytes anywhere after the end, clear them so they can never be mistaken for a record
+        int end = buffer.position();
+        boolean torn = false;
+        for (int offset = end; offset < buffer.limit(); offset++) {
+            if (buffer.get(offset) != 0) {
+                buffer.put(offset, (byte) 0);
+                torn = true;
+            }
+        }
+        if (torn) {
+            log.warn("Discarded a torn record at offset {} of journal segment {}", end, last);
+            buffer.force();
+        }
+        segment = buffer;
+        nextSequence = sequence + 1;
+        log.info("Journal recovered from {}, continuing at sequence {}", directory, nextSequence);
+    }
+
+    private void roll(int minimumSize) throws IOException {
+        force();
+        Path path = directory.resolve(String.format("%020d%s", nextSequence, SEGMENT_SUFFIX));
+        segment = map(path, FileChannel.MapMode.READ_WRITE, Math.max(segmentSize, minimumSize));
+    }
+
+    //Payload of the record at the buffer's position, advancing past it, or null at the end of the written records
+    private static byte[] next(MappedByteBuffer buffer) {
+        int start = buffer.position();
+        if (buffer.limit() - start < HEADER_SIZE) {
+            return null;
+        }
+        int length = buffer.getInt(start);
+        if (length <= 0 || length > buffer.limit() - start - HEADER_SIZE) {
+            return null;
+        }
+        int checksum = buffer.getInt(start + Integer.BYTES);
+        byte[] payload = new byte[length];
+        buffer.duplicate().position(start + HEADER_SIZE).get(payload);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        if ((int) crc.getValue() != checksum) {
+            return null;
+        }
+        buffer.position(start + HEADER_SIZE + length);
+        return payload;
+    }
+
+    private static MappedByteBuffer map(Path path, FileChannel.MapMode mode, long size) throws IOException {
+        StandardOpenOption[] options = mode == FileChannel.MapMode.READ_ONLY
+                ? new StandardOpenOption[]{StandardOpenOption.READ}
+                : new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE};
+        //The mapping stays valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(path, options)) {
+            return channel.map(mode, 0, size);
+        }
+    }
+
+    private static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static long firstSequence(Path segment) {
+        String name = segment.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            throw new UncheckedIOException(new IOException("Unexpected journal segment name: " + name));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.paf.exercise.journal;
+
+import com.paf.exercise.event.TournamentEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Feeds committed tournament events into the journal in commit order per tournament. Events are collected for the
+ * duration of the transaction; right before commit, once all of its writes are flushed and its row locks held, the
+ * transaction takes the lock stripes of its tournaments and keeps them until its events are in the journal. The next
+ * transaction on the same tournament cannot commit before that, so its events can never overtake them. Rolled back
+ * transactions journal nothing.
+ */
+public class JournalTransactionListener {
+    private final EventJournal eventJournal;
+    private final EntityManager entityManager;
+    private final ReentrantLock[] stripes;
+
+    public JournalTransactionListener(EventJournal eventJournal, EntityManager entityManager, int stripeCount) {
+        this.eventJournal = eventJournal;
+        this.entityManager = entityManager;
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    @EventListener
+    public void onTournamentEvent(TournamentEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            //Published by the reactive service once its own transaction has committed
+            ReentrantLock stripe = stripes[stripeOf(event)];
+            stripe.lock();
+            try {
+                eventJournal.append(event);
+            } finally {
+                stripe.unlock();
+            }
+            return;
+        }
+        PendingEvents pending = (PendingEvents) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingEvents();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.events.add(event);
+    }
+
+    private int stripeOf(TournamentEvent event) {
+        return Math.floorMod(event.getTournamentId().hashCode(), stripes.length);
+    }
+
+    private class PendingEvents implements TransactionSynchronization {
+        private final List<TournamentEvent> events = new ArrayList<>();
+        private final List<ReentrantLock> held = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            //Flushing first means every row lock is taken before a stripe is, so a stripe holder never waits on the database
+            entityManager.flush();
+            //Always in ascending stripe order, transactions touching several tournaments cannot deadlock each other
+            TreeSet<Integer> indexes = new TreeSet<>();
+            events.forEach(event -> indexes.add(stripeOf(event)));
+            for (int index : indexes) {
+                stripes[index].lock();
+                held.add(stripes[index]);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            try {
+                if (status == STATUS_COMMITTED) {
+                    events.forEach(eventJournal::append);
+                }
+            } finally {
+                held.forEach(ReentrantLock::unlock);
+                TransactionSynchronizationManager.unbindResourceIfPossible(JournalTransactionListener.this);
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.paf.exercise.journal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Bounded multi-producer, single-consumer ring. Producers claim a sequence with one atomic increment and publish into
+ * its slot, no locks are taken; when the ring is full they back off until the consumer frees room, so nothing is ever
+ * dropped. The consumer takes elements strictly in claim order.
+ */
+final class RingBuffer<E> {
+    private static final long PRODUCER_BACKOFF_NANOS = 10_000;
+
+    private final AtomicReferenceArray<E> slots;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    //Every sequence below this one has been taken by the consumer and its slot is free again
+    private volatile long consumed;
+
+    RingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring buffer capacity must be a power of two, was " + capacity);
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    void put(E element) {
+        long sequence = claimed.getAndIncrement();
+        while (sequence - consumed >= slots.length()) {
+            LockSupport.parkNanos(PRODUCER_BACKOFF_NANOS);
+        }
+        slots.setRelease((int) sequence & mask, element);
+    }
+
+    //Hands over up to max elements in sequence order, stopping early at a slot that is claimed but not yet published
+    int drainTo(Consumer<E> consumer, int max) {
+        long sequence = consumed;
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) sequence & mask;
+            E element = slots.getAcquire(index);
+            if (element == null) {
+                break;
+            }
+            slots.setRelease(index, null);
+            consumer.accept(element);
+            sequence++;
+            drained++;
+        }
+        consumed = sequence;
+        return drained;
+    }
+
+    //Sequences claimed so far, an element appended before this call has a sequence below the returned value
+    long claimed() {
+        return claimed.get();
+    }
+
+    long consumed() {
+        return consumed;
+    }
+
+    int capacity() {
+        return slots.length();
+    }
+}
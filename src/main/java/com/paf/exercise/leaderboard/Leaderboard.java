@@ -0,0 +1,155 @@
+package com.paf.exercise.leaderboard;
+
+import com.paf.exercise.response.Standing;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Live standings of one tournament, kept sorted as scores change so every read is O(log n) plus the entries it
+ * returns. Score updates take the write lock of this tournament only; reads share the read lock.
+ */
+public class Leaderboard {
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Long> scores = new HashMap<>();
+    private final OrderStatisticTree tree = new OrderStatisticTree();
+
+    //Returns the new score of the player
+    public long addPoints(String playerId, long points) {
+        lock.writeLock().lock();
+        try {
+            Long current = scores.get(playerId);
+            long score = current == null ? points : current + points;
+            if (current != null) {
+                tree.remove(current, playerId);
+            }
+            tree.insert(score, playerId);
+            scores.put(playerId, score);
+            return score;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(String playerId) {
+        lock.writeLock().lock();
+        try {
+            Long current = scores.remove(playerId);
+            return current != null && tree.remove(current, playerId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //Adds the points of one player to another and drops the first, returns whether the first had any
+    public boolean merge(String fromPlayerId, String intoPlayerId) {
+        lock.writeLock().lock();
+        try {
+            Long points = scores.remove(fromPlayerId);
+            if (points == null) {
+                return false;
+            }
+            tree.remove(points, fromPlayerId);
+            Long current = scores.get(intoPlayerId);
+            if (current != null) {
+                tree.remove(current, intoPlayerId);
+            }
+            long score = current == null ? points : current + points;
+            tree.insert(score, intoPlayerId);
+            scores.put(intoPlayerId, score);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return tree.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<Standing> standing(String playerId) {
+        lock.readLock().lock();
+        try {
+            Long score = scores.get(playerId);
+            return score == null ? Optional.empty() : Optional.of(new Standing(tree.countBefore(score, null) + 1, playerId, score));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //Enough to work out the payout of one player in O(log n), without reading the standings in front of it
+    public Optional<Placing> placing(String playerId) {
+        lock.readLock().lock();
+        try {
+            Long score = scores.get(playerId);
+            if (score == null) {
+                return Optional.empty();
+            }
+            int end = score == Long.MIN_VALUE ? tree.size() : tree.countBefore(score - 1, null);
+            return Optional.of(new Placing(score, tree.countBefore(score, null), end - 1, tree.countBefore(score, playerId), tree.size()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Standing> top(int limit) {
+        return standings(0, limit);
+    }
+
+    //The top places and every player tied with the last of them, e.g. for sharing out prizes
+    public List<Standing> topThrough(int places) {
+        lock.readLock().lock();
+        try {
+            if (places <= 0) {
+                return new ArrayList<>();
+            }
+            if (places >= tree.size()) {
+                return standings(0, tree.size());
+            }
+            long[] last = new long[1];
+            tree.visit(places - 1, 1, (score, playerId) -> last[0] = score);
+            int end = last[0] == Long.MIN_VALUE ? tree.size() : tree.countBefore(last[0] - 1, null);
+            return standings(0, end);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //Standings from radius places above the given rank to radius places below it
+    public List<Standing> around(int rank, int radius) {
+        int from = Math.max(rank - 1 - radius, 0);
+        return standings(from, rank - 1 + radius - from + 1);
+    }
+
+    private List<Standing> standings(int from, int count) {
+        lock.readLock().lock();
+        try {
+            List<Standing> standings = new ArrayList<>(Math.max(Math.min(count, tree.size() - from), 0));
+            tree.visit(from, count, (score, playerId) -> {
+                Standing previous = standings.isEmpty() ? null : standings.get(standings.size() - 1);
+                //Only the first entry needs a lookup, after that equal scores share the rank and the rest rank by position
+                int rank;
+                if (previous == null) {
+                    rank = tree.countBefore(score, null) + 1;
+                } else if (previous.getScore() == score) {
+                    rank = previous.getRank();
+                } else {
+                    rank = from + standings.size() + 1;
+                }
+                standings.add(new Standing(rank, playerId, score));
+            });
+            return standings;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
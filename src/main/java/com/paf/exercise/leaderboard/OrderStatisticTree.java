@@ -0,0 +1,173 @@
+package com.paf.exercise.leaderboard;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Treap of (score, player id) entries ordered by score, highest first, and player id for equal scores. Every node
+ * counts the entries below it, so the position of an entry and the entry at a position are found in O(log n)
+ * expected time without walking the entries in front of it. Not thread safe, Leaderboard guards it.
+ */
+final class OrderStatisticTree {
+
+    @FunctionalInterface
+    interface EntryVisitor {
+        void visit(long score, String playerId);
+    }
+
+    private static final class Node {
+        private final long score;
+        private final String playerId;
+        private final int priority;
+        private Node left;
+        private Node right;
+        private int size = 1;
+
+        private Node(long score, String playerId) {
+            this.score = score;
+            this.playerId = playerId;
+            this.priority = ThreadLocalRandom.current().nextInt();
+        }
+    }
+
+    private Node root;
+
+    int size() {
+        return size(root);
+    }
+
+    void insert(long score, String playerId) {
+        root = insert(root, new Node(score, playerId));
+    }
+
+    boolean remove(long score, String playerId) {
+        int before = size(root);
+        root = remove(root, score, playerId);
+        return size(root) < before;
+    }
+
+    //Number of entries ordered before (score, playerId); a null player id counts only the strictly higher scores
+    int countBefore(long score, String playerId) {
+        int count = 0;
+        Node node = root;
+        while (node != null) {
+            if (compare(score, playerId, node) > 0) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    //Visits up to count entries in order, starting at the zero-based position from
+    void visit(int from, int count, EntryVisitor visitor) {
+        visit(root, from, new int[]{count}, visitor);
+    }
+
+    private static void visit(Node node, int from, int[] remaining, EntryVisitor visitor) {
+        if (node == null || remaining[0] <= 0) {
+            return;
+        }
+        int leftSize = size(node.left);
+        //Subtrees entirely in front of the start position are skipped by their size alone
+        if (from < leftSize) {
+            visit(node.left, from, remaining, visitor);
+        }
+        if (from <= leftSize && remaining[0] > 0) {
+            visitor.visit(node.score, node.playerId);
+            remaining[0]--;
+        }
+        visit(node.right, Math.max(from - leftSize - 1, 0), remaining, visitor);
+    }
+
+    private static Node insert(Node node, Node entry) {
+        if (node == null) {
+            return entry;
+        }
+        node.size++;
+        if (compare(entry.score, entry.playerId, node) < 0) {
+            node.left = insert(node.left, entry);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, entry);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        return node;
+    }
+
+    private static Node remove(Node node, long score, String playerId) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = compare(score, playerId, node);
+        if (comparison < 0) {
+            node.left = remove(node.left, score, playerId);
+        } else if (comparison > 0) {
+            node.right = remove(node.right, score, playerId);
+        } else {
+            return merge(node.left, node.right);
+        }
+        update(node);
+        return node;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private static void update(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    //Higher scores first, then player ids ascending; a null player id sorts before every id of the same score
+    private static int compare(long score, String playerId, Node node) {
+        int comparison = Long.compare(node.score, score);
+        if (comparison != 0) {
+            return comparison;
+        }
+        if (playerId == null) {
+            return -1;
+        }
+        return playerId.compareTo(node.playerId);
+    }
+}
@@ -0,0 +1,20 @@
+package com.paf.exercise.leaderboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+//Where a player stands in the field: zero-based positions of the player and of the run of players on the same score
+@Data
+@AllArgsConstructor
+public class Placing {
+    private long score;
+    private int first;
+    private int last;
+    private int position;
+    private int field;
+
+    //Competition rank, shared by the whole run
+    public int getRank() {
+        return first + 1;
+    }
+}
@@ -0,0 +1,22 @@
+package com.paf.exercise.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+//Counts the SQL statements Hibernate prepares on the current thread, reset at the start of each request
+public class StatementCounter implements StatementInspector {
+    private static final ThreadLocal<int[]> STATEMENTS = ThreadLocal.withInitial(() -> new int[1]);
+
+    public static void reset() {
+        STATEMENTS.get()[0] = 0;
+    }
+
+    public static int count() {
+        return STATEMENTS.get()[0];
+    }
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get()[0]++;
+        return sql;
+    }
+}
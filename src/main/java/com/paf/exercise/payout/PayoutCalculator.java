@@ -0,0 +1,110 @@
+package com.paf.exercise.payout;
+
+/**
+ * Splits a pool of minor currency units (cents for EUR) across a ranked field with nothing but long arithmetic, so
+ * every unit of the pool is paid out exactly once and the same standings always pay the same amounts.
+ * <p>
+ * Each place is paid its share of the pool rounded down and the units left over by the rounding, fewer than the places
+ * paid, go one each to the highest places. Players on equal scores then share the combined amounts of the places they
+ * occupy, with any units that do not divide evenly going to the first of them in standings order. When the field is
+ * smaller than the table the places nobody finished in are dropped and the pool is split across the rest in proportion.
+ */
+public final class PayoutCalculator {
+
+    private PayoutCalculator() {
+    }
+
+    /**
+     * Writes the payout of the first entries of the standings, whose scores are given highest first, into payouts
+     * and returns how many entries the payout reaches; the entries after those are paid nothing and left untouched.
+     * Works in place in payouts, which must be as long as the standings, without allocating.
+     */
+    public static int distribute(long pool, PayoutTable table, long[] scores, int count, long[] payouts) {
+        if (pool < 0) {
+            throw new IllegalArgumentException("Invalid pool: " + pool);
+        }
+        int paid = Math.min(table.places(), count);
+        if (paid == 0 || pool == 0) {
+            return 0;
+        }
+        //Amounts of the places first, rounded down
+        long denominator = table.shareOfFirst(paid);
+        long distributed = 0;
+        int tier = 0;
+        for (int place = 0; place < paid; place++) {
+            if (place >= table.lastPlace(tier)) {
+                tier++;
+            }
+            long amount = Math.multiplyExact(pool, table.tierShare(tier)) / denominator;
+            payouts[place] = amount;
+            distributed += amount;
+        }
+        for (int place = 0; distributed < pool; place++) {
+            payouts[place]++;
+            distributed++;
+        }
+        //Then ties share the places they span, which may reach past the last paid place
+        int end = paid;
+        int first = 0;
+        while (first < paid) {
+            int last = first;
+            while (last + 1 < count && scores[last + 1] == scores[first]) {
+                last++;
+            }
+            if (last > first) {
+                long total = 0;
+                for (int place = first; place <= Math.min(last, paid - 1); place++) {
+                    total += payouts[place];
+                }
+                int players = last - first + 1;
+                long each = total / players;
+                long extra = total % players;
+                for (int place = first; place <= last; place++) {
+                    payouts[place] = place - first < extra ? each + 1 : each;
+                }
+                end = Math.max(end, last + 1);
+            }
+            first = last + 1;
+        }
+        return end;
+    }
+
+    /**
+     * Returns what distribute pays the entry at the zero-based position of a field of count entries, given the first
+     * and last position of the entries on its score. Only the places of that run are worked out, so a single payout
+     * costs the number of tiers and tied places rather than the whole table.
+     */
+    public static long payoutOf(long pool, PayoutTable table, int count, int first, int last, int position) {
+        if (pool < 0) {
+            throw new IllegalArgumentException("Invalid pool: " + pool);
+        }
+        int paid = Math.min(table.places(), count);
+        if (paid == 0 || pool == 0 || first >= paid) {
+            return 0;
+        }
+        long denominator = table.shareOfFirst(paid);
+        //The units the rounding leaves over, distribute hands them one each to the places from the first on
+        long leftover = pool;
+        int tierFirst = 0;
+        for (int tier = 0; tierFirst < paid; tier++) {
+            int places = Math.min(table.lastPlace(tier), paid) - tierFirst;
+            leftover -= places * (Math.multiplyExact(pool, table.tierShare(tier)) / denominator);
+            tierFirst = table.lastPlace(tier);
+        }
+        long total = 0;
+        for (int place = first; place <= Math.min(last, paid - 1); place++) {
+            total += amountOf(pool, table, denominator, leftover, place);
+        }
+        int players = last - first + 1;
+        return position - first < total % players ? total / players + 1 : total / players;
+    }
+
+    private static long amountOf(long pool, PayoutTable table, long denominator, long leftover, int place) {
+        int tier = 0;
+        while (place >= table.lastPlace(tier)) {
+            tier++;
+        }
+        long amount = Math.multiplyExact(pool, table.tierShare(tier)) / denominator;
+        return place < leftover ? amount + 1 : amount;
+    }
+}
@@ -0,0 +1,101 @@
+package com.paf.exercise.payout;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Share of the reward paid to each finishing place, in parts per million of the pool. A table is a list of tiers of
+ * consecutive places that each pay the same share, written as {@code <place>[-<place>]:<percent>%} entries, e.g.
+ * {@code 1:100%} (winner takes all), {@code 1:50%,2:30%,3:20%} (top 3) or {@code 1:30%,2:20%,3:10%,4-10:4%,11-20:1.2%}
+ * (tiered, the percentage is per place). The shares add up to the whole pool and never rise further down the table.
+ */
+public final class PayoutTable {
+    public static final int WHOLE = 1_000_000;
+
+    //Last place of each tier, one-based and ascending, and the share every place of that tier is paid
+    private final int[] lastPlaces;
+    private final int[] shares;
+
+    private PayoutTable(int[] lastPlaces, int[] shares) {
+        this.lastPlaces = lastPlaces;
+        this.shares = shares;
+    }
+
+    public static PayoutTable winnerTakesAll() {
+        return parse("1:100%");
+    }
+
+    public static PayoutTable parse(String specification) {
+        List<int[]> tiers = new ArrayList<>();
+        int nextPlace = 1;
+        long total = 0;
+        int previousShare = WHOLE;
+        for (String entry : specification.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2 || !parts[1].trim().endsWith("%")) {
+                throw new IllegalArgumentException("Invalid payout tier '" + entry.trim() + "', expected <place>[-<place>]:<percent>%");
+            }
+            String[] places = parts[0].trim().split("-");
+            int first = Integer.parseInt(places[0].trim());
+            int last = places.length == 1 ? first : Integer.parseInt(places[1].trim());
+            if (first != nextPlace || last < first) {
+                throw new IllegalArgumentException("Payout tier '" + entry.trim() + "' does not continue from place " + nextPlace);
+            }
+            String percent = parts[1].trim();
+            int share = new BigDecimal(percent.substring(0, percent.length() - 1).trim())
+                    .movePointRight(4).intValueExact();
+            if (share <= 0 || share > previousShare) {
+                throw new IllegalArgumentException("Payout tier '" + entry.trim() + "' must pay more than nothing and no more than the places above it");
+            }
+            tiers.add(new int[]{last, share});
+            total += (long) (last - first + 1) * share;
+            nextPlace = last + 1;
+            previousShare = share;
+        }
+        if (total != WHOLE) {
+            throw new IllegalArgumentException("Payout table '" + specification + "' pays out " + BigDecimal.valueOf(total, 4) + "% instead of 100%");
+        }
+        int[] lastPlaces = new int[tiers.size()];
+        int[] shares = new int[tiers.size()];
+        for (int i = 0; i < tiers.size(); i++) {
+            lastPlaces[i] = tiers.get(i)[0];
+            shares[i] = tiers.get(i)[1];
+        }
+        return new PayoutTable(lastPlaces, shares);
+    }
+
+    //Number of places paid when the field is large enough
+    public int places() {
+        return lastPlaces[lastPlaces.length - 1];
+    }
+
+    int lastPlace(int tier) {
+        return lastPlaces[tier];
+    }
+
+    int tierShare(int tier) {
+        return shares[tier];
+    }
+
+    //Share of a single one-based place, in parts per million; 0 past the last paid place
+    public int shareOfPlace(int place) {
+        for (int tier = 0; tier < lastPlaces.length; tier++) {
+            if (place <= lastPlaces[tier]) {
+                return shares[tier];
+            }
+        }
+        return 0;
+    }
+
+    //Combined share of the first places, in parts per million
+    long shareOfFirst(int places) {
+        long total = 0;
+        int first = 1;
+        for (int tier = 0; tier < lastPlaces.length && first <= places; tier++) {
+            total += (long) (Math.min(lastPlaces[tier], places) - first + 1) * shares[tier];
+            first = lastPlaces[tier] + 1;
+        }
+        return total;
+    }
+}
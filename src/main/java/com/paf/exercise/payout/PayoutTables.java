@@ -0,0 +1,36 @@
+package com.paf.exercise.payout;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+//The configured payout tables by name, parsed once at startup so a bad table fails the start rather than a request
+public class PayoutTables {
+    private final Map<String, PayoutTable> tables = new LinkedHashMap<>();
+    private final String defaultTable;
+
+    public PayoutTables(Map<String, String> specifications, String defaultTable) {
+        specifications.forEach((name, specification) -> tables.put(name, PayoutTable.parse(specification)));
+        if (!tables.containsKey(defaultTable)) {
+            throw new IllegalArgumentException("Default payout table '" + defaultTable + "' is not one of " + tables.keySet());
+        }
+        this.defaultTable = defaultTable;
+    }
+
+    public String getDefaultTable() {
+        return defaultTable;
+    }
+
+    public Set<String> names() {
+        return Collections.unmodifiableSet(tables.keySet());
+    }
+
+    public PayoutTable get(String name) {
+        PayoutTable table = tables.get(name);
+        if (table == null) {
+            throw new IllegalArgumentException("Unknown payout table '" + name + "', expected one of " + tables.keySet());
+        }
+        return table;
+    }
+}
@@ -0,0 +1,99 @@
+package com.paf.exercise.recovery;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Snapshot files on disk, one per snapshot and named after its journal sequence. Each file ends with a CRC32 of its
+ * contents and is written under a temporary name and moved into place, so a crash half way through a write leaves the
+ * previous snapshot as the latest one.
+ */
+@Slf4j
+public class SnapshotStore {
+    static final String SNAPSHOT_SUFFIX = ".snapshot";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final int retain;
+
+    public SnapshotStore(Path directory, int retain) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.retain = Math.max(retain, 1);
+    }
+
+    public void write(TournamentSnapshot snapshot) throws IOException {
+        Path target = directory.resolve(String.format("%020d%s", snapshot.getSequence(), SNAPSHOT_SUFFIX));
+        Path temporary = directory.resolve(target.getFileName() + TEMPORARY_SUFFIX);
+        CRC32 crc = new CRC32();
+        try (OutputStream file = Files.newOutputStream(temporary);
+             DataOutputStream output = new DataOutputStream(new CheckedOutputStream(new BufferedOutputStream(file), crc))) {
+            snapshot.writeTo(output);
+            output.flush();
+            //The checksum itself is written past the checked stream
+            new DataOutputStream(file).writeLong(crc.getValue());
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        log.info("Snapshot of {} tournaments written at journal sequence {}", snapshot.getTournaments().size(), snapshot.getSequence());
+        prune();
+    }
+
+    //Newest snapshot that reads back intact, older ones are tried when the newest is damaged
+    public Optional<TournamentSnapshot> latest() throws IOException {
+        List<Path> snapshots = snapshots();
+        Collections.reverse(snapshots);
+        for (Path path : snapshots) {
+            try {
+                return Optional.of(read(path));
+            } catch (IOException e) {
+                log.warn("Skipping unreadable snapshot {}: {}", path, e.getMessage());
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static TournamentSnapshot read(Path path) throws IOException {
+        CRC32 crc = new CRC32();
+        try (InputStream file = new BufferedInputStream(Files.newInputStream(path));
+             DataInputStream input = new DataInputStream(new CheckedInputStream(file, crc))) {
+            TournamentSnapshot snapshot = TournamentSnapshot.readFrom(input);
+            long checksum = crc.getValue();
+            if (new DataInputStream(file).readLong() != checksum) {
+                throw new IOException("Checksum mismatch");
+            }
+            return snapshot;
+        }
+    }
+
+    private void prune() throws IOException {
+        List<Path> snapshots = snapshots();
+        for (Path path : snapshots.subList(0, Math.max(snapshots.size() - retain, 0))) {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    private List<Path> snapshots() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(SNAPSHOT_SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.paf.exercise.recovery;
+
+import com.paf.exercise.journal.EventJournal;
+import com.paf.exercise.repository.TournamentRestoreRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rebuilds tournament state at startup from the latest snapshot plus the journal entries written after it, and loads
+ * it into the database when the database comes up empty. Afterwards it keeps folding the journal tail into its state
+ * and writes a new snapshot on every interval, so a restart only ever replays the changes since the last snapshot.
+ * Only tournaments and rosters are covered: scores are neither journaled nor snapshotted, so restored tournaments come
+ * back with empty leaderboards.
+ */
+@Slf4j
+public class StateRecovery implements AutoCloseable {
+    private final EventJournal eventJournal;
+    private final SnapshotStore snapshotStore;
+    private final ScheduledExecutorService scheduler;
+    //Built by recover before the schedule starts, then only changed under the snapshot lock
+    private TournamentSnapshot state;
+    private long snapshotSequence;
+
+    public StateRecovery(EventJournal eventJournal, SnapshotStore snapshotStore) {
+        this.eventJournal = eventJournal;
+        this.snapshotStore = snapshotStore;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "journal-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void recover(TournamentRestoreRepository restoreRepository, TransactionTemplate transactionTemplate) throws IOException {
+        long started = System.nanoTime();
+        state = snapshotStore.latest().orElseGet(TournamentSnapshot::new);
+        snapshotSequence = state.getSequence();
+        long replayed = replayTail();
+        log.info("Recovered {} tournaments from the snapshot at sequence {} and {} journal entries after it in {} ms",
+                state.getTournaments().size(), snapshotSequence, replayed, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        if (state.getTournaments().isEmpty()) {
+            return;
+        }
+        //A database that outlived the restart already holds this state, loading it twice would break the unique keys
+        transactionTemplate.executeWithoutResult(status -> {
+            if (restoreRepository.countTournaments() > 0) {
+                log.info("Database already holds tournaments, skipping the restore");
+                return;
+            }
+            restoreRepository.insertTournaments(state.getTournaments());
+            log.info("Restored {} tournaments into the database", state.getTournaments().size());
+            log.warn("Scores are not covered by recovery, the leaderboards of the restored tournaments start empty");
+        });
+    }
+
+    public void start(Duration interval) {
+        scheduler.scheduleWithFixedDelay(this::snapshotQuietly, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    //Writes a snapshot if the journal moved on since the last one, returns its sequence
+    public synchronized long snapshot() throws IOException {
+        replayTail();
+        if (state.getSequence() > snapshotSequence) {
+            snapshotStore.write(state);
+            snapshotSequence = state.getSequence();
+        }
+        return snapshotSequence;
+    }
+
+    //Stops the schedule and leaves a final snapshot behind, so the next start has no tail to replay
+    @Override
+    public void close() throws Exception {
+        scheduler.shutdown();
+        scheduler.awaitTermination(1, TimeUnit.MINUTES);
+        snapshot();
+    }
+
+    private long replayTail() {
+        long before = state.getSequence();
+        eventJournal.replay(before + 1, state::apply);
+        return state.getSequence() - before;
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to write a snapshot, retrying on the next interval", e);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.paf.exercise.recovery;
+
+import com.paf.exercise.entity.Player;
+import com.paf.exercise.entity.Tournament;
+import com.paf.exercise.event.TournamentEvent;
+import com.paf.exercise.identifier.Uuids;
+import com.paf.exercise.journal.JournalEntry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Every tournament with its roster as of one journal sequence. Built by applying journal entries in order, so a
+ * snapshot plus the entries after its sequence always gives the current state.
+ */
+public class TournamentSnapshot {
+    private static final int MAGIC = 0x54534E50;
+    //Version 2 added the creation time, version 1 snapshots are still read
+    private static final int FORMAT_VERSION = 2;
+    private static final long NO_TIME = Long.MIN_VALUE;
+    private static final byte UUID_ID = 0;
+    private static final byte TEXT_ID = 1;
+
+    //Insertion ordered, tournaments are restored in the order they were created
+    private final Map<String, SnapshotTournament> tournaments = new LinkedHashMap<>();
+    private long sequence;
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Collection<SnapshotTournament> getTournaments() {
+        return tournaments.values();
+    }
+
+    public void apply(JournalEntry entry) {
+        TournamentEvent event = entry.getEvent();
+        SnapshotTournament tournament = tournaments.get(event.getTournamentId());
+        switch (event.getType()) {
+            case TOURNAMENT_CREATED:
+                tournament = new SnapshotTournament(event.getTournamentId(), null, 0, null, 0, null, new LinkedHashMap<>());
+                tournament.update(event.getTournament());
+                for (Player player : event.getTournament().getPlayers()) {
+                    tournament.getPlayers().put(player.getPlayerId(), player.getPlayerName());
+                }
+                tournaments.put(event.getTournamentId(), tournament);
+                break;
+            case TOURNAMENT_UPDATED:
+                if (tournament != null) {
+                    tournament.update(event.getTournament());
+                }
+                break;
+            case TOURNAMENT_DELETED:
+                tournaments.remove(event.getTournamentId());
+                break;
+            //Every roster change bumps the version by one, exactly like the services do
+            case PLAYERS_JOINED:
+                if (tournament != null) {
+                    for (Player player : event.getPlayers()) {
+                        tournament.getPlayers().put(player.getPlayerId(), player.getPlayerName());
+                    }
+                    tournament.setVersion(tournament.getVersion() + 1);
+                }
+                break;
+            case PLAYER_LEFT:
+                if (tournament != null) {
+                    for (Player player : event.getPlayers()) {
+                        tournament.getPlayers().remove(player.getPlayerId());
+                    }
+                    tournament.setVersion(tournament.getVersion() + 1);
+                }
+                break;
+            case PLAYER_MERGED:
+                if (tournament != null) {
+                    tournament.getPlayers().remove(event.getPlayers().get(0).getPlayerId());
+                    tournament.getPlayers().put(event.getPlayers().get(1).getPlayerId(), event.getPlayers().get(1).getPlayerName());
+                    tournament.setVersion(tournament.getVersion() + 1);
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unexpected journal event: " + event.getType());
+        }
+        sequence = entry.getSequence();
+    }
+
+    public void writeTo(DataOutput output) throws IOException {
+        output.writeInt(MAGIC);
+        output.writeInt(FORMAT_VERSION);
+        output.writeLong(sequence);
+        output.writeInt(tournaments.size());
+        for (SnapshotTournament tournament : tournaments.values()) {
+            writeId(output, tournament.getTournamentId());
+            writeText(output, tournament.getTournamentName());
+            output.writeInt(tournament.getRewardAmount());
+            writeText(output, tournament.getCurrency());
+            output.writeLong(tournament.getVersion());
+            output.writeLong(tournament.getCreatedAt() == null ? NO_TIME : tournament.getCreatedAt().toEpochMilli());
+            output.writeInt(tournament.getPlayers().size());
+            for (Map.Entry<String, String> player : tournament.getPlayers().entrySet()) {
+                writeId(output, player.getKey());
+                writeText(output, player.getValue());
+            }
+        }
+    }
+
+    public static TournamentSnapshot readFrom(DataInput input) throws IOException {
+        int formatVersion = input.readInt() == MAGIC ? input.readInt() : 0;
+        if (formatVersion < 1 || formatVersion > FORMAT_VERSION) {
+            throw new IOException("Not a tournament snapshot of format version 1 to " + FORMAT_VERSION);
+        }
+        TournamentSnapshot snapshot = new TournamentSnapshot();
+        snapshot.sequence = input.readLong();
+        int tournamentCount = input.readInt();
+        for (int i = 0; i < tournamentCount; i++) {
+            String tournamentId = readId(input);
+            SnapshotTournament tournament = new SnapshotTournament(tournamentId, readText(input), input.readInt(), readText(input), input.readLong(), null, new LinkedHashMap<>());
+            long createdAt = formatVersion >= 2 ? input.readLong() : NO_TIME;
+            tournament.setCreatedAt(createdAt == NO_TIME ? null : Instant.ofEpochMilli(createdAt));
+            int playerCount = input.readInt();
+            for (int j = 0; j < playerCount; j++) {
+                tournament.getPlayers().put(readId(input), readText(input));
+            }
+            snapshot.tournaments.put(tournamentId, tournament);
+        }
+        return snapshot;
+    }
+
+    //Ids are UUIDs in practice, stored as their 16 bytes rather than 36 characters
+    private static void writeId(DataOutput output, String id) throws IOException {
+        if (Uuids.isValid(id)) {
+            UUID uuid = UUID.fromString(id);
+            output.writeByte(UUID_ID);
+            output.writeLong(uuid.getMostSignificantBits());
+            output.writeLong(uuid.getLeastSignificantBits());
+        } else {
+            output.writeByte(TEXT_ID);
+            output.writeUTF(id);
+        }
+    }
+
+    private static String readId(DataInput input) throws IOException {
+        return input.readByte() == UUID_ID ? new UUID(input.readLong(), input.readLong()).toString() : input.readUTF();
+    }
+
+    private static void writeText(DataOutput output, String text) throws IOException {
+        output.writeBoolean(text != null);
+        if (text != null) {
+            output.writeUTF(text);
+        }
+    }
+
+    private static String readText(DataInput input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class SnapshotTournament {
+        private String tournamentId;
+        private String tournamentName;
+        private int rewardAmount;
+        private String currency;
+        private long version;
+        //Null for tournaments journaled before creation times were recorded
+        private Instant createdAt;
+        //Player id to player name, in registration order
+        private Map<String, String> players;
+
+        private void update(Tournament tournament) {
+            tournamentName = tournament.getTournamentName();
+            rewardAmount = tournament.getRewardAmount();
+            currency = tournament.getCurrency();
+            version = tournament.getVersion();
+            if (tournament.getCreatedAt() != null) {
+                createdAt = tournament.getCreatedAt();
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.paf.exercise.repository;
+
+import com.paf.exercise.entity.Bracket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BracketRepository extends JpaRepository<Bracket, Long> {
+
+    @Modifying
+    @Query("delete from Bracket b where b.tournamentId = :tournamentId")
+    int deleteByTournament(@Param("tournamentId") String tournamentId);
+}
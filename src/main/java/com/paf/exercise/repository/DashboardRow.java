@@ -0,0 +1,37 @@
+package com.paf.exercise.repository;
+
+import lombok.Data;
+
+//Flat row of the dashboard queries: a tournament with either one of its players or its roster size
+@Data
+public class DashboardRow {
+    private long id;
+    private String tournamentId;
+    private String tournamentName;
+    private int rewardAmount;
+    private String currency;
+    private long version;
+    private String playerId;
+    private String playerName;
+    private long playerCount;
+
+    public DashboardRow(long id, String tournamentId, String tournamentName, int rewardAmount, String currency, long version, String playerId, String playerName) {
+        this(id, tournamentId, tournamentName, rewardAmount, currency, version);
+        this.playerId = playerId;
+        this.playerName = playerName;
+    }
+
+    public DashboardRow(long id, String tournamentId, String tournamentName, int rewardAmount, String currency, long version, int playerCount) {
+        this(id, tournamentId, tournamentName, rewardAmount, currency, version);
+        this.playerCount = playerCount;
+    }
+
+    private DashboardRow(long id, String tournamentId, String tournamentName, int rewardAmount, String currency, long version) {
+        this.id = id;
+        this.tournamentId = tournamentId;
+        this.tournamentName = tournamentName;
+        this.rewardAmount = rewardAmount;
+        this.currency = currency;
+        this.version = version;
+    }
+}
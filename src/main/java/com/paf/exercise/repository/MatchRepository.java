@@ -0,0 +1,26 @@
+package com.paf.exercise.repository;
+
+import com.paf.exercise.entity.Match;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface MatchRepository extends JpaRepository<Match, Long> {
+
+    @Query("select m from Match m where m.tournamentId = :tournamentId order by m.number")
+    List<Match> findByTournament(@Param("tournamentId") String tournamentId);
+
+    //Only the first report of a result counts
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Match m set m.winnerId = :winnerId where m.tournamentId = :tournamentId and m.number = :number and m.winnerId is null")
+    int recordWinner(@Param("tournamentId") String tournamentId, @Param("number") int number, @Param("winnerId") String winnerId);
+
+    @Modifying
+    @Query("delete from Match m where m.tournamentId = :tournamentId")
+    int deleteByTournament(@Param("tournamentId") String tournamentId);
+}
@@ -0,0 +1,17 @@
+package com.paf.exercise.repository;
+
+import com.paf.exercise.entity.Player;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+//One entry of a duplicate player passing to the player it is merged into
+@Data
+@AllArgsConstructor
+public class MembershipMerge {
+    private long tournamentPk;
+    private String tournamentId;
+    private Player duplicate;
+    private Player into;
+    //The player merged into is on the roster already, so the duplicate's entry is dropped instead of moved
+    private boolean alreadyEntered;
+}
@@ -0,0 +1,15 @@
+package com.paf.exercise.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+//A player's entry into one tournament, as read by the duplicate player job
+@Data
+@AllArgsConstructor
+public class MembershipRow {
+    private long playerPk;
+    private long tournamentPk;
+    private String tournamentId;
+    //Brackets refer to their players by id, entries into a bracketed tournament are never rewritten
+    private boolean bracketed;
+}
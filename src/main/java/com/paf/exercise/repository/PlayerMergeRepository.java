@@ -0,0 +1,102 @@
+package com.paf.exercise.repository;
+
+import com.paf.exercise.entity.Player;
+import com.paf.exercise.entity.Tournament;
+import com.paf.exercise.identifier.Uuids;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+//Chunked reads and JDBC batch writes of the duplicate player job, each chunk runs in a short transaction of its own
+@Repository
+public class PlayerMergeRepository {
+    private static final String SELECT_PLAYERS = "select id, player_id, player_name, external_key from PLAYERS_TBL where id > ? order by id limit ?";
+    //Served by IX_TOURNAMENT_PLAYERS_PLAYER and UX_BRACKET_TOURNAMENT
+    private static final String SELECT_MEMBERSHIPS = "select tp.player_id, tp.tournament_id, t.tournament_id as tournament_uuid,"
+            + " exists(select 1 from BRACKETS_TBL b where b.tournament_id = t.tournament_id) as bracketed"
+            + " from " + Tournament.PLAYERS_TABLE + " tp join TOURNAMENT_TBL t on t.id = tp.tournament_id where tp.player_id in (:playerPks)";
+    //Run in this order the score statements leave one row per tournament behind whatever the order of the merges: the first
+    //duplicate's row is renamed when the player merged into has none, every other one is added to it and deleted
+    private static final String ADD_SCORE = "update PLAYER_SCORES_TBL set score = score + coalesce((select d.score from PLAYER_SCORES_TBL d"
+            + " where d.tournament_id = ? and d.player_id = ?), 0) where tournament_id = ? and player_id = ?";
+    private static final String MOVE_SCORE = "update PLAYER_SCORES_TBL set player_id = ? where tournament_id = ? and player_id = ?"
+            + " and not exists (select 1 from PLAYER_SCORES_TBL s where s.tournament_id = ? and s.player_id = ?)";
+    private static final String DELETE_SCORE = "delete from PLAYER_SCORES_TBL where tournament_id = ? and player_id = ?";
+    private static final String MOVE_MEMBERSHIP = "update " + Tournament.PLAYERS_TABLE + " set player_id = ? where tournament_id = ? and player_id = ?";
+    private static final String DELETE_MEMBERSHIP = "delete from " + Tournament.PLAYERS_TABLE + " where tournament_id = ? and player_id = ?";
+    private static final String INCREMENT_VERSION = "update TOURNAMENT_TBL set version = version + 1, player_count = player_count + ? where id = ?";
+    private static final String DELETE_PLAYER = "delete from PLAYERS_TBL where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final int batchSize;
+
+    public PlayerMergeRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                                 @Value("${tournament.players.merge.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    //Keyset chunk of players after the given surrogate id
+    public List<Player> findPlayers(long afterPk, int limit) {
+        return jdbcTemplate.query(SELECT_PLAYERS, (row, rowNum) -> new Player(row.getLong(1), Uuids.fromBytes(row.getBytes(2)),
+                row.getString(3), row.getString(4)), afterPk, limit);
+    }
+
+    public List<MembershipRow> findMemberships(Collection<Long> playerPks) {
+        return namedParameterJdbcTemplate.query(SELECT_MEMBERSHIPS, Map.of("playerPks", playerPks), (row, rowNum) ->
+                new MembershipRow(row.getLong(1), row.getLong(2), Uuids.fromBytes(row.getBytes(3)), row.getBoolean(4)));
+    }
+
+    //Scores first, then the rosters, one version bump per rewritten entry like any other roster change
+    public void mergeMemberships(List<MembershipMerge> merges) {
+        jdbcTemplate.batchUpdate(MOVE_SCORE, merges, batchSize, (statement, merge) -> {
+            byte[] tournamentId = Uuids.toBytes(merge.getTournamentId());
+            byte[] into = Uuids.toBytes(merge.getInto().getPlayerId());
+            statement.setBytes(1, into);
+            statement.setBytes(2, tournamentId);
+            statement.setBytes(3, Uuids.toBytes(merge.getDuplicate().getPlayerId()));
+            statement.setBytes(4, tournamentId);
+            statement.setBytes(5, into);
+        });
+        jdbcTemplate.batchUpdate(ADD_SCORE, merges, batchSize, (statement, merge) -> {
+            byte[] tournamentId = Uuids.toBytes(merge.getTournamentId());
+            statement.setBytes(1, tournamentId);
+            statement.setBytes(2, Uuids.toBytes(merge.getDuplicate().getPlayerId()));
+            statement.setBytes(3, tournamentId);
+            statement.setBytes(4, Uuids.toBytes(merge.getInto().getPlayerId()));
+        });
+        jdbcTemplate.batchUpdate(DELETE_SCORE, merges, batchSize, (statement, merge) -> {
+            statement.setBytes(1, Uuids.toBytes(merge.getTournamentId()));
+            statement.setBytes(2, Uuids.toBytes(merge.getDuplicate().getPlayerId()));
+        });
+        jdbcTemplate.batchUpdate(MOVE_MEMBERSHIP, filter(merges, false), batchSize, (statement, merge) -> {
+            statement.setLong(1, merge.getInto().getId());
+            statement.setLong(2, merge.getTournamentPk());
+            statement.setLong(3, merge.getDuplicate().getId());
+        });
+        jdbcTemplate.batchUpdate(DELETE_MEMBERSHIP, filter(merges, true), batchSize, (statement, merge) -> {
+            statement.setLong(1, merge.getTournamentPk());
+            statement.setLong(2, merge.getDuplicate().getId());
+        });
+        jdbcTemplate.batchUpdate(INCREMENT_VERSION, merges, batchSize, (statement, merge) -> {
+            statement.setInt(1, merge.isAlreadyEntered() ? -1 : 0);
+            statement.setLong(2, merge.getTournamentPk());
+        });
+    }
+
+    public void deletePlayers(List<Long> playerPks) {
+        jdbcTemplate.batchUpdate(DELETE_PLAYER, playerPks, batchSize, (statement, playerPk) -> statement.setLong(1, playerPk));
+    }
+
+    private static List<MembershipMerge> filter(List<MembershipMerge> merges, boolean alreadyEntered) {
+        return merges.stream().filter(merge -> merge.isAlreadyEntered() == alreadyEntered).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,57 @@
+package com.paf.exercise.repository;
+
+import com.paf.exercise.entity.Player;
+import com.paf.exercise.entity.Tournament;
+import com.paf.exercise.identifier.Uuids;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+//JDBC batch writes for bulk registration, Hibernate cannot batch inserts into IDENTITY tables
+@Repository
+public class PlayerRegistrationRepository {
+    private static final String INSERT_PLAYER = "insert into PLAYERS_TBL (player_id, player_name, external_key) values (?, ?, ?)";
+    //Resolves the generated surrogate id through UX_PLAYER_PLAYER_ID so no keys have to be read back
+    private static final String INSERT_MEMBERSHIP = "insert into " + Tournament.PLAYERS_TABLE
+            + " (tournament_id, player_id) select ?, id from PLAYERS_TBL where player_id = ?";
+
+    private static final String INCREMENT_VERSION = "update TOURNAMENT_TBL set version = version + 1, player_count = player_count + ? where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public PlayerRegistrationRepository(JdbcTemplate jdbcTemplate, @Value("${tournament.registration.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    public void insertPlayers(List<Player> players) {
+        jdbcTemplate.batchUpdate(INSERT_PLAYER, players, batchSize, (statement, player) -> {
+            statement.setBytes(1, Uuids.toBytes(player.getPlayerId()));
+            statement.setString(2, player.getPlayerName());
+            statement.setString(3, player.getExternalKey());
+        });
+    }
+
+    public void insertMemberships(Map<Long, List<String>> playerIdsByTournamentPk) {
+        List<Object[]> memberships = new ArrayList<>();
+        playerIdsByTournamentPk.forEach((tournamentPk, playerIds) ->
+                playerIds.forEach(playerId -> memberships.add(new Object[]{tournamentPk, Uuids.toBytes(playerId)})));
+        jdbcTemplate.batchUpdate(INSERT_MEMBERSHIP, memberships, batchSize, (statement, membership) -> {
+            statement.setLong(1, (Long) membership[0]);
+            statement.setBytes(2, (byte[]) membership[1]);
+        });
+    }
+
+    //One version bump per tournament, its player count grows by the players registered into it
+    public void incrementVersions(Map<Long, List<String>> playerIdsByTournamentPk) {
+        jdbcTemplate.batchUpdate(INCREMENT_VERSION, playerIdsByTournamentPk.entrySet(), batchSize, (statement, registered) -> {
+            statement.setInt(1, registered.getValue().size());
+            statement.setLong(2, registered.getKey());
+        });
+    }
+}
@@ -2,12 +2,24 @@ package com.paf.exercise.repository;
 
 import com.paf.exercise.entity.Player;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PlayerRepository extends JpaRepository<Player,Long> {
 
+    //Business-key lookups, served by the unique index UX_PLAYER_PLAYER_ID
     Optional<Player> findByPlayerId(String playerId);
-}
\ No newline at end of file
+
+    List<Player> findByPlayerIdIn(Collection<String> playerIds);
+
+    boolean existsByPlayerId(String playerId);
+
+    @Query("select p.id from Player p where p.playerId = :playerId")
+    Optional<Long> findIdByPlayerId(@Param("playerId") String playerId);
+}
@@ -0,0 +1,25 @@
+package com.paf.exercise.repository;
+
+import com.paf.exercise.entity.PlayerScore;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PlayerScoreRepository extends JpaRepository<PlayerScore, Long> {
+
+    //Atomic in the database, concurrent submissions for one player never lose points
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update PlayerScore s set s.score = s.score + :points where s.tournamentId = :tournamentId and s.playerId = :playerId")
+    int addPoints(@Param("tournamentId") String tournamentId, @Param("playerId") String playerId, @Param("points") long points);
+
+    @Modifying
+    @Query("delete from PlayerScore s where s.tournamentId = :tournamentId")
+    int deleteByTournament(@Param("tournamentId") String tournamentId);
+
+    @Modifying
+    @Query("delete from PlayerScore s where s.tournamentId = :tournamentId and s.playerId = :playerId")
+    int deleteByTournamentAndPlayer(@Param("tournamentId") String tournamentId, @Param("playerId") String playerId);
+}
@@ -0,0 +1,94 @@
+package com.paf.exercise.repository;
+
+import com.paf.exercise.dto.TournamentQuery;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keyset pages of filtered and sorted tournaments, read from the composite indexes of TOURNAMENT_TBL alone. Each sort
+ * key has an index ending in the id, so a page is a range scan that starts right after the previous page and stops
+ * after limit rows, however deep the page is. Sorting by reward within one currency walks IX_TOURNAMENT_CURRENCY_REWARD.
+ * Only ids and sort values are read here, the tournaments themselves are fetched by id afterwards.
+ */
+@Repository
+public class TournamentQueryRepository {
+    private static final String CREATED_AT = "created_at";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public TournamentQueryRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    //Id and sort value of the first limit matches after the cursor, null for the first page; sort values of creation times are epoch milliseconds
+    public List<long[]> findIds(TournamentQuery query, long[] after, int limit) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("currency", query.getCurrency())
+                .addValue("minReward", query.getMinReward())
+                .addValue("maxReward", query.getMaxReward())
+                .addValue("minPlayers", query.getMinPlayers())
+                .addValue("maxPlayers", query.getMaxPlayers())
+                .addValue("createdFrom", query.getCreatedFrom() == null ? null : Timestamp.from(query.getCreatedFrom()))
+                .addValue("createdBefore", query.getCreatedBefore() == null ? null : Timestamp.from(query.getCreatedBefore()))
+                .addValue("limit", limit);
+        boolean created = CREATED_AT.equals(sortColumn(query.getSort()));
+        if (after != null) {
+            parameters.addValue("afterValue", created ? Timestamp.from(Instant.ofEpochMilli(after[0])) : after[0]);
+            parameters.addValue("afterId", after[1]);
+        }
+        return jdbcTemplate.query(toSql(query, after != null), parameters, (row, rowNum) ->
+                new long[]{row.getLong(1), created ? row.getTimestamp(2).toInstant().toEpochMilli() : row.getLong(2)});
+    }
+
+    //Public so tests can check the plan of exactly the statement that is run
+    public static String toSql(TournamentQuery query, boolean afterCursor) {
+        String column = sortColumn(query.getSort());
+        boolean descending = query.getDirection() == Sort.Direction.DESC;
+        List<String> conditions = new ArrayList<>();
+        if (query.getCurrency() != null) {
+            conditions.add("currency = :currency");
+        }
+        if (query.getMinReward() != null) {
+            conditions.add("reward_amount >= :minReward");
+        }
+        if (query.getMaxReward() != null) {
+            conditions.add("reward_amount <= :maxReward");
+        }
+        if (query.getMinPlayers() != null) {
+            conditions.add("player_count >= :minPlayers");
+        }
+        if (query.getMaxPlayers() != null) {
+            conditions.add("player_count <= :maxPlayers");
+        }
+        if (query.getCreatedFrom() != null) {
+            conditions.add("created_at >= :createdFrom");
+        }
+        if (query.getCreatedBefore() != null) {
+            conditions.add("created_at < :createdBefore");
+        }
+        if (afterCursor) {
+            //The plain range bound lets the index seek to the cursor, the or only skips the rows sharing its sort value
+            String direction = descending ? "<" : ">";
+            conditions.add(column + " " + direction + "= :afterValue and (" + column + " " + direction + " :afterValue or id " + direction + " :afterId)");
+        }
+        String order = descending ? " desc" : "";
+        return "select id, " + column + " from TOURNAMENT_TBL"
+                + (conditions.isEmpty() ? "" : " where " + String.join(" and ", conditions))
+                + " order by " + column + order + ", id" + order + " limit :limit";
+    }
+
+    //Creation order unless another sort key is given
+    private static String sortColumn(TournamentQuery.SortBy sort) {
+        if (sort == TournamentQuery.SortBy.REWARD) {
+            return "reward_amount";
+        }
+        return sort == TournamentQuery.SortBy.PLAYERS ? "player_count" : CREATED_AT;
+    }
+}
@@ -1,14 +1,112 @@
 package com.paf.exercise.repository;
 
 import com.paf.exercise.entity.Tournament;
+import com.paf.exercise.response.PlayerEntry;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_PASS_DISTINCT_THROUGH;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
 public interface TournamentRepository extends JpaRepository<Tournament,Long> {
+    int STREAM_FETCH_SIZE = 200;
+
+    //Business-key lookups, served by the unique index UX_TOURNAMENT_TOURNAMENT_ID
     Optional<Tournament> findByTournamentId(String tournamentId);
 
+    boolean existsByTournamentId(String tournamentId);
+
+    @Query("select t.id from Tournament t where t.tournamentId = :tournamentId")
+    Optional<Long> findIdByTournamentId(@Param("tournamentId") String tournamentId);
+
+    //Row lock held until commit, serialises whole-entity updates with the atomic roster version bumps
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Tournament t where t.tournamentId = :tournamentId")
+    Optional<Tournament> findForUpdateByTournamentId(@Param("tournamentId") String tournamentId);
+
+    @Query("select t.version from Tournament t where t.tournamentId = :tournamentId")
+    Optional<Long> findVersionByTournamentId(@Param("tournamentId") String tournamentId);
+
+    //Atomic in the database, concurrent roster changes never lose an increment or a change of the player count
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Tournament t set t.version = t.version + 1, t.playerCount = t.playerCount + :joined where t.id = :tournamentPk")
+    int incrementVersion(@Param("tournamentPk") long tournamentPk, @Param("joined") int joined);
+
     void deleteByTournamentId(String tournamentId);
+
+    //Read model: tournaments together with their players in a single statement
+    @QueryHints(@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    @Query("select distinct t from Tournament t left join fetch t.players order by t.id")
+    List<Tournament> findAllWithPlayers();
+
+    @QueryHints(@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    @Query("select distinct t from Tournament t left join fetch t.players where t.tournamentId = :tournamentId")
+    Optional<Tournament> findWithPlayersByTournamentId(@Param("tournamentId") String tournamentId);
+
+    //Also initialises the players of matching tournaments already held by the persistence context
+    @QueryHints(@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    @Query("select distinct t from Tournament t left join fetch t.players where t.id in :ids order by t.id")
+    List<Tournament> findWithPlayersByIdIn(@Param("ids") Collection<Long> ids);
+
+    //Dashboard read model: flat rows straight from the tables, no entities are loaded or tracked
+    @QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
+    @Query("select new com.paf.exercise.repository.DashboardRow(t.id, t.tournamentId, t.tournamentName, t.rewardAmount, t.currency, t.version, p.playerId, p.playerName)"
+            + " from Tournament t left join t.players p order by t.id, p.id")
+    List<DashboardRow> findDashboardRowsWithPlayers();
+
+    //Roster sizes from the denormalised player count, the join table is not read at all
+    @QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
+    @Query("select new com.paf.exercise.repository.DashboardRow(t.id, t.tournamentId, t.tournamentName, t.rewardAmount, t.currency, t.version, t.playerCount)"
+            + " from Tournament t order by t.id")
+    List<DashboardRow> findDashboardRowsWithPlayerCounts();
+
+    //Reverse lookup from one player to the tournaments it entered, through IX_TOURNAMENT_PLAYERS_PLAYER rather than every roster
+    @QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
+    @Query("select new com.paf.exercise.response.PlayerEntry(t.tournamentId, t.tournamentName, t.rewardAmount, t.currency)"
+            + " from Tournament t join t.players p where p.id = :playerPk order by t.id")
+    List<PlayerEntry> findEntriesByPlayerPk(@Param("playerPk") long playerPk);
+
+    //Membership writes touch exactly one join table row through the UX_TOURNAMENT_PLAYERS index.
+    //The persistence context is cleared afterwards so no stale roster is served from it.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "insert into " + Tournament.PLAYERS_TABLE + " (tournament_id, player_id) values (:tournamentPk, :playerPk)", nativeQuery = true)
+    int addMembership(@Param("tournamentPk") long tournamentPk, @Param("playerPk") long playerPk);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "delete from " + Tournament.PLAYERS_TABLE + " where tournament_id = :tournamentPk and player_id = :playerPk", nativeQuery = true)
+    int removeMembership(@Param("tournamentPk") long tournamentPk, @Param("playerPk") long playerPk);
+
+    @Query(value = "select count(*) > 0 from " + Tournament.PLAYERS_TABLE + " where tournament_id = :tournamentPk and player_id = :playerPk", nativeQuery = true)
+    boolean existsMembership(@Param("tournamentPk") long tournamentPk, @Param("playerPk") long playerPk);
+
+    //Row lock on the entry until the transaction ends, a concurrent removeMembership waits for it and vice versa
+    @Query(value = "select tournament_id from " + Tournament.PLAYERS_TABLE + " where tournament_id = :tournamentPk and player_id = :playerPk for update", nativeQuery = true)
+    List<Long> lockMembership(@Param("tournamentPk") long tournamentPk, @Param("playerPk") long playerPk);
+
+    //Read off the end of IX_TOURNAMENT_PLAYER_COUNT, cheap enough for a gauge polled on every scrape
+    @Query(value = "select coalesce(max(player_count), 0) from TOURNAMENT_TBL", nativeQuery = true)
+    long findLargestRosterSize();
+
+    //Keyset page: the first rows after the given surrogate id
+    List<Tournament> findByIdGreaterThanOrderByIdAsc(long id, Pageable pageable);
+
+    //Server-side cursor over every tournament, must be consumed inside a transaction and closed
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("select t from Tournament t order by t.id")
+    Stream<Tournament> streamAllOrderById();
 }
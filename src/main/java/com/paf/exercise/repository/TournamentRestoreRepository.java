@@ -0,0 +1,73 @@
+package com.paf.exercise.repository;
+
+import com.paf.exercise.entity.Tournament;
+import com.paf.exercise.identifier.Uuids;
+import com.paf.exercise.recovery.TournamentSnapshot.SnapshotTournament;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+//JDBC batch writes that load recovered state into an empty schema, row by row through Hibernate would take minutes
+@Repository
+public class TournamentRestoreRepository {
+    private static final String COUNT_TOURNAMENTS = "select count(*) from TOURNAMENT_TBL";
+    private static final String INSERT_TOURNAMENT = "insert into TOURNAMENT_TBL (tournament_id, tournament_name, reward_amount, currency, version, player_count, created_at)"
+            + " values (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_PLAYER = "insert into PLAYERS_TBL (player_id, player_name) values (?, ?)";
+    //Both surrogate ids are resolved through the unique business-key indexes
+    private static final String INSERT_MEMBERSHIP = "insert into " + Tournament.PLAYERS_TABLE + " (tournament_id, player_id)"
+            + " select t.id, p.id from TOURNAMENT_TBL t, PLAYERS_TBL p where t.tournament_id = ? and p.player_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public TournamentRestoreRepository(JdbcTemplate jdbcTemplate, @Value("${tournament.registration.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    public long countTournaments() {
+        Long count = jdbcTemplate.queryForObject(COUNT_TOURNAMENTS, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    //Tournaments recovered without a creation time count as created now
+    public void insertTournaments(Collection<SnapshotTournament> tournaments) {
+        Instant restoredAt = Tournament.now();
+        jdbcTemplate.batchUpdate(INSERT_TOURNAMENT, tournaments, batchSize, (statement, tournament) -> {
+            statement.setBytes(1, Uuids.toBytes(tournament.getTournamentId()));
+            statement.setString(2, tournament.getTournamentName());
+            statement.setInt(3, tournament.getRewardAmount());
+            statement.setString(4, tournament.getCurrency());
+            statement.setLong(5, tournament.getVersion());
+            statement.setInt(6, tournament.getPlayers().size());
+            statement.setTimestamp(7, Timestamp.from(tournament.getCreatedAt() == null ? restoredAt : tournament.getCreatedAt()));
+        });
+        //One row per player however many tournaments it entered
+        Map<String, String> players = new LinkedHashMap<>();
+        List<byte[][]> memberships = new ArrayList<>();
+        for (SnapshotTournament tournament : tournaments) {
+            byte[] tournamentId = Uuids.toBytes(tournament.getTournamentId());
+            for (Map.Entry<String, String> player : tournament.getPlayers().entrySet()) {
+                players.putIfAbsent(player.getKey(), player.getValue());
+                memberships.add(new byte[][]{tournamentId, Uuids.toBytes(player.getKey())});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_PLAYER, players.entrySet(), batchSize, (statement, player) -> {
+            statement.setBytes(1, Uuids.toBytes(player.getKey()));
+            statement.setString(2, player.getValue());
+        });
+        jdbcTemplate.batchUpdate(INSERT_MEMBERSHIP, memberships, batchSize, (statement, membership) -> {
+            statement.setBytes(1, membership[0]);
+            statement.setBytes(2, membership[1]);
+        });
+    }
+}
@@ -0,0 +1,75 @@
+package com.paf.exercise.repository;
+
+import com.paf.exercise.entity.Player;
+import com.paf.exercise.entity.Tournament;
+import com.paf.exercise.identifier.Uuids;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+//JDBC batch writes that bring the database up to date with the in-memory store, one statement per batch and kind of row
+@Repository
+public class TournamentWriteBehindRepository {
+    //Parks the names of the written tournaments on their unique ids first, so renames within one batch can never collide
+    private static final String RELEASE_NAME = "update TOURNAMENT_TBL set tournament_name = rawtohex(tournament_id) where tournament_id = ?";
+    private static final String DELETE_MEMBERSHIPS = "delete from " + Tournament.PLAYERS_TABLE
+            + " where tournament_id = (select id from TOURNAMENT_TBL where tournament_id = ?)";
+    private static final String DELETE_TOURNAMENT = "delete from TOURNAMENT_TBL where tournament_id = ?";
+    private static final String MERGE_TOURNAMENT = "merge into TOURNAMENT_TBL (tournament_id, tournament_name, reward_amount, currency, version, player_count, created_at)"
+            + " key (tournament_id) values (?, ?, ?, ?, ?, ?, ?)";
+    private static final String MERGE_PLAYER = "merge into PLAYERS_TBL (player_id, player_name, external_key) key (player_id) values (?, ?, ?)";
+    private static final String INSERT_MEMBERSHIP = "insert into " + Tournament.PLAYERS_TABLE + " (tournament_id, player_id)"
+            + " select t.id, p.id from TOURNAMENT_TBL t, PLAYERS_TBL p where t.tournament_id = ? and p.player_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public TournamentWriteBehindRepository(JdbcTemplate jdbcTemplate, @Value("${tournament.registration.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    //Rosters are rewritten whole: a tournament changed many times since the last write still costs one pass
+    public void write(Collection<Tournament> tournaments, Collection<String> deletedTournamentIds) {
+        List<byte[]> writtenIds = tournaments.stream().map(tournament -> Uuids.toBytes(tournament.getTournamentId())).collect(Collectors.toList());
+        List<byte[]> touchedIds = new ArrayList<>(writtenIds);
+        deletedTournamentIds.forEach(tournamentId -> touchedIds.add(Uuids.toBytes(tournamentId)));
+        jdbcTemplate.batchUpdate(DELETE_MEMBERSHIPS, touchedIds, batchSize, (statement, tournamentId) -> statement.setBytes(1, tournamentId));
+        jdbcTemplate.batchUpdate(DELETE_TOURNAMENT, touchedIds.subList(writtenIds.size(), touchedIds.size()), batchSize,
+                (statement, tournamentId) -> statement.setBytes(1, tournamentId));
+        jdbcTemplate.batchUpdate(RELEASE_NAME, writtenIds, batchSize, (statement, tournamentId) -> statement.setBytes(1, tournamentId));
+        jdbcTemplate.batchUpdate(MERGE_TOURNAMENT, tournaments, batchSize, (statement, tournament) -> {
+            statement.setBytes(1, Uuids.toBytes(tournament.getTournamentId()));
+            statement.setString(2, tournament.getTournamentName());
+            statement.setInt(3, tournament.getRewardAmount());
+            statement.setString(4, tournament.getCurrency());
+            statement.setLong(5, tournament.getVersion());
+            statement.setInt(6, tournament.getPlayers().size());
+            statement.setTimestamp(7, Timestamp.from(tournament.getCreatedAt()));
+        });
+        List<Player> players = new ArrayList<>();
+        List<byte[][]> memberships = new ArrayList<>();
+        for (Tournament tournament : tournaments) {
+            byte[] tournamentId = Uuids.toBytes(tournament.getTournamentId());
+            for (Player player : tournament.getPlayers()) {
+                players.add(player);
+                memberships.add(new byte[][]{tournamentId, Uuids.toBytes(player.getPlayerId())});
+            }
+        }
+        jdbcTemplate.batchUpdate(MERGE_PLAYER, players, batchSize, (statement, player) -> {
+            statement.setBytes(1, Uuids.toBytes(player.getPlayerId()));
+            statement.setString(2, player.getPlayerName());
+            statement.setString(3, player.getExternalKey());
+        });
+        jdbcTemplate.batchUpdate(INSERT_MEMBERSHIP, memberships, batchSize, (statement, membership) -> {
+            statement.setBytes(1, membership[0]);
+            statement.setBytes(2, membership[1]);
+        });
+    }
+}
@@ -0,0 +1,23 @@
+package com.paf.exercise.response;
+
+import com.paf.exercise.bracket.BracketFormat;
+import com.paf.exercise.entity.Match;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BracketStatus {
+    private String tournamentId;
+    private BracketFormat format;
+    //The round being played, or the last round once the bracket is complete
+    private int round;
+    private boolean complete;
+    //Set once the bracket is complete
+    private String winnerId;
+    private List<Match> matches;
+}
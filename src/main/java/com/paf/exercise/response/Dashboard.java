@@ -0,0 +1,17 @@
+package com.paf.exercise.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class Dashboard {
+    private List<DashboardTournament> tournaments;
+    private int tournamentCount;
+    //Registrations across all tournaments, a player in two tournaments counts twice
+    private long playerCount;
+}
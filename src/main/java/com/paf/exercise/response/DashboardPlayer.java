@@ -0,0 +1,13 @@
+package com.paf.exercise.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DashboardPlayer {
+    private String playerId;
+    private String playerName;
+}
@@ -0,0 +1,31 @@
+package com.paf.exercise.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Set;
+
+//Only the requested fields are set, the others stay null and are left out of the JSON
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DashboardTournament {
+    public static final String TOURNAMENT_NAME = "tournamentName";
+    public static final String REWARD_AMOUNT = "rewardAmount";
+    public static final String CURRENCY = "currency";
+    public static final String VERSION = "version";
+    public static final String PLAYER_COUNT = "playerCount";
+    public static final String PLAYERS = "players";
+    //The tournament id is always included
+    public static final Set<String> FIELDS = Set.of(TOURNAMENT_NAME, REWARD_AMOUNT, CURRENCY, VERSION, PLAYER_COUNT, PLAYERS);
+
+    private String tournamentId;
+    private String tournamentName;
+    private Integer rewardAmount;
+    private String currency;
+    private Long version;
+    private Integer playerCount;
+    private List<DashboardPlayer> players;
+}
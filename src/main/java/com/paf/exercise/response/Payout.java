@@ -0,0 +1,16 @@
+package com.paf.exercise.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class Payout {
+    private int rank;
+    private String playerId;
+    private long score;
+    //In minor units of the currency, e.g. cents
+    private long amount;
+}
@@ -0,0 +1,21 @@
+package com.paf.exercise.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class Payouts {
+    private String tournamentId;
+    private String table;
+    private String currency;
+    //Digits after the decimal point of the currency, amounts are in units of 10^-fractionDigits
+    private int fractionDigits;
+    //The reward of the tournament in minor units, all of it is paid out once anyone has scored
+    private long pool;
+    private List<Payout> payouts;
+}
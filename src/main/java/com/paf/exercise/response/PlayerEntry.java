@@ -0,0 +1,25 @@
+package com.paf.exercise.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PlayerEntry {
+    private String tournamentId;
+    private String tournamentName;
+    private int rewardAmount;
+    private String currency;
+    //Current standing in the tournament, null until the player has scored
+    private Integer rank;
+    private Long score;
+    //Current payout under the default payout table, in minor units of the currency
+    private long winnings;
+
+    //The tournament columns alone, as read through the reverse membership index
+    public PlayerEntry(String tournamentId, String tournamentName, int rewardAmount, String currency) {
+        this(tournamentId, tournamentName, rewardAmount, currency, null, null, 0L);
+    }
+}
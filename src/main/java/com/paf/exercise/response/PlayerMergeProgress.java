@@ -0,0 +1,25 @@
+package com.paf.exercise.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+//Progress of the latest duplicate player run, counted up after every chunk
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PlayerMergeProgress {
+    private PlayerMergeState state;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private long chunks;
+    private long scanned;
+    private long merged;
+    //Duplicates left alone because they entered a tournament with a bracket
+    private long skipped;
+    //Entries moved to or dropped in favour of the player merged into
+    private long memberships;
+    private String error;
+}
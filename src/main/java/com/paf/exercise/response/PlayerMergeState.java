@@ -0,0 +1,8 @@
+package com.paf.exercise.response;
+
+public enum PlayerMergeState {
+    IDLE,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,20 @@
+package com.paf.exercise.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PlayerProfile {
+    private String playerId;
+    private String playerName;
+    private int entries;
+    //Winnings across all entries per currency, in minor units of each currency
+    private Map<String, Long> winnings;
+    private List<PlayerEntry> tournaments;
+}
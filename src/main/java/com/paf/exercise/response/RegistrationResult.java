@@ -0,0 +1,18 @@
+package com.paf.exercise.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RegistrationResult {
+    //Position of the entry within the players of its tournament in the request
+    private int index;
+    private String tournamentId;
+    private String playerId;
+    private String playerName;
+    private RegistrationStatus status;
+    private String message;
+}
@@ -0,0 +1,9 @@
+package com.paf.exercise.response;
+
+public enum RegistrationStatus {
+    REGISTERED,
+    INVALID_PLAYER,
+    TOURNAMENT_NOT_FOUND,
+    PLAYER_NOT_FOUND,
+    ALREADY_REGISTERED
+}
@@ -0,0 +1,17 @@
+package com.paf.exercise.response;
+
+import com.paf.exercise.entity.Player;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+//The players of a tournament with the tournament version they were read at, cached and served as one
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class Roster {
+    private long version;
+    private List<Player> players;
+}
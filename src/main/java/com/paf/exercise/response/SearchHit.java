@@ -0,0 +1,18 @@
+package com.paf.exercise.response;
+
+import com.paf.exercise.search.IndexEntry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchHit {
+    private IndexEntry.Type type;
+    //The tournamentId or the playerId, by type
+    private String id;
+    //The tournament itself, or the tournament the player plays in
+    private String tournamentId;
+    private String name;
+}
@@ -0,0 +1,17 @@
+package com.paf.exercise.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchResults {
+    private String query;
+    private int page;
+    private List<SearchHit> hits;
+    private boolean hasMore;
+}
@@ -0,0 +1,15 @@
+package com.paf.exercise.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class Standing {
+    //Competition ranking: players on equal scores share a rank and the next rank is skipped, e.g. 1, 2, 2, 4
+    private int rank;
+    private String playerId;
+    private long score;
+}
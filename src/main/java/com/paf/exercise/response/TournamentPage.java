@@ -0,0 +1,18 @@
+package com.paf.exercise.response;
+
+import com.paf.exercise.entity.Tournament;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TournamentPage {
+    private List<Tournament> tournaments;
+    //Opaque cursor to pass back for the next page, null when this is the last page
+    private String nextCursor;
+    private boolean hasMore;
+}
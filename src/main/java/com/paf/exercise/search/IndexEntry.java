@@ -0,0 +1,66 @@
+package com.paf.exercise.search;
+
+//A tournament, or a player within one tournament, as indexed by name; compared by identity inside the index
+public final class IndexEntry {
+
+    public enum Type {
+        TOURNAMENT,
+        PLAYER
+    }
+
+    private final Type type;
+    private final String id;
+    private final String tournamentId;
+    private final String name;
+    private final String[] words;
+    private final String phrase;
+
+    public IndexEntry(Type type, String id, String tournamentId, String name) {
+        this.type = type;
+        this.id = id;
+        this.tournamentId = tournamentId;
+        this.name = name == null ? "" : name;
+        this.words = NameIndex.words(name);
+        this.phrase = String.join(" ", words);
+    }
+
+    public static IndexEntry tournament(String tournamentId, String tournamentName) {
+        return new IndexEntry(Type.TOURNAMENT, tournamentId, tournamentId, tournamentName);
+    }
+
+    public static IndexEntry player(String tournamentId, String playerId, String playerName) {
+        return new IndexEntry(Type.PLAYER, playerId, tournamentId, playerName);
+    }
+
+    public static String key(Type type, String tournamentId, String id) {
+        return type == Type.TOURNAMENT ? tournamentId : tournamentId + '/' + id;
+    }
+
+    public String key() {
+        return key(type, tournamentId, id);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getTournamentId() {
+        return tournamentId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    String[] getWords() {
+        return words;
+    }
+
+    String getPhrase() {
+        return phrase;
+    }
+}
@@ -0,0 +1,160 @@
+package com.paf.exercise.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index from the words of tournament and player names to the names containing them. Words are kept in a
+ * skip list, so all the words starting with a prefix are one contiguous range and type-ahead queries need no n-gram
+ * expansion. Names are lower-cased and stripped of accents, so "Zoë" is found by "zoe".
+ * <p>
+ * Every word of a query has to start a word of the name. Candidates are collected from the range of the longest query
+ * word, usually the most selective one, and every one of them is ranked; only the best few asked for are kept, in a
+ * bounded heap, so a common prefix costs time but not memory. Reads are lock free; updates are serialized, they only
+ * come with committed changes.
+ */
+public class NameIndex {
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final String[] NO_WORDS = new String[0];
+
+    //Best first: query words matching whole name words, names starting with the query, shorter names
+    private static final Comparator<Ranked> RANKING = Comparator.comparingInt((Ranked ranked) -> -ranked.score)
+            .thenComparingInt(ranked -> ranked.entry.getName().length())
+            .thenComparing(ranked -> ranked.entry.getName())
+            .thenComparing(ranked -> ranked.entry.getId());
+
+    private final ConcurrentSkipListMap<String, Set<IndexEntry>> postings = new ConcurrentSkipListMap<>();
+    private final Map<String, IndexEntry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> keysByTournamentId = new HashMap<>();
+
+    public synchronized void put(IndexEntry entry) {
+        remove(entry.key());
+        entries.put(entry.key(), entry);
+        for (String word : entry.getWords()) {
+            postings.computeIfAbsent(word, w -> ConcurrentHashMap.newKeySet()).add(entry);
+        }
+        keysByTournamentId.computeIfAbsent(entry.getTournamentId(), id -> new HashSet<>()).add(entry.key());
+    }
+
+    public synchronized void remove(String key) {
+        IndexEntry entry = entries.remove(key);
+        if (entry == null) {
+            return;
+        }
+        for (String word : entry.getWords()) {
+            postings.computeIfPresent(word, (w, names) -> names.remove(entry) && names.isEmpty() ? null : names);
+        }
+        Set<String> keys = keysByTournamentId.get(entry.getTournamentId());
+        if (keys != null && keys.remove(key) && keys.isEmpty()) {
+            keysByTournamentId.remove(entry.getTournamentId());
+        }
+    }
+
+    //The tournament and every player entry under it
+    public synchronized void removeTournament(String tournamentId) {
+        Set<String> keys = keysByTournamentId.get(tournamentId);
+        if (keys != null) {
+            new ArrayList<>(keys).forEach(this::remove);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * The best limit matches of the query of the given type, or of any type for null, best first. Every match is
+     * ranked, the result is only shorter than limit when there are fewer matches.
+     */
+    public List<IndexEntry> search(String query, IndexEntry.Type type, int limit) {
+        String[] queryWords = words(query);
+        if (queryWords.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        String driver = queryWords[0];
+        for (String word : queryWords) {
+            if (word.length() > driver.length()) {
+                driver = word;
+            }
+        }
+        String phrase = String.join(" ", queryWords);
+        //Worst of the best kept at the head, so each better match replaces it in log(limit)
+        PriorityQueue<Ranked> best = new PriorityQueue<>(RANKING.reversed());
+        Set<IndexEntry> seen = new HashSet<>();
+        for (Set<IndexEntry> names : postings.subMap(driver, true, driver + Character.MAX_VALUE, false).values()) {
+            for (IndexEntry entry : names) {
+                if ((type == null || entry.getType() == type) && seen.add(entry)) {
+                    int score = score(entry, queryWords, phrase);
+                    if (score > 0) {
+                        Ranked ranked = new Ranked(entry, score);
+                        if (best.size() < limit) {
+                            best.add(ranked);
+                        } else if (RANKING.compare(ranked, best.peek()) < 0) {
+                            best.poll();
+                            best.add(ranked);
+                        }
+                    }
+                }
+            }
+        }
+        List<Ranked> candidates = new ArrayList<>(best);
+        Collections.sort(candidates, RANKING);
+        List<IndexEntry> results = new ArrayList<>(candidates.size());
+        candidates.forEach(ranked -> results.add(ranked.entry));
+        return results;
+    }
+
+    //Lower case words without accents, in name order
+    public static String[] words(String text) {
+        if (text == null) {
+            return NO_WORDS;
+        }
+        String plain = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        String trimmed = SEPARATORS.matcher(plain.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+        return trimmed.isEmpty() ? NO_WORDS : trimmed.split(" ");
+    }
+
+    //0 when a query word starts no word of the name, else 2 per exact word, 1 per prefix and 4 for a leading phrase
+    private static int score(IndexEntry entry, String[] queryWords, String phrase) {
+        int score = entry.getPhrase().startsWith(phrase) ? 4 : 0;
+        for (String queryWord : queryWords) {
+            int best = 0;
+            for (String word : entry.getWords()) {
+                if (word.equals(queryWord)) {
+                    best = 2;
+                    break;
+                } else if (word.startsWith(queryWord)) {
+                    best = 1;
+                }
+            }
+            if (best == 0) {
+                return 0;
+            }
+            score += best;
+        }
+        return score;
+    }
+
+    private static final class Ranked {
+        private final IndexEntry entry;
+        private final int score;
+
+        private Ranked(IndexEntry entry, int score) {
+            this.entry = entry;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.paf.exercise.service;
+
+import com.paf.exercise.dto.BracketRequest;
+import com.paf.exercise.dto.MatchResultRequest;
+import com.paf.exercise.exceptions.TournamentNotFoundException;
+import com.paf.exercise.response.BracketStatus;
+
+public interface BracketService {
+
+    BracketStatus createBracket(String tournamentId, BracketRequest bracketRequest) throws TournamentNotFoundException;
+
+    BracketStatus getBracket(String tournamentId, Integer round) throws TournamentNotFoundException;
+
+    BracketStatus reportResult(String tournamentId, int matchNumber, MatchResultRequest resultRequest) throws TournamentNotFoundException;
+
+}
@@ -0,0 +1,231 @@
+package com.paf.exercise.service;
+
+import com.paf.exercise.bracket.Schedule;
+import com.paf.exercise.dto.BracketRequest;
+import com.paf.exercise.dto.MatchResultRequest;
+import com.paf.exercise.entity.Bracket;
+import com.paf.exercise.entity.Match;
+import com.paf.exercise.entity.Player;
+import com.paf.exercise.event.TournamentEvent;
+import com.paf.exercise.event.TournamentEventType;
+import com.paf.exercise.exceptions.ResourceNotFoundException;
+import com.paf.exercise.exceptions.TournamentNotFoundException;
+import com.paf.exercise.repository.BracketRepository;
+import com.paf.exercise.repository.MatchRepository;
+import com.paf.exercise.response.BracketStatus;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static com.paf.exercise.config.MetricsConfig.SERVICE_TIMER;
+
+/**
+ * Brackets are played in memory and stored as their format and seeding plus one row per match. A reported result is
+ * stored together with the next round it completes, and on startup the stored results are replayed onto a fresh
+ * schedule, which pairs the same rounds again because the pairings only depend on the results.
+ */
+@Slf4j
+@Service
+public class BracketServiceImpl implements BracketService, SmartInitializingSingleton {
+    private static final String BRACKET_NOT_FOUND = "No bracket for tournament with id: ";
+    @Autowired
+    private BracketRepository bracketRepository;
+    @Autowired
+    private MatchRepository matchRepository;
+    @Autowired
+    private TournamentService tournamentService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Map<String, ActiveBracket> brackets = new ConcurrentHashMap<>();
+    private TransactionTemplate transactionTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        //Also used from after-commit listeners, where joining the finished transaction would never commit
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (Bracket bracket : bracketRepository.findAll()) {
+            brackets.put(bracket.getTournamentId(), replay(bracket));
+        }
+        log.info("Loaded {} brackets", brackets.size());
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    public BracketStatus createBracket(String tournamentId, BracketRequest bracketRequest) throws TournamentNotFoundException {
+        log.info("Entered the |createBracket| method");
+        List<String> seeds = tournamentService.getPlayersInTournament(tournamentId).stream()
+                .map(Player::getPlayerId)
+                .collect(Collectors.toList());
+        Bracket bracket = new Bracket(0, tournamentId, bracketRequest.getFormat(), bracketRequest.getRounds(), String.join(",", seeds));
+        ActiveBracket active = new ActiveBracket(bracket);
+        synchronized (active) {
+            if (brackets.putIfAbsent(tournamentId, active) != null) {
+                log.error("Bracket already exists for tournament with id: " + tournamentId);
+                throw new IllegalStateException("Bracket already exists for tournament with id: " + tournamentId);
+            }
+            try {
+                List<Match> firstRound = active.startRound();
+                transactionTemplate.executeWithoutResult(status -> {
+                    bracketRepository.save(bracket);
+                    matchRepository.saveAll(firstRound);
+                });
+            } catch (RuntimeException e) {
+                brackets.remove(tournamentId);
+                throw e;
+            }
+            log.info("Created a {} bracket of {} players for tournament {}", bracket.getFormat(), seeds.size(), tournamentId);
+            return active.status(active.round);
+        }
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    public BracketStatus getBracket(String tournamentId, Integer round) throws TournamentNotFoundException {
+        log.info("Entered the |getBracket| method");
+        ActiveBracket active = bracketOf(tournamentId);
+        synchronized (active) {
+            return active.status(round);
+        }
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    public BracketStatus reportResult(String tournamentId, int matchNumber, MatchResultRequest resultRequest) throws TournamentNotFoundException {
+        log.info("Entered the |reportResult| method");
+        ActiveBracket active = bracketOf(tournamentId);
+        synchronized (active) {
+            List<Match> nextRound = active.record(matchNumber, resultRequest.getWinnerId());
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (matchRepository.recordWinner(tournamentId, matchNumber, resultRequest.getWinnerId()) == 0) {
+                        throw new IllegalStateException("Result of match " + matchNumber + " is already reported");
+                    }
+                    matchRepository.saveAll(nextRound);
+                });
+            } catch (RuntimeException e) {
+                //The schedule already moved on, start over from what is stored
+                brackets.replace(tournamentId, active, replay(active.bracket));
+                throw e;
+            }
+            log.info("Recorded match {} of tournament {}, {} matches in the next round", matchNumber, tournamentId, nextRound.size());
+            return active.status(active.round);
+        }
+    }
+
+    //Brackets leave with the tournament, after the deletion committed
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTournamentEvent(TournamentEvent event) {
+        if (event.getType() == TournamentEventType.TOURNAMENT_DELETED && brackets.remove(event.getTournamentId()) != null) {
+            transactionTemplate.executeWithoutResult(status -> {
+                matchRepository.deleteByTournament(event.getTournamentId());
+                bracketRepository.deleteByTournament(event.getTournamentId());
+            });
+        }
+    }
+
+    private ActiveBracket bracketOf(String tournamentId) throws TournamentNotFoundException {
+        ActiveBracket active = brackets.get(tournamentId);
+        if (active == null) {
+            tournamentService.getTournamentVersion(tournamentId);
+            log.error(BRACKET_NOT_FOUND + tournamentId);
+            throw new ResourceNotFoundException(BRACKET_NOT_FOUND + tournamentId);
+        }
+        return active;
+    }
+
+    private ActiveBracket replay(Bracket bracket) {
+        List<Match> stored = matchRepository.findByTournament(bracket.getTournamentId());
+        ActiveBracket active = new ActiveBracket(bracket);
+        List<Match> round = active.startRound();
+        int next = 0;
+        while (!round.isEmpty() && next < stored.size()) {
+            List<Match> following = List.of();
+            for (Match match : round) {
+                Match saved = stored.get(next++);
+                match.setId(saved.getId());
+                if (saved.getWinnerId() != null) {
+                    following = active.record(match.getNumber(), saved.getWinnerId());
+                }
+            }
+            round = following;
+        }
+        return active;
+    }
+
+    //A bracket being played, guarded by its own monitor
+    private static final class ActiveBracket {
+        private final Bracket bracket;
+        private final Schedule schedule;
+        private final String[] playerIds;
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<Match> matches = new ArrayList<>();
+        private int round;
+        private int open;
+
+        private ActiveBracket(Bracket bracket) {
+            this.bracket = bracket;
+            this.playerIds = bracket.getSeeds().isEmpty() ? new String[0] : bracket.getSeeds().split(",");
+            for (int i = 0; i < playerIds.length; i++) {
+                indexes.put(playerIds[i], i);
+            }
+            this.schedule = bracket.getFormat().create(playerIds.length, bracket.getRounds());
+        }
+
+        private List<Match> startRound() {
+            int[] pairs = schedule.nextRound();
+            List<Match> next = new ArrayList<>(pairs.length / 2);
+            if (pairs.length > 0) {
+                round++;
+                for (int i = 0; i < pairs.length; i += 2) {
+                    next.add(new Match(0, bracket.getTournamentId(), matches.size() + next.size() + 1, round, playerIds[pairs[i]], playerIds[pairs[i + 1]], null));
+                }
+                matches.addAll(next);
+                open = next.size();
+            }
+            return next;
+        }
+
+        //Returns the next round when this result completes the current one
+        private List<Match> record(int number, String winnerId) {
+            if (number < 1 || number > matches.size()) {
+                throw new IllegalArgumentException("No match " + number + " in tournament " + bracket.getTournamentId());
+            }
+            Match match = matches.get(number - 1);
+            if (match.getWinnerId() != null) {
+                throw new IllegalStateException("Result of match " + number + " is already reported");
+            }
+            String loserId = winnerId.equals(match.getPlayerA()) ? match.getPlayerB() : winnerId.equals(match.getPlayerB()) ? match.getPlayerA() : null;
+            if (loserId == null) {
+                throw new IllegalArgumentException("Player " + winnerId + " does not play in match " + number);
+            }
+            schedule.recordResult(indexes.get(winnerId), indexes.get(loserId));
+            match.setWinnerId(winnerId);
+            open--;
+            return open == 0 ? startRound() : List.of();
+        }
+
+        private BracketStatus status(Integer onlyRound) {
+            int winner = schedule.winner();
+            List<Match> listed = onlyRound == null ? new ArrayList<>(matches) : matches.stream()
+                    .filter(match -> match.getRound() == onlyRound)
+                    .collect(Collectors.toList());
+            return new BracketStatus(bracket.getTournamentId(), bracket.getFormat(), round, winner >= 0,
+                    winner >= 0 ? playerIds[winner] : null, listed);
+        }
+    }
+}
@@ -0,0 +1,763 @@
+package com.paf.exercise.service;
+
+import com.paf.exercise.dto.BulkRegistrationRequest;
+import com.paf.exercise.dto.PlayerRequest;
+import com.paf.exercise.dto.TournamentQuery;
+import com.paf.exercise.dto.TournamentRequest;
+import com.paf.exercise.entity.Player;
+import com.paf.exercise.entity.Tournament;
+import com.paf.exercise.event.TournamentEvent;
+import com.paf.exercise.exceptions.PlayerNotFoundException;
+import com.paf.exercise.exceptions.ResourceNotFoundException;
+import com.paf.exercise.exceptions.TournamentNotFoundException;
+import com.paf.exercise.identifier.BusinessIdGenerator;
+import com.paf.exercise.repository.TournamentRepository;
+import com.paf.exercise.repository.TournamentWriteBehindRepository;
+import com.paf.exercise.response.Dashboard;
+import com.paf.exercise.response.DashboardPlayer;
+import com.paf.exercise.response.DashboardTournament;
+import com.paf.exercise.response.PlayerEntry;
+import com.paf.exercise.response.PlayerProfile;
+import com.paf.exercise.response.RegistrationResult;
+import com.paf.exercise.response.RegistrationStatus;
+import com.paf.exercise.response.Roster;
+import com.paf.exercise.response.TournamentPage;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static com.paf.exercise.config.MetricsConfig.SERVICE_TIMER;
+
+/**
+ * Keeps every tournament and roster in memory and serves all reads and writes from there; the database only receives
+ * the changes afterwards. Stored tournaments are never modified in place: a change builds a new copy under the lock
+ * stripe of its tournament and swaps it in, so reads take no locks and changes to different tournaments never contend.
+ * Changed tournaments are written through to the database in batches by a background thread.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "tournament.store", havingValue = "memory")
+public class InMemoryTournamentService implements TournamentService, SmartInitializingSingleton, DisposableBean {
+    private static final String TOURNAMENT_NOT_FOUND = "Tournament not found with id: ";
+    private static final String PLAYER_NOT_FOUND = "Player not found with id: ";
+    private static final String PLAYER_ALREADY_REGISTERED = "Player already registered in the tournament: ";
+    private static final String TOURNAMENT_NAME_TAKEN = "Tournament name already exists: ";
+    @Autowired
+    private TournamentRepository tournamentRepository;
+    @Autowired
+    private TournamentWriteBehindRepository writeBehindRepository;
+    @Autowired
+    private BusinessIdGenerator businessIdGenerator;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Value("${tournament.page.default-size:50}")
+    private int defaultPageSize;
+    @Value("${tournament.page.max-size:500}")
+    private int maxPageSize;
+    @Value("${tournament.registration.max-entries:10000}")
+    private int maxRegistrationEntries;
+    @Value("${tournament.store.write-behind-interval:1s}")
+    private Duration writeBehindInterval;
+    @Value("${tournament.store.write-behind-batch-size:500}")
+    private int writeBehindBatchSize;
+
+    private final Map<String, Tournament> tournaments = new ConcurrentHashMap<>();
+    //Same tournaments ordered by their surrogate id, backs the listings and the keyset pages
+    private final ConcurrentNavigableMap<Long, Tournament> tournamentsById = new ConcurrentSkipListMap<>();
+    //Reverse membership index, a player may have entered several tournaments
+    private final Map<String, Set<String>> tournamentIdsByPlayerId = new ConcurrentHashMap<>();
+    private final Map<String, String> tournamentIdsByName = new ConcurrentHashMap<>();
+    private final Set<String> unwrittenTournamentIds = ConcurrentHashMap.newKeySet();
+    private final AtomicLong lastTournamentPk = new AtomicLong();
+    private final AtomicLong lastPlayerPk = new AtomicLong();
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "tournament-write-behind");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ReentrantLock[] stripes;
+
+    public InMemoryTournamentService(@Value("${tournament.store.lock-stripes:64}") int stripeCount) {
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    //Runs once every singleton exists, after a recovery restore and before the web server takes requests
+    @Override
+    public void afterSingletonsInstantiated() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        List<Tournament> stored = transactionTemplate.execute(status -> tournamentRepository.findAllWithPlayers().stream()
+                .map(tournament -> copyOf(tournament, tournament.getPlayers().stream()
+                        .map(player -> new Player(player.getId(), player.getPlayerId(), player.getPlayerName(), player.getExternalKey()))
+                        .collect(Collectors.toList())))
+                .collect(Collectors.toList()));
+        for (Tournament tournament : stored) {
+            put(tournament);
+            tournamentIdsByName.put(tournament.getTournamentName(), tournament.getTournamentId());
+            for (Player player : tournament.getPlayers()) {
+                enter(player.getPlayerId(), tournament.getTournamentId());
+                lastPlayerPk.accumulateAndGet(player.getId(), Math::max);
+            }
+            lastTournamentPk.accumulateAndGet(tournament.getId(), Math::max);
+        }
+        //Everything loaded is already in the database
+        unwrittenTournamentIds.clear();
+        writer.scheduleWithFixedDelay(this::writeQuietly, writeBehindInterval.toMillis(), writeBehindInterval.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("Loaded {} tournaments into memory, writing changes back every {}", stored.size(), writeBehindInterval);
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    public Tournament addTournament(TournamentRequest tournamentRequest) {
+        log.info("Entered the |addTournament| method");
+        String tournamentId = businessIdGenerator.nextId();
+
+        if (TournamentRequestValidator.isValid(tournamentRequest)) {
+            //The whole roster is resolved before anything is stored, an entry that cannot be registered fails the create
+            //like it fails addPlayerIntoTournament and leaves no tournament behind
+            List<PlayerRequest> playerRequests = tournamentRequest.getPlayers() == null ? List.of() : tournamentRequest.getPlayers();
+            if (playerRequests.size() > maxRegistrationEntries) {
+                log.error("Too many registrations in one request: " + playerRequests.size());
+                throw new IllegalArgumentException("Too many registrations in one request: " + playerRequests.size() + ", the limit is " + maxRegistrationEntries);
+            }
+            List<Player> roster = new ArrayList<>();
+            Set<String> existingPlayerIds = new HashSet<>();
+            for (PlayerRequest playerRequest : playerRequests) {
+                if (playerRequest.getPlayerId() != null) {
+                    Player player = findPlayer(playerRequest.getPlayerId()).orElse(null);
+                    if (player == null) {
+                        log.error(PLAYER_NOT_FOUND + playerRequest.getPlayerId());
+                        throw new ResourceNotFoundException(PLAYER_NOT_FOUND + playerRequest.getPlayerId());
+                    }
+                    if (!existingPlayerIds.add(player.getPlayerId())) {
+                        log.error(PLAYER_ALREADY_REGISTERED + player.getPlayerId());
+                        throw new IllegalStateException(PLAYER_ALREADY_REGISTERED + player.getPlayerId());
+                    }
+                    roster.add(player);
+                } else {
+                    roster.add(new Player(lastPlayerPk.incrementAndGet(), businessIdGenerator.nextId(), playerRequest.getPlayerName(), playerRequest.getExternalKey()));
+                }
+            }
+            reserveName(tournamentRequest.getTournamentName(), tournamentId);
+            Tournament tournament = new Tournament(lastTournamentPk.incrementAndGet(), tournamentId, tournamentRequest.getTournamentName(),
+                    tournamentRequest.getRewardAmount(), tournamentRequest.getCurrency(), List.of(), 0L, 0, Tournament.now());
+            ReentrantLock stripe = lock(tournamentId);
+            try {
+                put(tournament);
+                eventPublisher.publishEvent(TournamentEvent.created(tournament));
+                //Subscribers see the tournament first and an initial roster as the players joining it
+                if (!roster.isEmpty()) {
+                    tournament = join(tournament, roster);
+                }
+            } finally {
+                stripe.unlock();
+            }
+            log.info("Tournament Created and Saved Successfully!");
+            return tournament;
+        } else {
+            log.error("Invalid tournament request: " + tournamentRequest);
+            throw new IllegalStateException("Invalid tournament request: " + tournamentRequest);
+        }
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    public Tournament updateTournament(String tournamentId, Tournament tournament) throws TournamentNotFoundException {
+        log.info("Entered the |updateTournament| method");
+        ReentrantLock stripe = lock(tournamentId);
+        try {
+            Tournament checkTournamentWithId = find(tournamentId).orElse(null);
+            if (checkTournamentWithId != null) {
+                Tournament updatedTournament = copyOf(checkTournamentWithId, checkTournamentWithId.getPlayers());
+                if (tournament.getTournamentName() != null && !tournament.getTournamentName().equals(checkTournamentWithId.getTournamentName())) {
+                    reserveName(tournament.getTournamentName(), tournamentId);
+                    tournamentIdsByName.remove(checkTournamentWithId.getTournamentName(), tournamentId);
+                    updatedTournament.setTournamentName(tournament.getTournamentName());
+                }
+                if (tournament.getRewardAmount() > 0) {
+                    updatedTournament.setRewardAmount(tournament.getRewardAmount());
+                }
+                if (tournament.getCurrency() != null) {
+                    updatedTournament.setCurrency(tournament.getCurrency());
+                }
+                updatedTournament.setVersion(checkTournamentWithId.getVersion() + 1);
+
+                put(updatedTournament);
+                eventPublisher.publishEvent(TournamentEvent.updated(updatedTournament));
+                log.info("Tournament with ID: {} details updated successfully!", tournamentId);
+                return updatedTournament;
+            } else {
+                log.error(TOURNAMENT_NOT_FOUND + tournamentId);
+                throw new TournamentNotFoundException(TOURNAMENT_NOT_FOUND + tournamentId);
+            }
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    public Tournament getTournament(String tournamentId) throws TournamentNotFoundException {
+        log.info("Entered the |getTournament| method");
+        Tournament tournament = find(tournamentId).orElse(null);
+        if (tournament != null) {
+            log.info("Tournament with ID: {} details retrieved successfully!", tournamentId);
+            return tournament;
+        } else {
+            log.error(TOURNAMENT_NOT_FOUND + tournamentId);
+            throw new TournamentNotFoundException(TOURNAMENT_NOT_FOUND + tournamentId);
+        }
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    public long getTournamentVersion(String tournamentId) throws TournamentNotFoundException {
+        Tournament tournament = find(tournamentId).orElse(null);
+        if (tournament != null) {
+            return tournament.getVersion();
+        } else {
+            log.error(TOURNAMENT_NOT_FOUND + tournamentId);
+            throw new TournamentNotFoundException(TOURNAMENT_NOT_FOUND + tournamentId);
+        }
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    public List<Tournament> getTournaments() {
+        log.info("Entered the |getTournaments| method");
+        return new ArrayList<>(tournamentsById.values());
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    public TournamentPage getTournamentsPage(String cursor, Integer size) {
+        log.info("Entered the |getTournamentsPage| method");
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        long afterId = TournamentRequestValidator.decodeCursor(cursor);
+
+        List<Tournament> tournaments = new ArrayList<>(pageSize);
+        Iterator<Tournament> remaining = tournamentsById.tailMap(afterId, false).values().iterator();
+        while (tournaments.size() < pageSize && remaining.hasNext()) {
+            tournaments.add(remaining.next());
+        }
+        boolean hasMore = remaining.hasNext();
+        String nextCursor = hasMore ? String.valueOf(tournaments.get(tournaments.size() - 1).getId()) : null;
+        return new TournamentPage(tournaments, nextCursor, hasMore);
+    }
+
+    //The store has no secondary indexes, a query is one pass over the tournaments held in memory
+    @Override
+    @Timed(SERVICE_TIMER)
+    public TournamentPage findTournaments(TournamentQuery query) {
+        log.info("Entered the |findTournaments| method");
+        int pageSize = query.getSize() == null ? defaultPageSize : Math.max(1, Math.min(query.getSize(), maxPageSize));
+        long[] after = TournamentRequestValidator.decodeQueryCursor(query.getCursor());
+        boolean descending = query.getDirection() == Sort.Direction.DESC;
+
+        Comparator<Tournament> order = Comparator.comparingLong((Tournament tournament) -> sortValue(query, tournament))
+                .thenComparingLong(Tournament::getId);
+        List<Tournament> matches = tournamentsById.values().stream()
+                .filter(tournament -> matches(query, tournament))
+                .filter(tournament -> after == null || follows(query, tournament, after, descending))
+                .sorted(descending ? order.reversed() : order)
+                .limit(pageSize + 1L)
+                .collect(Collectors.toList());
+        boolean hasMore = matches.size() > pageSize;
+        List<Tournament> tournaments = hasMore ? matches.subList(0, pageSize) : matches;
+        Tournament last = hasMore ? tournaments.get(pageSize - 1) : null;
+        String nextCursor = hasMore ? TournamentRequestValidator.encodeQueryCursor(sortValue(query, last), last.getId()) : null;
+        return new TournamentPage(new ArrayList<>(tournaments), nextCursor, hasMore);
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    public void streamTournaments(Consumer<Tournament> consumer) {
+        log.info("Entered the |streamTournaments| method");
+        int streamed = 0;
+        for (Tournament tournament : tournamentsById.values()) {
+            consumer.accept(tournament);
+            streamed++;
+        }
+        log.info("Streamed {} tournaments successfully!", streamed);
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    public Dashboard getDashboard(Set<String> fields) {
+        log.info("Entered the |getDashboard| method");
+        if (!DashboardTournament.FIELDS.containsAll(fields)) {
+            log.error("Invalid dashboard fields: " + fields);
+            throw new IllegalArgumentException("Invalid dashboard fields: " + fields + ", the allowed fields are " + DashboardTournament.FIELDS);
+        }
+        List<DashboardTournament> dashboardTournaments = new ArrayList<>();
+        long playerCount = 0;
+        for (Tournament tournament : tournamentsById.values()) {
+            dashboardTournaments.add(toDashboardTournament(tournament, fields));
+            playerCount += tournament.getPlayers().size();
+        }
+        log.info("Dashboard with {} tournaments and {} players built successfully!", dashboardTournaments.size(), playerCount);
+        return new Dashboard(dashboardTournaments, dashboardTournaments.size(), playerCount);
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    public void deleteTournament(String tournamentId) throws TournamentNotFoundException {
+        log.info("Entered the |deleteTournament| method");
+        ReentrantLock stripe = lock(tournamentId);
+        try {
+            Tournament tournament = find(tournamentId).orElse(null);
+            if (tournament != null) {
+                tournaments.remove(tournamentId);
+                tournamentsById.remove(tournament.getId());
+                tournamentIdsByName.remove(tournament.getTournamentName(), tournamentId);
+                tournament.getPlayers().forEach(player -> leave(player.getPlayerId(), tournamentId));
+                unwrittenTournamentIds.add(tournamentId);
+                eventPublisher.publishEvent(TournamentEvent.deleted(tournamentId));
+            } else {
+                log.error(TOURNAMENT_NOT_FOUND + tournamentId);
+                throw new TournamentNotFoundException(TOURNAMENT_NOT_FOUND + tournamentId);
+            }
+        } finally {
+            stripe.unlock();
+        }
+        log.info("Tournament with ID: {} deleted successfully!", tournamentId);
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    public Tournament addPlayerIntoTournament(String tournamentId, PlayerRequest playerRequest) throws TournamentNotFoundException {
+        log.info("Entered the |addPlayerIntoTournament| method");
+        ReentrantLock stripe = lock(tournamentId);
+        try {
+            Tournament tournament = find(tournamentId).orElse(null);
+            if (tournament != null) {
+                if (TournamentRequestValidator.isValid(playerRequest)) {
+                    Player player;
+                    if (playerRequest.getPlayerId() != null) {
+                        player = findPlayer(playerRequest.getPlayerId()).orElse(null);
+                        if (player == null) {
+                            log.error(PLAYER_NOT_FOUND + playerRequest.getPlayerId());
+                            throw new ResourceNotFoundException(PLAYER_NOT_FOUND + playerRequest.getPlayerId());
+                        }
+                        if (isMember(player.getPlayerId(), tournamentId)) {
+                            log.error(PLAYER_ALREADY_REGISTERED + player.getPlayerId());
+                            throw new IllegalStateException(PLAYER_ALREADY_REGISTERED + player.getPlayerId());
+                        }
+                    } else {
+                        player = new Player(lastPlayerPk.incrementAndGet(), businessIdGenerator.nextId(), playerRequest.getPlayerName(), playerRequest.getExternalKey());
+                    }
+                    Tournament updatedTournament = join(tournament, List.of(player));
+                    log.info("Player added to Tournament with ID: {} successfully!", tournamentId);
+                    return updatedTournament;
+                } else {
+                    log.error("Invalid player request: " + playerRequest);
+                    throw new IllegalStateException("Invalid player request: " + playerRequest);
+                }
+            } else {
+                log.error(TOURNAMENT_NOT_FOUND + tournamentId);
+                throw new TournamentNotFoundException(TOURNAMENT_NOT_FOUND + tournamentId);
+            }
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    public List<RegistrationResult> registerPlayers(List<BulkRegistrationRequest> registrationRequests) {
+        log.info("Entered the |registerPlayers| method");
+        int entries = registrationRequests.stream().mapToInt(request -> request.getPlayers() == null ? 0 : request.getPlayers().size()).sum();
+        if (entries > maxRegistrationEntries) {
+            log.error("Too many registrations in one request: " + entries);
+            throw new IllegalArgumentException("Too many registrations in one request: " + entries + ", the limit is " + maxRegistrationEntries);
+        }
+
+        List<RegistrationResult> results = new ArrayList<>(entries);
+        Map<String, List<Player>> newPlayersByTournamentId = new LinkedHashMap<>();
+        Set<String> memberships = new HashSet<>();
+        int registered = 0;
+        for (BulkRegistrationRequest registrationRequest : registrationRequests) {
+            String tournamentId = registrationRequest.getTournamentId();
+            boolean tournamentExists = find(tournamentId).isPresent();
+            List<PlayerRequest> playerRequests = registrationRequest.getPlayers() == null ? List.of() : registrationRequest.getPlayers();
+            for (int index = 0; index < playerRequests.size(); index++) {
+                PlayerRequest playerRequest = playerRequests.get(index);
+                String playerName = playerRequest == null ? null : playerRequest.getPlayerName();
+                if (!tournamentExists) {
+                    results.add(new RegistrationResult(index, tournamentId, null, playerName, RegistrationStatus.TOURNAMENT_NOT_FOUND, TOURNAMENT_NOT_FOUND + tournamentId));
+                } else if (playerRequest == null || !TournamentRequestValidator.isValid(playerRequest)) {
+                    results.add(new RegistrationResult(index, tournamentId, null, playerName, RegistrationStatus.INVALID_PLAYER, "Invalid player request: " + playerRequest));
+                } else {
+                    Player player;
+                    if (playerRequest.getPlayerId() != null) {
+                        player = findPlayer(playerRequest.getPlayerId()).orElse(null);
+                        if (player == null) {
+                            results.add(new RegistrationResult(index, tournamentId, playerRequest.getPlayerId(), playerName, RegistrationStatus.PLAYER_NOT_FOUND, PLAYER_NOT_FOUND + playerRequest.getPlayerId()));
+                            continue;
+                        }
+                        //Twice in this request or already on the roster
+                        if (!memberships.add(tournamentId + "/" + player.getPlayerId()) || isMember(player.getPlayerId(), tournamentId)) {
+                            results.add(new RegistrationResult(index, tournamentId, player.getPlayerId(), player.getPlayerName(), RegistrationStatus.ALREADY_REGISTERED, PLAYER_ALREADY_REGISTERED + player.getPlayerId()));
+                            continue;
+                        }
+                    } else {
+                        player = new Player(lastPlayerPk.incrementAndGet(), businessIdGenerator.nextId(), playerName, playerRequest.getExternalKey());
+                    }
+                    newPlayersByTournamentId.computeIfAbsent(tournamentId, id -> new ArrayList<>()).add(player);
+                    results.add(new RegistrationResult(index, tournamentId, player.getPlayerId(), player.getPlayerName(), RegistrationStatus.REGISTERED, null));
+                    registered++;
+                }
+            }
+        }
+
+        //One roster change and one event per tournament however many players joined it
+        newPlayersByTournamentId.forEach((tournamentId, players) -> {
+            ReentrantLock stripe = lock(tournamentId);
+            try {
+                //A tournament deleted since the check above is treated as deleted right after the registration,
+                //an existing player who joined it concurrently is not added twice
+                find(tournamentId).ifPresent(tournament -> {
+                    List<Player> joining = players.stream()
+                            .filter(player -> !isMember(player.getPlayerId(), tournamentId))
+                            .collect(Collectors.toList());
+                    if (!joining.isEmpty()) {
+                        join(tournament, joining);
+                    }
+                });
+            } finally {
+                stripe.unlock();
+            }
+        });
+        log.info("Registered {} of {} players successfully!", registered, entries);
+        return results;
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    public void removePlayerFromTournament(String tournamentId, String playerId) throws PlayerNotFoundException, TournamentNotFoundException {
+        log.info("Entered the |removePlayerFromTournament| method");
+        ReentrantLock stripe = lock(tournamentId);
+        try {
+            Tournament tournament = find(tournamentId).orElse(null);
+            if (tournament != null) {
+                //The player index answers membership without walking the roster
+                if (!isMember(playerId, tournamentId)) {
+                    log.error(PLAYER_NOT_FOUND + playerId);
+                    throw new PlayerNotFoundException(PLAYER_NOT_FOUND + playerId);
+                }
+                List<Player> players = tournament.getPlayers().stream()
+                        .filter(player -> !player.getPlayerId().equals(playerId))
+                        .collect(Collectors.toUnmodifiableList());
+                Tournament updatedTournament = copyOf(tournament, players);
+                updatedTournament.setVersion(tournament.getVersion() + 1);
+                put(updatedTournament);
+                leave(playerId, tournamentId);
+                eventPublisher.publishEvent(TournamentEvent.playerLeft(tournamentId, playerId));
+            } else {
+                log.error(TOURNAMENT_NOT_FOUND + tournamentId);
+                throw new TournamentNotFoundException(TOURNAMENT_NOT_FOUND + tournamentId);
+            }
+        } finally {
+            stripe.unlock();
+        }
+        log.info("Player with ID: {} deleted successfully!", playerId);
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    public List<Player> getPlayersInTournament(String tournamentId) throws TournamentNotFoundException {
+        log.info("Entered the |getPlayersInTournament| method");
+        return getRoster(tournamentId).getPlayers();
+    }
+
+    //Players and version come from the same stored copy, they always match
+    @Override
+    @Timed(SERVICE_TIMER)
+    public Roster getRoster(String tournamentId) throws TournamentNotFoundException {
+        log.info("Entered the |getRoster| method");
+        Tournament tournament = find(tournamentId).orElse(null);
+        if (tournament != null) {
+            return new Roster(tournament.getVersion(), tournament.getPlayers().stream().map(player -> {
+                Player players = new Player();
+                players.setPlayerId(player.getPlayerId());
+                players.setPlayerName(player.getPlayerName());
+                return players;
+            }).collect(Collectors.toList()));
+        } else {
+            log.error(TOURNAMENT_NOT_FOUND + tournamentId);
+            throw new TournamentNotFoundException(TOURNAMENT_NOT_FOUND + tournamentId);
+        }
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    public boolean isPlayerInTournament(String tournamentId, String playerId) throws TournamentNotFoundException {
+        if (find(tournamentId).isPresent()) {
+            return isMember(playerId, tournamentId);
+        } else {
+            log.error(TOURNAMENT_NOT_FOUND + tournamentId);
+            throw new TournamentNotFoundException(TOURNAMENT_NOT_FOUND + tournamentId);
+        }
+    }
+
+    //The tournament's stripe stays locked until the caller's transaction completes, which holds off removals just like
+    //the row lock of the database store; afterCompletion runs on the thread that took it
+    @Override
+    public boolean lockMembership(String tournamentId, String playerId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Memberships can only be locked inside a transaction");
+        }
+        ReentrantLock stripe = lock(tournamentId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                stripe.unlock();
+            }
+        });
+        return find(tournamentId).isPresent() && isMember(playerId, tournamentId);
+    }
+
+    //The store only knows players through the rosters they are on, a player who left every tournament is not found
+    @Override
+    @Timed(SERVICE_TIMER)
+    public PlayerProfile getPlayerEntries(String playerId) throws PlayerNotFoundException {
+        log.info("Entered the |getPlayerEntries| method");
+        Set<String> tournamentIds = playerId == null ? Set.of() : tournamentIdsByPlayerId.getOrDefault(playerId, Set.of());
+        List<Tournament> entered = tournamentIds.stream()
+                .map(tournaments::get)
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparingLong(Tournament::getId))
+                .collect(Collectors.toList());
+        String playerName = entered.isEmpty() ? null : entered.get(0).getPlayers().stream()
+                .filter(player -> player.getPlayerId().equals(playerId))
+                .map(Player::getPlayerName)
+                .findFirst()
+                .orElse(null);
+        if (playerName == null) {
+            log.error(PLAYER_NOT_FOUND + playerId);
+            throw new PlayerNotFoundException(PLAYER_NOT_FOUND + playerId);
+        }
+        List<PlayerEntry> entries = entered.stream()
+                .map(tournament -> new PlayerEntry(tournament.getTournamentId(), tournament.getTournamentName(), tournament.getRewardAmount(), tournament.getCurrency()))
+                .collect(Collectors.toList());
+        return new PlayerProfile(playerId, playerName, entries.size(), Map.of(), entries);
+    }
+
+    //Writes every change made so far to the database, returns the number of tournaments written
+    public synchronized int writeBehind() {
+        int written = 0;
+        while (!unwrittenTournamentIds.isEmpty()) {
+            List<String> batch = new ArrayList<>(writeBehindBatchSize);
+            Iterator<String> unwritten = unwrittenTournamentIds.iterator();
+            while (batch.size() < writeBehindBatchSize && unwritten.hasNext()) {
+                batch.add(unwritten.next());
+                unwritten.remove();
+            }
+            //Taken after the ids are claimed, a change made meanwhile marks its tournament again and is written next round
+            List<Tournament> changed = new ArrayList<>();
+            List<String> deleted = new ArrayList<>();
+            for (String tournamentId : batch) {
+                Tournament tournament = tournaments.get(tournamentId);
+                if (tournament != null) {
+                    changed.add(tournament);
+                } else {
+                    deleted.add(tournamentId);
+                }
+            }
+            //Creation order, so the database assigns its surrogate ids in the same order as the listings
+            changed.sort(Comparator.comparingLong(Tournament::getId));
+            try {
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> writeBehindRepository.write(changed, deleted));
+            } catch (RuntimeException e) {
+                unwrittenTournamentIds.addAll(batch);
+                throw e;
+            }
+            written += batch.size();
+        }
+        return written;
+    }
+
+    public int unwrittenTournaments() {
+        return unwrittenTournamentIds.size();
+    }
+
+    //Stops the schedule and writes what is left, the database is still open at this point
+    @Override
+    public void destroy() throws InterruptedException {
+        writer.shutdown();
+        writer.awaitTermination(1, TimeUnit.MINUTES);
+        log.info("Wrote {} tournaments back on shutdown", writeBehind());
+    }
+
+    private void writeQuietly() {
+        try {
+            writeBehind();
+        } catch (RuntimeException e) {
+            log.error("Failed to write {} tournaments back to the database, retrying on the next interval", unwrittenTournaments(), e);
+        }
+    }
+
+    //Caller holds the stripe of the tournament
+    private Tournament join(Tournament tournament, List<Player> newPlayers) {
+        List<Player> players = new ArrayList<>(tournament.getPlayers().size() + newPlayers.size());
+        players.addAll(tournament.getPlayers());
+        players.addAll(newPlayers);
+        Tournament updatedTournament = copyOf(tournament, List.copyOf(players));
+        updatedTournament.setVersion(tournament.getVersion() + 1);
+        put(updatedTournament);
+        newPlayers.forEach(player -> enter(player.getPlayerId(), tournament.getTournamentId()));
+        eventPublisher.publishEvent(TournamentEvent.playersJoined(tournament.getTournamentId(), newPlayers));
+        return updatedTournament;
+    }
+
+    //Swaps in the new state first and then marks it unwritten, so the writer can never miss the latest state
+    private void put(Tournament tournament) {
+        tournaments.put(tournament.getTournamentId(), tournament);
+        tournamentsById.put(tournament.getId(), tournament);
+        unwrittenTournamentIds.add(tournament.getTournamentId());
+    }
+
+    //Both update the player's set inside the map's own lock, so a player entering one tournament while leaving another
+    //never loses the entry
+    private void enter(String playerId, String tournamentId) {
+        tournamentIdsByPlayerId.compute(playerId, (id, tournamentIds) -> {
+            Set<String> entered = tournamentIds == null ? ConcurrentHashMap.newKeySet() : tournamentIds;
+            entered.add(tournamentId);
+            return entered;
+        });
+    }
+
+    private void leave(String playerId, String tournamentId) {
+        tournamentIdsByPlayerId.computeIfPresent(playerId, (id, tournamentIds) -> tournamentIds.remove(tournamentId) && tournamentIds.isEmpty() ? null : tournamentIds);
+    }
+
+    private boolean isMember(String playerId, String tournamentId) {
+        Set<String> tournamentIds = playerId == null ? null : tournamentIdsByPlayerId.get(playerId);
+        return tournamentIds != null && tournamentIds.contains(tournamentId);
+    }
+
+    //Tournament names are unique, as they are in the database
+    private void reserveName(String tournamentName, String tournamentId) {
+        if (tournamentIdsByName.putIfAbsent(tournamentName, tournamentId) != null) {
+            log.error(TOURNAMENT_NAME_TAKEN + tournamentName);
+            throw new DataIntegrityViolationException(TOURNAMENT_NAME_TAKEN + tournamentName);
+        }
+    }
+
+    //Any roster the player is on holds the same player
+    private Optional<Player> findPlayer(String playerId) {
+        return tournamentIdsByPlayerId.getOrDefault(playerId, Set.of()).stream()
+                .map(tournaments::get)
+                .filter(Objects::nonNull)
+                .flatMap(tournament -> tournament.getPlayers().stream())
+                .filter(player -> player.getPlayerId().equals(playerId))
+                .findFirst();
+    }
+
+    private Optional<Tournament> find(String tournamentId) {
+        return tournamentId == null ? Optional.empty() : Optional.ofNullable(tournaments.get(tournamentId));
+    }
+
+    private ReentrantLock lock(String tournamentId) {
+        ReentrantLock stripe = stripes[Math.floorMod(String.valueOf(tournamentId).hashCode(), stripes.length)];
+        stripe.lock();
+        return stripe;
+    }
+
+    //The player count always follows the roster the copy is given
+    private static Tournament copyOf(Tournament tournament, List<Player> players) {
+        return new Tournament(tournament.getId(), tournament.getTournamentId(), tournament.getTournamentName(),
+                tournament.getRewardAmount(), tournament.getCurrency(), List.copyOf(players), tournament.getVersion(), players.size(), tournament.getCreatedAt());
+    }
+
+    private static boolean matches(TournamentQuery query, Tournament tournament) {
+        return (query.getCurrency() == null || query.getCurrency().equals(tournament.getCurrency()))
+                && (query.getMinReward() == null || tournament.getRewardAmount() >= query.getMinReward())
+                && (query.getMaxReward() == null || tournament.getRewardAmount() <= query.getMaxReward())
+                && (query.getMinPlayers() == null || tournament.getPlayerCount() >= query.getMinPlayers())
+                && (query.getMaxPlayers() == null || tournament.getPlayerCount() <= query.getMaxPlayers())
+                && (query.getCreatedFrom() == null || !tournament.getCreatedAt().isBefore(query.getCreatedFrom()))
+                && (query.getCreatedBefore() == null || tournament.getCreatedAt().isBefore(query.getCreatedBefore()));
+    }
+
+    private static boolean follows(TournamentQuery query, Tournament tournament, long[] after, boolean descending) {
+        int compared = Long.compare(sortValue(query, tournament), after[0]);
+        if (compared == 0) {
+            compared = Long.compare(tournament.getId(), after[1]);
+        }
+        return descending ? compared < 0 : compared > 0;
+    }
+
+    //Same sort values as the database query, so cursors are interchangeable
+    private static long sortValue(TournamentQuery query, Tournament tournament) {
+        if (query.getSort() == TournamentQuery.SortBy.REWARD) {
+            return tournament.getRewardAmount();
+        }
+        return query.getSort() == TournamentQuery.SortBy.PLAYERS ? tournament.getPlayerCount() : tournament.getCreatedAt().toEpochMilli();
+    }
+
+    private static DashboardTournament toDashboardTournament(Tournament tournament, Set<String> fields) {
+        DashboardTournament dashboardTournament = new DashboardTournament();
+        dashboardTournament.setTournamentId(tournament.getTournamentId());
+        if (fields.contains(DashboardTournament.TOURNAMENT_NAME)) {
+            dashboardTournament.setTournamentName(tournament.getTournamentName());
+        }
+        if (fields.contains(DashboardTournament.REWARD_AMOUNT)) {
+            dashboardTournament.setRewardAmount(tournament.getRewardAmount());
+        }
+        if (fields.contains(DashboardTournament.CURRENCY)) {
+            dashboardTournament.setCurrency(tournament.getCurrency());
+        }
+        if (fields.contains(DashboardTournament.VERSION)) {
+            dashboardTournament.setVersion(tournament.getVersion());
+        }
+        if (fields.contains(DashboardTournament.PLAYER_COUNT)) {
+            dashboardTournament.setPlayerCount(tournament.getPlayers().size());
+        }
+        if (fields.contains(DashboardTournament.PLAYERS)) {
+            dashboardTournament.setPlayers(tournament.getPlayers().stream()
+                    .map(player -> new DashboardPlayer(player.getPlayerId(), player.getPlayerName()))
+                    .collect(Collectors.toList()));
+        }
+        return dashboardTournament;
+    }
+}
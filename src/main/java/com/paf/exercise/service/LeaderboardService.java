@@ -0,0 +1,28 @@
+package com.paf.exercise.service;
+
+import com.paf.exercise.dto.ScoreRequest;
+import com.paf.exercise.exceptions.PlayerNotFoundException;
+import com.paf.exercise.exceptions.TournamentNotFoundException;
+import com.paf.exercise.leaderboard.Placing;
+import com.paf.exercise.response.Standing;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface LeaderboardService {
+
+    Standing submitScore(String tournamentId, String playerId, ScoreRequest scoreRequest) throws TournamentNotFoundException, PlayerNotFoundException;
+
+    List<Standing> getLeaderboard(String tournamentId, Integer limit) throws TournamentNotFoundException;
+
+    Standing getStanding(String tournamentId, String playerId) throws TournamentNotFoundException, PlayerNotFoundException;
+
+    Optional<Standing> findStanding(String tournamentId, String playerId) throws TournamentNotFoundException;
+
+    List<Standing> getStandingsAround(String tournamentId, int rank, Integer radius) throws TournamentNotFoundException;
+
+    List<Standing> getStandingsThrough(String tournamentId, int places) throws TournamentNotFoundException;
+
+    Optional<Placing> findPlacing(String tournamentId, String playerId);
+
+}
@@ -0,0 +1,201 @@
+package com.paf.exercise.service;
+
+import com.paf.exercise.dto.ScoreRequest;
+import com.paf.exercise.entity.PlayerScore;
+import com.paf.exercise.event.TournamentEvent;
+import com.paf.exercise.exceptions.PlayerNotFoundException;
+import com.paf.exercise.exceptions.TournamentNotFoundException;
+import com.paf.exercise.leaderboard.Leaderboard;
+import com.paf.exercise.leaderboard.Placing;
+import com.paf.exercise.repository.PlayerScoreRepository;
+import com.paf.exercise.response.Standing;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.paf.exercise.config.MetricsConfig.SERVICE_TIMER;
+
+/**
+ * Scores are stored in PLAYER_SCORES_TBL and mirrored in one Leaderboard per tournament, loaded once at startup.
+ * Submissions add points rather than set a score, so the database and the leaderboard end up with the same totals
+ * whatever order concurrent submissions for a player are applied in.
+ */
+@Slf4j
+@Service
+public class LeaderboardServiceImpl implements LeaderboardService, SmartInitializingSingleton {
+    private static final String PLAYER_NOT_FOUND = "Player not found with id: ";
+    private static final String NO_SCORE = "No score submitted for player with id: ";
+    @Autowired
+    private PlayerScoreRepository playerScoreRepository;
+    @Autowired
+    private TournamentService tournamentService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Value("${tournament.leaderboard.default-size:10}")
+    private int defaultSize;
+    @Value("${tournament.leaderboard.max-size:100}")
+    private int maxSize;
+
+    private final Map<String, Leaderboard> leaderboards = new ConcurrentHashMap<>();
+    private TransactionTemplate transactionTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        //Also used from after-commit listeners, where joining the finished transaction would never commit
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        List<PlayerScore> scores = playerScoreRepository.findAll();
+        scores.forEach(score -> leaderboardOf(score.getTournamentId()).addPoints(score.getPlayerId(), score.getScore()));
+        log.info("Loaded {} scores into {} leaderboards", scores.size(), leaderboards.size());
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    public Standing submitScore(String tournamentId, String playerId, ScoreRequest scoreRequest) throws TournamentNotFoundException, PlayerNotFoundException {
+        log.info("Entered the |submitScore| method");
+        tournamentService.getTournamentVersion(tournamentId);
+        long points = scoreRequest.getPoints();
+        Leaderboard leaderboard = leaderboardOf(tournamentId);
+        //The entry stays locked until the score is written and the leaderboard updated, so a player leaving either waits
+        //for the submission or is seen as gone here, and the PLAYER_LEFT clean up always runs after it. Submissions for one
+        //player queue up on the same lock, so only the first of them ever inserts the row.
+        boolean registered = transactionTemplate.execute(status -> {
+            if (!tournamentService.lockMembership(tournamentId, playerId)) {
+                return false;
+            }
+            if (playerScoreRepository.addPoints(tournamentId, playerId, points) == 0) {
+                playerScoreRepository.saveAndFlush(new PlayerScore(0, tournamentId, playerId, points));
+            }
+            boolean scored = leaderboard.standing(playerId).isPresent();
+            leaderboard.addPoints(playerId, points);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                //The score never reached the database, take it back out of the leaderboard
+                @Override
+                public void afterCompletion(int completion) {
+                    if (completion != STATUS_COMMITTED) {
+                        if (scored) {
+                            leaderboard.addPoints(playerId, -points);
+                        } else {
+                            leaderboard.remove(playerId);
+                        }
+                    }
+                }
+            });
+            return true;
+        });
+        if (!registered) {
+            log.error(PLAYER_NOT_FOUND + playerId);
+            throw new PlayerNotFoundException(PLAYER_NOT_FOUND + playerId);
+        }
+        log.info("Added {} points for player {} in tournament {}", points, playerId, tournamentId);
+        return leaderboard.standing(playerId).orElseThrow();
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    public List<Standing> getLeaderboard(String tournamentId, Integer limit) throws TournamentNotFoundException {
+        log.info("Entered the |getLeaderboard| method");
+        tournamentService.getTournamentVersion(tournamentId);
+        int size = limit == null ? defaultSize : Math.max(1, Math.min(limit, maxSize));
+        return leaderboardOf(tournamentId).top(size);
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    public Standing getStanding(String tournamentId, String playerId) throws TournamentNotFoundException, PlayerNotFoundException {
+        log.info("Entered the |getStanding| method");
+        tournamentService.getTournamentVersion(tournamentId);
+        Standing standing = leaderboardOf(tournamentId).standing(playerId).orElse(null);
+        if (standing != null) {
+            return standing;
+        } else {
+            log.error(NO_SCORE + playerId);
+            throw new PlayerNotFoundException(NO_SCORE + playerId);
+        }
+    }
+
+    //Empty rather than an error when the player has no score yet
+    @Override
+    @Timed(SERVICE_TIMER)
+    public Optional<Standing> findStanding(String tournamentId, String playerId) throws TournamentNotFoundException {
+        log.info("Entered the |findStanding| method");
+        tournamentService.getTournamentVersion(tournamentId);
+        return leaderboardOf(tournamentId).standing(playerId);
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    public List<Standing> getStandingsAround(String tournamentId, int rank, Integer radius) throws TournamentNotFoundException {
+        log.info("Entered the |getStandingsAround| method");
+        if (rank < 1) {
+            log.error("Invalid rank: " + rank);
+            throw new IllegalArgumentException("Invalid rank: " + rank + ", ranks start at 1");
+        }
+        tournamentService.getTournamentVersion(tournamentId);
+        int places = radius == null ? defaultSize / 2 : Math.max(0, Math.min(radius, maxSize / 2));
+        return leaderboardOf(tournamentId).around(rank, places);
+    }
+
+    //Unlike the reads above not capped at max-size, it serves the payouts rather than clients paging the standings
+    @Override
+    @Timed(SERVICE_TIMER)
+    public List<Standing> getStandingsThrough(String tournamentId, int places) throws TournamentNotFoundException {
+        log.info("Entered the |getStandingsThrough| method");
+        tournamentService.getTournamentVersion(tournamentId);
+        return leaderboardOf(tournamentId).topThrough(places);
+    }
+
+    //No existence check, for callers that read the tournament moments ago; an unknown tournament has no placings
+    @Override
+    @Timed(SERVICE_TIMER)
+    public Optional<Placing> findPlacing(String tournamentId, String playerId) {
+        log.info("Entered the |findPlacing| method");
+        Leaderboard leaderboard = leaderboards.get(tournamentId);
+        return leaderboard == null ? Optional.empty() : leaderboard.placing(playerId);
+    }
+
+    //Scores leave with the player or the tournament and follow merged players, after the change committed
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTournamentEvent(TournamentEvent event) {
+        switch (event.getType()) {
+            case TOURNAMENT_DELETED:
+                leaderboards.remove(event.getTournamentId());
+                transactionTemplate.executeWithoutResult(status -> playerScoreRepository.deleteByTournament(event.getTournamentId()));
+                break;
+            case PLAYER_LEFT:
+                String playerId = event.getPlayers().get(0).getPlayerId();
+                Leaderboard leaderboard = leaderboards.get(event.getTournamentId());
+                if (leaderboard != null && leaderboard.remove(playerId)) {
+                    transactionTemplate.executeWithoutResult(status -> playerScoreRepository.deleteByTournamentAndPlayer(event.getTournamentId(), playerId));
+                }
+                break;
+            //The duplicate's score row was already moved with the merge, only the leaderboard follows it here
+            case PLAYER_MERGED:
+                Leaderboard merged = leaderboards.get(event.getTournamentId());
+                if (merged != null) {
+                    merged.merge(event.getPlayers().get(0).getPlayerId(), event.getPlayers().get(1).getPlayerId());
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private Leaderboard leaderboardOf(String tournamentId) {
+        return leaderboards.computeIfAbsent(tournamentId, id -> new Leaderboard());
+    }
+}
@@ -0,0 +1,13 @@
+package com.paf.exercise.service;
+
+import com.paf.exercise.exceptions.TournamentNotFoundException;
+import com.paf.exercise.leaderboard.Placing;
+import com.paf.exercise.response.Payouts;
+
+public interface PayoutService {
+
+    Payouts getPayouts(String tournamentId, String table) throws TournamentNotFoundException;
+
+    long getWinnings(int rewardAmount, String currency, Placing placing);
+
+}
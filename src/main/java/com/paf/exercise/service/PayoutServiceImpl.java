@@ -0,0 +1,87 @@
+package com.paf.exercise.service;
+
+import com.paf.exercise.entity.Tournament;
+import com.paf.exercise.exceptions.TournamentNotFoundException;
+import com.paf.exercise.leaderboard.Placing;
+import com.paf.exercise.payout.PayoutCalculator;
+import com.paf.exercise.payout.PayoutTable;
+import com.paf.exercise.payout.PayoutTables;
+import com.paf.exercise.response.Payout;
+import com.paf.exercise.response.Payouts;
+import com.paf.exercise.response.Standing;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+
+import static com.paf.exercise.config.MetricsConfig.SERVICE_TIMER;
+
+/**
+ * Shares the reward of a tournament out over its live standings. The reward is taken to be in whole units of the
+ * currency and paid in its minor units, e.g. cents; a currency that is not an ISO 4217 code is paid in whole units.
+ */
+@Slf4j
+@Service
+public class PayoutServiceImpl implements PayoutService {
+    @Autowired
+    private TournamentService tournamentService;
+    @Autowired
+    private LeaderboardService leaderboardService;
+    @Autowired
+    private PayoutTables payoutTables;
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    public Payouts getPayouts(String tournamentId, String table) throws TournamentNotFoundException {
+        log.info("Entered the |getPayouts| method");
+        String tableName = table == null ? payoutTables.getDefaultTable() : table;
+        PayoutTable payoutTable = payoutTables.get(tableName);
+        Tournament tournament = tournamentService.getTournament(tournamentId);
+        int fractionDigits = fractionDigits(tournament.getCurrency());
+        long pool = Math.multiplyExact((long) tournament.getRewardAmount(), pow10(fractionDigits));
+
+        List<Standing> standings = leaderboardService.getStandingsThrough(tournamentId, payoutTable.places());
+        long[] scores = new long[standings.size()];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = standings.get(i).getScore();
+        }
+        long[] amounts = new long[scores.length];
+        int paid = PayoutCalculator.distribute(pool, payoutTable, scores, scores.length, amounts);
+        List<Payout> payouts = new ArrayList<>(paid);
+        for (int i = 0; i < paid; i++) {
+            Standing standing = standings.get(i);
+            payouts.add(new Payout(standing.getRank(), standing.getPlayerId(), standing.getScore(), amounts[i]));
+        }
+        log.info("Paid {} players from a pool of {} in tournament {}", paid, pool, tournamentId);
+        return new Payouts(tournamentId, tableName, tournament.getCurrency(), fractionDigits, pool, payouts);
+    }
+
+    //One player's payout under the default table, from the tournament columns the caller already has and the placing
+    @Override
+    @Timed(SERVICE_TIMER)
+    public long getWinnings(int rewardAmount, String currency, Placing placing) {
+        long pool = Math.multiplyExact((long) rewardAmount, pow10(fractionDigits(currency)));
+        return PayoutCalculator.payoutOf(pool, payoutTables.get(payoutTables.getDefaultTable()), placing.getField(),
+                placing.getFirst(), placing.getLast(), placing.getPosition());
+    }
+
+    private static int fractionDigits(String currency) {
+        try {
+            return Math.max(Currency.getInstance(currency).getDefaultFractionDigits(), 0);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return 0;
+        }
+    }
+
+    private static long pow10(int exponent) {
+        long value = 1;
+        for (int i = 0; i < exponent; i++) {
+            value *= 10;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,11 @@
+package com.paf.exercise.service;
+
+import com.paf.exercise.response.PlayerMergeProgress;
+
+public interface PlayerMergeService {
+
+    PlayerMergeProgress startMerge();
+
+    PlayerMergeProgress getMergeProgress();
+
+}
@@ -0,0 +1,212 @@
+package com.paf.exercise.service;
+
+import com.paf.exercise.entity.Player;
+import com.paf.exercise.event.TournamentEvent;
+import com.paf.exercise.repository.MembershipMerge;
+import com.paf.exercise.repository.MembershipRow;
+import com.paf.exercise.repository.PlayerMergeRepository;
+import com.paf.exercise.response.PlayerMergeProgress;
+import com.paf.exercise.response.PlayerMergeState;
+import com.paf.exercise.search.NameIndex;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static com.paf.exercise.config.CacheConfig.PLAYER_ENTRIES_CACHE;
+import static com.paf.exercise.config.CacheConfig.TOURNAMENTS_CACHE;
+import static com.paf.exercise.config.CacheConfig.TOURNAMENT_CACHE;
+import static com.paf.exercise.config.CacheConfig.TOURNAMENT_PLAYERS_CACHE;
+import static com.paf.exercise.config.MetricsConfig.SERVICE_TIMER;
+
+/**
+ * Merges players registered more than once into their first registration. Players are duplicates when they share an
+ * external key, or a name that differs only in case, accents and punctuation when neither has an external key.
+ * PLAYERS_TBL is streamed in keyset chunks and each chunk is merged in a short transaction of its own, with its
+ * entries, scores and version bumps written in JDBC batches, so no roster stays locked for longer than one chunk.
+ * Runs on a background thread, one run at a time; a chunk that fails stops the run, which can simply be started again.
+ */
+@Slf4j
+@Service
+public class PlayerMergeServiceImpl implements PlayerMergeService, DisposableBean {
+    @Autowired
+    private PlayerMergeRepository playerMergeRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Value("${tournament.store:jpa}")
+    private String store;
+    @Value("${tournament.players.merge.chunk-size:1000}")
+    private int chunkSize;
+
+    private final AtomicReference<PlayerMergeProgress> progress = new AtomicReference<>(
+            new PlayerMergeProgress(PlayerMergeState.IDLE, null, null, 0, 0, 0, 0, 0, null));
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "player-merge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    //A run in progress is reported rather than started twice
+    @Override
+    @Timed(SERVICE_TIMER)
+    public PlayerMergeProgress startMerge() {
+        log.info("Entered the |startMerge| method");
+        //The memory store keeps its own rosters and would write the duplicates straight back
+        if (!"jpa".equals(store)) {
+            log.error("Duplicate players can only be merged with the jpa store, not with: " + store);
+            throw new IllegalStateException("Duplicate players can only be merged with the jpa store, not with: " + store);
+        }
+        PlayerMergeProgress current = progress.get();
+        if (current.getState() == PlayerMergeState.RUNNING) {
+            return current;
+        }
+        PlayerMergeProgress started = new PlayerMergeProgress(PlayerMergeState.RUNNING, Instant.now(), null, 0, 0, 0, 0, 0, null);
+        if (!progress.compareAndSet(current, started)) {
+            return progress.get();
+        }
+        runner.execute(() -> run(started));
+        return started;
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    public PlayerMergeProgress getMergeProgress() {
+        log.info("Entered the |getMergeProgress| method");
+        return progress.get();
+    }
+
+    //Duplicates sharing an external key match however the key is cased, null for players that are never merged
+    public static String mergeKey(String playerName, String externalKey) {
+        if (externalKey != null && !externalKey.isBlank()) {
+            return "key:" + externalKey.trim().toLowerCase(Locale.ROOT);
+        }
+        String[] words = NameIndex.words(playerName);
+        return words.length == 0 ? null : "name:" + String.join(" ", words);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        runner.shutdownNow();
+        runner.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    private void run(PlayerMergeProgress started) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        //First registration per merge key, the one every later duplicate is merged into
+        Map<String, Player> firstPlayers = new HashMap<>();
+        PlayerMergeProgress current = started;
+        long afterPk = 0;
+        try {
+            List<Player> chunk;
+            while (!(chunk = playerMergeRepository.findPlayers(afterPk, chunkSize)).isEmpty()) {
+                afterPk = chunk.get(chunk.size() - 1).getId();
+                List<Player[]> duplicates = new ArrayList<>();
+                for (Player player : chunk) {
+                    String key = mergeKey(player.getPlayerName(), player.getExternalKey());
+                    Player first = key == null ? null : firstPlayers.putIfAbsent(key, player);
+                    if (first != null) {
+                        duplicates.add(new Player[]{player, first});
+                    }
+                }
+                long[] merged = duplicates.isEmpty() ? new long[3] : transactionTemplate.execute(status -> merge(duplicates));
+                current = new PlayerMergeProgress(PlayerMergeState.RUNNING, started.getStartedAt(), null, current.getChunks() + 1,
+                        current.getScanned() + chunk.size(), current.getMerged() + merged[0], current.getSkipped() + merged[1],
+                        current.getMemberships() + merged[2], null);
+                progress.set(current);
+                log.info("Merged {} duplicate players in chunk {}, {} players scanned so far", merged[0], current.getChunks(), current.getScanned());
+            }
+            current = finished(current, PlayerMergeState.COMPLETED, null);
+        } catch (RuntimeException e) {
+            log.error("Merging duplicate players failed after " + current.getScanned() + " players", e);
+            current = finished(current, PlayerMergeState.FAILED, e.getMessage());
+        }
+        progress.set(current);
+        log.info("Merged {} duplicate players into their first registration, {} left alone", current.getMerged(), current.getSkipped());
+    }
+
+    //Runs in the transaction of one chunk, returns the duplicates merged and skipped and the entries rewritten
+    private long[] merge(List<Player[]> duplicates) {
+        Set<Long> playerPks = new HashSet<>();
+        duplicates.forEach(duplicate -> {
+            playerPks.add(duplicate[0].getId());
+            playerPks.add(duplicate[1].getId());
+        });
+        Map<Long, List<MembershipRow>> membershipsByPlayerPk = playerMergeRepository.findMemberships(playerPks).stream()
+                .collect(Collectors.groupingBy(MembershipRow::getPlayerPk));
+        //Grows as entries pass to the players merged into, a later duplicate in the same tournament is then dropped
+        Map<Long, Set<Long>> tournamentPksByPlayerPk = new HashMap<>();
+        List<MembershipMerge> merges = new ArrayList<>();
+        List<Long> mergedPks = new ArrayList<>();
+        long skipped = 0;
+        for (Player[] duplicate : duplicates) {
+            Player player = duplicate[0];
+            Player into = duplicate[1];
+            List<MembershipRow> entries = membershipsByPlayerPk.getOrDefault(player.getId(), List.of());
+            if (entries.stream().anyMatch(MembershipRow::isBracketed)) {
+                skipped++;
+                continue;
+            }
+            Set<Long> entered = tournamentPksByPlayerPk.computeIfAbsent(into.getId(), pk -> membershipsByPlayerPk.getOrDefault(pk, List.of()).stream()
+                    .map(MembershipRow::getTournamentPk)
+                    .collect(Collectors.toCollection(HashSet::new)));
+            for (MembershipRow entry : entries) {
+                merges.add(new MembershipMerge(entry.getTournamentPk(), entry.getTournamentId(), player, into, !entered.add(entry.getTournamentPk())));
+            }
+            mergedPks.add(player.getId());
+        }
+        playerMergeRepository.mergeMemberships(merges);
+        playerMergeRepository.deletePlayers(mergedPks);
+
+        //The caches are transaction aware, evictions and events both take effect once the chunk has committed
+        for (MembershipMerge merge : merges) {
+            cache(TOURNAMENT_CACHE).evict(merge.getTournamentId());
+            cache(TOURNAMENT_PLAYERS_CACHE).evict(merge.getTournamentId());
+            cache(PLAYER_ENTRIES_CACHE).evict(merge.getDuplicate().getPlayerId());
+            cache(PLAYER_ENTRIES_CACHE).evict(merge.getInto().getPlayerId());
+            eventPublisher.publishEvent(TournamentEvent.playerMerged(merge.getTournamentId(), merge.getDuplicate().getPlayerId(), merge.getInto()));
+        }
+        if (!merges.isEmpty()) {
+            cache(TOURNAMENTS_CACHE).clear();
+        }
+        return new long[]{mergedPks.size(), skipped, merges.size()};
+    }
+
+    //Published progress is never changed, readers always see one consistent state
+    private static PlayerMergeProgress finished(PlayerMergeProgress current, PlayerMergeState state, String error) {
+        return new PlayerMergeProgress(state, current.getStartedAt(), Instant.now(), current.getChunks(), current.getScanned(),
+                current.getMerged(), current.getSkipped(), current.getMemberships(), error);
+    }
+
+    private Cache cache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache == null) {
+            throw new IllegalStateException("Missing cache: " + name);
+        }
+        return cache;
+    }
+}
@@ -0,0 +1,10 @@
+package com.paf.exercise.service;
+
+import com.paf.exercise.exceptions.PlayerNotFoundException;
+import com.paf.exercise.response.PlayerProfile;
+
+public interface PlayerService {
+
+    PlayerProfile getPlayerProfile(String playerId) throws PlayerNotFoundException;
+
+}
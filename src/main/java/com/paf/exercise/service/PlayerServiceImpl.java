@@ -0,0 +1,58 @@
+package com.paf.exercise.service;
+
+import com.paf.exercise.exceptions.PlayerNotFoundException;
+import com.paf.exercise.leaderboard.Placing;
+import com.paf.exercise.response.PlayerEntry;
+import com.paf.exercise.response.PlayerProfile;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static com.paf.exercise.config.MetricsConfig.SERVICE_TIMER;
+
+/**
+ * A player's tournaments come from the cached reverse membership lookup of the tournament service, which only changes
+ * with the rosters. Standings and winnings move with every score, so they are read from the live leaderboards on each
+ * request and never cached; each entry costs two O(log n) leaderboard lookups and no database query.
+ */
+@Slf4j
+@Service
+public class PlayerServiceImpl implements PlayerService {
+    @Autowired
+    private TournamentService tournamentService;
+    @Autowired
+    private LeaderboardService leaderboardService;
+    @Autowired
+    private PayoutService payoutService;
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    public PlayerProfile getPlayerProfile(String playerId) throws PlayerNotFoundException {
+        log.info("Entered the |getPlayerProfile| method");
+        PlayerProfile entries = tournamentService.getPlayerEntries(playerId);
+        List<PlayerEntry> tournaments = new ArrayList<>(entries.getTournaments().size());
+        Map<String, Long> winnings = new TreeMap<>();
+        //The entries were just read from the tournaments, so no further existence checks: a tournament deleted since
+        //simply has no leaderboard left, and its entry shows no standing
+        for (PlayerEntry entry : entries.getTournaments()) {
+            //The cached entries are shared, every request fills in copies
+            PlayerEntry tournament = new PlayerEntry(entry.getTournamentId(), entry.getTournamentName(), entry.getRewardAmount(), entry.getCurrency());
+            Placing placing = leaderboardService.findPlacing(entry.getTournamentId(), playerId).orElse(null);
+            if (placing != null) {
+                tournament.setRank(placing.getRank());
+                tournament.setScore(placing.getScore());
+                tournament.setWinnings(payoutService.getWinnings(entry.getRewardAmount(), entry.getCurrency(), placing));
+            }
+            tournaments.add(tournament);
+            winnings.merge(tournament.getCurrency(), tournament.getWinnings(), Long::sum);
+        }
+        log.info("Player {} entered {} tournaments", playerId, tournaments.size());
+        return new PlayerProfile(playerId, entries.getPlayerName(), tournaments.size(), winnings, tournaments);
+    }
+}
@@ -0,0 +1,31 @@
+package com.paf.exercise.service;
+
+import com.paf.exercise.dto.PlayerRequest;
+import com.paf.exercise.dto.TournamentRequest;
+import com.paf.exercise.entity.Player;
+import com.paf.exercise.entity.Tournament;
+import com.paf.exercise.response.TournamentPage;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveTournamentService {
+
+    Mono<Tournament> addTournament(TournamentRequest tournamentRequest);
+
+    Mono<Tournament> updateTournament(String tournamentId, Tournament tournament);
+
+    Mono<Tournament> getTournament(String tournamentId);
+
+    Flux<Tournament> getTournaments();
+
+    Mono<TournamentPage> getTournamentsPage(String cursor, Integer size);
+
+    Mono<Void> deleteTournament(String tournamentId);
+
+    Mono<Tournament> addPlayerIntoTournament(String tournamentId, PlayerRequest playerRequest);
+
+    Mono<Void> removePlayerFromTournament(String tournamentId, String playerId);
+
+    Flux<Player> getPlayersInTournament(String tournamentId);
+
+}
@@ -0,0 +1,381 @@
+package com.paf.exercise.service;
+
+import com.paf.exercise.dto.PlayerRequest;
+import com.paf.exercise.dto.TournamentRequest;
+import com.paf.exercise.entity.Player;
+import com.paf.exercise.entity.Tournament;
+import com.paf.exercise.event.TournamentEvent;
+import com.paf.exercise.exceptions.PlayerNotFoundException;
+import com.paf.exercise.exceptions.ResourceNotFoundException;
+import com.paf.exercise.exceptions.TournamentNotFoundException;
+import com.paf.exercise.identifier.BusinessIdGenerator;
+import com.paf.exercise.identifier.Uuids;
+import com.paf.exercise.response.TournamentPage;
+import io.r2dbc.spi.Row;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static com.paf.exercise.config.CacheConfig.PLAYER_ENTRIES_CACHE;
+import static com.paf.exercise.config.CacheConfig.TOURNAMENTS_CACHE;
+import static com.paf.exercise.config.CacheConfig.TOURNAMENT_CACHE;
+import static com.paf.exercise.config.CacheConfig.TOURNAMENT_PLAYERS_CACHE;
+
+//Non-blocking counterpart of TournamentServiceImpl over R2DBC. It writes the same tables, bumps the same version
+//counter, evicts the same caches and publishes the same events, so both APIs can serve the same tournaments side by side.
+@Slf4j
+@Service
+public class ReactiveTournamentServiceImpl implements ReactiveTournamentService {
+    private static final String TOURNAMENT_NOT_FOUND = "Tournament not found with id: ";
+    private static final String PLAYER_NOT_FOUND = "Player not found with id: ";
+    private static final String PLAYER_ALREADY_REGISTERED = "Player already registered in the tournament: ";
+    //One row per membership, or a single row with null player columns for an empty roster
+    private static final String SELECT_TOURNAMENTS_WITH_PLAYERS = "select t.id, t.tournament_id, t.tournament_name, t.reward_amount, t.currency, t.version, t.player_count, t.created_at,"
+            + " p.id as player_pk, p.player_id, p.player_name from TOURNAMENT_TBL t"
+            + " left join " + Tournament.PLAYERS_TABLE + " tp on tp.tournament_id = t.id"
+            + " left join PLAYERS_TBL p on p.id = tp.player_id";
+    private static final String ORDER_BY_TOURNAMENT_AND_PLAYER = " order by t.id, p.id";
+
+    @Autowired
+    private DatabaseClient databaseClient;
+    @Autowired
+    private TransactionalOperator transactionalOperator;
+    @Autowired
+    private BusinessIdGenerator businessIdGenerator;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Value("${tournament.page.default-size:50}")
+    private int defaultPageSize;
+    @Value("${tournament.page.max-size:500}")
+    private int maxPageSize;
+
+    @Override
+    public Mono<Tournament> addTournament(TournamentRequest tournamentRequest) {
+        log.info("Entered the |addTournament| method");
+        if (!TournamentRequestValidator.isValid(tournamentRequest)) {
+            log.error("Invalid tournament request: " + tournamentRequest);
+            return Mono.error(new IllegalStateException("Invalid tournament request: " + tournamentRequest));
+        }
+        String tournamentId = businessIdGenerator.nextId();
+        List<PlayerRequest> players = tournamentRequest.getPlayers() == null ? List.of() : tournamentRequest.getPlayers();
+        Mono<Tournament> created = databaseClient.sql("insert into TOURNAMENT_TBL (tournament_id, tournament_name, reward_amount, currency, version, player_count, created_at)"
+                        + " values (:tournamentId, :tournamentName, :rewardAmount, :currency, 0, 0, :createdAt)")
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .bind("tournamentId", Uuids.toBytes(tournamentId))
+                .bind("tournamentName", tournamentRequest.getTournamentName())
+                .bind("rewardAmount", tournamentRequest.getRewardAmount())
+                .bind("currency", tournamentRequest.getCurrency())
+                .bind("createdAt", LocalDateTime.ofInstant(Tournament.now(), ZoneId.systemDefault()))
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .flatMap(tournamentPk -> Flux.fromIterable(players)
+                        //Entries carrying a player id reuse that player, like registerPlayers on the blocking API
+                        .concatMap(player -> player.getPlayerId() != null ? insertMembership(tournamentPk, player.getPlayerId()) : insertPlayer(tournamentPk, player))
+                        //An initial roster counts as one change, like a bulk registration on the blocking API
+                        .then(players.isEmpty() ? Mono.empty() : incrementVersion(tournamentPk, players.size())))
+                .then(findTournamentWithPlayers(tournamentId));
+        return transactionalOperator.transactional(created)
+                .doOnSuccess(tournament -> {
+                    evictListings();
+                    players.stream().map(PlayerRequest::getPlayerId).filter(Objects::nonNull).forEach(cache(PLAYER_ENTRIES_CACHE)::evict);
+                    eventPublisher.publishEvent(TournamentEvent.created(tournament));
+                    log.info("Tournament Created and Saved Successfully!");
+                });
+    }
+
+    @Override
+    public Mono<Tournament> updateTournament(String tournamentId, Tournament tournament) {
+        log.info("Entered the |updateTournament| method");
+        //A single conditional update, concurrent writers are serialised by the row lock it takes
+        DatabaseClient.GenericExecuteSpec update = databaseClient.sql("update TOURNAMENT_TBL set"
+                        + " tournament_name = coalesce(:tournamentName, tournament_name),"
+                        + " reward_amount = case when :rewardAmount > 0 then :rewardAmount else reward_amount end,"
+                        + " currency = coalesce(:currency, currency),"
+                        + " version = version + 1"
+                        + " where tournament_id = :tournamentId")
+                .bind("rewardAmount", tournament.getRewardAmount());
+        update = tournament.getTournamentName() != null ? update.bind("tournamentName", tournament.getTournamentName()) : update.bindNull("tournamentName", String.class);
+        update = tournament.getCurrency() != null ? update.bind("currency", tournament.getCurrency()) : update.bindNull("currency", String.class);
+        Mono<Tournament> updated = Uuids.isValid(tournamentId)
+                ? update.bind("tournamentId", Uuids.toBytes(tournamentId)).fetch().rowsUpdated()
+                        .filter(rows -> rows > 0)
+                        .flatMap(rows -> findTournamentWithPlayers(tournamentId))
+                : Mono.empty();
+        return transactionalOperator.transactional(updated.switchIfEmpty(tournamentNotFound(tournamentId)))
+                .doOnSuccess(updatedTournament -> {
+                    evict(tournamentId);
+                    cache(PLAYER_ENTRIES_CACHE).clear();
+                    eventPublisher.publishEvent(TournamentEvent.updated(updatedTournament));
+                    log.info("Tournament with ID: {} details updated successfully!", tournamentId);
+                });
+    }
+
+    @Override
+    public Mono<Tournament> getTournament(String tournamentId) {
+        log.info("Entered the |getTournament| method");
+        return findTournamentWithPlayers(tournamentId).switchIfEmpty(tournamentNotFound(tournamentId));
+    }
+
+    @Override
+    public Flux<Tournament> getTournaments() {
+        log.info("Entered the |getTournaments| method");
+        return toTournaments(databaseClient.sql(SELECT_TOURNAMENTS_WITH_PLAYERS + ORDER_BY_TOURNAMENT_AND_PLAYER));
+    }
+
+    @Override
+    public Mono<TournamentPage> getTournamentsPage(String cursor, Integer size) {
+        log.info("Entered the |getTournamentsPage| method");
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        long afterId;
+        try {
+            afterId = TournamentRequestValidator.decodeCursor(cursor);
+        } catch (IllegalArgumentException e) {
+            return Mono.error(e);
+        }
+        //Fetch one extra tournament so we know whether another page exists without a count query
+        return toTournaments(databaseClient.sql(SELECT_TOURNAMENTS_WITH_PLAYERS
+                        + " where t.id in (select id from TOURNAMENT_TBL where id > :afterId order by id limit :limit)" + ORDER_BY_TOURNAMENT_AND_PLAYER)
+                .bind("afterId", afterId)
+                .bind("limit", pageSize + 1))
+                .collectList()
+                .map(tournaments -> {
+                    boolean hasMore = tournaments.size() > pageSize;
+                    List<Tournament> page = hasMore ? tournaments.subList(0, pageSize) : tournaments;
+                    String nextCursor = hasMore ? String.valueOf(page.get(page.size() - 1).getId()) : null;
+                    return new TournamentPage(new ArrayList<>(page), nextCursor, hasMore);
+                });
+    }
+
+    @Override
+    public Mono<Void> deleteTournament(String tournamentId) {
+        log.info("Entered the |deleteTournament| method");
+        Mono<Void> deleted = findTournamentPk(tournamentId)
+                .switchIfEmpty(tournamentNotFound(tournamentId))
+                .flatMap(tournamentPk -> databaseClient.sql("delete from " + Tournament.PLAYERS_TABLE + " where tournament_id = :tournamentPk")
+                        .bind("tournamentPk", tournamentPk)
+                        .then()
+                        .then(databaseClient.sql("delete from TOURNAMENT_TBL where id = :tournamentPk").bind("tournamentPk", tournamentPk).then()));
+        return transactionalOperator.transactional(deleted)
+                .doOnSuccess(done -> {
+                    evict(tournamentId);
+                    cache(PLAYER_ENTRIES_CACHE).clear();
+                    eventPublisher.publishEvent(TournamentEvent.deleted(tournamentId));
+                    log.info("Tournament with ID: {} deleted successfully!", tournamentId);
+                });
+    }
+
+    @Override
+    public Mono<Tournament> addPlayerIntoTournament(String tournamentId, PlayerRequest playerRequest) {
+        log.info("Entered the |addPlayerIntoTournament| method");
+        Mono<Tuple2<Player, Tournament>> added = findTournamentPk(tournamentId)
+                .switchIfEmpty(tournamentNotFound(tournamentId))
+                .flatMap(tournamentPk -> {
+                    if (!TournamentRequestValidator.isValid(playerRequest)) {
+                        log.error("Invalid player request: " + playerRequest);
+                        return Mono.error(new IllegalStateException("Invalid player request: " + playerRequest));
+                    }
+                    //Single-row insert plus an atomic version bump, the bump's row lock serialises the reload below
+                    return (playerRequest.getPlayerId() != null ? insertMembership(tournamentPk, playerRequest.getPlayerId()) : insertPlayer(tournamentPk, playerRequest))
+                            .flatMap(player -> incrementVersion(tournamentPk, 1)
+                                    .then(findTournamentWithPlayers(tournamentId))
+                                    .map(tournament -> Tuples.of(player, tournament)));
+                });
+        //The new player travels with the tournament so its event can be published once the transaction has committed
+        return transactionalOperator.transactional(added)
+                .doOnSuccess(playerAndTournament -> {
+                    evict(tournamentId);
+                    if (playerRequest.getPlayerId() != null) {
+                        cache(PLAYER_ENTRIES_CACHE).evict(playerRequest.getPlayerId());
+                    }
+                    eventPublisher.publishEvent(TournamentEvent.playersJoined(tournamentId, List.of(playerAndTournament.getT1())));
+                    log.info("Player added to Tournament with ID: {} successfully!", tournamentId);
+                })
+                .map(Tuple2::getT2);
+    }
+
+    @Override
+    public Mono<Void> removePlayerFromTournament(String tournamentId, String playerId) {
+        log.info("Entered the |removePlayerFromTournament| method");
+        Mono<Void> removed = findTournamentPk(tournamentId)
+                .switchIfEmpty(tournamentNotFound(tournamentId))
+                .flatMap(tournamentPk -> (Uuids.isValid(playerId)
+                        ? databaseClient.sql("delete from " + Tournament.PLAYERS_TABLE + " where tournament_id = :tournamentPk"
+                                        + " and player_id = (select id from PLAYERS_TBL where player_id = :playerId)")
+                                .bind("tournamentPk", tournamentPk)
+                                .bind("playerId", Uuids.toBytes(playerId))
+                                .fetch().rowsUpdated()
+                        : Mono.just(0))
+                        //No rows deleted means the player is not in this tournament
+                        .flatMap(rows -> rows == 0
+                                ? Mono.<Void>error(new PlayerNotFoundException(PLAYER_NOT_FOUND + playerId))
+                                : incrementVersion(tournamentPk, -1)));
+        return transactionalOperator.transactional(removed)
+                .doOnError(PlayerNotFoundException.class, e -> log.error(PLAYER_NOT_FOUND + playerId))
+                .doOnSuccess(done -> {
+                    evict(tournamentId);
+                    cache(PLAYER_ENTRIES_CACHE).evict(playerId);
+                    eventPublisher.publishEvent(TournamentEvent.playerLeft(tournamentId, playerId));
+                    log.info("Player with ID: {} deleted successfully!", playerId);
+                });
+    }
+
+    @Override
+    public Flux<Player> getPlayersInTournament(String tournamentId) {
+        log.info("Entered the |getPlayersInTournament| method");
+        return findTournamentPk(tournamentId)
+                .switchIfEmpty(tournamentNotFound(tournamentId))
+                .flatMapMany(tournamentPk -> databaseClient.sql("select p.player_id, p.player_name from " + Tournament.PLAYERS_TABLE + " tp"
+                                + " join PLAYERS_TBL p on p.id = tp.player_id where tp.tournament_id = :tournamentPk order by p.id")
+                        .bind("tournamentPk", tournamentPk)
+                        .map(row -> {
+                            Player player = new Player();
+                            player.setPlayerId(Uuids.fromBytes(row.get("player_id", byte[].class)));
+                            player.setPlayerName(row.get("player_name", String.class));
+                            return player;
+                        })
+                        .all());
+    }
+
+    //Ids that are not well-formed UUIDs can never match a stored BINARY(16) id, so skip the query entirely
+    private Mono<Tournament> findTournamentWithPlayers(String tournamentId) {
+        if (!Uuids.isValid(tournamentId)) {
+            return Mono.empty();
+        }
+        return toTournaments(databaseClient.sql(SELECT_TOURNAMENTS_WITH_PLAYERS + " where t.tournament_id = :tournamentId" + ORDER_BY_TOURNAMENT_AND_PLAYER)
+                .bind("tournamentId", Uuids.toBytes(tournamentId)))
+                .next();
+    }
+
+    private Mono<Long> findTournamentPk(String tournamentId) {
+        if (!Uuids.isValid(tournamentId)) {
+            return Mono.empty();
+        }
+        return databaseClient.sql("select id from TOURNAMENT_TBL where tournament_id = :tournamentId")
+                .bind("tournamentId", Uuids.toBytes(tournamentId))
+                .map(row -> row.get("id", Long.class))
+                .one();
+    }
+
+    //Membership is written by surrogate keys, like the blocking service, so no statement has to search the player table
+    private Mono<Player> insertPlayer(long tournamentPk, PlayerRequest playerRequest) {
+        String playerId = businessIdGenerator.nextId();
+        DatabaseClient.GenericExecuteSpec insert = databaseClient.sql("insert into PLAYERS_TBL (player_id, player_name, external_key) values (:playerId, :playerName, :externalKey)")
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .bind("playerId", Uuids.toBytes(playerId))
+                .bind("playerName", playerRequest.getPlayerName());
+        insert = playerRequest.getExternalKey() != null ? insert.bind("externalKey", playerRequest.getExternalKey()) : insert.bindNull("externalKey", String.class);
+        return insert.map(row -> row.get("id", Long.class))
+                .one()
+                .flatMap(playerPk -> databaseClient.sql("insert into " + Tournament.PLAYERS_TABLE + " (tournament_id, player_id) values (:tournamentPk, :playerPk)")
+                        .bind("tournamentPk", tournamentPk)
+                        .bind("playerPk", playerPk)
+                        .then()
+                        .thenReturn(new Player(playerPk, playerId, playerRequest.getPlayerName(), playerRequest.getExternalKey())));
+    }
+
+    //An existing player enters one more tournament, unknown players and players already on the roster are rejected
+    private Mono<Player> insertMembership(long tournamentPk, String playerId) {
+        Mono<Tuple2<Player, Boolean>> found = !Uuids.isValid(playerId) ? Mono.empty() : databaseClient.sql("select p.id, p.player_name, p.external_key,"
+                        + " exists(select 1 from " + Tournament.PLAYERS_TABLE + " tp where tp.tournament_id = :tournamentPk and tp.player_id = p.id) as registered"
+                        + " from PLAYERS_TBL p where p.player_id = :playerId")
+                .bind("tournamentPk", tournamentPk)
+                .bind("playerId", Uuids.toBytes(playerId))
+                .map(row -> Tuples.of(new Player(row.get("id", Long.class), playerId, row.get("player_name", String.class), row.get("external_key", String.class)),
+                        Boolean.TRUE.equals(row.get("registered", Boolean.class))))
+                .one();
+        return found
+                .switchIfEmpty(Mono.defer(() -> {
+                    log.error(PLAYER_NOT_FOUND + playerId);
+                    return Mono.error(new ResourceNotFoundException(PLAYER_NOT_FOUND + playerId));
+                }))
+                .flatMap(playerAndRegistered -> {
+                    if (playerAndRegistered.getT2()) {
+                        log.error(PLAYER_ALREADY_REGISTERED + playerId);
+                        return Mono.error(new IllegalStateException(PLAYER_ALREADY_REGISTERED + playerId));
+                    }
+                    return databaseClient.sql("insert into " + Tournament.PLAYERS_TABLE + " (tournament_id, player_id) values (:tournamentPk, :playerPk)")
+                            .bind("tournamentPk", tournamentPk)
+                            .bind("playerPk", playerAndRegistered.getT1().getId())
+                            .then()
+                            .thenReturn(playerAndRegistered.getT1());
+                });
+    }
+
+    //Atomic in the database, concurrent roster changes never lose an increment or a change of the player count
+    private Mono<Void> incrementVersion(long tournamentPk, int joined) {
+        return databaseClient.sql("update TOURNAMENT_TBL set version = version + 1, player_count = player_count + :joined where id = :tournamentPk")
+                .bind("joined", joined)
+                .bind("tournamentPk", tournamentPk)
+                .then();
+    }
+
+    //Rows arrive ordered by tournament, so consecutive rows with the same id make up one tournament and its roster
+    private Flux<Tournament> toTournaments(DatabaseClient.GenericExecuteSpec query) {
+        return query.map(this::toTournamentRow)
+                .all()
+                .bufferUntilChanged(Tournament::getId)
+                .map(rows -> {
+                    Tournament tournament = rows.get(0);
+                    for (int i = 1; i < rows.size(); i++) {
+                        tournament.getPlayers().addAll(rows.get(i).getPlayers());
+                    }
+                    return tournament;
+                });
+    }
+
+    //The tournament columns of one row plus the player of that row, if the roster is not empty
+    private Tournament toTournamentRow(Row row) {
+        List<Player> players = new ArrayList<>();
+        Long playerPk = row.get("player_pk", Long.class);
+        if (playerPk != null) {
+            players.add(new Player(playerPk, Uuids.fromBytes(row.get("player_id", byte[].class)), row.get("player_name", String.class)));
+        }
+        return new Tournament(row.get("id", Long.class), Uuids.fromBytes(row.get("tournament_id", byte[].class)), row.get("tournament_name", String.class),
+                row.get("reward_amount", Integer.class), row.get("currency", String.class), players, row.get("version", Long.class),
+                row.get("player_count", Integer.class), row.get("created_at", LocalDateTime.class).atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private <T> Mono<T> tournamentNotFound(String tournamentId) {
+        return Mono.defer(() -> {
+            log.error(TOURNAMENT_NOT_FOUND + tournamentId);
+            return Mono.error(new TournamentNotFoundException(TOURNAMENT_NOT_FOUND + tournamentId));
+        });
+    }
+
+    //Writes bypass the blocking service, so they drop its cached copies themselves once committed
+    private void evict(String tournamentId) {
+        cache(TOURNAMENT_CACHE).evict(tournamentId);
+        cache(TOURNAMENT_PLAYERS_CACHE).evict(tournamentId);
+        evictListings();
+    }
+
+    private void evictListings() {
+        cache(TOURNAMENTS_CACHE).clear();
+    }
+
+    private Cache cache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache == null) {
+            throw new IllegalStateException("Missing cache: " + name);
+        }
+        return cache;
+    }
+}
@@ -0,0 +1,10 @@
+package com.paf.exercise.service;
+
+import com.paf.exercise.response.SearchResults;
+import com.paf.exercise.search.IndexEntry;
+
+public interface SearchService {
+
+    SearchResults search(String query, IndexEntry.Type type, Integer page, Integer size);
+
+}
@@ -0,0 +1,104 @@
+package com.paf.exercise.service;
+
+import com.paf.exercise.entity.Player;
+import com.paf.exercise.entity.Tournament;
+import com.paf.exercise.event.TournamentEvent;
+import com.paf.exercise.response.SearchHit;
+import com.paf.exercise.response.SearchResults;
+import com.paf.exercise.search.IndexEntry;
+import com.paf.exercise.search.NameIndex;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.paf.exercise.config.MetricsConfig.SERVICE_TIMER;
+
+/**
+ * Name search over an in-process index, filled from the store once the context is up and then kept current from
+ * the committed tournament events, which the blocking and the reactive API both publish.
+ */
+@Slf4j
+@Service
+public class SearchServiceImpl implements SearchService {
+    @Autowired
+    private TournamentService tournamentService;
+    @Value("${tournament.search.default-size:20}")
+    private int defaultSize;
+    @Value("${tournament.search.max-size:100}")
+    private int maxSize;
+
+    private final NameIndex nameIndex = new NameIndex();
+
+    //After every store, the in-memory one included, has loaded its tournaments
+    @EventListener(ContextRefreshedEvent.class)
+    public void loadIndex() {
+        tournamentService.streamTournaments(this::index);
+        log.info("Indexed {} tournament and player names", nameIndex.size());
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    public SearchResults search(String query, IndexEntry.Type type, Integer page, Integer size) {
+        log.info("Entered the |search| method");
+        if (NameIndex.words(query).length == 0) {
+            log.error("Invalid search query: " + query);
+            throw new IllegalArgumentException("Invalid search query: '" + query + "', it needs at least one letter or digit");
+        }
+        int pageNumber = page == null ? 0 : Math.max(page, 0);
+        int pageSize = size == null ? defaultSize : Math.max(1, Math.min(size, maxSize));
+        //One match past the page tells whether another page follows
+        List<IndexEntry> matches = nameIndex.search(query, type, (int) Math.min((long) (pageNumber + 1) * pageSize + 1, Integer.MAX_VALUE));
+        int from = (int) Math.min((long) pageNumber * pageSize, matches.size());
+        int to = Math.min(from + pageSize, matches.size());
+        List<SearchHit> hits = new ArrayList<>(to - from);
+        for (IndexEntry entry : matches.subList(from, to)) {
+            hits.add(new SearchHit(entry.getType(), entry.getId(), entry.getTournamentId(), entry.getName()));
+        }
+        return new SearchResults(query, pageNumber, hits, to < matches.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTournamentEvent(TournamentEvent event) {
+        switch (event.getType()) {
+            case TOURNAMENT_CREATED:
+                index(event.getTournament());
+                break;
+            case TOURNAMENT_UPDATED:
+                nameIndex.put(IndexEntry.tournament(event.getTournamentId(), event.getTournament().getTournamentName()));
+                break;
+            case TOURNAMENT_DELETED:
+                nameIndex.removeTournament(event.getTournamentId());
+                break;
+            case PLAYERS_JOINED:
+                event.getPlayers().forEach(player -> nameIndex.put(IndexEntry.player(event.getTournamentId(), player.getPlayerId(), player.getPlayerName())));
+                break;
+            case PLAYER_LEFT:
+                nameIndex.remove(IndexEntry.key(IndexEntry.Type.PLAYER, event.getTournamentId(), event.getPlayers().get(0).getPlayerId()));
+                break;
+            case PLAYER_MERGED:
+                Player into = event.getPlayers().get(1);
+                nameIndex.remove(IndexEntry.key(IndexEntry.Type.PLAYER, event.getTournamentId(), event.getPlayers().get(0).getPlayerId()));
+                nameIndex.put(IndexEntry.player(event.getTournamentId(), into.getPlayerId(), into.getPlayerName()));
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void index(Tournament tournament) {
+        nameIndex.put(IndexEntry.tournament(tournament.getTournamentId(), tournament.getTournamentName()));
+        if (tournament.getPlayers() != null) {
+            for (Player player : tournament.getPlayers()) {
+                nameIndex.put(IndexEntry.player(tournament.getTournamentId(), player.getPlayerId(), player.getPlayerName()));
+            }
+        }
+    }
+}
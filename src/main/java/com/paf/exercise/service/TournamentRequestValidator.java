@@ -0,0 +1,62 @@
+package com.paf.exercise.service;
+
+import com.paf.exercise.dto.PlayerRequest;
+import com.paf.exercise.dto.TournamentRequest;
+import lombok.extern.slf4j.Slf4j;
+
+//Validation rules shared by the blocking and the reactive tournament services
+@Slf4j
+public final class TournamentRequestValidator {
+
+    private TournamentRequestValidator() {
+    }
+
+    public static boolean isValid(TournamentRequest tournamentRequest) {
+        return !tournamentRequest.getTournamentName().isEmpty() && tournamentRequest.getRewardAmount() >= 1 && !tournamentRequest.getCurrency().isEmpty()
+                && (tournamentRequest.getPlayers() == null || tournamentRequest.getPlayers().stream().allMatch(player -> player != null && isValid(player)));
+    }
+
+    //An existing player is registered by id alone, a new one needs a name
+    public static boolean isValid(PlayerRequest playerRequest) {
+        boolean resp = true;
+        if (playerRequest.getPlayerId() != null) return !playerRequest.getPlayerId().trim().isEmpty();
+        if (playerRequest.getPlayerName() == null) return false;
+        else if (playerRequest.getPlayerName().isEmpty()) return false;
+        else if (playerRequest.getPlayerName().trim().isEmpty()) return false;
+        return resp;
+    }
+
+    //Page cursors are the surrogate id of the last tournament on the previous page, none means the first page
+    public static long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            log.error("Invalid page cursor: " + cursor);
+            throw new IllegalArgumentException("Invalid page cursor: " + cursor);
+        }
+    }
+
+    //Query cursors are the sort value and the surrogate id of the last tournament on the previous page, none means the first page
+    public static long[] decodeQueryCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        String[] parts = cursor.split(":");
+        try {
+            if (parts.length == 2) {
+                return new long[]{Long.parseLong(parts[0]), Long.parseLong(parts[1])};
+            }
+        } catch (NumberFormatException e) {
+            //Reported below like any other malformed cursor
+        }
+        log.error("Invalid query cursor: " + cursor);
+        throw new IllegalArgumentException("Invalid query cursor: " + cursor);
+    }
+
+    public static String encodeQueryCursor(long sortValue, long id) {
+        return sortValue + ":" + id;
+    }
+}
@@ -1,13 +1,22 @@
 package com.paf.exercise.service;
 
+import com.paf.exercise.dto.BulkRegistrationRequest;
 import com.paf.exercise.dto.PlayerRequest;
 import com.paf.exercise.exceptions.PlayerNotFoundException;
 import com.paf.exercise.exceptions.TournamentNotFoundException;
+import com.paf.exercise.dto.TournamentQuery;
 import com.paf.exercise.dto.TournamentRequest;
 import com.paf.exercise.entity.Player;
 import com.paf.exercise.entity.Tournament;
+import com.paf.exercise.response.Dashboard;
+import com.paf.exercise.response.PlayerProfile;
+import com.paf.exercise.response.RegistrationResult;
+import com.paf.exercise.response.Roster;
+import com.paf.exercise.response.TournamentPage;
 
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface TournamentService {
 
@@ -17,14 +26,36 @@ public interface TournamentService {
 
     Tournament getTournament(String tournamentId) throws TournamentNotFoundException;
 
+    long getTournamentVersion(String tournamentId) throws TournamentNotFoundException;
+
     List<Tournament> getTournaments();
 
+    TournamentPage getTournamentsPage(String cursor, Integer size);
+
+    TournamentPage findTournaments(TournamentQuery query);
+
+    void streamTournaments(Consumer<Tournament> consumer);
+
+    Dashboard getDashboard(Set<String> fields);
+
     void deleteTournament(String tournamentId) throws TournamentNotFoundException;
 
     Tournament addPlayerIntoTournament(String tournamentId, PlayerRequest playerRequest) throws TournamentNotFoundException;
 
+    List<RegistrationResult> registerPlayers(List<BulkRegistrationRequest> registrationRequests);
+
     void removePlayerFromTournament(String tournamentId, String playerId) throws PlayerNotFoundException, TournamentNotFoundException;
 
     List<Player> getPlayersInTournament(String tournamentId) throws TournamentNotFoundException;
 
+    Roster getRoster(String tournamentId) throws TournamentNotFoundException;
+
+    boolean isPlayerInTournament(String tournamentId, String playerId) throws TournamentNotFoundException;
+
+    //Like isPlayerInTournament, but holds the entry for the rest of the caller's transaction so the player cannot leave
+    //in between; false for an unknown tournament too
+    boolean lockMembership(String tournamentId, String playerId);
+
+    PlayerProfile getPlayerEntries(String playerId) throws PlayerNotFoundException;
+
 }
@@ -1,41 +1,107 @@
 package com.paf.exercise.service;
 
 import com.paf.exercise.exceptions.PlayerNotFoundException;
+import com.paf.exercise.exceptions.ResourceNotFoundException;
 import com.paf.exercise.exceptions.TournamentNotFoundException;
+import com.paf.exercise.dto.BulkRegistrationRequest;
 import com.paf.exercise.dto.PlayerRequest;
+import com.paf.exercise.dto.TournamentQuery;
 import com.paf.exercise.dto.TournamentRequest;
 import com.paf.exercise.entity.Player;
+import com.paf.exercise.event.TournamentEvent;
+import com.paf.exercise.identifier.BusinessIdGenerator;
+import com.paf.exercise.identifier.Uuids;
+import com.paf.exercise.repository.DashboardRow;
+import com.paf.exercise.repository.PlayerRegistrationRepository;
 import com.paf.exercise.repository.PlayerRepository;
 import com.paf.exercise.entity.Tournament;
+import com.paf.exercise.repository.TournamentQueryRepository;
 import com.paf.exercise.repository.TournamentRepository;
+import com.paf.exercise.response.Dashboard;
+import com.paf.exercise.response.DashboardPlayer;
+import com.paf.exercise.response.DashboardTournament;
+import com.paf.exercise.response.PlayerEntry;
+import com.paf.exercise.response.PlayerProfile;
+import com.paf.exercise.response.RegistrationResult;
+import com.paf.exercise.response.RegistrationStatus;
+import com.paf.exercise.response.Roster;
+import com.paf.exercise.response.TournamentPage;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.UUID;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.paf.exercise.config.CacheConfig.PLAYER_ENTRIES_CACHE;
+import static com.paf.exercise.config.CacheConfig.TOURNAMENTS_CACHE;
+import static com.paf.exercise.config.CacheConfig.TOURNAMENT_CACHE;
+import static com.paf.exercise.config.CacheConfig.TOURNAMENT_PLAYERS_CACHE;
+import static com.paf.exercise.config.MetricsConfig.SERVICE_TIMER;
 
 @Slf4j
 @Service
+@ConditionalOnProperty(name = "tournament.store", havingValue = "jpa", matchIfMissing = true)
 public class TournamentServiceImpl implements TournamentService {
     private static final String TOURNAMENT_NOT_FOUND = "Tournament not found with id: ";
     private static final String PLAYER_NOT_FOUND = "Player not found with id: ";
+    private static final String PLAYER_ALREADY_REGISTERED = "Player already registered in the tournament: ";
     @Autowired
     private TournamentRepository tournamentRepository;
     @Autowired
     private PlayerRepository playerRepository;
+    @Autowired
+    private BusinessIdGenerator businessIdGenerator;
+    @Autowired
+    private PlayerRegistrationRepository playerRegistrationRepository;
+    @Autowired
+    private TournamentQueryRepository tournamentQueryRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Value("${tournament.page.default-size:50}")
+    private int defaultPageSize;
+    @Value("${tournament.page.max-size:500}")
+    private int maxPageSize;
+    @Value("${tournament.registration.max-entries:10000}")
+    private int maxRegistrationEntries;
 
     @Override
+    @Timed(SERVICE_TIMER)
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = TOURNAMENTS_CACHE, allEntries = true),
+            //Called through this, the evictions of registerPlayers do not run for an initial roster of existing players
+            @CacheEvict(cacheNames = PLAYER_ENTRIES_CACHE, allEntries = true, condition = "#tournamentRequest.players != null && !#tournamentRequest.players.isEmpty()")
+    })
     public Tournament addTournament(TournamentRequest tournamentRequest) {
         log.info("Entered the |addTournament| method");
-        String tournamentId = UUID.randomUUID().toString();
+        String tournamentId = businessIdGenerator.nextId();
 
-        if (validRequest(tournamentRequest)) {
+        if (TournamentRequestValidator.isValid(tournamentRequest)) {
 
             Tournament tournament = new Tournament();
             tournament.setTournamentId(tournamentId);
@@ -43,9 +109,27 @@ public class TournamentServiceImpl implements TournamentService {
             tournament.setRewardAmount(tournamentRequest.getRewardAmount());
             tournament.setCurrency(tournamentRequest.getCurrency());
             tournament.setPlayers(new ArrayList<>());
+            tournament.setCreatedAt(Tournament.now());
+            tournamentRepository.save(tournament);
+            //Subscribers see the tournament first and an initial roster as the players joining it
+            eventPublisher.publishEvent(TournamentEvent.created(tournament));
 
+            //An initial roster goes through the same batched path as bulk registration, but all or nothing: an entry that
+            //could not be registered fails the whole create like it fails addPlayerIntoTournament, and rolls it back
+            if (tournamentRequest.getPlayers() != null && !tournamentRequest.getPlayers().isEmpty()) {
+                for (RegistrationResult result : registerPlayers(List.of(new BulkRegistrationRequest(tournamentId, tournamentRequest.getPlayers())))) {
+                    if (result.getStatus() == RegistrationStatus.PLAYER_NOT_FOUND) {
+                        log.error(result.getMessage());
+                        throw new ResourceNotFoundException(result.getMessage());
+                    } else if (result.getStatus() != RegistrationStatus.REGISTERED) {
+                        log.error(result.getMessage());
+                        throw new IllegalStateException(result.getMessage());
+                    }
+                }
+                tournament = tournamentRepository.findWithPlayersByTournamentId(tournamentId).orElseThrow();
+            }
             log.info("Tournament Created and Saved Successfully!");
-            return tournamentRepository.save(tournament);
+            return tournament;
         } else {
             log.error("Invalid tournament request: " + tournamentRequest);
             throw new IllegalStateException("Invalid tournament request: " + tournamentRequest);
@@ -53,10 +137,16 @@ public class TournamentServiceImpl implements TournamentService {
     }
 
     @Override
+    @Timed(SERVICE_TIMER)
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = TOURNAMENT_CACHE, key = "#tournamentId"),
+            @CacheEvict(cacheNames = TOURNAMENTS_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = PLAYER_ENTRIES_CACHE, allEntries = true)
+    })
     public Tournament updateTournament(String tournamentId, Tournament tournament) throws TournamentNotFoundException {
         log.info("Entered the |updateTournament| method");
-        Tournament checkTournamentWithId = tournamentRepository.findByTournamentId(tournamentId).orElse(null);
+        Tournament checkTournamentWithId = Uuids.isValid(tournamentId) ? tournamentRepository.findForUpdateByTournamentId(tournamentId).orElse(null) : null;
         if (checkTournamentWithId != null) {
             if (tournament.getTournamentName() != null) {
                 checkTournamentWithId.setTournamentName(tournament.getTournamentName());
@@ -67,9 +157,12 @@ public class TournamentServiceImpl implements TournamentService {
             if (tournament.getCurrency() != null) {
                 checkTournamentWithId.setCurrency(tournament.getCurrency());
             }
+            checkTournamentWithId.setVersion(checkTournamentWithId.getVersion() + 1);
 
+            Tournament updatedTournament = tournamentRepository.save(checkTournamentWithId);
+            eventPublisher.publishEvent(TournamentEvent.updated(updatedTournament));
             log.info("Tournament with ID: {} details updated successfully!", tournamentId);
-            return tournamentRepository.save(checkTournamentWithId);
+            return updatedTournament;
         } else {
             log.error(TOURNAMENT_NOT_FOUND + tournamentId);
             throw new TournamentNotFoundException(TOURNAMENT_NOT_FOUND + tournamentId);
@@ -77,9 +170,12 @@ public class TournamentServiceImpl implements TournamentService {
     }
 
     @Override
+    @Timed(SERVICE_TIMER)
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = TOURNAMENT_CACHE, key = "#tournamentId")
     public Tournament getTournament(String tournamentId) throws TournamentNotFoundException {
         log.info("Entered the |getTournament| method");
-        Tournament tournament = tournamentRepository.findByTournamentId(tournamentId).orElse(null);
+        Tournament tournament = findTournamentWithPlayers(tournamentId).orElse(null);
         if (tournament != null) {
             log.info("Tournament with ID: {} details retrieved successfully!", tournamentId);
             return tournament;
@@ -90,18 +186,153 @@ public class TournamentServiceImpl implements TournamentService {
     }
 
     @Override
+    @Timed(SERVICE_TIMER)
+    @Transactional(readOnly = true)
+    public long getTournamentVersion(String tournamentId) throws TournamentNotFoundException {
+        Long version = Uuids.isValid(tournamentId) ? tournamentRepository.findVersionByTournamentId(tournamentId).orElse(null) : null;
+        if (version != null) {
+            return version;
+        } else {
+            log.error(TOURNAMENT_NOT_FOUND + tournamentId);
+            throw new TournamentNotFoundException(TOURNAMENT_NOT_FOUND + tournamentId);
+        }
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = TOURNAMENTS_CACHE, key = "'all'")
     public List<Tournament> getTournaments() {
         log.info("Entered the |getTournaments| method");
-        return tournamentRepository.findAll();
+        return tournamentRepository.findAllWithPlayers();
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    @Transactional(readOnly = true)
+    public TournamentPage getTournamentsPage(String cursor, Integer size) {
+        log.info("Entered the |getTournamentsPage| method");
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        long afterId = TournamentRequestValidator.decodeCursor(cursor);
+
+        //Fetch one extra row so we know whether another page exists without a count query
+        List<Tournament> tournaments = new ArrayList<>(tournamentRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, pageSize + 1)));
+        boolean hasMore = tournaments.size() > pageSize;
+        if (hasMore) {
+            tournaments.remove(pageSize);
+        }
+        fetchPlayers(tournaments);
+        String nextCursor = hasMore ? String.valueOf(tournaments.get(tournaments.size() - 1).getId()) : null;
+        return new TournamentPage(tournaments, nextCursor, hasMore);
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    @Transactional(readOnly = true)
+    public TournamentPage findTournaments(TournamentQuery query) {
+        log.info("Entered the |findTournaments| method");
+        int pageSize = query.getSize() == null ? defaultPageSize : Math.max(1, Math.min(query.getSize(), maxPageSize));
+        long[] after = TournamentRequestValidator.decodeQueryCursor(query.getCursor());
+
+        //An index range scan picks the ids of the page, then the tournaments are fetched by id and put back in that order
+        List<long[]> rows = new ArrayList<>(tournamentQueryRepository.findIds(query, after, pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows.remove(pageSize);
+        }
+        List<Long> ids = rows.stream().map(row -> row[0]).collect(Collectors.toList());
+        Map<Long, Tournament> fetched = new HashMap<>();
+        if (!ids.isEmpty()) {
+            tournamentRepository.findWithPlayersByIdIn(ids).forEach(tournament -> fetched.put(tournament.getId(), tournament));
+        }
+        //Tournaments deleted in between simply drop out of the page
+        List<Tournament> tournaments = ids.stream().map(fetched::get).filter(Objects::nonNull).collect(Collectors.toList());
+        long[] last = rows.isEmpty() ? null : rows.get(rows.size() - 1);
+        String nextCursor = hasMore ? TournamentRequestValidator.encodeQueryCursor(last[1], last[0]) : null;
+        return new TournamentPage(tournaments, nextCursor, hasMore);
     }
 
     @Override
+    @Timed(SERVICE_TIMER)
+    @Transactional(readOnly = true)
+    public void streamTournaments(Consumer<Tournament> consumer) {
+        log.info("Entered the |streamTournaments| method");
+        int streamed = 0;
+        List<Tournament> chunk = new ArrayList<>(TournamentRepository.STREAM_FETCH_SIZE);
+        try (Stream<Tournament> tournaments = tournamentRepository.streamAllOrderById()) {
+            for (Tournament tournament : (Iterable<Tournament>) tournaments::iterator) {
+                chunk.add(tournament);
+                if (chunk.size() == TournamentRepository.STREAM_FETCH_SIZE) {
+                    streamed += emitChunk(chunk, consumer);
+                }
+            }
+            streamed += emitChunk(chunk, consumer);
+        }
+        log.info("Streamed {} tournaments successfully!", streamed);
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = TOURNAMENTS_CACHE, key = "'dashboard:' + #fields")
+    public Dashboard getDashboard(Set<String> fields) {
+        log.info("Entered the |getDashboard| method");
+        if (!DashboardTournament.FIELDS.containsAll(fields)) {
+            log.error("Invalid dashboard fields: " + fields);
+            throw new IllegalArgumentException("Invalid dashboard fields: " + fields + ", the allowed fields are " + DashboardTournament.FIELDS);
+        }
+        boolean withPlayers = fields.contains(DashboardTournament.PLAYERS);
+        //One set-based statement either way: rosters as joined rows, or only their sizes when no roster is requested
+        List<DashboardRow> rows = withPlayers ? tournamentRepository.findDashboardRowsWithPlayers() : tournamentRepository.findDashboardRowsWithPlayerCounts();
+
+        List<DashboardTournament> tournaments = new ArrayList<>();
+        long playerCount = 0;
+        DashboardTournament current = null;
+        List<DashboardPlayer> players = null;
+        long currentId = -1;
+        for (DashboardRow row : rows) {
+            //Rows are ordered by tournament, a new id starts the next tournament
+            if (current == null || row.getId() != currentId) {
+                current = toDashboardTournament(row, fields);
+                currentId = row.getId();
+                players = new ArrayList<>();
+                tournaments.add(current);
+                if (withPlayers) {
+                    current.setPlayers(players);
+                } else {
+                    playerCount += row.getPlayerCount();
+                    if (fields.contains(DashboardTournament.PLAYER_COUNT)) {
+                        current.setPlayerCount((int) row.getPlayerCount());
+                    }
+                }
+            }
+            if (withPlayers && row.getPlayerId() != null) {
+                players.add(new DashboardPlayer(row.getPlayerId(), row.getPlayerName()));
+                playerCount++;
+            }
+        }
+        if (withPlayers && fields.contains(DashboardTournament.PLAYER_COUNT)) {
+            tournaments.forEach(tournament -> tournament.setPlayerCount(tournament.getPlayers().size()));
+        }
+        log.info("Dashboard with {} tournaments and {} players built successfully!", tournaments.size(), playerCount);
+        return new Dashboard(tournaments, tournaments.size(), playerCount);
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = TOURNAMENT_CACHE, key = "#tournamentId"),
+            @CacheEvict(cacheNames = TOURNAMENT_PLAYERS_CACHE, key = "#tournamentId"),
+            @CacheEvict(cacheNames = TOURNAMENTS_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = PLAYER_ENTRIES_CACHE, allEntries = true)
+    })
     public void deleteTournament(String tournamentId) throws TournamentNotFoundException {
         log.info("Entered the |deleteTournament| method");
-        Tournament tournament = tournamentRepository.findByTournamentId(tournamentId).orElse(null);
+        Tournament tournament = findTournament(tournamentId).orElse(null);
         if (tournament != null) {
-            tournamentRepository.deleteByTournamentId(tournamentId);
+            tournamentRepository.delete(tournament);
+            eventPublisher.publishEvent(TournamentEvent.deleted(tournamentId));
         } else {
             log.error(TOURNAMENT_NOT_FOUND + tournamentId);
             throw new TournamentNotFoundException(TOURNAMENT_NOT_FOUND + tournamentId);
@@ -110,21 +341,45 @@ public class TournamentServiceImpl implements TournamentService {
     }
 
     @Override
+    @Timed(SERVICE_TIMER)
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = TOURNAMENT_CACHE, key = "#tournamentId"),
+            @CacheEvict(cacheNames = TOURNAMENT_PLAYERS_CACHE, key = "#tournamentId"),
+            @CacheEvict(cacheNames = TOURNAMENTS_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = PLAYER_ENTRIES_CACHE, key = "#playerRequest.playerId", condition = "#playerRequest.playerId != null")
+    })
     public Tournament addPlayerIntoTournament(String tournamentId, PlayerRequest playerRequest) throws TournamentNotFoundException {
         log.info("Entered the |addPlayerIntoTournament| method");
-        String playerId = UUID.randomUUID().toString();
-        Tournament tournament = tournamentRepository.findByTournamentId(tournamentId).orElse(null);
-        if (tournament != null) {
-            if (validatePlayerRequest(playerRequest)) {
-                Player player = new Player();
-                player.setPlayerId(playerId);
-                player.setPlayerName(playerRequest.getPlayerName());
-                playerRepository.save(player);
+        Long tournamentPk = findTournamentPk(tournamentId).orElse(null);
+        if (tournamentPk != null) {
+            if (TournamentRequestValidator.isValid(playerRequest)) {
+                Player player;
+                if (playerRequest.getPlayerId() != null) {
+                    //An existing player enters one more tournament, no new player row
+                    player = findPlayer(playerRequest.getPlayerId()).orElse(null);
+                    if (player == null) {
+                        log.error(PLAYER_NOT_FOUND + playerRequest.getPlayerId());
+                        throw new ResourceNotFoundException(PLAYER_NOT_FOUND + playerRequest.getPlayerId());
+                    }
+                    if (tournamentRepository.existsMembership(tournamentPk, player.getId())) {
+                        log.error(PLAYER_ALREADY_REGISTERED + player.getPlayerId());
+                        throw new IllegalStateException(PLAYER_ALREADY_REGISTERED + player.getPlayerId());
+                    }
+                } else {
+                    player = new Player();
+                    player.setPlayerId(businessIdGenerator.nextId());
+                    player.setPlayerName(playerRequest.getPlayerName());
+                    player.setExternalKey(playerRequest.getExternalKey());
+                    playerRepository.save(player);
+                }
 
-                tournament.getPlayers().add(player);
+                //Single-row insert plus an atomic version bump: concurrent registrations never read-modify-write shared state
+                tournamentRepository.addMembership(tournamentPk, player.getId());
+                tournamentRepository.incrementVersion(tournamentPk, 1);
+                eventPublisher.publishEvent(TournamentEvent.playersJoined(tournamentId, List.of(player)));
                 log.info("Player added to Tournament with ID: {} successfully!", tournamentId);
-                return tournamentRepository.save(tournament);
+                return tournamentRepository.findWithPlayersByTournamentId(tournamentId).orElseThrow();
             } else {
                 log.error("Invalid player request: " + playerRequest);
                 throw new IllegalStateException("Invalid player request: " + playerRequest);
@@ -136,24 +391,104 @@ public class TournamentServiceImpl implements TournamentService {
     }
 
     @Override
-    public void removePlayerFromTournament(String tournamentId, String playerId) throws PlayerNotFoundException, TournamentNotFoundException {
-        log.info("Entered the |removePlayerFromTournament| method");
-        Tournament tournament = tournamentRepository.findByTournamentId(tournamentId).orElse(null);
-        if (tournament != null) {
-            if (tournament.getPlayers().stream().anyMatch(id -> Objects.equals(id.getPlayerId(), playerId))) {
+    @Timed(SERVICE_TIMER)
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = TOURNAMENT_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = TOURNAMENT_PLAYERS_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = TOURNAMENTS_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = PLAYER_ENTRIES_CACHE, allEntries = true)
+    })
+    public List<RegistrationResult> registerPlayers(List<BulkRegistrationRequest> registrationRequests) {
+        log.info("Entered the |registerPlayers| method");
+        int entries = registrationRequests.stream().mapToInt(request -> request.getPlayers() == null ? 0 : request.getPlayers().size()).sum();
+        if (entries > maxRegistrationEntries) {
+            log.error("Too many registrations in one request: " + entries);
+            throw new IllegalArgumentException("Too many registrations in one request: " + entries + ", the limit is " + maxRegistrationEntries);
+        }
 
-                Player player = playerRepository.findByPlayerId(playerId).orElse(null);
-                if (player != null) {
-                    tournament.getPlayers().remove(player);
-                    tournamentRepository.save(tournament);
+        List<RegistrationResult> results = new ArrayList<>(entries);
+        List<Player> newPlayers = new ArrayList<>(entries);
+        Map<Long, List<String>> playerIdsByTournamentPk = new LinkedHashMap<>();
+        Map<String, List<Player>> joinedPlayersByTournamentId = new LinkedHashMap<>();
+        Map<String, Optional<Long>> tournamentPks = new HashMap<>();
+        Map<String, Player> existingPlayers = findExistingPlayers(registrationRequests);
+        Set<String> memberships = new HashSet<>();
+        int registered = 0;
+        for (BulkRegistrationRequest registrationRequest : registrationRequests) {
+            String tournamentId = registrationRequest.getTournamentId();
+            Long tournamentPk = tournamentPks.computeIfAbsent(tournamentId, this::findTournamentPk).orElse(null);
+            List<PlayerRequest> playerRequests = registrationRequest.getPlayers() == null ? List.of() : registrationRequest.getPlayers();
+            for (int index = 0; index < playerRequests.size(); index++) {
+                PlayerRequest playerRequest = playerRequests.get(index);
+                String playerName = playerRequest == null ? null : playerRequest.getPlayerName();
+                if (tournamentPk == null) {
+                    results.add(new RegistrationResult(index, tournamentId, null, playerName, RegistrationStatus.TOURNAMENT_NOT_FOUND, TOURNAMENT_NOT_FOUND + tournamentId));
+                } else if (playerRequest == null || !TournamentRequestValidator.isValid(playerRequest)) {
+                    results.add(new RegistrationResult(index, tournamentId, null, playerName, RegistrationStatus.INVALID_PLAYER, "Invalid player request: " + playerRequest));
                 } else {
-                    log.error(PLAYER_NOT_FOUND + playerId);
-                    throw new PlayerNotFoundException(PLAYER_NOT_FOUND + playerId);
+                    Player player;
+                    if (playerRequest.getPlayerId() != null) {
+                        player = existingPlayers.get(playerRequest.getPlayerId());
+                        if (player == null) {
+                            results.add(new RegistrationResult(index, tournamentId, playerRequest.getPlayerId(), playerName, RegistrationStatus.PLAYER_NOT_FOUND, PLAYER_NOT_FOUND + playerRequest.getPlayerId()));
+                            continue;
+                        }
+                        //Twice in this request or already on the roster
+                        if (!memberships.add(tournamentPk + "/" + player.getId()) || tournamentRepository.existsMembership(tournamentPk, player.getId())) {
+                            results.add(new RegistrationResult(index, tournamentId, player.getPlayerId(), player.getPlayerName(), RegistrationStatus.ALREADY_REGISTERED, PLAYER_ALREADY_REGISTERED + player.getPlayerId()));
+                            continue;
+                        }
+                    } else {
+                        player = new Player();
+                        player.setPlayerId(businessIdGenerator.nextId());
+                        player.setPlayerName(playerName);
+                        player.setExternalKey(playerRequest.getExternalKey());
+                        newPlayers.add(player);
+                    }
+                    playerIdsByTournamentPk.computeIfAbsent(tournamentPk, pk -> new ArrayList<>()).add(player.getPlayerId());
+                    joinedPlayersByTournamentId.computeIfAbsent(tournamentId, id -> new ArrayList<>()).add(player);
+                    results.add(new RegistrationResult(index, tournamentId, player.getPlayerId(), player.getPlayerName(), RegistrationStatus.REGISTERED, null));
+                    registered++;
                 }
-            } else {
+            }
+        }
+
+        if (!playerIdsByTournamentPk.isEmpty()) {
+            //JDBC batches bypass the persistence context: flush pending changes first and drop stale rosters afterwards
+            entityManager.flush();
+            playerRegistrationRepository.insertPlayers(newPlayers);
+            playerRegistrationRepository.insertMemberships(playerIdsByTournamentPk);
+            playerRegistrationRepository.incrementVersions(playerIdsByTournamentPk);
+            entityManager.clear();
+            //One event per tournament however many players joined it
+            joinedPlayersByTournamentId.forEach((tournamentId, players) -> eventPublisher.publishEvent(TournamentEvent.playersJoined(tournamentId, players)));
+        }
+        log.info("Registered {} of {} players successfully!", registered, entries);
+        return results;
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = TOURNAMENT_CACHE, key = "#tournamentId"),
+            @CacheEvict(cacheNames = TOURNAMENT_PLAYERS_CACHE, key = "#tournamentId"),
+            @CacheEvict(cacheNames = TOURNAMENTS_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = PLAYER_ENTRIES_CACHE, key = "#playerId")
+    })
+    public void removePlayerFromTournament(String tournamentId, String playerId) throws PlayerNotFoundException, TournamentNotFoundException {
+        log.info("Entered the |removePlayerFromTournament| method");
+        Long tournamentPk = findTournamentPk(tournamentId).orElse(null);
+        if (tournamentPk != null) {
+            Long playerPk = findPlayerPk(playerId).orElse(null);
+            //Single-row delete on the join table's unique index, no rows deleted means the player is not in this tournament
+            if (playerPk == null || tournamentRepository.removeMembership(tournamentPk, playerPk) == 0) {
                 log.error(PLAYER_NOT_FOUND + playerId);
                 throw new PlayerNotFoundException(PLAYER_NOT_FOUND + playerId);
             }
+            tournamentRepository.incrementVersion(tournamentPk, -1);
+            eventPublisher.publishEvent(TournamentEvent.playerLeft(tournamentId, playerId));
         } else {
             log.error(TOURNAMENT_NOT_FOUND + tournamentId);
             throw new TournamentNotFoundException(TOURNAMENT_NOT_FOUND + tournamentId);
@@ -162,31 +497,143 @@ public class TournamentServiceImpl implements TournamentService {
     }
 
     @Override
+    @Timed(SERVICE_TIMER)
+    @Transactional(readOnly = true)
     public List<Player> getPlayersInTournament(String tournamentId) throws TournamentNotFoundException {
         log.info("Entered the |getPlayersInTournament| method");
-        Tournament tournament = tournamentRepository.findByTournamentId(tournamentId).orElse(null);
+        return toRoster(tournamentId).getPlayers();
+    }
+
+    //Cached with the version it was read at, so a cached roster is never served under a later version's ETag
+    @Override
+    @Timed(SERVICE_TIMER)
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = TOURNAMENT_PLAYERS_CACHE, key = "#tournamentId")
+    public Roster getRoster(String tournamentId) throws TournamentNotFoundException {
+        log.info("Entered the |getRoster| method");
+        return toRoster(tournamentId);
+    }
+
+    private Roster toRoster(String tournamentId) throws TournamentNotFoundException {
+        Tournament tournament = findTournamentWithPlayers(tournamentId).orElse(null);
         if (tournament != null) {
-            return tournament.getPlayers().stream().map(player -> {
+            return new Roster(tournament.getVersion(), tournament.getPlayers().stream().map(player -> {
                 Player players = new Player();
                 players.setPlayerId(player.getPlayerId());
                 players.setPlayerName(player.getPlayerName());
                 return players;
-            }).collect(Collectors.toList());
+            }).collect(Collectors.toList()));
+        } else {
+            log.error(TOURNAMENT_NOT_FOUND + tournamentId);
+            throw new TournamentNotFoundException(TOURNAMENT_NOT_FOUND + tournamentId);
+        }
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    @Transactional(readOnly = true)
+    public boolean isPlayerInTournament(String tournamentId, String playerId) throws TournamentNotFoundException {
+        Long tournamentPk = findTournamentPk(tournamentId).orElse(null);
+        if (tournamentPk != null) {
+            //Single-row probe of the join table's unique index, independent of the roster size
+            Long playerPk = findPlayerPk(playerId).orElse(null);
+            return playerPk != null && tournamentRepository.existsMembership(tournamentPk, playerPk);
         } else {
             log.error(TOURNAMENT_NOT_FOUND + tournamentId);
             throw new TournamentNotFoundException(TOURNAMENT_NOT_FOUND + tournamentId);
         }
     }
 
-    private boolean validRequest(TournamentRequest tournamentRequest) {
-        return !tournamentRequest.getTournamentName().isEmpty() && tournamentRequest.getRewardAmount() >= 1 && !tournamentRequest.getCurrency().isEmpty();
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean lockMembership(String tournamentId, String playerId) {
+        Long tournamentPk = findTournamentPk(tournamentId).orElse(null);
+        Long playerPk = tournamentPk == null ? null : findPlayerPk(playerId).orElse(null);
+        return playerPk != null && !tournamentRepository.lockMembership(tournamentPk, playerPk).isEmpty();
+    }
+
+    private DashboardTournament toDashboardTournament(DashboardRow row, Set<String> fields) {
+        DashboardTournament tournament = new DashboardTournament();
+        tournament.setTournamentId(row.getTournamentId());
+        if (fields.contains(DashboardTournament.TOURNAMENT_NAME)) {
+            tournament.setTournamentName(row.getTournamentName());
+        }
+        if (fields.contains(DashboardTournament.REWARD_AMOUNT)) {
+            tournament.setRewardAmount(row.getRewardAmount());
+        }
+        if (fields.contains(DashboardTournament.CURRENCY)) {
+            tournament.setCurrency(row.getCurrency());
+        }
+        if (fields.contains(DashboardTournament.VERSION)) {
+            tournament.setVersion(row.getVersion());
+        }
+        return tournament;
+    }
+
+    //Entries carry the tournament's name and reward, so any tournament update or deletion drops them all
+    @Override
+    @Timed(SERVICE_TIMER)
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = PLAYER_ENTRIES_CACHE, key = "#playerId")
+    public PlayerProfile getPlayerEntries(String playerId) throws PlayerNotFoundException {
+        log.info("Entered the |getPlayerEntries| method");
+        Player player = Uuids.isValid(playerId) ? playerRepository.findByPlayerId(playerId).orElse(null) : null;
+        if (player != null) {
+            List<PlayerEntry> entries = tournamentRepository.findEntriesByPlayerPk(player.getId());
+            return new PlayerProfile(playerId, player.getPlayerName(), entries.size(), Map.of(), entries);
+        } else {
+            log.error(PLAYER_NOT_FOUND + playerId);
+            throw new PlayerNotFoundException(PLAYER_NOT_FOUND + playerId);
+        }
+    }
+
+    //Ids that are not well-formed UUIDs can never match a stored BINARY(16) id, so skip the query entirely
+    private Optional<Tournament> findTournament(String tournamentId) {
+        return Uuids.isValid(tournamentId) ? tournamentRepository.findByTournamentId(tournamentId) : Optional.empty();
+    }
+
+    private Optional<Tournament> findTournamentWithPlayers(String tournamentId) {
+        return Uuids.isValid(tournamentId) ? tournamentRepository.findWithPlayersByTournamentId(tournamentId) : Optional.empty();
+    }
+
+    //Initialises the players of all given tournaments with one query instead of one per tournament
+    private void fetchPlayers(List<Tournament> tournaments) {
+        if (!tournaments.isEmpty()) {
+            tournamentRepository.findWithPlayersByIdIn(tournaments.stream().map(Tournament::getId).collect(Collectors.toList()));
+        }
+    }
+
+    //Hands a chunk of streamed tournaments to the consumer, then drops it so the persistence context does not grow with the table
+    private int emitChunk(List<Tournament> chunk, Consumer<Tournament> consumer) {
+        int size = chunk.size();
+        fetchPlayers(chunk);
+        chunk.forEach(consumer);
+        chunk.clear();
+        entityManager.clear();
+        return size;
+    }
+
+    private Optional<Long> findTournamentPk(String tournamentId) {
+        return Uuids.isValid(tournamentId) ? tournamentRepository.findIdByTournamentId(tournamentId) : Optional.empty();
+    }
+
+    private Optional<Long> findPlayerPk(String playerId) {
+        return Uuids.isValid(playerId) ? playerRepository.findIdByPlayerId(playerId) : Optional.empty();
+    }
+
+    //Players registered by id, resolved in one query through UX_PLAYER_PLAYER_ID
+    private Map<String, Player> findExistingPlayers(List<BulkRegistrationRequest> registrationRequests) {
+        Set<String> playerIds = registrationRequests.stream()
+                .filter(request -> request.getPlayers() != null)
+                .flatMap(request -> request.getPlayers().stream())
+                .filter(playerRequest -> playerRequest != null && Uuids.isValid(playerRequest.getPlayerId()))
+                .map(PlayerRequest::getPlayerId)
+                .collect(Collectors.toSet());
+        return playerIds.isEmpty() ? Map.of() : playerRepository.findByPlayerIdIn(playerIds).stream()
+                .collect(Collectors.toMap(Player::getPlayerId, player -> player));
     }
 
-    private boolean validatePlayerRequest(PlayerRequest playerRequest) {
-        boolean resp = true;
-        if (playerRequest.getPlayerName() == null) return false;
-        else if (playerRequest.getPlayerName().isEmpty()) return false;
-        else if (playerRequest.getPlayerName().trim().isEmpty()) return false;
-        return resp;
+    private Optional<Player> findPlayer(String playerId) {
+        return Uuids.isValid(playerId) ? playerRepository.findByPlayerId(playerId) : Optional.empty();
     }
 }
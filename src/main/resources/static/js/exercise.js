@@ -1,100 +1,142 @@
 angular.module('exercise', [])
     .run(function($rootScope, $http) {
 
+        var lastEventId;
+
+        //One request for the whole listing, rosters included; afterwards the event stream keeps it current
         $rootScope.getTournaments = function() {
-            $http.get('/exercise', {
+            $http.get('/api/getDashboard', {
                 params: {
-                    operation: 'getTournaments'
+                    fields: 'tournamentName,rewardAmount,currency,players'
                 }
             }).then(function(result) {
-                $rootScope.tournaments = result.data;
-                angular.forEach($rootScope.tournaments, function(tournament) {
-                    $rootScope.getPlayersInTournament(tournament.tournament_id);
-                });
+                $rootScope.tournaments = result.data.tournaments;
             });
         };
 
-        $rootScope.addTournament = function(rewardAmount) {
-            $http.get('/exercise', {
-                params: {
-                    operation: 'addTournament',
-                    reward_amount: rewardAmount
-                }
+        $rootScope.addTournament = function(tournamentName, rewardAmount, currency) {
+            $http.post('/api/addTournament', {
+                tournamentName: tournamentName,
+                rewardAmount: rewardAmount,
+                currency: currency
             }).then(function(result) {
+                $rootScope.tournamentName = undefined;
                 $rootScope.rewardAmount = undefined;
-                $rootScope.getTournaments();
+                $rootScope.currency = undefined;
             });
         };
 
         $rootScope.editTournament = function(tournament) {
-            $rootScope.editTournamentId = tournament.tournament_id;
-            $rootScope.editRewardAmount = tournament.reward_amount;
+            $rootScope.editTournamentId = tournament.tournamentId;
+            $rootScope.editRewardAmount = tournament.rewardAmount;
         };
 
         $rootScope.updateTournament = function(tournamentId, rewardAmount) {
-            $http.get('/exercise', {
+            $http.put('/api/updateTournament', {
+                rewardAmount: rewardAmount
+            }, {
                 params: {
-                    operation: 'updateTournament',
-                    tournament_id: tournamentId,
-                    reward_amount: rewardAmount
+                    tournamentId: tournamentId
                 }
             }).then(function(result) {
                 $rootScope.editTournamentId = undefined;
                 $rootScope.editRewardAmount = undefined;
-                $rootScope.getTournaments();
             });
         };
 
         $rootScope.removeTournament = function(tournamentId) {
-            $http.get('/exercise', {
+            $http.delete('/api/removeTournament', {
                 params: {
-                    operation: 'removeTournament',
-                    tournament_id: tournamentId
+                    tournamentId: tournamentId
                 }
-            }).then(function(result) {
-                $rootScope.getTournaments();
             });
         };
 
         $rootScope.addPlayerIntoTournament = function(tournamentId, playerName) {
-            $http.get('/exercise', {
+            $http.post('/api/addPlayerIntoTournament', {
+                playerName: playerName
+            }, {
                 params: {
-                    operation: 'addPlayerIntoTournament',
-                    tournament_id: tournamentId,
-                    player_name: playerName
+                    tournamentId: tournamentId
                 }
             }).then(function(result) {
                 $rootScope.playerTournamentId = undefined;
                 $rootScope.playerName = undefined;
-                $rootScope.getPlayersInTournament(tournamentId);
             });
         };
 
         $rootScope.removePlayerFromTournament = function(tournamentId, playerId) {
-            $http.get('/exercise', {
+            $http.delete('/api/removePlayerFromTournament', {
                 params: {
-                    operation: 'removePlayerFromTournament',
-                    tournament_id: tournamentId,
-                    player_id: playerId
+                    tournamentId: tournamentId,
+                    playerId: playerId
                 }
-            }).then(function(result) {
-                $rootScope.getPlayersInTournament(tournamentId);
             });
         };
 
-        $rootScope.getPlayersInTournament = function(tournamentId) {
-            $http.get('/exercise', {
-                params: {
-                    operation: 'getPlayersInTournament',
-                    tournament_id: tournamentId
+        function findTournament(tournamentId) {
+            return ($rootScope.tournaments || []).find(function(element) {
+                return element.tournamentId == tournamentId;
+            });
+        }
+
+        var applyEvent = {
+            TOURNAMENT_CREATED: function(event) {
+                if (!findTournament(event.tournamentId)) {
+                    $rootScope.tournaments.push(event.tournament);
                 }
-            }).then(function(result) {
-                var index = $rootScope.tournaments.findIndex(function(element) {
-                    return element.tournament_id == tournamentId;
+            },
+            TOURNAMENT_UPDATED: function(event) {
+                var tournament = findTournament(event.tournamentId);
+                if (tournament) {
+                    tournament.tournamentName = event.tournament.tournamentName;
+                    tournament.rewardAmount = event.tournament.rewardAmount;
+                    tournament.currency = event.tournament.currency;
+                }
+            },
+            TOURNAMENT_DELETED: function(event) {
+                $rootScope.tournaments = $rootScope.tournaments.filter(function(element) {
+                    return element.tournamentId != event.tournamentId;
                 });
-                $rootScope.tournaments[index].players = result.data;
-            });
+            },
+            PLAYERS_JOINED: function(event) {
+                var tournament = findTournament(event.tournamentId);
+                if (tournament) {
+                    tournament.players = (tournament.players || []).concat(event.players);
+                }
+            },
+            PLAYER_LEFT: function(event) {
+                var tournament = findTournament(event.tournamentId);
+                if (tournament) {
+                    tournament.players = tournament.players.filter(function(player) {
+                        return player.playerId != event.players[0].playerId;
+                    });
+                }
+            }
         };
 
-        $rootScope.getTournaments();
-    });
\ No newline at end of file
+        //Event ids are consecutive, a gap means this client missed events and has to reload the listing once
+        function onEvent(message) {
+            var eventId = Number(message.lastEventId);
+            $rootScope.$apply(function() {
+                if (!$rootScope.tournaments) {
+                    //The initial listing is still loading and will already contain this change
+                } else if (lastEventId !== undefined && eventId != lastEventId + 1) {
+                    $rootScope.getTournaments();
+                } else {
+                    applyEvent[message.type](JSON.parse(message.data));
+                }
+                lastEventId = eventId;
+            });
+        }
+
+        var events = new EventSource('/api/events');
+        Object.keys(applyEvent).forEach(function(type) {
+            events.addEventListener(type, onEvent);
+        });
+        //The browser reconnects on its own, reload to catch up with anything that happened in between
+        events.onopen = function() {
+            lastEventId = undefined;
+            $rootScope.$apply($rootScope.getTournaments);
+        };
+    });
@@ -0,0 +1,123 @@
+package com.paf.exercise;
+
+import com.paf.exercise.entity.Tournament;
+import com.paf.exercise.exceptions.TournamentNotFoundException;
+import com.paf.exercise.response.Roster;
+import com.paf.exercise.service.TournamentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+        "tournament.async.enabled=true",
+        "tournament.async.threads=1",
+        "tournament.async.queue-capacity=1",
+        "tournament.async.retry-after-seconds=2"
+})
+class AsyncExerciseControllerTests {
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private TournamentService tournamentService;
+
+    @Test
+    void testGetParticularTournamentAsynchronously() throws Exception {
+        String tournamentId = UUID.randomUUID().toString();
+        Tournament tournament = new Tournament(1L, tournamentId, "NPL", 20000, "EUR", new ArrayList<>(), 3L);
+        when(tournamentService.getTournamentVersion(tournamentId)).thenReturn(3L);
+        when(tournamentService.getTournament(tournamentId)).thenReturn(tournament);
+
+        MvcResult mvcResult = this.mockMvc.perform(get("/api/async/getTournament").param("tournamentId", tournamentId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        this.mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(jsonPath("$.tournamentName").value("NPL"));
+    }
+
+    @Test
+    void testConditionalGetMatchesLikeTheBlockingApi() throws Exception {
+        String tournamentId = UUID.randomUUID().toString();
+        when(tournamentService.getTournamentVersion(tournamentId)).thenReturn(3L);
+        when(tournamentService.getRoster(tournamentId)).thenReturn(new Roster(3L, List.of()));
+
+        //Weak tags, lists of tags and * all match, like WebRequest.checkNotModified
+        for (String ifNoneMatch : List.of("\"3\"", "W/\"3\"", "\"2\", \"3\"", "*")) {
+            MvcResult mvcResult = this.mockMvc.perform(get("/api/async/getPlayersInTournament").param("tournamentId", tournamentId)
+                            .header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            this.mockMvc.perform(asyncDispatch(mvcResult))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+        }
+        MvcResult mvcResult = this.mockMvc.perform(get("/api/async/getPlayersInTournament").param("tournamentId", tournamentId)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"2\", W/\"33\""))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        this.mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk());
+        verify(tournamentService, times(1)).getRoster(tournamentId);
+    }
+
+    @Test
+    void testUnknownTournamentFailsTheFuture() throws Exception {
+        when(tournamentService.getTournamentVersion("unknown")).thenThrow(new TournamentNotFoundException("Tournament not found with id: unknown"));
+
+        MvcResult mvcResult = this.mockMvc.perform(get("/api/async/getTournament").param("tournamentId", "unknown"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        this.mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0]").value("Tournament not found with id: unknown"));
+    }
+
+    @Test
+    void testFullQueueIsRejectedWithRetryAfter() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(tournamentService.getTournaments()).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        try {
+            //One request occupies the only worker, the next one the only queue slot
+            MvcResult running = this.mockMvc.perform(get("/api/async/getTournaments")).andExpect(request().asyncStarted()).andReturn();
+            //The queue slot is only free once the worker has taken the first request off it
+            started.await(10, TimeUnit.SECONDS);
+            MvcResult queued = this.mockMvc.perform(get("/api/async/getTournaments")).andExpect(request().asyncStarted()).andReturn();
+
+            this.mockMvc.perform(get("/api/async/getTournaments"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"));
+
+            release.countDown();
+            this.mockMvc.perform(asyncDispatch(running)).andExpect(status().isOk());
+            this.mockMvc.perform(asyncDispatch(queued)).andExpect(status().isOk());
+        } finally {
+            release.countDown();
+        }
+    }
+}
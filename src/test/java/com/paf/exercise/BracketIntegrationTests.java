@@ -0,0 +1,124 @@
+package com.paf.exercise;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paf.exercise.bracket.BracketFormat;
+import com.paf.exercise.dto.BracketRequest;
+import com.paf.exercise.dto.MatchResultRequest;
+import com.paf.exercise.dto.PlayerRequest;
+import com.paf.exercise.dto.TournamentRequest;
+import com.paf.exercise.entity.Match;
+import com.paf.exercise.entity.Tournament;
+import com.paf.exercise.repository.MatchRepository;
+import com.paf.exercise.response.BracketStatus;
+import com.paf.exercise.service.BracketService;
+import com.paf.exercise.service.BracketServiceImpl;
+import com.paf.exercise.service.TournamentService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@TestPropertySource("classpath:application-test.properties")
+class BracketIntegrationTests {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private TournamentService tournamentService;
+    @Autowired
+    private BracketService bracketService;
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Test
+    @DisplayName("Test that results reported through the API advance the bracket to its winner")
+    void should_play_a_bracket_through_the_api() throws Exception {
+        Tournament tournament = createTournament(5);
+        String tournamentId = tournament.getTournamentId();
+        BracketStatus status = read(mockMvc.perform(post("/api/createBracket").param("tournamentId", tournamentId)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"format\": \"SINGLE_ELIMINATION\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.round").value(1))
+                .andExpect(jsonPath("$.matches.length()").value(1)));
+        mockMvc.perform(post("/api/createBracket").param("tournamentId", tournamentId)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"format\": \"SWISS\"}"))
+                .andExpect(status().isBadRequest());
+
+        Match first = status.getMatches().get(0);
+        mockMvc.perform(post("/api/reportResult").param("tournamentId", tournamentId).param("matchNumber", "1")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"winnerId\": \"" + UUID.randomUUID() + "\"}"))
+                .andExpect(status().isBadRequest());
+        //Always the first named player wins, so the winner is the top seed
+        while (!status.isComplete()) {
+            for (Match match : status.getMatches()) {
+                status = read(mockMvc.perform(post("/api/reportResult").param("tournamentId", tournamentId)
+                                .param("matchNumber", String.valueOf(match.getNumber()))
+                                .contentType(MediaType.APPLICATION_JSON).content("{\"winnerId\": \"" + match.getPlayerA() + "\"}"))
+                        .andExpect(status().isOk()));
+            }
+        }
+        assertThat(status.getWinnerId()).isEqualTo(tournament.getPlayers().get(0).getPlayerId());
+        mockMvc.perform(post("/api/reportResult").param("tournamentId", tournamentId).param("matchNumber", "1")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"winnerId\": \"" + first.getPlayerA() + "\"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/getBracket").param("tournamentId", tournamentId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.complete").value(true))
+                .andExpect(jsonPath("$.matches.length()").value(4));
+        mockMvc.perform(get("/api/getBracket").param("tournamentId", createTournament(2).getTournamentId()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Test that a bracket reloaded from the stored results continues where it left off, and leaves with its tournament")
+    void should_replay_stored_results() throws Exception {
+        Tournament tournament = createTournament(9);
+        String tournamentId = tournament.getTournamentId();
+        BracketStatus status = bracketService.createBracket(tournamentId, new BracketRequest(BracketFormat.DOUBLE_ELIMINATION, null));
+        for (int round = 0; round < 3; round++) {
+            for (Match match : status.getMatches()) {
+                status = bracketService.reportResult(tournamentId, match.getNumber(), new MatchResultRequest(match.getPlayerB()));
+            }
+        }
+        Match open = status.getMatches().get(0);
+        BracketStatus before = bracketService.getBracket(tournamentId, null);
+
+        ((BracketServiceImpl) bracketService).afterSingletonsInstantiated();
+        BracketStatus after = bracketService.getBracket(tournamentId, null);
+        assertThat(after).usingRecursiveComparison().isEqualTo(before);
+        assertThat(bracketService.reportResult(tournamentId, open.getNumber(), new MatchResultRequest(open.getPlayerA())).getMatches())
+                .extracting(Match::getWinnerId).contains(open.getPlayerA());
+
+        tournamentService.deleteTournament(tournamentId);
+        assertThat(matchRepository.findByTournament(tournamentId)).isEmpty();
+    }
+
+    private BracketStatus read(ResultActions result) throws Exception {
+        return objectMapper.readValue(result.andReturn().getResponse().getContentAsString(), BracketStatus.class);
+    }
+
+    private Tournament createTournament(int playerCount) {
+        List<PlayerRequest> players = new ArrayList<>();
+        for (int i = 0; i < playerCount; i++) {
+            players.add(new PlayerRequest("Player " + i));
+        }
+        return tournamentService.addTournament(new TournamentRequest(UUID.randomUUID().toString(), 1000, "EUR", players));
+    }
+}
@@ -0,0 +1,150 @@
+package com.paf.exercise;
+
+import com.paf.exercise.bracket.BracketFormat;
+import com.paf.exercise.bracket.Schedule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BracketScheduleTests {
+
+    @Test
+    @DisplayName("Test that single elimination plays n - 1 matches and only the winner stays unbeaten")
+    void should_play_single_elimination() {
+        for (int players = 2; players <= 40; players++) {
+            int[] losses = new int[players];
+            Schedule schedule = BracketFormat.SINGLE_ELIMINATION.create(players, null);
+            int matches = play(schedule, players, losses, new Random(players));
+            assertThat(matches).isEqualTo(players - 1);
+            for (int player = 0; player < players; player++) {
+                assertThat(losses[player]).isEqualTo(player == schedule.winner() ? 0 : 1);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test that the top seeds get the byes and meet last")
+    void should_seed_the_bracket() {
+        Schedule schedule = BracketFormat.SINGLE_ELIMINATION.create(6, null);
+        //Seeds 0 and 1 sit out the first round against the empty seeds 7 and 6
+        assertThat(schedule.nextRound()).containsExactly(3, 4, 2, 5);
+        schedule.recordResult(3, 4);
+        schedule.recordResult(2, 5);
+        assertThat(schedule.nextRound()).containsExactly(0, 3, 1, 2);
+    }
+
+    @Test
+    @DisplayName("Test that double elimination knocks players out on their second loss, with a grand final reset")
+    void should_play_double_elimination() {
+        for (int players = 2; players <= 40; players++) {
+            for (int seed = 0; seed < 5; seed++) {
+                int[] losses = new int[players];
+                Schedule schedule = BracketFormat.DOUBLE_ELIMINATION.create(players, null);
+                int matches = play(schedule, players, losses, new Random(players * 31L + seed));
+                int winner = schedule.winner();
+                assertThat(winner).isNotNegative();
+                assertThat(losses[winner]).isLessThanOrEqualTo(1);
+                //2n - 2 matches, one more when the grand final is replayed
+                assertThat(matches).isEqualTo(2 * players - 2 + losses[winner]);
+                for (int player = 0; player < players; player++) {
+                    if (player != winner) {
+                        assertThat(losses[player]).isEqualTo(2);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test that round robin pairs every two players exactly once")
+    void should_play_round_robin() {
+        for (int players = 2; players <= 15; players++) {
+            Schedule schedule = BracketFormat.ROUND_ROBIN.create(players, null);
+            Set<Long> pairs = new HashSet<>();
+            int[] round;
+            while ((round = schedule.nextRound()).length > 0) {
+                for (int i = 0; i < round.length; i += 2) {
+                    assertThat(pairs.add(pairKey(round[i], round[i + 1]))).isTrue();
+                    schedule.recordResult(Math.min(round[i], round[i + 1]), Math.max(round[i], round[i + 1]));
+                }
+            }
+            assertThat(pairs).hasSize(players * (players - 1) / 2);
+            assertThat(schedule.winner()).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("Test that Swiss rounds pair every player once a round without rematches, with one bye each at most")
+    void should_pair_swiss_rounds() {
+        int players = 1001;
+        int rounds = 10;
+        Schedule schedule = BracketFormat.SWISS.create(players, rounds);
+        Random random = new Random(11);
+        Set<Long> pairs = new HashSet<>();
+        int[] byes = new int[players];
+        for (int r = 0; r < rounds; r++) {
+            int[] round = schedule.nextRound();
+            assertThat(round).hasSize(players - 1);
+            boolean[] seen = new boolean[players];
+            for (int i = 0; i < round.length; i += 2) {
+                assertThat(pairs.add(pairKey(round[i], round[i + 1]))).isTrue();
+                seen[round[i]] = true;
+                seen[round[i + 1]] = true;
+                boolean first = random.nextBoolean();
+                schedule.recordResult(first ? round[i] : round[i + 1], first ? round[i + 1] : round[i]);
+            }
+            for (int player = 0; player < players; player++) {
+                if (!seen[player]) {
+                    byes[player]++;
+                }
+            }
+        }
+        assertThat(schedule.nextRound()).isEmpty();
+        assertThat(byes).containsOnly(0, 1);
+        assertThat(schedule.winner()).isNotNegative();
+    }
+
+    @Test
+    @DisplayName("Test that a round cannot be skipped and results must belong to the round")
+    void should_reject_out_of_order_results() {
+        Schedule schedule = BracketFormat.DOUBLE_ELIMINATION.create(4, null);
+        assertThat(schedule.nextRound()).containsExactly(0, 3, 1, 2);
+        assertThatThrownBy(() -> schedule.recordResult(0, 1)).isInstanceOf(IllegalArgumentException.class);
+        schedule.recordResult(3, 0);
+        assertThatThrownBy(() -> schedule.recordResult(0, 3)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(schedule::nextRound).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> BracketFormat.SWISS.create(1, null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    //Plays random results, checking nobody plays twice in a round and nobody plays after their last allowed loss
+    private static int play(Schedule schedule, int players, int[] losses, Random random) {
+        int matches = 0;
+        int[] round;
+        while ((round = schedule.nextRound()).length > 0) {
+            boolean[] seen = new boolean[players];
+            for (int i = 0; i < round.length; i += 2) {
+                int a = round[i];
+                int b = round[i + 1];
+                assertThat(seen[a] || seen[b]).isFalse();
+                seen[a] = true;
+                seen[b] = true;
+                boolean first = random.nextBoolean();
+                schedule.recordResult(first ? a : b, first ? b : a);
+                losses[first ? b : a]++;
+                matches++;
+            }
+            assertThat(schedule.winner()).isNegative();
+        }
+        return matches;
+    }
+
+    private static long pairKey(int a, int b) {
+        return (long) Math.min(a, b) << 32 | Math.max(a, b);
+    }
+}
@@ -0,0 +1,39 @@
+package com.paf.exercise;
+
+import com.paf.exercise.repository.PlayerRepository;
+import com.paf.exercise.repository.TournamentRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that business-key lookups are index probes, whatever the table size. How their latency behaves as the tables
+ * grow is measured by BusinessKeyLookupBenchmark under src/jmh/java, outside the regular build.
+ */
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@ContextConfiguration(classes = {TournamentRepository.class, PlayerRepository.class})
+@EnableAutoConfiguration
+@TestPropertySource("classpath:application-test.properties")
+class BusinessKeyLookupTests {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Test that tournament and player lookups by business key use the unique indexes")
+    void should_use_the_unique_indexes_for_business_key_lookups() {
+        String tournamentPlan = jdbcTemplate.queryForObject(
+                "EXPLAIN SELECT * FROM TOURNAMENT_TBL WHERE TOURNAMENT_ID = X'00'", String.class);
+        String playerPlan = jdbcTemplate.queryForObject(
+                "EXPLAIN SELECT * FROM PLAYERS_TBL WHERE PLAYER_ID = X'00'", String.class);
+
+        assertThat(tournamentPlan).contains("UX_TOURNAMENT_TOURNAMENT_ID");
+        assertThat(playerPlan).contains("UX_PLAYER_PLAYER_ID");
+    }
+}
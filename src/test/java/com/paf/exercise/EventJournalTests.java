@@ -0,0 +1,160 @@
+package com.paf.exercise;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.paf.exercise.event.TournamentEvent;
+import com.paf.exercise.journal.EventJournal;
+import com.paf.exercise.journal.JournalEntry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventJournalTests {
+    private static final int SEGMENT_SIZE = 64 * 1024;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Test that concurrent appends are all written in order per producer and survive a restart")
+    void should_keep_every_append_across_segments_and_restarts() throws Exception {
+        int producers = 8;
+        int appends = 2_000;
+        //A small ring and small segments force producers to wait for the writer and the writer to roll segments
+        EventJournal journal = open(64);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int producer = 0; producer < producers; producer++) {
+            String tournamentId = "tournament-" + producer;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < appends; i++) {
+                    journal.append(TournamentEvent.playerLeft(tournamentId, String.valueOf(i)));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+        journal.close();
+
+        EventJournal reopened = open(64);
+        reopened.append(TournamentEvent.deleted("tournament-0"));
+        List<JournalEntry> entries = replay(reopened, 1);
+        reopened.close();
+
+        assertThat(entries).hasSize(producers * appends + 1);
+        assertThat(entries).extracting(JournalEntry::getSequence).isSorted().doesNotHaveDuplicates();
+        assertThat(entries.get(entries.size() - 1).getSequence()).isEqualTo(producers * appends + 1);
+        Map<String, List<String>> playersByTournament = new HashMap<>();
+        entries.stream().filter(entry -> entry.getEvent().getPlayers() != null).forEach(entry -> playersByTournament
+                .computeIfAbsent(entry.getEvent().getTournamentId(), id -> new ArrayList<>())
+                .add(entry.getEvent().getPlayers().get(0).getPlayerId()));
+        playersByTournament.values().forEach(playerIds -> assertThat(playerIds.stream().map(Integer::valueOf).collect(Collectors.toList()))
+                .hasSize(appends).isSorted());
+        assertThat(segments()).hasSizeGreaterThan(1);
+    }
+
+    @Test
+    @DisplayName("Test that replay can start from any sequence")
+    void should_replay_from_a_sequence() throws Exception {
+        EventJournal journal = open(1024);
+        for (int i = 0; i < 500; i++) {
+            journal.append(TournamentEvent.deleted("tournament-" + i));
+        }
+
+        List<JournalEntry> tail = replay(journal, 451);
+        journal.close();
+
+        assertThat(tail).extracting(JournalEntry::getSequence).containsExactlyElementsOf(
+                Stream.iterate(451L, sequence -> sequence + 1).limit(50).collect(Collectors.toList()));
+        assertThat(tail.get(0).getEvent().getTournamentId()).isEqualTo("tournament-450");
+    }
+
+    @Test
+    @DisplayName("Test that a bounded replay stops early and says where to continue")
+    void should_stop_a_bounded_replay_early() throws Exception {
+        EventJournal journal = open(1024);
+        for (int i = 0; i < 500; i++) {
+            journal.append(TournamentEvent.deleted("tournament-" + i % 5));
+        }
+
+        List<JournalEntry> matching = new ArrayList<>();
+        long afterLimit = journal.replay(1, Long.MAX_VALUE, entry -> {
+            if (entry.getEvent().getTournamentId().equals("tournament-3")) {
+                matching.add(entry);
+            }
+            return matching.size() < 3;
+        });
+        List<JournalEntry> scanned = new ArrayList<>();
+        long afterBound = journal.replay(101, 40, scanned::add);
+        long atEnd = journal.replay(491, 40, scanned::add);
+        journal.close();
+
+        assertThat(matching).extracting(JournalEntry::getSequence).containsExactly(4L, 9L, 14L);
+        assertThat(afterLimit).isEqualTo(15);
+        assertThat(afterBound).isEqualTo(141);
+        assertThat(atEnd).isEqualTo(501);
+        assertThat(scanned).hasSize(50);
+    }
+
+    @Test
+    @DisplayName("Test that a torn record left by a crash is discarded on the next start")
+    void should_discard_a_torn_record_on_restart() throws Exception {
+        EventJournal journal = open(1024);
+        for (int i = 0; i < 10; i++) {
+            journal.append(TournamentEvent.deleted("tournament-" + i));
+        }
+        journal.close();
+        //Garbage after the last record, as if the process died half way through writing the next one
+        Path last = segments().get(segments().size() - 1);
+        try (RandomAccessFile file = new RandomAccessFile(last.toFile(), "rw")) {
+            file.seek(SEGMENT_SIZE / 2);
+            file.write(new byte[]{0, 0, 1, 0, 42, 42, 42, 42, 7, 7, 7});
+        }
+
+        EventJournal reopened = open(1024);
+        reopened.append(TournamentEvent.deleted("tournament-10"));
+        List<JournalEntry> entries = replay(reopened, 1);
+        reopened.close();
+
+        assertThat(entries).extracting(JournalEntry::getSequence).containsExactlyElementsOf(
+                Stream.iterate(1L, sequence -> sequence + 1).limit(11).collect(Collectors.toList()));
+    }
+
+    private EventJournal open(int ringCapacity) throws Exception {
+        EventJournal journal = new EventJournal(directory, ringCapacity, 128, SEGMENT_SIZE, false, objectMapper);
+        journal.start();
+        return journal;
+    }
+
+    private List<JournalEntry> replay(EventJournal journal, long fromSequence) {
+        List<JournalEntry> entries = new ArrayList<>();
+        journal.replay(fromSequence, entries::add);
+        return entries;
+    }
+
+    private List<Path> segments() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+}
@@ -1,24 +1,36 @@
 package com.paf.exercise;
 
+import com.paf.exercise.dto.BulkRegistrationRequest;
 import com.paf.exercise.dto.PlayerRequest;
 import com.paf.exercise.dto.TournamentRequest;
 import com.paf.exercise.entity.Player;
 import com.paf.exercise.entity.Tournament;
 import com.paf.exercise.exceptions.PlayerNotFoundException;
 import com.paf.exercise.exceptions.TournamentNotFoundException;
+import com.paf.exercise.identifier.BusinessIdGenerator;
+import com.paf.exercise.repository.PlayerRegistrationRepository;
 import com.paf.exercise.repository.PlayerRepository;
+import com.paf.exercise.repository.TournamentQueryRepository;
 import com.paf.exercise.repository.TournamentRepository;
+import com.paf.exercise.response.RegistrationResult;
+import com.paf.exercise.response.RegistrationStatus;
+import com.paf.exercise.response.TournamentPage;
 import com.paf.exercise.service.TournamentService;
 import com.paf.exercise.service.TournamentServiceImpl;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.TestPropertySource;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -31,7 +43,10 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
                 TournamentRepository.class,
                 TournamentService.class,
                 PlayerRepository.class,
-                TournamentServiceImpl.class
+                TournamentServiceImpl.class,
+                BusinessIdGenerator.class,
+                PlayerRegistrationRepository.class,
+                TournamentQueryRepository.class
         })
 @EnableAutoConfiguration
 @TestPropertySource("classpath:application-test.properties")
@@ -45,6 +60,10 @@ class ExerciseApplicationTests {
     private PlayerRepository playerRepository;
     @Autowired
     private TournamentService tournamentService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TestEntityManager testEntityManager;
 
     @Order(1)
     @Test
@@ -299,6 +318,219 @@ class ExerciseApplicationTests {
         assertThat(exception.getMessage()).contains("Tournament not found with id: " + tournamentId);
     }
 
+    @Order(18)
+    @Test
+    @DisplayName("Test that keyset pages return every tournament exactly once")
+    void should_page_through_all_tournaments_with_a_cursor() {
+        for (int i = 0; i < 5; i++) {
+            createTournament("PAGED-" + i, 1000, "EUR");
+        }
+
+        List<String> pagedIds = new ArrayList<>();
+        TournamentPage page = tournamentService.getTournamentsPage(null, 2);
+        pagedIds.addAll(page.getTournaments().stream().map(Tournament::getTournamentId).collect(Collectors.toList()));
+        while (page.isHasMore()) {
+            assertThat(page.getTournaments()).hasSize(2);
+            page = tournamentService.getTournamentsPage(page.getNextCursor(), 2);
+            pagedIds.addAll(page.getTournaments().stream().map(Tournament::getTournamentId).collect(Collectors.toList()));
+        }
+
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(pagedIds).hasSize(5).doesNotHaveDuplicates();
+    }
+
+    @Order(19)
+    @Test
+    @DisplayName("Test that all tournaments can be streamed successfully")
+    void should_stream_all_tournaments_successfully() {
+        createTournament("STREAM-1", 1000, "EUR");
+        createTournament("STREAM-2", 2000, "USD");
+
+        List<String> streamedNames = new ArrayList<>();
+        tournamentService.streamTournaments(tournament -> streamedNames.add(tournament.getTournamentName()));
+
+        assertThat(streamedNames).containsExactly("STREAM-1", "STREAM-2");
+    }
+
+    @Order(20)
+    @Test
+    @DisplayName("Test that fetching a page with a malformed cursor returns error")
+    void should_return_an_error_when_fetching_a_page_with_malformed_cursor() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+            tournamentService.getTournamentsPage("not-a-cursor", 10);
+        });
+        assertThat(exception.getMessage()).contains("Invalid page cursor: not-a-cursor");
+    }
+
+    @Order(21)
+    @Test
+    @DisplayName("Test that tournament and player ids are time-ordered and stored as 16 bytes")
+    void should_store_time_ordered_ids_as_binary() throws TournamentNotFoundException {
+        Tournament first = createTournament("BINARY-1", 1000, "EUR");
+        Tournament second = tournamentService.addPlayerIntoTournament(createTournament("BINARY-2", 1000, "EUR").getTournamentId(), new PlayerRequest("Ada Lovelace"));
+        String playerId = second.getPlayers().get(0).getPlayerId();
+
+        assertThat(UUID.fromString(first.getTournamentId()).version()).isEqualTo(7);
+        assertThat(first.getTournamentId()).isLessThan(second.getTournamentId());
+        assertThat(tournamentService.getTournament(first.getTournamentId()).getTournamentName()).isEqualTo("BINARY-1");
+        assertThat(jdbcTemplate.queryForObject("SELECT MAX(LENGTH(TOURNAMENT_ID)) FROM TOURNAMENT_TBL", Integer.class)).isEqualTo(16);
+        assertThat(jdbcTemplate.queryForObject("SELECT MAX(LENGTH(PLAYER_ID)) FROM PLAYERS_TBL", Integer.class)).isEqualTo(16);
+        assertThat(playerRepository.findByPlayerId(playerId)).isPresent();
+    }
+
+    @Order(22)
+    @Test
+    @DisplayName("Test that reading tournaments with their players issues a constant number of statements")
+    void should_read_tournaments_with_players_in_a_constant_number_of_statements() throws TournamentNotFoundException {
+        createTournamentsWithPlayers(3, 2);
+        long smallListing = countStatements(() -> readAllPlayers(tournamentService.getTournaments()));
+        long smallPage = countStatements(() -> readAllPlayers(tournamentService.getTournamentsPage(null, 50).getTournaments()));
+        long smallStream = countStatements(() -> tournamentService.streamTournaments(tournament -> tournament.getPlayers().size()));
+
+        createTournamentsWithPlayers(12, 3);
+        long largeListing = countStatements(() -> readAllPlayers(tournamentService.getTournaments()));
+        long largePage = countStatements(() -> readAllPlayers(tournamentService.getTournamentsPage(null, 50).getTournaments()));
+        long largeStream = countStatements(() -> tournamentService.streamTournaments(tournament -> tournament.getPlayers().size()));
+
+        assertThat(largeListing).isEqualTo(smallListing).isEqualTo(1);
+        assertThat(largePage).isEqualTo(smallPage).isEqualTo(2);
+        assertThat(largeStream).isEqualTo(smallStream);
+    }
+
+    @Order(23)
+    @Test
+    @DisplayName("Test that adding or removing one player does not depend on the roster size")
+    void should_add_and_remove_a_player_with_single_row_membership_writes() throws TournamentNotFoundException, PlayerNotFoundException {
+        Tournament small = createTournament("SMALL", 1000, "EUR");
+        Tournament large = createTournament("LARGE", 1000, "EUR");
+        for (int i = 0; i < 2; i++) {
+            tournamentService.addPlayerIntoTournament(small.getTournamentId(), new PlayerRequest("Small " + i));
+        }
+        for (int i = 0; i < 25; i++) {
+            tournamentService.addPlayerIntoTournament(large.getTournamentId(), new PlayerRequest("Large " + i));
+        }
+
+        List<String> smallIds = new ArrayList<>();
+        List<String> largeIds = new ArrayList<>();
+        long addToSmall = countStatements(() -> smallIds.add(addPlayer(small.getTournamentId(), "Extra")));
+        long addToLarge = countStatements(() -> largeIds.add(addPlayer(large.getTournamentId(), "Extra")));
+        long removeFromSmall = countStatements(() -> removePlayer(small.getTournamentId(), smallIds.get(0)));
+        long removeFromLarge = countStatements(() -> removePlayer(large.getTournamentId(), largeIds.get(0)));
+
+        assertThat(addToLarge).isEqualTo(addToSmall);
+        //Tournament id, player id, join row delete and version bump
+        assertThat(removeFromLarge).isEqualTo(removeFromSmall).isEqualTo(4);
+        long tournamentPk = tournamentRepository.findIdByTournamentId(large.getTournamentId()).orElseThrow();
+        long playerPk = playerRepository.findIdByPlayerId(largeIds.get(0)).orElseThrow();
+        assertFalse(tournamentRepository.existsMembership(tournamentPk, playerPk));
+        assertThat(tournamentService.getPlayersInTournament(large.getTournamentId())).hasSize(25);
+    }
+
+    @Order(24)
+    @Test
+    @DisplayName("Test that players can be registered in bulk across tournaments with a result per entry")
+    void should_register_players_in_bulk_with_per_entry_results() throws TournamentNotFoundException {
+        Tournament first = createTournament("BULK-1", 1000, "EUR");
+        Tournament second = createTournament("BULK-2", 1000, "EUR");
+        String unknownTournamentId = UUID.randomUUID().toString();
+
+        List<RegistrationResult> results = tournamentService.registerPlayers(List.of(
+                new BulkRegistrationRequest(first.getTournamentId(), List.of(new PlayerRequest("Alan Turing"), new PlayerRequest(" "), new PlayerRequest("Grace Hopper"))),
+                new BulkRegistrationRequest(second.getTournamentId(), List.of(new PlayerRequest("Ada Lovelace"))),
+                new BulkRegistrationRequest(unknownTournamentId, List.of(new PlayerRequest("Nobody")))));
+
+        assertThat(results.stream().map(RegistrationResult::getStatus).collect(Collectors.toList())).containsExactly(
+                RegistrationStatus.REGISTERED, RegistrationStatus.INVALID_PLAYER, RegistrationStatus.REGISTERED,
+                RegistrationStatus.REGISTERED, RegistrationStatus.TOURNAMENT_NOT_FOUND);
+        assertThat(results.get(2).getIndex()).isEqualTo(2);
+        assertThat(tournamentService.getPlayersInTournament(first.getTournamentId()).stream()
+                .map(Player::getPlayerId)
+                .collect(Collectors.toList()))
+                .containsExactlyInAnyOrder(results.get(0).getPlayerId(), results.get(2).getPlayerId());
+        assertThat(tournamentService.getPlayersInTournament(second.getTournamentId()))
+                .extracting(Player::getPlayerName)
+                .containsExactly("Ada Lovelace");
+    }
+
+    @Order(25)
+    @Test
+    @DisplayName("Test that a tournament can be created together with its initial roster")
+    void should_create_a_tournament_with_its_roster() throws TournamentNotFoundException {
+        TournamentRequest tournamentRequest = new TournamentRequest("ROSTER", 5000, "EUR",
+                List.of(new PlayerRequest("Alan Turing"), new PlayerRequest("Grace Hopper")));
+
+        Tournament createdTournament = tournamentService.addTournament(tournamentRequest);
+
+        assertThat(createdTournament.getPlayers()).extracting(Player::getPlayerName)
+                .containsExactlyInAnyOrder("Alan Turing", "Grace Hopper");
+        assertThat(tournamentService.getPlayersInTournament(createdTournament.getTournamentId())).hasSize(2);
+    }
+
+    @Order(26)
+    @Test
+    @DisplayName("Test that every mutation of a tournament or its roster increments its version")
+    void should_increment_the_version_on_every_mutation() throws TournamentNotFoundException, PlayerNotFoundException {
+        Tournament tournament = createTournament("VERSIONED", 1000, "EUR");
+        String tournamentId = tournament.getTournamentId();
+        assertThat(tournamentService.getTournamentVersion(tournamentId)).isZero();
+
+        String playerId = addPlayer(tournamentId, "Alan Turing");
+        assertThat(tournamentService.getTournamentVersion(tournamentId)).isEqualTo(1);
+
+        tournamentService.registerPlayers(List.of(new BulkRegistrationRequest(tournamentId, List.of(new PlayerRequest("Grace Hopper"), new PlayerRequest("Ada Lovelace")))));
+        assertThat(tournamentService.getTournamentVersion(tournamentId)).isEqualTo(2);
+
+        tournamentService.removePlayerFromTournament(tournamentId, playerId);
+        assertThat(tournamentService.getTournamentVersion(tournamentId)).isEqualTo(3);
+
+        Tournament update = new Tournament();
+        update.setRewardAmount(2000);
+        assertThat(tournamentService.updateTournament(tournamentId, update).getVersion()).isEqualTo(4);
+        assertThat(tournamentService.getTournament(tournamentId).getVersion()).isEqualTo(4);
+    }
+
+    private String addPlayer(String tournamentId, String playerName) {
+        try {
+            Tournament tournament = tournamentService.addPlayerIntoTournament(tournamentId, new PlayerRequest(playerName));
+            return tournament.getPlayers().stream()
+                    .filter(player -> player.getPlayerName().equals(playerName))
+                    .findFirst().orElseThrow().getPlayerId();
+        } catch (TournamentNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void removePlayer(String tournamentId, String playerId) {
+        try {
+            tournamentService.removePlayerFromTournament(tournamentId, playerId);
+        } catch (TournamentNotFoundException | PlayerNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void createTournamentsWithPlayers(int tournaments, int playersPerTournament) throws TournamentNotFoundException {
+        for (int i = 0; i < tournaments; i++) {
+            Tournament tournament = createTournament(UUID.randomUUID().toString(), 1000, "EUR");
+            for (int j = 0; j < playersPerTournament; j++) {
+                tournamentService.addPlayerIntoTournament(tournament.getTournamentId(), new PlayerRequest("Player " + j));
+            }
+        }
+    }
+
+    private void readAllPlayers(List<Tournament> tournaments) {
+        tournaments.forEach(tournament -> tournament.getPlayers().forEach(Player::getPlayerName));
+    }
+
+    private long countStatements(Runnable read) {
+        testEntityManager.flush();
+        testEntityManager.clear();
+        Statistics statistics = testEntityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        read.run();
+        return statistics.getPrepareStatementCount();
+    }
+
     private Tournament createTournament(String name, Integer rewardAmount, String currency) {
         TournamentRequest tournamentRequest = new TournamentRequest();
         tournamentRequest.setTournamentName(name);
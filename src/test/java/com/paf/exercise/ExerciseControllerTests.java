@@ -1,11 +1,19 @@
 package com.paf.exercise;
 
 import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializer;
+import com.paf.exercise.dto.BulkRegistrationRequest;
 import com.paf.exercise.dto.PlayerRequest;
 import com.paf.exercise.dto.TournamentRequest;
 import com.paf.exercise.entity.Player;
 import com.paf.exercise.entity.Tournament;
 import com.paf.exercise.exceptions.TournamentNotFoundException;
+import com.paf.exercise.response.RegistrationResult;
+import com.paf.exercise.response.RegistrationStatus;
+import com.paf.exercise.response.Roster;
+import com.paf.exercise.response.TournamentPage;
 import com.paf.exercise.service.TournamentService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,13 +22,21 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -30,6 +46,11 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @AutoConfigureMockMvc
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 class ExerciseControllerTests {
+    //Writes creation times the way Jackson does, Gson cannot reflect into java.time on recent JDKs
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapter(Instant.class, (JsonSerializer<Instant>) (instant, type, context) -> new JsonPrimitive(instant.toString()))
+            .create();
+
     @LocalServerPort
     private int port;
 
@@ -59,10 +80,10 @@ class ExerciseControllerTests {
         when(tournamentService.addTournament(tournamentRequest)).thenReturn(expectedResponse);
         this.mockMvc.perform(post(getRootUrl() + "/api/addTournament")
                         .contentType(MediaType.APPLICATION_JSON)
-                        .content(new Gson().toJson(tournamentRequest)))
+                        .content(GSON.toJson(tournamentRequest)))
                 .andDo(print())
                 .andExpect(status().isCreated())
-                .andExpect(content().json(String.valueOf(new Gson().toJson(expectedResponse))));
+                .andExpect(content().json(String.valueOf(GSON.toJson(expectedResponse))));
     }
 
     @Test
@@ -82,7 +103,42 @@ class ExerciseControllerTests {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value((expectedResponse.size())))
                 .andExpect(jsonPath("$.*").isNotEmpty())
-                .andExpect(content().json(String.valueOf(new Gson().toJson(expectedResponse))));
+                .andExpect(content().json(String.valueOf(GSON.toJson(expectedResponse))));
+    }
+
+    @Test
+    void testGetTournamentsPage() throws Exception {
+        Tournament tournament = new Tournament(7L, UUID.randomUUID().toString(), "NPL", 2000, "EUR", new ArrayList<>());
+        TournamentPage expectedResponse = new TournamentPage(List.of(tournament), "7", true);
+
+        when(tournamentService.getTournamentsPage(null, 1)).thenReturn(expectedResponse);
+        this.mockMvc.perform(get(getRootUrl() + "/api/getTournamentsPage")
+                        .queryParam("size", "1"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tournaments.length()").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("7"))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+
+    @Test
+    void testStreamAllTournaments() throws Exception {
+        Tournament tournament = new Tournament(1L, UUID.randomUUID().toString(), "NPL", 2000, "EUR", new ArrayList<>());
+        doAnswer(invocation -> {
+            Consumer<Tournament> consumer = invocation.getArgument(0);
+            consumer.accept(tournament);
+            consumer.accept(tournament);
+            return null;
+        }).when(tournamentService).streamTournaments(any());
+
+        MvcResult mvcResult = this.mockMvc.perform(get(getRootUrl() + "/api/streamTournaments"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        this.mockMvc.perform(asyncDispatch(mvcResult))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].tournamentName").value("NPL"));
     }
 
     @Test
@@ -95,7 +151,62 @@ class ExerciseControllerTests {
                         .queryParam("tournamentId", tournamentId))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(content().json(String.valueOf(new Gson().toJson(expectedResponse))));
+                .andExpect(content().json(String.valueOf(GSON.toJson(expectedResponse))));
+    }
+
+    @Test
+    void testGetParticularTournamentReturnsETag() throws Exception {
+        String tournamentId = UUID.randomUUID().toString();
+        Tournament expectedResponse = new Tournament(1L, tournamentId, "NPL", 20000, "EUR", new ArrayList<>(), 3L);
+
+        when(tournamentService.getTournamentVersion(tournamentId)).thenReturn(3L);
+        when(tournamentService.getTournament(tournamentId)).thenReturn(expectedResponse);
+        this.mockMvc.perform(get(getRootUrl() + "/api/getTournament")
+                        .queryParam("tournamentId", tournamentId))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(jsonPath("$.version").value(3));
+    }
+
+    @Test
+    void testStaleCachedBodyKeepsItsOwnETag() throws Exception {
+        String tournamentId = UUID.randomUUID().toString();
+        //The probe already sees version 4 while the caches still hold the bodies read at version 3
+        when(tournamentService.getTournamentVersion(tournamentId)).thenReturn(4L);
+        when(tournamentService.getTournament(tournamentId)).thenReturn(new Tournament(1L, tournamentId, "NPL", 20000, "EUR", new ArrayList<>(), 3L));
+        when(tournamentService.getRoster(tournamentId)).thenReturn(new Roster(3L, List.of(new Player(1L, UUID.randomUUID().toString(), "Albert Einstein"))));
+
+        this.mockMvc.perform(get(getRootUrl() + "/api/getTournament")
+                        .queryParam("tournamentId", tournamentId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+        this.mockMvc.perform(get(getRootUrl() + "/api/getPlayersInTournament")
+                        .queryParam("tournamentId", tournamentId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(jsonPath("$[0].playerName").value("Albert Einstein"));
+    }
+
+    @Test
+    void testGetUnchangedTournamentAndPlayersReturnNotModified() throws Exception {
+        String tournamentId = UUID.randomUUID().toString();
+
+        when(tournamentService.getTournamentVersion(tournamentId)).thenReturn(3L);
+        this.mockMvc.perform(get(getRootUrl() + "/api/getTournament")
+                        .queryParam("tournamentId", tournamentId)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        this.mockMvc.perform(get(getRootUrl() + "/api/getPlayersInTournament")
+                        .queryParam("tournamentId", tournamentId)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andDo(print())
+                .andExpect(status().isNotModified());
+
+        verify(tournamentService, never()).getTournament(tournamentId);
+        verify(tournamentService, never()).getRoster(tournamentId);
     }
 
     @Test
@@ -113,10 +224,10 @@ class ExerciseControllerTests {
         this.mockMvc.perform(put(getRootUrl() + "/api/updateTournament")
                         .contentType(MediaType.APPLICATION_JSON)
                         .queryParam("tournamentId", tournamentId)
-                        .content(new Gson().toJson(updatedTournament)))
+                        .content(GSON.toJson(updatedTournament)))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(content().json(String.valueOf(new Gson().toJson(expectedResponse))));
+                .andExpect(content().json(String.valueOf(GSON.toJson(expectedResponse))));
     }
 
     @Test
@@ -132,10 +243,29 @@ class ExerciseControllerTests {
         this.mockMvc.perform(post(getRootUrl() + "/api/addPlayerIntoTournament")
                         .contentType(MediaType.APPLICATION_JSON)
                         .queryParam("tournamentId", tournamentId)
-                        .content(new Gson().toJson(player)))
+                        .content(GSON.toJson(player)))
                 .andDo(print())
                 .andExpect(status().isCreated())
-                .andExpect(content().json(String.valueOf(new Gson().toJson(expectedResponse))));
+                .andExpect(content().json(String.valueOf(GSON.toJson(expectedResponse))));
+    }
+
+    @Test
+    void testAddPlayersIntoATournamentInBulk() throws Exception {
+        String tournamentId = UUID.randomUUID().toString();
+        String playerId = UUID.randomUUID().toString();
+        List<PlayerRequest> players = List.of(new PlayerRequest("Albert Einstein"), new PlayerRequest(""));
+        List<RegistrationResult> expectedResponse = List.of(
+                new RegistrationResult(0, tournamentId, playerId, "Albert Einstein", RegistrationStatus.REGISTERED, null),
+                new RegistrationResult(1, tournamentId, null, "", RegistrationStatus.INVALID_PLAYER, "Invalid player request: PlayerRequest(playerName=)"));
+
+        when(tournamentService.registerPlayers(List.of(new BulkRegistrationRequest(tournamentId, players)))).thenReturn(expectedResponse);
+        this.mockMvc.perform(post(getRootUrl() + "/api/addPlayersIntoTournament")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .queryParam("tournamentId", tournamentId)
+                        .content(GSON.toJson(players)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().json(GSON.toJson(expectedResponse)));
     }
 
     @Test
@@ -145,14 +275,14 @@ class ExerciseControllerTests {
         List<Player> expectedResponse = new ArrayList<>();
         expectedResponse.add(new Player(1L, playerId, "Albert Einstein"));
 
-        when(tournamentService.getPlayersInTournament(tournamentId)).thenReturn(expectedResponse);
+        when(tournamentService.getRoster(tournamentId)).thenReturn(new Roster(0L, expectedResponse));
         this.mockMvc.perform(get(getRootUrl() + "/api/getPlayersInTournament")
                         .queryParam("tournamentId", tournamentId))
                 .andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value((expectedResponse.size())))
                 .andExpect(jsonPath("$.*").isNotEmpty())
-                .andExpect(content().json(String.valueOf(new Gson().toJson(expectedResponse))));
+                .andExpect(content().json(String.valueOf(GSON.toJson(expectedResponse))));
     }
 
     @Test
@@ -187,7 +317,7 @@ class ExerciseControllerTests {
 
         this.mockMvc.perform(post(getRootUrl() + "/api/addTournament")
                         .contentType(MediaType.APPLICATION_JSON)
-                        .content(new Gson().toJson(tournamentRequest)))
+                        .content(GSON.toJson(tournamentRequest)))
                 .andDo(print())
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.errors").value(errorResponse));
@@ -205,7 +335,7 @@ class ExerciseControllerTests {
 
         this.mockMvc.perform(post(getRootUrl() + "/api/addTournament")
                         .contentType(MediaType.APPLICATION_JSON)
-                        .content(new Gson().toJson(tournamentRequest)))
+                        .content(GSON.toJson(tournamentRequest)))
                 .andDo(print())
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.errors").value(errorResponse));
@@ -240,7 +370,7 @@ class ExerciseControllerTests {
         this.mockMvc.perform(put(getRootUrl() + "/api/updateTournament")
                         .contentType(MediaType.APPLICATION_JSON)
                         .queryParam("tournamentId", "100")
-                        .content(new Gson().toJson(updatedTournament)))
+                        .content(GSON.toJson(updatedTournament)))
                 .andDo(print())
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.errors").value(errorResponse));
@@ -258,7 +388,7 @@ class ExerciseControllerTests {
         this.mockMvc.perform(post(getRootUrl() + "/api/addPlayerIntoTournament")
                         .contentType(MediaType.APPLICATION_JSON)
                         .queryParam("tournamentId", tournamentId)
-                        .content(new Gson().toJson(player)))
+                        .content(GSON.toJson(player)))
                 .andDo(print())
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.errors").value(errorResponse));
@@ -276,7 +406,7 @@ class ExerciseControllerTests {
         this.mockMvc.perform(post(getRootUrl() + "/api/addPlayerIntoTournament")
                         .contentType(MediaType.APPLICATION_JSON)
                         .queryParam("tournamentId", tournamentId)
-                        .content(new Gson().toJson(player)))
+                        .content(GSON.toJson(player)))
                 .andDo(print())
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.errors").value(errorResponse));
@@ -287,7 +417,7 @@ class ExerciseControllerTests {
         List<String> errorResponse = new ArrayList<>();
         errorResponse.add("Tournament not found with id: 1000");
 
-        when(tournamentService.getPlayersInTournament("1000")).thenThrow(new TournamentNotFoundException("Tournament not found with id: 1000"));
+        when(tournamentService.getRoster("1000")).thenThrow(new TournamentNotFoundException("Tournament not found with id: 1000"));
         this.mockMvc.perform(get(getRootUrl() + "/api/getPlayersInTournament")
                         .queryParam("tournamentId", "1000"))
                 .andDo(print())
@@ -0,0 +1,50 @@
+package com.paf.exercise;
+
+import com.paf.exercise.entity.Tournament;
+import com.paf.exercise.exceptions.TournamentNotFoundException;
+import com.paf.exercise.repository.TournamentWriteBehindRepository;
+import com.paf.exercise.service.InMemoryTournamentService;
+import com.paf.exercise.service.TournamentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//Every functional test of ExerciseApplicationTests against the in-memory store, with writing back left to shutdown
+@ContextConfiguration(classes = {InMemoryTournamentService.class, TournamentWriteBehindRepository.class})
+@TestPropertySource(properties = {"tournament.store=memory", "tournament.store.write-behind-interval=1h"})
+class InMemoryExerciseApplicationTests extends ExerciseApplicationTests {
+    @Autowired
+    private TournamentService tournamentService;
+
+    //The in-memory store does not roll back with the test transaction, start each test from an empty store instead
+    @BeforeEach
+    void clearStore() throws TournamentNotFoundException {
+        assertThat(tournamentService).isInstanceOf(InMemoryTournamentService.class);
+        for (Tournament tournament : tournamentService.getTournaments()) {
+            tournamentService.deleteTournament(tournament.getTournamentId());
+        }
+    }
+
+    @Test
+    @Override
+    @Disabled("Reads the tables directly, the write-behind tests cover what the in-memory store writes")
+    void should_store_time_ordered_ids_as_binary() {
+    }
+
+    @Test
+    @Override
+    @Disabled("Counts SQL statements, the in-memory store issues none while serving calls")
+    void should_read_tournaments_with_players_in_a_constant_number_of_statements() {
+    }
+
+    @Test
+    @Override
+    @Disabled("Counts SQL statements, the in-memory store issues none while serving calls")
+    void should_add_and_remove_a_player_with_single_row_membership_writes() {
+    }
+}
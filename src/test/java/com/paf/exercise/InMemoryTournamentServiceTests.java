@@ -0,0 +1,189 @@
+package com.paf.exercise;
+
+import com.paf.exercise.dto.BulkRegistrationRequest;
+import com.paf.exercise.dto.PlayerRequest;
+import com.paf.exercise.dto.TournamentRequest;
+import com.paf.exercise.entity.Player;
+import com.paf.exercise.entity.Tournament;
+import com.paf.exercise.exceptions.ResourceNotFoundException;
+import com.paf.exercise.repository.TournamentRepository;
+import com.paf.exercise.service.InMemoryTournamentService;
+import com.paf.exercise.service.TournamentService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:exercise-in-memory;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;LOCK_TIMEOUT=10000",
+        "spring.jpa.show-sql=false",
+        "tournament.store=memory",
+        "tournament.store.write-behind-interval=1h"
+})
+@TestPropertySource("classpath:application-test.properties")
+class InMemoryTournamentServiceTests {
+    @Autowired
+    private TournamentService tournamentService;
+    @Autowired
+    private InMemoryTournamentService inMemoryTournamentService;
+    @Autowired
+    private TournamentRepository tournamentRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Test that concurrent joins across and within tournaments lose neither players nor version increments")
+    void should_apply_concurrent_joins_without_losing_updates() throws Exception {
+        int threads = 8;
+        int joins = 200;
+        Tournament shared = createTournament();
+        List<Tournament> own = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            own.add(createTournament());
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < threads; thread++) {
+            String ownId = own.get(thread).getTournamentId();
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < joins; i++) {
+                    tournamentService.addPlayerIntoTournament(ownId, new PlayerRequest("Own " + i));
+                    tournamentService.addPlayerIntoTournament(shared.getTournamentId(), new PlayerRequest("Shared " + i));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        Tournament sharedAfter = tournamentService.getTournament(shared.getTournamentId());
+        assertThat(sharedAfter.getPlayers()).hasSize(threads * joins);
+        assertThat(sharedAfter.getVersion()).isEqualTo(threads * joins);
+        for (Tournament tournament : own) {
+            assertThat(tournamentService.getTournament(tournament.getTournamentId()).getPlayers()).hasSize(joins);
+        }
+    }
+
+    @Test
+    @DisplayName("Test that changes made in memory reach the database once written back")
+    void should_write_changes_back_to_the_database() throws Exception {
+        Tournament kept = tournamentService.addTournament(new TournamentRequest(UUID.randomUUID().toString(), 1000, "EUR",
+                List.of(new PlayerRequest("Alan Turing"), new PlayerRequest("Grace Hopper"))));
+        Tournament deleted = createTournament();
+        inMemoryTournamentService.writeBehind();
+
+        String leaving = kept.getPlayers().get(0).getPlayerId();
+        tournamentService.removePlayerFromTournament(kept.getTournamentId(), leaving);
+        tournamentService.registerPlayers(List.of(new BulkRegistrationRequest(kept.getTournamentId(), List.of(new PlayerRequest("Ada Lovelace")))));
+        tournamentService.deleteTournament(deleted.getTournamentId());
+        //Two tournaments trading names in one write-back interval
+        Tournament first = createTournament();
+        Tournament second = createTournament();
+        inMemoryTournamentService.writeBehind();
+        rename(first, "parked-" + first.getTournamentName());
+        rename(second, first.getTournamentName());
+        rename(first, second.getTournamentName());
+
+        assertThat(inMemoryTournamentService.unwrittenTournaments()).isPositive();
+        inMemoryTournamentService.writeBehind();
+        assertThat(inMemoryTournamentService.unwrittenTournaments()).isZero();
+
+        Map<String, Tournament> stored = storedTournaments();
+        assertThat(stored).doesNotContainKey(deleted.getTournamentId());
+        for (String tournamentId : List.of(kept.getTournamentId(), first.getTournamentId(), second.getTournamentId())) {
+            Tournament inMemory = tournamentService.getTournament(tournamentId);
+            assertThat(stored.get(tournamentId)).usingRecursiveComparison().ignoringFields("id", "players").isEqualTo(inMemory);
+            assertThat(stored.get(tournamentId).getPlayers()).extracting(Player::getPlayerId)
+                    .containsExactlyInAnyOrderElementsOf(inMemory.getPlayers().stream().map(Player::getPlayerId).collect(Collectors.toList()));
+        }
+        assertThat(stored.get(kept.getTournamentId()).getPlayers()).extracting(Player::getPlayerName)
+                .containsExactlyInAnyOrder("Grace Hopper", "Ada Lovelace");
+        assertThat(stored.get(first.getTournamentId()).getTournamentName()).isEqualTo(second.getTournamentName());
+    }
+
+    @Test
+    @DisplayName("Test that an existing player registered into another tournament is written back as one player")
+    void should_share_an_existing_player_between_tournaments() throws Exception {
+        Tournament open = tournamentService.addTournament(new TournamentRequest(UUID.randomUUID().toString(), 1000, "EUR",
+                List.of(new PlayerRequest("Katherine Johnson", null, "nasa-1"))));
+        Tournament masters = createTournament();
+        String playerId = open.getPlayers().get(0).getPlayerId();
+        PlayerRequest existing = new PlayerRequest();
+        existing.setPlayerId(playerId);
+
+        assertThat(tournamentService.addPlayerIntoTournament(masters.getTournamentId(), existing).getPlayers())
+                .extracting(Player::getPlayerName).containsExactly("Katherine Johnson");
+        assertThatThrownBy(() -> tournamentService.addPlayerIntoTournament(masters.getTournamentId(), existing))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(tournamentService.getPlayerEntries(playerId).getEntries()).isEqualTo(2);
+        //An initial roster is all or nothing: an unknown or repeated player leaves no tournament behind
+        String unknown = UUID.randomUUID().toString();
+        assertThatThrownBy(() -> tournamentService.addTournament(new TournamentRequest(unknown, 1000, "EUR",
+                List.of(existing, new PlayerRequest(null, UUID.randomUUID().toString(), null)))))
+                .isInstanceOf(ResourceNotFoundException.class);
+        String repeated = UUID.randomUUID().toString();
+        assertThatThrownBy(() -> tournamentService.addTournament(new TournamentRequest(repeated, 1000, "EUR", List.of(existing, existing))))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(tournamentService.getTournaments()).extracting(Tournament::getTournamentName).doesNotContain(unknown, repeated);
+        Tournament league = tournamentService.addTournament(new TournamentRequest(UUID.randomUUID().toString(), 1000, "EUR", List.of(existing)));
+        assertThat(league.getPlayers()).extracting(Player::getPlayerId).containsExactly(playerId);
+        assertThat(tournamentService.getPlayerEntries(playerId).getEntries()).isEqualTo(3);
+        inMemoryTournamentService.writeBehind();
+
+        Map<String, Tournament> stored = storedTournaments();
+        Player openPlayer = stored.get(open.getTournamentId()).getPlayers().get(0);
+        Player mastersPlayer = stored.get(masters.getTournamentId()).getPlayers().get(0);
+        assertThat(mastersPlayer.getId()).isEqualTo(openPlayer.getId());
+        assertThat(mastersPlayer.getExternalKey()).isEqualTo("nasa-1");
+    }
+
+    @Test
+    @DisplayName("Test that tournament names stay unique in memory")
+    void should_reject_a_taken_tournament_name() {
+        Tournament tournament = createTournament();
+
+        assertThatThrownBy(() -> tournamentService.addTournament(new TournamentRequest(tournament.getTournamentName(), 1000, "EUR", new ArrayList<>())))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        Tournament other = createTournament();
+        Tournament rename = new Tournament();
+        rename.setTournamentName(tournament.getTournamentName());
+        assertThatThrownBy(() -> tournamentService.updateTournament(other.getTournamentId(), rename))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    private void rename(Tournament tournament, String tournamentName) throws Exception {
+        Tournament update = new Tournament();
+        update.setTournamentName(tournamentName);
+        tournamentService.updateTournament(tournament.getTournamentId(), update);
+    }
+
+    private Map<String, Tournament> storedTournaments() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        return transactionTemplate.execute(status -> tournamentRepository.findAllWithPlayers().stream()
+                .collect(Collectors.toMap(Tournament::getTournamentId, tournament -> tournament)));
+    }
+
+    private Tournament createTournament() {
+        return tournamentService.addTournament(new TournamentRequest(UUID.randomUUID().toString(), 1000, "EUR", new ArrayList<>()));
+    }
+}
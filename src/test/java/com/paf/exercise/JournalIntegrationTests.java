@@ -0,0 +1,155 @@
+package com.paf.exercise;
+
+import com.paf.exercise.controller.JournalController;
+import com.paf.exercise.dto.PlayerRequest;
+import com.paf.exercise.dto.TournamentRequest;
+import com.paf.exercise.entity.Tournament;
+import com.paf.exercise.event.TournamentEventType;
+import com.paf.exercise.journal.EventJournal;
+import com.paf.exercise.journal.JournalEntry;
+import com.paf.exercise.service.TournamentService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:exercise-journal;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;LOCK_TIMEOUT=10000",
+        "spring.jpa.show-sql=false",
+        "tournament.journal.enabled=true",
+        "tournament.journal.segment-size=64KB"
+})
+@TestPropertySource("classpath:application-test.properties")
+class JournalIntegrationTests {
+    @TempDir
+    static Path journalDirectory;
+
+    @DynamicPropertySource
+    static void journalProperties(DynamicPropertyRegistry registry) {
+        registry.add("tournament.journal.directory", () -> journalDirectory.toString());
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TournamentService tournamentService;
+    @Autowired
+    private EventJournal eventJournal;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Test that concurrent changes to one tournament are journaled in commit order")
+    void should_journal_concurrent_changes_in_commit_order() throws Exception {
+        Tournament tournament = createTournament();
+        String tournamentId = tournament.getTournamentId();
+        int threads = 8;
+        int iterations = 25;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < threads; thread++) {
+            int worker = thread;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < iterations; i++) {
+                    Tournament update = new Tournament();
+                    update.setRewardAmount(1000 + worker);
+                    tournamentService.updateTournament(tournamentId, update);
+                    tournamentService.addPlayerIntoTournament(tournamentId, new PlayerRequest("Player " + worker + "-" + i));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        List<JournalEntry> entries = journalOf(tournamentId);
+        assertThat(entries).extracting(entry -> entry.getEvent().getType())
+                .filteredOn(type -> type == TournamentEventType.TOURNAMENT_UPDATED).hasSize(threads * iterations);
+        assertThat(entries).filteredOn(entry -> entry.getEvent().getType() == TournamentEventType.PLAYERS_JOINED).hasSize(threads * iterations);
+        //Each update carries the version it committed, journal order has to match commit order
+        List<Long> versions = entries.stream()
+                .filter(entry -> entry.getEvent().getType() == TournamentEventType.TOURNAMENT_UPDATED)
+                .map(entry -> entry.getEvent().getTournament().getVersion())
+                .collect(Collectors.toList());
+        assertThat(versions).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("Test that rolled back changes are not journaled")
+    void should_not_journal_rolled_back_changes() {
+        String tournamentName = UUID.randomUUID().toString();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            tournamentService.addTournament(new TournamentRequest(tournamentName, 1000, "EUR", new ArrayList<>()));
+            status.setRollbackOnly();
+        });
+        Tournament committed = createTournament();
+
+        List<JournalEntry> entries = new ArrayList<>();
+        eventJournal.replay(1, entries::add);
+        assertThat(entries).extracting(entry -> entry.getEvent().getTournamentId()).contains(committed.getTournamentId());
+        assertThat(entries).filteredOn(entry -> entry.getEvent().getTournament() != null)
+                .extracting(entry -> entry.getEvent().getTournament().getTournamentName())
+                .doesNotContain(tournamentName);
+    }
+
+    @Test
+    @DisplayName("Test that the history of a tournament can be read back over the API")
+    void should_serve_the_history_of_a_tournament() throws Exception {
+        Tournament tournament = createTournament();
+        Tournament withPlayer = tournamentService.addPlayerIntoTournament(tournament.getTournamentId(), new PlayerRequest("Albert Einstein"));
+        tournamentService.removePlayerFromTournament(tournament.getTournamentId(), withPlayer.getPlayers().get(0).getPlayerId());
+
+        mockMvc.perform(get("/api/getJournal").param("tournamentId", tournament.getTournamentId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].event.type").value(org.hamcrest.Matchers.contains("TOURNAMENT_CREATED", "PLAYERS_JOINED", "PLAYER_LEFT")))
+                .andExpect(jsonPath("$[1].event.players[0].playerName").value("Albert Einstein"))
+                .andExpect(jsonPath("$[0].sequence").isNumber())
+                .andExpect(jsonPath("$[0].timestamp").exists());
+
+        //A full page stops the read, the header points just past its last entry
+        String afterFirst = mockMvc.perform(get("/api/getJournal").param("tournamentId", tournament.getTournamentId()).param("limit", "1"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andReturn().getResponse().getHeader(JournalController.NEXT_SEQUENCE_HEADER);
+        mockMvc.perform(get("/api/getJournal").param("tournamentId", tournament.getTournamentId()).param("fromSequence", afterFirst))
+                .andExpect(jsonPath("$[*].event.type").value(org.hamcrest.Matchers.contains("PLAYERS_JOINED", "PLAYER_LEFT")));
+    }
+
+    private List<JournalEntry> journalOf(String tournamentId) {
+        List<JournalEntry> entries = new ArrayList<>();
+        eventJournal.replay(1, entry -> {
+            if (tournamentId.equals(entry.getEvent().getTournamentId())) {
+                entries.add(entry);
+            }
+        });
+        return entries;
+    }
+
+    private Tournament createTournament() {
+        return tournamentService.addTournament(new TournamentRequest(UUID.randomUUID().toString(), 1000, "EUR", new ArrayList<>()));
+    }
+}
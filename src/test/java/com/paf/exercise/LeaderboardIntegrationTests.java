@@ -0,0 +1,192 @@
+package com.paf.exercise;
+
+import com.paf.exercise.dto.PlayerRequest;
+import com.paf.exercise.dto.ScoreRequest;
+import com.paf.exercise.dto.TournamentRequest;
+import com.paf.exercise.entity.Player;
+import com.paf.exercise.entity.PlayerScore;
+import com.paf.exercise.entity.Tournament;
+import com.paf.exercise.exceptions.PlayerNotFoundException;
+import com.paf.exercise.repository.PlayerScoreRepository;
+import com.paf.exercise.service.LeaderboardService;
+import com.paf.exercise.service.TournamentService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@TestPropertySource("classpath:application-test.properties")
+class LeaderboardIntegrationTests {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TournamentService tournamentService;
+    @Autowired
+    private LeaderboardService leaderboardService;
+    @Autowired
+    private PlayerScoreRepository playerScoreRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Test that submitted scores are ranked with shared ranks for ties")
+    void should_rank_submitted_scores() throws Exception {
+        Tournament tournament = createTournament("Alan Turing", "Grace Hopper", "Ada Lovelace", "Edsger Dijkstra");
+        String tournamentId = tournament.getTournamentId();
+        List<String> playerIds = tournament.getPlayers().stream().map(Player::getPlayerId).collect(Collectors.toList());
+        submit(tournamentId, playerIds.get(0), 30);
+        submit(tournamentId, playerIds.get(1), 50);
+        submit(tournamentId, playerIds.get(2), 20);
+        submit(tournamentId, playerIds.get(2), 10);
+        mockMvc.perform(post("/api/submitScore").param("tournamentId", tournamentId).param("playerId", playerIds.get(3))
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"points\": 5}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rank").value(4))
+                .andExpect(jsonPath("$.score").value(5));
+
+        mockMvc.perform(get("/api/getLeaderboard").param("tournamentId", tournamentId).param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].score").value(contains(50, 30, 30)))
+                .andExpect(jsonPath("$[*].rank").value(contains(1, 2, 2)))
+                .andExpect(jsonPath("$[0].playerId").value(playerIds.get(1)));
+        mockMvc.perform(get("/api/getStanding").param("tournamentId", tournamentId).param("playerId", playerIds.get(2)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rank").value(2))
+                .andExpect(jsonPath("$.score").value(30));
+        mockMvc.perform(get("/api/getStandingsAround").param("tournamentId", tournamentId).param("rank", "4").param("radius", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].score").value(contains(30, 5)));
+    }
+
+    @Test
+    @DisplayName("Test that only players of the tournament can score and their scores leave with them")
+    void should_only_score_players_of_the_tournament() throws Exception {
+        Tournament tournament = createTournament("Alan Turing", "Grace Hopper");
+        Tournament other = createTournament("Ada Lovelace");
+        String tournamentId = tournament.getTournamentId();
+        String leaving = tournament.getPlayers().get(0).getPlayerId();
+        submit(tournamentId, leaving, 10);
+        submit(tournamentId, tournament.getPlayers().get(1).getPlayerId(), 5);
+
+        mockMvc.perform(post("/api/submitScore").param("tournamentId", tournamentId).param("playerId", other.getPlayers().get(0).getPlayerId())
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"points\": 5}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/submitScore").param("tournamentId", tournamentId).param("playerId", leaving)
+                        .contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(status().isBadRequest());
+
+        tournamentService.removePlayerFromTournament(tournamentId, leaving);
+        mockMvc.perform(get("/api/getStanding").param("tournamentId", tournamentId).param("playerId", leaving))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/getLeaderboard").param("tournamentId", tournamentId))
+                .andExpect(jsonPath("$[*].score").value(contains(5)));
+        assertThat(scoresOf(tournamentId)).extracting(PlayerScore::getScore).containsExactly(5L);
+
+        tournamentService.deleteTournament(tournamentId);
+        assertThat(scoresOf(tournamentId)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test that concurrent submissions leave the leaderboard and the database with the same totals")
+    void should_keep_the_leaderboard_and_the_database_in_step() throws Exception {
+        Tournament tournament = createTournament("Alan Turing", "Grace Hopper", "Ada Lovelace");
+        String tournamentId = tournament.getTournamentId();
+        int threads = 8;
+        int submissions = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < threads; thread++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < submissions; i++) {
+                    Player player = tournament.getPlayers().get(i % tournament.getPlayers().size());
+                    leaderboardService.submitScore(tournamentId, player.getPlayerId(), new ScoreRequest((long) i));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        for (PlayerScore score : scoresOf(tournamentId)) {
+            assertThat(leaderboardService.getStanding(tournamentId, score.getPlayerId()).getScore()).isEqualTo(score.getScore());
+        }
+        assertThat(scoresOf(tournamentId).stream().mapToLong(PlayerScore::getScore).sum())
+                .isEqualTo((long) threads * submissions * (submissions - 1) / 2);
+    }
+
+    @Test
+    @DisplayName("Test that a player cannot leave while a score submission holds the entry")
+    void should_hold_off_a_player_leaving_during_a_submission() throws Exception {
+        Tournament tournament = createTournament("Alan Turing");
+        String tournamentId = tournament.getTournamentId();
+        String playerId = tournament.getPlayers().get(0).getPlayerId();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> leaving;
+
+        //The lock submitScore takes before writing the score
+        TransactionStatus submission = transactionManager.getTransaction(new DefaultTransactionDefinition());
+        try {
+            assertThat(tournamentService.lockMembership(tournamentId, playerId)).isTrue();
+            leaving = executor.submit(() -> {
+                tournamentService.removePlayerFromTournament(tournamentId, playerId);
+                return null;
+            });
+            Thread.sleep(300);
+            assertThat(leaving.isDone()).isFalse();
+        } finally {
+            transactionManager.commit(submission);
+        }
+        leaving.get(1, TimeUnit.MINUTES);
+        executor.shutdown();
+
+        assertThat(tournamentService.isPlayerInTournament(tournamentId, playerId)).isFalse();
+        assertThatThrownBy(() -> submit(tournamentId, playerId, 10)).isInstanceOf(PlayerNotFoundException.class);
+        assertThat(scoresOf(tournamentId)).isEmpty();
+        assertThat(leaderboardService.findStanding(tournamentId, playerId)).isEmpty();
+    }
+
+    private void submit(String tournamentId, String playerId, long points) throws Exception {
+        leaderboardService.submitScore(tournamentId, playerId, new ScoreRequest(points));
+    }
+
+    private List<PlayerScore> scoresOf(String tournamentId) {
+        return playerScoreRepository.findAll().stream()
+                .filter(score -> score.getTournamentId().equals(tournamentId))
+                .collect(Collectors.toList());
+    }
+
+    private Tournament createTournament(String... playerNames) {
+        List<PlayerRequest> players = new ArrayList<>();
+        for (String playerName : playerNames) {
+            players.add(new PlayerRequest(playerName));
+        }
+        return tournamentService.addTournament(new TournamentRequest(UUID.randomUUID().toString(), 1000, "EUR", players));
+    }
+}
@@ -0,0 +1,112 @@
+package com.paf.exercise;
+
+import com.paf.exercise.leaderboard.Leaderboard;
+import com.paf.exercise.response.Standing;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeaderboardTests {
+
+    @Test
+    @DisplayName("Test that ranks, the top and the standings around a rank match a full sort after every change")
+    void should_match_a_full_sort() {
+        Random random = new Random(42);
+        Leaderboard leaderboard = new Leaderboard();
+        Map<String, Long> scores = new HashMap<>();
+        for (int step = 0; step < 3_000; step++) {
+            String playerId = "player-" + random.nextInt(300);
+            if (random.nextInt(10) == 0) {
+                assertThat(leaderboard.remove(playerId)).isEqualTo(scores.remove(playerId) != null);
+            } else {
+                //A narrow range of points makes plenty of ties
+                long points = random.nextInt(21) - 5;
+                scores.merge(playerId, points, Long::sum);
+                assertThat(leaderboard.addPoints(playerId, points)).isEqualTo(scores.get(playerId));
+            }
+            if (step % 100 == 0) {
+                assertMatches(leaderboard, scores, random);
+            }
+        }
+        assertMatches(leaderboard, scores, random);
+    }
+
+    @Test
+    @DisplayName("Test that concurrent score updates from many threads all count")
+    void should_apply_concurrent_updates() throws Exception {
+        int threads = 8;
+        int updates = 10_000;
+        int players = 50;
+        Leaderboard leaderboard = new Leaderboard();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < threads; thread++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < updates; i++) {
+                    leaderboard.addPoints("player-" + i % players, i % 7);
+                    leaderboard.top(3);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        List<Standing> standings = leaderboard.top(players);
+        assertThat(standings).hasSize(players);
+        assertThat(standings.stream().mapToLong(Standing::getScore).sum())
+                .isEqualTo((long) threads * IntStream.range(0, updates).map(i -> i % 7).sum());
+        assertThat(standings).extracting(Standing::getScore).isSortedAccordingTo(Comparator.reverseOrder());
+    }
+
+    private static void assertMatches(Leaderboard leaderboard, Map<String, Long> scores, Random random) {
+        List<Standing> expected = expectedStandings(scores);
+        assertThat(leaderboard.size()).isEqualTo(expected.size());
+        assertThat(leaderboard.top(expected.size() + 5)).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(expected);
+        assertThat(leaderboard.top(3)).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(expected.subList(0, Math.min(3, expected.size())));
+        for (Standing standing : expected) {
+            assertThat(leaderboard.standing(standing.getPlayerId())).get().usingRecursiveComparison().isEqualTo(standing);
+        }
+        if (!expected.isEmpty()) {
+            int rank = 1 + random.nextInt(expected.size());
+            int from = Math.max(rank - 1 - 4, 0);
+            int to = Math.min(rank + 4, expected.size());
+            assertThat(leaderboard.around(rank, 4)).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(expected.subList(from, to));
+            int places = 1 + random.nextInt(expected.size());
+            int end = places;
+            while (end < expected.size() && expected.get(end).getScore() == expected.get(places - 1).getScore()) {
+                end++;
+            }
+            assertThat(leaderboard.topThrough(places)).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(expected.subList(0, end));
+        }
+        assertThat(leaderboard.around(expected.size() + 10, 2)).isEmpty();
+    }
+
+    private static List<Standing> expectedStandings(Map<String, Long> scores) {
+        List<Map.Entry<String, Long>> sorted = scores.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .collect(Collectors.toList());
+        List<Standing> standings = new ArrayList<>();
+        for (int i = 0; i < sorted.size(); i++) {
+            long score = sorted.get(i).getValue();
+            int rank = i > 0 && sorted.get(i - 1).getValue() == score ? standings.get(i - 1).getRank() : i + 1;
+            standings.add(new Standing(rank, sorted.get(i).getKey(), score));
+        }
+        return standings;
+    }
+}
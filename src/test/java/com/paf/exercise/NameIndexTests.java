@@ -0,0 +1,89 @@
+package com.paf.exercise;
+
+import com.paf.exercise.search.IndexEntry;
+import com.paf.exercise.search.NameIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NameIndexTests {
+
+    @Test
+    @DisplayName("Test that every query word must start a word of the name, ignoring case and accents")
+    void should_match_word_prefixes() {
+        NameIndex index = new NameIndex();
+        index.put(IndexEntry.tournament("t1", "Summer Poker Championship"));
+        index.put(IndexEntry.tournament("t2", "Winter Poker Cup"));
+        index.put(IndexEntry.player("t1", "p1", "Zoë O'Brien"));
+
+        assertThat(index.search("pok", null, 100)).extracting(IndexEntry::getId).containsExactlyInAnyOrder("t1", "t2");
+        assertThat(index.search("POKER champ", null, 100)).extracting(IndexEntry::getId).containsExactly("t1");
+        assertThat(index.search("oker", null, 100)).isEmpty();
+        assertThat(index.search("zoe o bri", null, 100)).extracting(IndexEntry::getId).containsExactly("p1");
+        assertThat(index.search("zoe", IndexEntry.Type.TOURNAMENT, 100)).isEmpty();
+        assertThat(index.search(" !? ", null, 100)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test that whole words and names starting with the query rank first, then shorter names")
+    void should_rank_matches() {
+        NameIndex index = new NameIndex();
+        index.put(IndexEntry.player("t1", "p1", "Annabel Smith"));
+        index.put(IndexEntry.player("t1", "p2", "John Ann"));
+        index.put(IndexEntry.player("t1", "p3", "Ann Lee"));
+        index.put(IndexEntry.player("t1", "p4", "Ann Leeson"));
+        index.put(IndexEntry.player("t1", "p5", "Annie Ann"));
+
+        assertThat(index.search("ann", null, 100)).extracting(IndexEntry::getName)
+                .containsExactly("Ann Lee", "Annie Ann", "Ann Leeson", "Annabel Smith", "John Ann");
+        assertThat(index.search("ann le", null, 100)).extracting(IndexEntry::getName).containsExactly("Ann Lee", "Ann Leeson");
+    }
+
+    @Test
+    @DisplayName("Test that renames, departures and deletions leave no stale matches behind")
+    void should_update_incrementally() {
+        NameIndex index = new NameIndex();
+        index.put(IndexEntry.tournament("t1", "Spring Open"));
+        index.put(IndexEntry.player("t1", "p1", "Grace Hopper"));
+        index.put(IndexEntry.player("t1", "p2", "Alan Turing"));
+        index.put(IndexEntry.player("t2", "p1", "Grace Hopper"));
+
+        index.put(IndexEntry.tournament("t1", "Autumn Open"));
+        assertThat(index.search("spring", null, 100)).isEmpty();
+        assertThat(index.search("autumn", null, 100)).extracting(IndexEntry::getId).containsExactly("t1");
+
+        index.remove(IndexEntry.key(IndexEntry.Type.PLAYER, "t1", "p2"));
+        assertThat(index.search("alan", null, 100)).isEmpty();
+
+        index.removeTournament("t1");
+        assertThat(index.search("open", null, 100)).isEmpty();
+        assertThat(index.search("grace", null, 100)).extracting(IndexEntry::getTournamentId).containsExactly("t2");
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test that a common prefix ranks at most the candidate limit")
+    void should_bound_the_candidates() {
+        NameIndex index = new NameIndex();
+        for (int i = 0; i < 5_000; i++) {
+            index.put(IndexEntry.player("t1", "p" + i, "Player " + i));
+        }
+        assertThat(index.search("pla", null, 250)).hasSize(250);
+        assertThat(index.search("player 4999", null, 250)).extracting(IndexEntry::getId).containsExactly("p4999");
+    }
+
+    @Test
+    @DisplayName("Test that the best matches of a common prefix are found wherever they sort")
+    void should_rank_every_match_of_a_common_prefix() {
+        NameIndex index = new NameIndex();
+        for (int i = 0; i < 5_000; i++) {
+            index.put(IndexEntry.player("t1", "p" + i, "Player " + i));
+        }
+        //Sorts after every "player" word but is the shortest name starting with the prefix
+        index.put(IndexEntry.tournament("t2", "Plaza"));
+
+        assertThat(index.search("pla", null, 3)).extracting(IndexEntry::getName).containsExactly("Plaza", "Player 0", "Player 1");
+        assertThat(index.search("pla", null, 10_000)).hasSize(5_001);
+    }
+}
@@ -0,0 +1,133 @@
+package com.paf.exercise;
+
+import com.paf.exercise.payout.PayoutCalculator;
+import com.paf.exercise.payout.PayoutTable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PayoutCalculatorTests {
+    private static final PayoutTable TOP_3 = PayoutTable.parse("1:50%,2:30%,3:20%");
+    private static final PayoutTable TIERED = PayoutTable.parse("1:20%,2:12%,3:8%,4-10:3%,11-50:0.975%");
+
+    @Test
+    @DisplayName("Test that each place is paid its share and the units left by rounding go to the top places")
+    void should_pay_the_shares_of_the_places() {
+        assertThat(payouts(100_00, PayoutTable.winnerTakesAll(), 30, 20, 10)).containsExactly(100_00);
+        assertThat(payouts(100_00, TOP_3, 30, 20, 10, 5)).containsExactly(50_00, 30_00, 20_00);
+        //1001 cents: 500.5, 300.3 and 200.2 round down to 1000, the one cent left goes to the winner
+        assertThat(payouts(10_01, TOP_3, 30, 20, 10)).containsExactly(5_01, 3_00, 2_00);
+        //With two players the third place is dropped and its share goes to the others in proportion
+        assertThat(payouts(80_00, TOP_3, 30, 20)).containsExactly(50_00, 30_00);
+        assertThat(payouts(100_00, TOP_3)).isEmpty();
+        assertThat(payouts(0, TOP_3, 30, 20)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test that tied players share the places they span, also past the last paid place")
+    void should_split_ties() {
+        //Second and third share 30% and 20%
+        assertThat(payouts(100_00, TOP_3, 30, 20, 20, 10)).containsExactly(50_00, 25_00, 25_00);
+        //Third to fifth share the 20% of third place, the cent that does not divide goes to the first of them
+        assertThat(payouts(10_00, TOP_3, 30, 20, 10, 10, 10, 5)).containsExactly(5_00, 3_00, 67, 67, 66);
+        //Everybody tied shares everything
+        assertThat(payouts(100, TOP_3, 7, 7, 7, 7, 7, 7, 7)).containsExactly(15, 15, 14, 14, 14, 14, 14);
+    }
+
+    @Test
+    @DisplayName("Test that random fields pay out the whole pool exactly, in line with exact decimal arithmetic")
+    void should_pay_out_the_whole_pool() {
+        Random random = new Random(7);
+        for (int round = 0; round < 500; round++) {
+            long pool = random.nextInt(Integer.MAX_VALUE) * 100L;
+            int count = 1 + random.nextInt(80);
+            long[] scores = new long[count];
+            long score = 1_000;
+            for (int i = 0; i < count; i++) {
+                score -= random.nextInt(3);
+                scores[i] = score;
+            }
+            long[] amounts = new long[count];
+            int paid = PayoutCalculator.distribute(pool, TIERED, scores, count, amounts);
+            long[] paidAmounts = Arrays.copyOf(amounts, paid);
+
+            assertThat(Arrays.stream(paidAmounts).sum()).isEqualTo(pool);
+            assertThat(paidAmounts).isSortedAccordingTo((a, b) -> Long.compare(b, a));
+            for (int i = 0; i < paid; i++) {
+                if (i > 0 && scores[i] == scores[i - 1]) {
+                    assertThat(Math.abs(amounts[i] - amounts[i - 1])).isLessThanOrEqualTo(1);
+                }
+            }
+            //Without ties every amount is within a unit of its exact share
+            if (Arrays.stream(scores).distinct().count() == count) {
+                int places = Math.min(count, TIERED.places());
+                BigDecimal denominator = BigDecimal.ZERO;
+                for (int i = 0; i < places; i++) {
+                    denominator = denominator.add(exactShare(i));
+                }
+                for (int i = 0; i < places; i++) {
+                    BigDecimal exact = BigDecimal.valueOf(pool).multiply(exactShare(i)).divide(denominator, 6, RoundingMode.HALF_EVEN);
+                    assertThat(BigDecimal.valueOf(amounts[i]).subtract(exact).abs()).isLessThan(BigDecimal.ONE);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test that a single payout worked out from a placing matches the payout of the whole field")
+    void should_pay_a_single_place_like_the_whole_field() {
+        Random random = new Random(11);
+        for (int round = 0; round < 500; round++) {
+            PayoutTable table = round % 2 == 0 ? TIERED : TOP_3;
+            long pool = random.nextInt(100_000);
+            int count = 1 + random.nextInt(80);
+            long[] scores = new long[count];
+            long score = 100;
+            for (int i = 0; i < count; i++) {
+                score -= random.nextInt(3);
+                scores[i] = score;
+            }
+            long[] amounts = new long[count];
+            int paid = PayoutCalculator.distribute(pool, table, scores, count, amounts);
+            for (int position = 0; position < count; position++) {
+                int first = position;
+                while (first > 0 && scores[first - 1] == scores[position]) {
+                    first--;
+                }
+                int last = position;
+                while (last + 1 < count && scores[last + 1] == scores[position]) {
+                    last++;
+                }
+                assertThat(PayoutCalculator.payoutOf(pool, table, count, first, last, position))
+                        .isEqualTo(position < paid ? amounts[position] : 0L);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test that tables which do not pay out exactly the whole pool are rejected")
+    void should_reject_invalid_tables() {
+        assertThat(TIERED.places()).isEqualTo(50);
+        assertThatThrownBy(() -> PayoutTable.parse("1:50%,2:30%")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PayoutTable.parse("1:50%,3:50%")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PayoutTable.parse("1:40%,2:60%")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PayoutTable.parse("1:100")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static BigDecimal exactShare(int place) {
+        return new BigDecimal(place == 0 ? "20" : place == 1 ? "12" : place == 2 ? "8" : place < 10 ? "3" : "0.975");
+    }
+
+    private static long[] payouts(long pool, PayoutTable table, long... scores) {
+        long[] amounts = new long[scores.length];
+        int paid = PayoutCalculator.distribute(pool, table, scores, scores.length, amounts);
+        return Arrays.copyOf(amounts, paid);
+    }
+}
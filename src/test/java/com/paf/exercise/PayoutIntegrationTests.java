@@ -0,0 +1,88 @@
+package com.paf.exercise;
+
+import com.paf.exercise.dto.PlayerRequest;
+import com.paf.exercise.dto.ScoreRequest;
+import com.paf.exercise.dto.TournamentRequest;
+import com.paf.exercise.entity.Tournament;
+import com.paf.exercise.service.LeaderboardService;
+import com.paf.exercise.service.TournamentService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@TestPropertySource("classpath:application-test.properties")
+class PayoutIntegrationTests {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TournamentService tournamentService;
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Test
+    @DisplayName("Test that the reward is paid out in minor units over the standings with the chosen table")
+    void should_pay_out_the_reward() throws Exception {
+        Tournament tournament = createTournament(1001, "EUR", "Alan Turing", "Grace Hopper", "Ada Lovelace", "Edsger Dijkstra");
+        String tournamentId = tournament.getTournamentId();
+        long[] scores = {40, 30, 30, 10};
+        for (int i = 0; i < scores.length; i++) {
+            leaderboardService.submitScore(tournamentId, tournament.getPlayers().get(i).getPlayerId(), new ScoreRequest(scores[i]));
+        }
+
+        mockMvc.perform(get("/api/getPayouts").param("tournamentId", tournamentId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.table").value("top-3"))
+                .andExpect(jsonPath("$.fractionDigits").value(2))
+                .andExpect(jsonPath("$.pool").value(100100))
+                .andExpect(jsonPath("$.payouts[*].rank").value(contains(1, 2, 2)))
+                .andExpect(jsonPath("$.payouts[*].amount").value(contains(50050, 25025, 25025)))
+                .andExpect(jsonPath("$.payouts[0].playerId").value(tournament.getPlayers().get(0).getPlayerId()));
+        mockMvc.perform(get("/api/getPayouts").param("tournamentId", tournamentId).param("table", "winner-takes-all"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payouts[*].amount").value(contains(100100)));
+        mockMvc.perform(get("/api/getPayouts").param("tournamentId", tournamentId).param("table", "no-such-table"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Test that a currency that is not an ISO code is paid in whole units and nothing is paid before anyone scores")
+    void should_pay_whole_units_of_unknown_currencies() throws Exception {
+        Tournament tournament = createTournament(10, "chips", "Alan Turing", "Grace Hopper", "Ada Lovelace");
+        String tournamentId = tournament.getTournamentId();
+        mockMvc.perform(get("/api/getPayouts").param("tournamentId", tournamentId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payouts").isEmpty());
+        for (int i = 0; i < 3; i++) {
+            leaderboardService.submitScore(tournamentId, tournament.getPlayers().get(i).getPlayerId(), new ScoreRequest(3L - i));
+        }
+
+        mockMvc.perform(get("/api/getPayouts").param("tournamentId", tournamentId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fractionDigits").value(0))
+                .andExpect(jsonPath("$.payouts[*].amount").value(contains(5, 3, 2)));
+        mockMvc.perform(get("/api/getPayouts").param("tournamentId", UUID.randomUUID().toString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Tournament createTournament(int rewardAmount, String currency, String... playerNames) {
+        List<PlayerRequest> players = new ArrayList<>();
+        for (String playerName : playerNames) {
+            players.add(new PlayerRequest(playerName));
+        }
+        return tournamentService.addTournament(new TournamentRequest(UUID.randomUUID().toString(), rewardAmount, currency, players));
+    }
+}
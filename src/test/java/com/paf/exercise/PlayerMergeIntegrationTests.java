@@ -0,0 +1,173 @@
+package com.paf.exercise;
+
+import com.paf.exercise.bracket.BracketFormat;
+import com.paf.exercise.dto.BracketRequest;
+import com.paf.exercise.dto.BulkRegistrationRequest;
+import com.paf.exercise.dto.PlayerRequest;
+import com.paf.exercise.dto.ScoreRequest;
+import com.paf.exercise.dto.TournamentRequest;
+import com.paf.exercise.entity.Player;
+import com.paf.exercise.entity.Tournament;
+import com.paf.exercise.repository.PlayerRepository;
+import com.paf.exercise.response.PlayerMergeProgress;
+import com.paf.exercise.response.PlayerMergeState;
+import com.paf.exercise.response.RegistrationResult;
+import com.paf.exercise.response.RegistrationStatus;
+import com.paf.exercise.service.BracketService;
+import com.paf.exercise.service.LeaderboardService;
+import com.paf.exercise.service.PlayerMergeService;
+import com.paf.exercise.service.PlayerMergeServiceImpl;
+import com.paf.exercise.service.TournamentService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+//A database of its own, the merge job rewrites every duplicate it finds
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:exercise-player-merge;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;LOCK_TIMEOUT=10000",
+        "spring.jpa.show-sql=false",
+        "tournament.players.merge.chunk-size=2",
+        "tournament.players.merge.batch-size=2"
+})
+@TestPropertySource("classpath:application-test.properties")
+class PlayerMergeIntegrationTests {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TournamentService tournamentService;
+    @Autowired
+    private LeaderboardService leaderboardService;
+    @Autowired
+    private BracketService bracketService;
+    @Autowired
+    private PlayerMergeService playerMergeService;
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Test
+    @DisplayName("Test that an existing player can be registered into more tournaments by id")
+    void should_register_an_existing_player() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        Tournament open = tournamentService.addTournament(new TournamentRequest("Open " + suffix, 100, "EUR", List.of(new PlayerRequest("Alan " + suffix))));
+        Tournament masters = tournamentService.addTournament(new TournamentRequest("Masters " + suffix, 100, "EUR", null));
+        Tournament finals = tournamentService.addTournament(new TournamentRequest("Finals " + suffix, 100, "EUR", null));
+        String playerId = open.getPlayers().get(0).getPlayerId();
+        String existing = "{\"playerId\":\"" + playerId + "\"}";
+
+        mockMvc.perform(post("/api/addPlayerIntoTournament").param("tournamentId", masters.getTournamentId())
+                        .contentType(MediaType.APPLICATION_JSON).content(existing))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.players[0].playerId").value(playerId))
+                .andExpect(jsonPath("$.players[0].playerName").value("Alan " + suffix))
+                .andExpect(jsonPath("$.playerCount").value(1));
+        mockMvc.perform(post("/api/addPlayerIntoTournament").param("tournamentId", masters.getTournamentId())
+                        .contentType(MediaType.APPLICATION_JSON).content(existing))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/addPlayerIntoTournament").param("tournamentId", masters.getTournamentId())
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"playerId\":\"" + UUID.randomUUID() + "\"}"))
+                .andExpect(status().isNotFound());
+
+        PlayerRequest unknown = new PlayerRequest();
+        unknown.setPlayerId(UUID.randomUUID().toString());
+        PlayerRequest again = new PlayerRequest();
+        again.setPlayerId(playerId);
+        List<RegistrationResult> results = tournamentService.registerPlayers(List.of(new BulkRegistrationRequest(finals.getTournamentId(),
+                List.of(again, again, unknown, new PlayerRequest("Grace " + suffix)))));
+        assertThat(results.stream().map(RegistrationResult::getStatus).collect(Collectors.toList())).containsExactly(
+                RegistrationStatus.REGISTERED, RegistrationStatus.ALREADY_REGISTERED, RegistrationStatus.PLAYER_NOT_FOUND, RegistrationStatus.REGISTERED);
+        assertThat(results.get(0).getPlayerName()).isEqualTo("Alan " + suffix);
+
+        //One player row however many tournaments the player entered
+        assertThat(playerRepository.findAll().stream().filter(player -> player.getPlayerId().equals(playerId))).hasSize(1);
+        mockMvc.perform(get("/api/getPlayerProfile").param("playerId", playerId))
+                .andExpect(jsonPath("$.entries").value(3));
+    }
+
+    @Test
+    @DisplayName("Test that duplicate players are merged into their first registration with their entries and scores")
+    void should_merge_duplicate_players() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        Tournament first = tournamentService.addTournament(new TournamentRequest("First " + suffix, 100, "EUR",
+                List.of(new PlayerRequest("Magnus Carlsen " + suffix), new PlayerRequest("Hikaru Nakamura " + suffix))));
+        Tournament second = tournamentService.addTournament(new TournamentRequest("Second " + suffix, 100, "EUR",
+                List.of(new PlayerRequest("MAGNUS  carlsen " + suffix))));
+        Tournament third = tournamentService.addTournament(new TournamentRequest("Third " + suffix, 100, "EUR",
+                List.of(new PlayerRequest("Magnus Carlsen " + suffix), new PlayerRequest("Magnus Carlsén " + suffix))));
+        Tournament keyed = tournamentService.addTournament(new TournamentRequest("Keyed " + suffix, 100, "EUR",
+                List.of(new PlayerRequest("Fabiano Caruana " + suffix, null, "FIDE-" + suffix), new PlayerRequest("Hikaru Nakamura " + suffix, null, "other-" + suffix))));
+        Tournament rekeyed = tournamentService.addTournament(new TournamentRequest("Rekeyed " + suffix, 100, "EUR",
+                List.of(new PlayerRequest("Fabi " + suffix, null, " fide-" + suffix))));
+        Tournament bracketed = tournamentService.addTournament(new TournamentRequest("Bracketed " + suffix, 100, "EUR",
+                List.of(new PlayerRequest("Magnus Carlsen " + suffix), new PlayerRequest("Ding Liren " + suffix))));
+        bracketService.createBracket(bracketed.getTournamentId(), new BracketRequest(BracketFormat.SINGLE_ELIMINATION, null));
+        String magnus = first.getPlayers().get(0).getPlayerId();
+        String fabiano = keyed.getPlayers().get(0).getPlayerId();
+        List<String> duplicates = List.of(second.getPlayers().get(0).getPlayerId(), third.getPlayers().get(0).getPlayerId(),
+                third.getPlayers().get(1).getPlayerId(), rekeyed.getPlayers().get(0).getPlayerId());
+        leaderboardService.submitScore(second.getTournamentId(), duplicates.get(0), new ScoreRequest(4L));
+        leaderboardService.submitScore(third.getTournamentId(), duplicates.get(1), new ScoreRequest(5L));
+        leaderboardService.submitScore(third.getTournamentId(), duplicates.get(2), new ScoreRequest(7L));
+
+        mockMvc.perform(post("/api/mergeDuplicatePlayers"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.state").value("RUNNING"));
+        PlayerMergeProgress progress = awaitMerge();
+
+        assertThat(progress.getState()).isEqualTo(PlayerMergeState.COMPLETED);
+        assertThat(progress.getMerged()).isEqualTo(4);
+        assertThat(progress.getSkipped()).isEqualTo(1);
+        assertThat(progress.getMemberships()).isEqualTo(4);
+        assertThat(progress.getChunks()).isGreaterThan(1);
+        duplicates.forEach(playerId -> assertThat(playerRepository.existsByPlayerId(playerId)).isFalse());
+
+        //Two duplicates in one tournament leave one entry with both their scores behind
+        Tournament merged = tournamentService.getTournament(third.getTournamentId());
+        assertThat(merged.getPlayers().stream().map(Player::getPlayerId)).containsExactly(magnus);
+        assertThat(merged.getPlayerCount()).isEqualTo(1);
+        assertThat(merged.getVersion()).isEqualTo(third.getVersion() + 2);
+        assertThat(leaderboardService.getStanding(third.getTournamentId(), magnus).getScore()).isEqualTo(12);
+        assertThat(leaderboardService.getStanding(second.getTournamentId(), magnus).getScore()).isEqualTo(4);
+        mockMvc.perform(get("/api/getPlayerProfile").param("playerId", magnus))
+                .andExpect(jsonPath("$.entries").value(3));
+        mockMvc.perform(get("/api/getPlayerProfile").param("playerId", fabiano))
+                .andExpect(jsonPath("$.entries").value(2));
+        //Different external keys, or a key on one side only, keep players apart
+        assertThat(tournamentService.getTournament(keyed.getTournamentId()).getPlayers()).hasSize(2);
+        assertThat(tournamentService.isPlayerInTournament(bracketed.getTournamentId(), bracketed.getPlayers().get(0).getPlayerId())).isTrue();
+        mockMvc.perform(get("/api/getPlayerMergeProgress"))
+                .andExpect(jsonPath("$.state").value("COMPLETED"));
+    }
+
+    @Test
+    @DisplayName("Test that merge keys ignore case, accents and spacing and prefer the external key")
+    void should_normalize_merge_keys() {
+        assertThat(PlayerMergeServiceImpl.mergeKey("  Magnus   CARLSÉN ", null)).isEqualTo(PlayerMergeServiceImpl.mergeKey("magnus carlsen", null));
+        assertThat(PlayerMergeServiceImpl.mergeKey("Magnus Carlsen", "FIDE-1503014")).isEqualTo(PlayerMergeServiceImpl.mergeKey("Carlsen", " fide-1503014"));
+        assertThat(PlayerMergeServiceImpl.mergeKey("Magnus Carlsen", "FIDE-1503014")).isNotEqualTo(PlayerMergeServiceImpl.mergeKey("Magnus Carlsen", null));
+        assertThat(PlayerMergeServiceImpl.mergeKey(" - ", null)).isNull();
+    }
+
+    private PlayerMergeProgress awaitMerge() throws InterruptedException {
+        PlayerMergeProgress progress = playerMergeService.getMergeProgress();
+        for (int i = 0; i < 100 && progress.getState() == PlayerMergeState.RUNNING; i++) {
+            Thread.sleep(100);
+            progress = playerMergeService.getMergeProgress();
+        }
+        return progress;
+    }
+}
@@ -0,0 +1,129 @@
+package com.paf.exercise;
+
+import com.paf.exercise.dto.PlayerRequest;
+import com.paf.exercise.dto.ScoreRequest;
+import com.paf.exercise.dto.TournamentRequest;
+import com.paf.exercise.entity.Tournament;
+import com.paf.exercise.exceptions.ResourceNotFoundException;
+import com.paf.exercise.identifier.Uuids;
+import com.paf.exercise.service.LeaderboardService;
+import com.paf.exercise.service.PayoutService;
+import com.paf.exercise.service.TournamentService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@TestPropertySource("classpath:application-test.properties")
+class PlayerProfileIntegrationTests {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TournamentService tournamentService;
+    @Autowired
+    private LeaderboardService leaderboardService;
+    @Autowired
+    private PayoutService payoutService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("Test that a player's profile lists every tournament entered with standings and winnings")
+    void should_list_the_tournaments_of_a_player() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        Tournament open = tournamentService.addTournament(new TournamentRequest("Open " + suffix, 1000, "EUR",
+                List.of(new PlayerRequest("Alan Turing"), new PlayerRequest("Grace Hopper"))));
+        Tournament masters = tournamentService.addTournament(new TournamentRequest("Masters " + suffix, 500, "EUR",
+                List.of(new PlayerRequest("Ada Lovelace"))));
+        String playerId = open.getPlayers().get(0).getPlayerId();
+        //The same player enters a second tournament straight through the join table
+        jdbcTemplate.update("insert into " + Tournament.PLAYERS_TABLE + " (tournament_id, player_id)"
+                        + " select t.id, p.id from TOURNAMENT_TBL t, PLAYERS_TBL p where t.tournament_id = ? and p.player_id = ?",
+                Uuids.toBytes(masters.getTournamentId()), Uuids.toBytes(playerId));
+        leaderboardService.submitScore(open.getTournamentId(), playerId, new ScoreRequest(10L));
+        leaderboardService.submitScore(open.getTournamentId(), open.getPlayers().get(1).getPlayerId(), new ScoreRequest(5L));
+        long winnings = payoutService.getPayouts(open.getTournamentId(), null).getPayouts().get(0).getAmount();
+        assertThat(winnings).isPositive();
+
+        mockMvc.perform(get("/api/getPlayerProfile").param("playerId", playerId));
+        //With the entries cached, standings and winnings of every entry come from the leaderboards alone
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get("/api/getPlayerProfile").param("playerId", playerId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.playerName").value("Alan Turing"))
+                .andExpect(jsonPath("$.entries").value(2))
+                .andExpect(jsonPath("$.tournaments[*].tournamentId").value(contains(open.getTournamentId(), masters.getTournamentId())))
+                .andExpect(jsonPath("$.tournaments[0].rank").value(1))
+                .andExpect(jsonPath("$.tournaments[0].winnings").value(winnings))
+                .andExpect(jsonPath("$.tournaments[1].rank").value(nullValue()))
+                .andExpect(jsonPath("$.winnings.EUR").value(winnings));
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        tournamentService.removePlayerFromTournament(masters.getTournamentId(), playerId);
+        mockMvc.perform(get("/api/getPlayerProfile").param("playerId", playerId))
+                .andExpect(jsonPath("$.entries").value(1))
+                .andExpect(jsonPath("$.tournaments[*].tournamentId").value(contains(open.getTournamentId())));
+        mockMvc.perform(get("/api/getPlayerProfile").param("playerId", UUID.randomUUID().toString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Test that a tournament created with an existing player shows up in the profile and rejects unknown players")
+    void should_show_a_tournament_created_with_an_existing_player() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        Tournament open = tournamentService.addTournament(new TournamentRequest("Open " + suffix, 1000, "EUR",
+                List.of(new PlayerRequest("Alan Turing"))));
+        String playerId = open.getPlayers().get(0).getPlayerId();
+        PlayerRequest existing = new PlayerRequest(null, playerId, null);
+        //Loads the entries into the cache
+        mockMvc.perform(get("/api/getPlayerProfile").param("playerId", playerId))
+                .andExpect(jsonPath("$.entries").value(1));
+
+        Tournament masters = tournamentService.addTournament(new TournamentRequest("Masters " + suffix, 500, "EUR", List.of(existing)));
+        mockMvc.perform(get("/api/getPlayerProfile").param("playerId", playerId))
+                .andExpect(jsonPath("$.entries").value(2))
+                .andExpect(jsonPath("$.tournaments[*].tournamentId").value(contains(open.getTournamentId(), masters.getTournamentId())));
+
+        //An unknown or repeated player fails the whole create and rolls the tournament back
+        assertThatThrownBy(() -> tournamentService.addTournament(new TournamentRequest("Unknown " + suffix, 500, "EUR",
+                List.of(existing, new PlayerRequest(null, UUID.randomUUID().toString(), null)))))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> tournamentService.addTournament(new TournamentRequest("Repeated " + suffix, 500, "EUR", List.of(existing, existing))))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from TOURNAMENT_TBL where tournament_name in (?, ?)", Integer.class,
+                "Unknown " + suffix, "Repeated " + suffix)).isZero();
+        mockMvc.perform(get("/api/getPlayerProfile").param("playerId", playerId))
+                .andExpect(jsonPath("$.entries").value(2));
+    }
+
+    @Test
+    @DisplayName("Test that looking up the tournaments of a player uses the reverse membership index")
+    void should_use_the_reverse_membership_index() {
+        String plan = jdbcTemplate.queryForObject(
+                "EXPLAIN SELECT TOURNAMENT_ID FROM " + Tournament.PLAYERS_TABLE + " WHERE PLAYER_ID = 1", String.class);
+
+        assertThat(plan).contains("IX_TOURNAMENT_PLAYERS_PLAYER");
+    }
+}
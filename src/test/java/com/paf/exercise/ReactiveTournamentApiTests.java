@@ -0,0 +1,156 @@
+package com.paf.exercise;
+
+import com.google.gson.Gson;
+import com.paf.exercise.dto.PlayerRequest;
+import com.paf.exercise.dto.TournamentRequest;
+import com.paf.exercise.entity.Tournament;
+import com.paf.exercise.exceptions.TournamentNotFoundException;
+import com.paf.exercise.service.ReactiveTournamentService;
+import com.paf.exercise.service.TournamentService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:exercise-reactive;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;LOCK_TIMEOUT=10000")
+@TestPropertySource("classpath:application-test.properties")
+class ReactiveTournamentApiTests {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ReactiveTournamentService reactiveTournamentService;
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Test
+    @DisplayName("Test that a tournament created through the reactive API has its roster and is visible to the blocking API")
+    void should_create_tournaments_reactively_on_the_shared_database() throws Exception {
+        TournamentRequest tournamentRequest = new TournamentRequest(UUID.randomUUID().toString(), 1000, "EUR",
+                List.of(new PlayerRequest("Albert Einstein"), new PlayerRequest("Marie Curie")));
+
+        perform(post("/api/reactive/addTournament").contentType(MediaType.APPLICATION_JSON).content(new Gson().toJson(tournamentRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.tournamentName").value(tournamentRequest.getTournamentName()))
+                .andExpect(jsonPath("$.players.length()").value(2))
+                .andExpect(jsonPath("$.version").value(1));
+
+        Tournament tournament = tournamentService.getTournaments().stream()
+                .filter(candidate -> candidate.getTournamentName().equals(tournamentRequest.getTournamentName()))
+                .findFirst().orElseThrow();
+        assertThat(tournament.getPlayers()).hasSize(2);
+        perform(get("/api/reactive/getPlayersInTournament").param("tournamentId", tournament.getTournamentId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].playerName").value("Albert Einstein"))
+                .andExpect(jsonPath("$[1].playerName").value("Marie Curie"));
+    }
+
+    @Test
+    @DisplayName("Test that reactive roster changes bump the version and invalidate the blocking API's cache")
+    void should_keep_the_blocking_api_consistent_with_reactive_writes() throws TournamentNotFoundException {
+        Tournament tournament = tournamentService.addTournament(new TournamentRequest(UUID.randomUUID().toString(), 1000, "EUR", new ArrayList<>()));
+        assertThat(tournamentService.getTournament(tournament.getTournamentId()).getPlayers()).isEmpty();
+
+        Tournament withPlayer = reactiveTournamentService.addPlayerIntoTournament(tournament.getTournamentId(), new PlayerRequest("Niels Bohr")).block();
+        assertThat(withPlayer.getPlayers()).hasSize(1);
+        assertThat(tournamentService.getTournament(tournament.getTournamentId()).getPlayers()).hasSize(1);
+
+        reactiveTournamentService.removePlayerFromTournament(tournament.getTournamentId(), withPlayer.getPlayers().get(0).getPlayerId()).block();
+        assertThat(tournamentService.getTournament(tournament.getTournamentId()).getPlayers()).isEmpty();
+        assertThat(tournamentService.getTournamentVersion(tournament.getTournamentId())).isEqualTo(2);
+
+        Tournament update = new Tournament();
+        update.setRewardAmount(5000);
+        assertThat(reactiveTournamentService.updateTournament(tournament.getTournamentId(), update).block().getRewardAmount()).isEqualTo(5000);
+        assertThat(tournamentService.getTournament(tournament.getTournamentId()).getRewardAmount()).isEqualTo(5000);
+
+        reactiveTournamentService.deleteTournament(tournament.getTournamentId()).block();
+        assertThat(tournamentService.getTournaments()).extracting(Tournament::getTournamentId).doesNotContain(tournament.getTournamentId());
+    }
+
+    @Test
+    @DisplayName("Test that the reactive API pages through tournaments with the same cursors as the blocking API")
+    void should_page_through_tournaments_reactively() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            tournamentService.addTournament(new TournamentRequest(UUID.randomUUID().toString(), 1000, "EUR", new ArrayList<>()));
+        }
+        String nextCursor = tournamentService.getTournamentsPage(null, 2).getNextCursor();
+
+        perform(get("/api/reactive/getTournamentsPage").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tournaments.length()").value(2))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andExpect(jsonPath("$.nextCursor").value(nextCursor));
+    }
+
+    @Test
+    @DisplayName("Test that the reactive API reports unknown tournaments and players like the blocking API")
+    void should_report_unknown_tournaments_and_players() throws Exception {
+        perform(get("/api/reactive/getTournament").param("tournamentId", "test"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0]").value("Tournament not found with id: test"));
+
+        Tournament tournament = tournamentService.addTournament(new TournamentRequest(UUID.randomUUID().toString(), 1000, "EUR", new ArrayList<>()));
+        perform(delete("/api/reactive/removePlayerFromTournament").param("tournamentId", tournament.getTournamentId()).param("playerId", "1000"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0]").value("Player not found with id: 1000"));
+    }
+
+    @Test
+    @DisplayName("Test that the reactive API registers an existing player without creating a new one")
+    void should_register_an_existing_player_reactively() throws Exception {
+        Tournament open = tournamentService.addTournament(new TournamentRequest(UUID.randomUUID().toString(), 1000, "EUR", List.of(new PlayerRequest("Lise Meitner"))));
+        Tournament masters = tournamentService.addTournament(new TournamentRequest(UUID.randomUUID().toString(), 1000, "EUR", new ArrayList<>()));
+        String playerId = open.getPlayers().get(0).getPlayerId();
+        String existing = "{\"playerId\":\"" + playerId + "\"}";
+
+        perform(post("/api/reactive/addPlayerIntoTournament").param("tournamentId", masters.getTournamentId())
+                .contentType(MediaType.APPLICATION_JSON).content(existing))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.players[0].playerId").value(playerId))
+                .andExpect(jsonPath("$.players[0].playerName").value("Lise Meitner"));
+        perform(post("/api/reactive/addPlayerIntoTournament").param("tournamentId", masters.getTournamentId())
+                .contentType(MediaType.APPLICATION_JSON).content(existing))
+                .andExpect(status().isBadRequest());
+        perform(post("/api/reactive/addPlayerIntoTournament").param("tournamentId", masters.getTournamentId())
+                .contentType(MediaType.APPLICATION_JSON).content("{\"playerId\":\"" + UUID.randomUUID() + "\"}"))
+                .andExpect(status().isNotFound());
+        assertThat(tournamentService.isPlayerInTournament(masters.getTournamentId(), playerId)).isTrue();
+
+        String finalsName = UUID.randomUUID().toString();
+        perform(post("/api/reactive/addTournament").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"tournamentName\":\"" + finalsName + "\",\"rewardAmount\":1000,\"currency\":\"EUR\",\"players\":[" + existing + ",{\"playerName\":\"Otto Hahn\"}]}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.players.length()").value(2))
+                .andExpect(jsonPath("$.players[0].playerId").value(playerId))
+                .andExpect(jsonPath("$.players[0].playerName").value("Lise Meitner"));
+        perform(post("/api/reactive/addTournament").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"tournamentName\":\"" + UUID.randomUUID() + "\",\"rewardAmount\":1000,\"currency\":\"EUR\",\"players\":[{\"playerId\":\"" + UUID.randomUUID() + "\"}]}"))
+                .andExpect(status().isNotFound());
+        //The rejected tournament rolled back and the reused player is still a single row
+        assertThat(tournamentService.getTournaments()).filteredOn(tournament -> tournament.getPlayers().stream()
+                .anyMatch(player -> player.getPlayerId().equals(playerId))).hasSize(3);
+        assertThat(tournamentService.getTournaments().stream().flatMap(tournament -> tournament.getPlayers().stream())
+                .filter(player -> "Lise Meitner".equals(player.getPlayerName())).map(player -> player.getPlayerId()).distinct()).containsExactly(playerId);
+    }
+
+    private ResultActions perform(RequestBuilder request) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(request).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(mvcResult));
+    }
+}
@@ -0,0 +1,101 @@
+package com.paf.exercise;
+
+import com.paf.exercise.dto.PlayerRequest;
+import com.paf.exercise.dto.TournamentRequest;
+import com.paf.exercise.entity.Player;
+import com.paf.exercise.entity.Tournament;
+import com.paf.exercise.exceptions.TournamentNotFoundException;
+import com.paf.exercise.recovery.StateRecovery;
+import com.paf.exercise.service.TournamentService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class RecoveryIntegrationTests {
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Test that a restart onto an empty database restores the snapshot plus the journal tail")
+    void should_restore_tournaments_after_a_restart() throws Exception {
+        Tournament chess;
+        Tournament go;
+        String deletedId;
+        try (ConfigurableApplicationContext context = start("recovery-before")) {
+            TournamentService tournamentService = context.getBean(TournamentService.class);
+            chess = tournamentService.addTournament(new TournamentRequest("Chess Open", 1000, "EUR",
+                    List.of(new PlayerRequest("Magnus Carlsen"), new PlayerRequest("Hikaru Nakamura"))));
+            deletedId = tournamentService.addTournament(new TournamentRequest("Poker Night", 500, "USD", new ArrayList<>())).getTournamentId();
+            context.getBean(StateRecovery.class).snapshot();
+
+            //Everything from here on is only in the journal tail
+            go = tournamentService.addTournament(new TournamentRequest("Go Open", 700, "JPY", new ArrayList<>()));
+            tournamentService.addPlayerIntoTournament(go.getTournamentId(), new PlayerRequest("Lee Sedol"));
+            Tournament update = new Tournament();
+            update.setRewardAmount(2500);
+            tournamentService.updateTournament(chess.getTournamentId(), update);
+            Player leaving = tournamentService.getPlayersInTournament(chess.getTournamentId()).get(1);
+            tournamentService.removePlayerFromTournament(chess.getTournamentId(), leaving.getPlayerId());
+            tournamentService.deleteTournament(deletedId);
+            chess = tournamentService.getTournament(chess.getTournamentId());
+            go = tournamentService.getTournament(go.getTournamentId());
+        }
+        //Drop the snapshot written on shutdown, the restart then has to replay the tail after the earlier one
+        List<Path> snapshots = snapshots();
+        assertThat(snapshots).hasSize(2);
+        Files.delete(snapshots.get(1));
+
+        try (ConfigurableApplicationContext context = start("recovery-after")) {
+            TournamentService tournamentService = context.getBean(TournamentService.class);
+            assertRestored(tournamentService.getTournament(chess.getTournamentId()), chess);
+            assertRestored(tournamentService.getTournament(go.getTournamentId()), go);
+            assertThat(tournamentService.getTournaments()).hasSize(2);
+            String missingId = deletedId;
+            assertThatThrownBy(() -> tournamentService.getTournament(missingId)).isInstanceOf(TournamentNotFoundException.class);
+
+            //The restored database takes new changes like any other
+            Tournament joined = tournamentService.addPlayerIntoTournament(go.getTournamentId(), new PlayerRequest("Ke Jie"));
+            assertThat(joined.getVersion()).isEqualTo(go.getVersion() + 1);
+        }
+    }
+
+    private static void assertRestored(Tournament restored, Tournament expected) {
+        assertThat(restored).usingRecursiveComparison().ignoringFields("id", "players").isEqualTo(expected);
+        assertThat(restored.getPlayers()).extracting(Player::getPlayerId, Player::getPlayerName)
+                .containsExactlyInAnyOrderElementsOf(expected.getPlayers().stream()
+                        .map(player -> tuple(player.getPlayerId(), player.getPlayerName()))
+                        .collect(Collectors.toList()));
+    }
+
+    private ConfigurableApplicationContext start(String database) {
+        return new SpringApplicationBuilder(ExerciseApplication.class)
+                .run("--spring.main.web-application-type=none",
+                        "--spring.datasource.url=jdbc:h2:mem:" + database + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.jpa.show-sql=false",
+                        "--tournament.journal.enabled=true",
+                        "--tournament.journal.directory=" + directory.resolve("journal"),
+                        "--tournament.recovery.enabled=true",
+                        "--tournament.recovery.snapshot-directory=" + directory.resolve("snapshots"),
+                        "--tournament.recovery.snapshot-interval=1h");
+    }
+
+    private List<Path> snapshots() throws Exception {
+        try (Stream<Path> files = Files.list(directory.resolve("snapshots"))) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.paf.exercise;
+
+import com.paf.exercise.dto.BulkRegistrationRequest;
+import com.paf.exercise.dto.PlayerRequest;
+import com.paf.exercise.dto.TournamentRequest;
+import com.paf.exercise.entity.Tournament;
+import com.paf.exercise.response.RegistrationStatus;
+import com.paf.exercise.service.TournamentService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hammers a single tournament with concurrent single and bulk registrations plus tournament updates, then checks that
+ * every registration and every version increment survived. Thread and iteration counts can be raised with
+ * -Dstress.threads and -Dstress.iterations.
+ */
+@Slf4j
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:exercise-stress;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;LOCK_TIMEOUT=10000",
+        "spring.jpa.show-sql=false"
+})
+@TestPropertySource("classpath:application-test.properties")
+class RegistrationStressTests {
+    private static final int BULK_SIZE = 5;
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Test
+    @DisplayName("Test that concurrent registrations into one tournament are never lost")
+    void should_not_lose_registrations_under_contention() throws Exception {
+        int threads = Integer.getInteger("stress.threads", 16);
+        int iterations = Integer.getInteger("stress.iterations", 40);
+        Tournament tournament = tournamentService.addTournament(new TournamentRequest(UUID.randomUUID().toString(), 1000, "EUR", new ArrayList<>()));
+        String tournamentId = tournament.getTournamentId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger registered = new AtomicInteger();
+        AtomicInteger updates = new AtomicInteger();
+        List<Future<?>> workers = new ArrayList<>();
+        for (int thread = 0; thread < threads; thread++) {
+            int worker = thread;
+            workers.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < iterations; i++) {
+                    if (i % 4 == 3) {
+                        List<PlayerRequest> players = new ArrayList<>();
+                        for (int j = 0; j < BULK_SIZE; j++) {
+                            players.add(new PlayerRequest("Bulk " + worker + "-" + i + "-" + j));
+                        }
+                        long accepted = tournamentService.registerPlayers(List.of(new BulkRegistrationRequest(tournamentId, players))).stream()
+                                .filter(result -> result.getStatus() == RegistrationStatus.REGISTERED)
+                                .count();
+                        registered.addAndGet((int) accepted);
+                    } else {
+                        tournamentService.addPlayerIntoTournament(tournamentId, new PlayerRequest("Player " + worker + "-" + i));
+                        registered.incrementAndGet();
+                    }
+                    if (i % 10 == 0) {
+                        Tournament update = new Tournament();
+                        update.setRewardAmount(1000 + worker);
+                        tournamentService.updateTournament(tournamentId, update);
+                        updates.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : workers) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+        executor.shutdown();
+        log.info("Registered {} players with {} concurrent updates across {} threads in {} s ({} registrations/s)",
+                registered.get(), updates.get(), threads, String.format("%.2f", seconds), String.format("%.0f", registered.get() / seconds));
+
+        int registrationCalls = threads * iterations;
+        assertThat(registered.get()).isEqualTo(threads * (iterations - iterations / 4) + threads * (iterations / 4) * BULK_SIZE);
+        assertThat(tournamentService.getPlayersInTournament(tournamentId)).hasSize(registered.get());
+        assertThat(tournamentService.getTournamentVersion(tournamentId)).isEqualTo(registrationCalls + updates.get());
+    }
+}
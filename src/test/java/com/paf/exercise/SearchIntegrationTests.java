@@ -0,0 +1,67 @@
+package com.paf.exercise;
+
+import com.paf.exercise.dto.PlayerRequest;
+import com.paf.exercise.dto.TournamentRequest;
+import com.paf.exercise.entity.Tournament;
+import com.paf.exercise.service.TournamentService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@TestPropertySource("classpath:application-test.properties")
+class SearchIntegrationTests {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Test
+    @DisplayName("Test that the search follows tournament and roster changes")
+    void should_search_current_names() throws Exception {
+        String word = "Quokka" + UUID.randomUUID().toString().substring(0, 8);
+        Tournament tournament = tournamentService.addTournament(new TournamentRequest(word + " Masters", 1000, "EUR",
+                List.of(new PlayerRequest("Marie " + word), new PlayerRequest("Pierre Curie"))));
+        String tournamentId = tournament.getTournamentId();
+
+        mockMvc.perform(get("/api/search").param("q", word.toLowerCase()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits[*].type").value(contains("TOURNAMENT", "PLAYER")))
+                .andExpect(jsonPath("$.hits[0].id").value(tournamentId))
+                .andExpect(jsonPath("$.hits[1].tournamentId").value(tournamentId));
+        mockMvc.perform(get("/api/search").param("q", word).param("type", "PLAYER").param("size", "1"))
+                .andExpect(jsonPath("$.hits[*].name").value(contains("Marie " + word)))
+                .andExpect(jsonPath("$.hasMore").value(false));
+        mockMvc.perform(get("/api/search").param("q", word).param("size", "1").param("page", "1"))
+                .andExpect(jsonPath("$.hits[*].type").value(contains("PLAYER")));
+
+        Tournament renamed = tournamentService.getTournament(tournamentId);
+        renamed.setTournamentName(word + " Finals");
+        tournamentService.updateTournament(tournamentId, renamed);
+        mockMvc.perform(get("/api/search").param("q", word + " fin"))
+                .andExpect(jsonPath("$.hits[*].name").value(contains(word + " Finals")));
+        mockMvc.perform(get("/api/search").param("q", word + " mas"))
+                .andExpect(jsonPath("$.hits").isEmpty());
+
+        tournamentService.removePlayerFromTournament(tournamentId, tournament.getPlayers().get(0).getPlayerId());
+        mockMvc.perform(get("/api/search").param("q", word).param("type", "PLAYER"))
+                .andExpect(jsonPath("$.hits").isEmpty());
+        tournamentService.deleteTournament(tournamentId);
+        mockMvc.perform(get("/api/search").param("q", word))
+                .andExpect(jsonPath("$.hits").isEmpty());
+        mockMvc.perform(get("/api/search").param("q", " - "))
+                .andExpect(status().isBadRequest());
+    }
+}
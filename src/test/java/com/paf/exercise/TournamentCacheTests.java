@@ -0,0 +1,94 @@
+package com.paf.exercise;
+
+import com.paf.exercise.dto.PlayerRequest;
+import com.paf.exercise.dto.TournamentRequest;
+import com.paf.exercise.entity.Player;
+import com.paf.exercise.entity.Tournament;
+import com.paf.exercise.exceptions.PlayerNotFoundException;
+import com.paf.exercise.exceptions.TournamentNotFoundException;
+import com.paf.exercise.service.TournamentService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@TestPropertySource("classpath:application-test.properties")
+class TournamentCacheTests {
+    @Autowired
+    private TournamentService tournamentService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Test that repeated tournament reads are served from the cache")
+    void should_serve_repeated_reads_from_the_cache() throws TournamentNotFoundException {
+        Tournament tournament = createTournament();
+        tournamentService.getTournament(tournament.getTournamentId());
+        tournamentService.getRoster(tournament.getTournamentId()).getPlayers();
+
+        statistics.clear();
+        tournamentService.getTournament(tournament.getTournamentId());
+        tournamentService.getRoster(tournament.getTournamentId()).getPlayers();
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(meterRegistry.get("cache.gets").tag("name", "tournament").tag("result", "hit").functionCounter().count()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Test that roster changes invalidate the cached tournament and players")
+    void should_invalidate_cached_entries_when_the_roster_changes() throws TournamentNotFoundException, PlayerNotFoundException {
+        Tournament tournament = createTournament();
+        assertThat(tournamentService.getTournament(tournament.getTournamentId()).getPlayers()).isEmpty();
+        assertThat(tournamentService.getRoster(tournament.getTournamentId()).getPlayers()).isEmpty();
+
+        Tournament withPlayer = tournamentService.addPlayerIntoTournament(tournament.getTournamentId(), new PlayerRequest("Albert Einstein"));
+        assertThat(tournamentService.getTournament(tournament.getTournamentId()).getPlayers()).extracting(Player::getPlayerName).containsExactly("Albert Einstein");
+        assertThat(tournamentService.getRoster(tournament.getTournamentId()).getPlayers()).hasSize(1);
+
+        tournamentService.removePlayerFromTournament(tournament.getTournamentId(), withPlayer.getPlayers().get(0).getPlayerId());
+        assertThat(tournamentService.getTournament(tournament.getTournamentId()).getPlayers()).isEmpty();
+        assertThat(tournamentService.getRoster(tournament.getTournamentId()).getPlayers()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test that updates and deletes invalidate the cached tournament and listing")
+    void should_invalidate_cached_entries_when_a_tournament_changes() throws TournamentNotFoundException {
+        Tournament tournament = createTournament();
+        tournamentService.getTournament(tournament.getTournamentId());
+        tournamentService.getTournaments();
+
+        Tournament update = new Tournament();
+        update.setRewardAmount(424242);
+        tournamentService.updateTournament(tournament.getTournamentId(), update);
+        assertThat(tournamentService.getTournament(tournament.getTournamentId()).getRewardAmount()).isEqualTo(424242);
+        assertThat(tournamentService.getTournaments()).extracting(Tournament::getRewardAmount).contains(424242);
+
+        tournamentService.deleteTournament(tournament.getTournamentId());
+        assertThat(tournamentService.getTournaments()).extracting(Tournament::getTournamentId).doesNotContain(tournament.getTournamentId());
+    }
+
+    private Tournament createTournament() {
+        return tournamentService.addTournament(new TournamentRequest(UUID.randomUUID().toString(), 1000, "EUR", new ArrayList<>()));
+    }
+}
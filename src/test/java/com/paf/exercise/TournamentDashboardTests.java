@@ -0,0 +1,122 @@
+package com.paf.exercise;
+
+import com.paf.exercise.dto.PlayerRequest;
+import com.paf.exercise.dto.TournamentRequest;
+import com.paf.exercise.entity.Tournament;
+import com.paf.exercise.service.TournamentService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityManagerFactory;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource("classpath:application-test.properties")
+class TournamentDashboardTests {
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TournamentService tournamentService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("Test that the dashboard returns every tournament with its roster from one statement")
+    void should_return_tournaments_with_rosters_from_one_statement() throws Exception {
+        Tournament tournament = createTournament(List.of(new PlayerRequest("Albert Einstein"), new PlayerRequest("Marie Curie")));
+        Tournament empty = createTournament(List.of());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        mockMvc.perform(get("/api/getDashboard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tournaments[?(@.tournamentId == '" + tournament.getTournamentId() + "')].players[*].playerName", contains("Albert Einstein", "Marie Curie")))
+                .andExpect(jsonPath("$.tournaments[?(@.tournamentId == '" + tournament.getTournamentId() + "')].playerCount").value(2))
+                .andExpect(jsonPath("$.tournaments[?(@.tournamentId == '" + empty.getTournamentId() + "')].players[*]").isEmpty())
+                .andExpect(jsonPath("$.tournaments[?(@.tournamentId == '" + empty.getTournamentId() + "')].rewardAmount").value(1000));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test that the dashboard only returns the requested fields")
+    void should_only_return_the_requested_fields() throws Exception {
+        Tournament tournament = createTournament(List.of(new PlayerRequest("Albert Einstein")));
+
+        mockMvc.perform(get("/api/getDashboard").param("fields", "tournamentName,playerCount"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tournaments[?(@.tournamentId == '" + tournament.getTournamentId() + "')].tournamentName").value(tournament.getTournamentName()))
+                .andExpect(jsonPath("$.tournaments[?(@.tournamentId == '" + tournament.getTournamentId() + "')].playerCount").value(1))
+                .andExpect(jsonPath("$.tournaments[0].players").doesNotExist())
+                .andExpect(jsonPath("$.tournaments[0].rewardAmount").doesNotExist())
+                .andExpect(jsonPath("$.tournaments[*].tournamentId", hasItem(tournament.getTournamentId())));
+
+        mockMvc.perform(get("/api/getDashboard").param("fields", "secret"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Test that the dashboard reflects changes made after it was cached")
+    void should_reflect_changes_after_it_was_cached() throws Exception {
+        Tournament tournament = createTournament(List.of());
+        mockMvc.perform(get("/api/getDashboard").param("fields", "players"))
+                .andExpect(jsonPath("$.tournaments[*].players[*].playerName", not(hasItem("Niels Bohr"))));
+
+        tournamentService.addPlayerIntoTournament(tournament.getTournamentId(), new PlayerRequest("Niels Bohr"));
+
+        mockMvc.perform(get("/api/getDashboard").param("fields", "players"))
+                .andExpect(jsonPath("$.tournaments[?(@.tournamentId == '" + tournament.getTournamentId() + "')].players[*].playerName").value("Niels Bohr"));
+    }
+
+    @Test
+    @DisplayName("Test that the dashboard is gzip compressed when the client accepts it")
+    void should_compress_the_dashboard() throws Exception {
+        List<PlayerRequest> players = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            players.add(new PlayerRequest("Player " + i));
+        }
+        createTournament(players);
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/getDashboard"))
+                .header("Accept-Encoding", "gzip")
+                .build();
+        HttpResponse<InputStream> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofInputStream());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        try (InputStream body = new GZIPInputStream(response.body())) {
+            assertThat(new String(body.readAllBytes(), StandardCharsets.UTF_8)).contains("\"playerName\":\"Player 99\"");
+        }
+    }
+
+    private Tournament createTournament(List<PlayerRequest> players) {
+        return tournamentService.addTournament(new TournamentRequest(UUID.randomUUID().toString(), 1000, "EUR", new ArrayList<>(players)));
+    }
+}
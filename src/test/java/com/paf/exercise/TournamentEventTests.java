@@ -0,0 +1,164 @@
+package com.paf.exercise;
+
+import com.paf.exercise.dto.BulkRegistrationRequest;
+import com.paf.exercise.dto.PlayerRequest;
+import com.paf.exercise.dto.TournamentRequest;
+import com.paf.exercise.entity.Player;
+import com.paf.exercise.entity.Tournament;
+import com.paf.exercise.event.TournamentEvent;
+import com.paf.exercise.event.TournamentEventBroadcaster;
+import com.paf.exercise.event.TournamentEventType;
+import com.paf.exercise.service.TournamentService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "tournament.events.heartbeat=1s")
+@TestPropertySource("classpath:application-test.properties")
+class TournamentEventTests {
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private TournamentService tournamentService;
+    @Autowired
+    private TournamentEventBroadcaster tournamentEventBroadcaster;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Test that every mutation of a tournament reaches its subscribers in order")
+    void should_publish_every_mutation_of_a_tournament() throws Exception {
+        Tournament tournament = createTournament();
+        String tournamentId = tournament.getTournamentId();
+        CompletableFuture<List<TournamentEvent>> received = collect(tournamentId, 5);
+        CompletableFuture<List<String>> ids = tournamentEventBroadcaster.subscribe(tournamentId)
+                .filter(event -> event.data() != null)
+                .map(ServerSentEvent::id)
+                .take(5)
+                .collectList()
+                .toFuture();
+        //Changes to other tournaments must not reach a subscriber of this one
+        createTournament();
+
+        Tournament update = new Tournament();
+        update.setRewardAmount(5000);
+        tournamentService.updateTournament(tournamentId, update);
+        Tournament withPlayer = tournamentService.addPlayerIntoTournament(tournamentId, new PlayerRequest("Albert Einstein"));
+        tournamentService.registerPlayers(List.of(new BulkRegistrationRequest(tournamentId, List.of(new PlayerRequest("Marie Curie"), new PlayerRequest("Niels Bohr")))));
+        tournamentService.removePlayerFromTournament(tournamentId, withPlayer.getPlayers().get(0).getPlayerId());
+        tournamentService.deleteTournament(tournamentId);
+
+        List<TournamentEvent> events = received.get(10, TimeUnit.SECONDS);
+        assertThat(events).extracting(TournamentEvent::getType).containsExactly(TournamentEventType.TOURNAMENT_UPDATED,
+                TournamentEventType.PLAYERS_JOINED, TournamentEventType.PLAYERS_JOINED, TournamentEventType.PLAYER_LEFT, TournamentEventType.TOURNAMENT_DELETED);
+        assertThat(events.get(0).getTournament().getRewardAmount()).isEqualTo(5000);
+        assertThat(events.get(1).getPlayers()).extracting(Player::getPlayerName).containsExactly("Albert Einstein");
+        assertThat(events.get(2).getPlayers()).extracting(Player::getPlayerName).containsExactly("Marie Curie", "Niels Bohr");
+        assertThat(events.get(3).getPlayers()).extracting(Player::getPlayerId).containsExactly(withPlayer.getPlayers().get(0).getPlayerId());
+        //Numbered within the tournament, the other tournament's events leave no gaps; creation came before subscribing
+        assertThat(ids.get(10, TimeUnit.SECONDS)).containsExactly("2", "3", "4", "5", "6");
+    }
+
+    @Test
+    @DisplayName("Test that a rolled back mutation publishes nothing")
+    void should_not_publish_rolled_back_mutations() throws Exception {
+        CompletableFuture<List<TournamentEvent>> received = collect(null, 1);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            createTournament();
+            status.setRollbackOnly();
+        });
+        Tournament committed = createTournament();
+
+        assertThat(received.get(10, TimeUnit.SECONDS)).extracting(TournamentEvent::getTournamentId).containsExactly(committed.getTournamentId());
+    }
+
+    @Test
+    @DisplayName("Test that thousands of subscribers are served without a thread each")
+    void should_fan_out_to_thousands_of_subscribers_without_a_thread_each() throws Exception {
+        int subscribers = 5_000;
+        int threadsBefore = Thread.activeCount();
+        List<CompletableFuture<List<TournamentEvent>>> received = new ArrayList<>(subscribers);
+        for (int i = 0; i < subscribers; i++) {
+            received.add(collect(null, 1));
+        }
+
+        Tournament tournament = createTournament();
+
+        for (CompletableFuture<List<TournamentEvent>> events : received) {
+            assertThat(events.get(10, TimeUnit.SECONDS)).extracting(TournamentEvent::getTournamentId).containsExactly(tournament.getTournamentId());
+        }
+        //Pools may grow a little meanwhile, a thread per subscriber would add thousands
+        assertThat(Thread.activeCount() - threadsBefore).isLessThan(subscribers / 10);
+    }
+
+    @Test
+    @DisplayName("Test that the events endpoint streams server-sent events over HTTP")
+    void should_stream_server_sent_events_over_http() throws Exception {
+        Tournament tournament = createTournament();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/events?tournamentId=" + tournament.getTournamentId()))
+                .header("Accept", "text/event-stream")
+                .build();
+        HttpResponse<InputStream> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofInputStream());
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Type")).hasValueSatisfying(type -> assertThat(type).startsWith("text/event-stream"));
+
+        //Wait for the first heartbeat so the subscription is in place before the change is made
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null && !line.startsWith(":heartbeat")) {
+                lines.add(line);
+            }
+            tournamentService.addPlayerIntoTournament(tournament.getTournamentId(), new PlayerRequest("Albert Einstein"));
+            while ((line = reader.readLine()) != null && !line.startsWith("data:")) {
+                lines.add(line);
+            }
+            lines.add(line);
+        }
+
+        assertThat(lines).contains("event:PLAYERS_JOINED");
+        assertThat(lines).anyMatch(line -> line.startsWith("id:"));
+        assertThat(lines.get(lines.size() - 1)).contains("\"playerName\":\"Albert Einstein\"");
+    }
+
+    //Subscribes right away and completes once the given number of events, heartbeats aside, has arrived
+    private CompletableFuture<List<TournamentEvent>> collect(String tournamentId, int count) {
+        return tournamentEventBroadcaster.subscribe(tournamentId)
+                .filter(event -> event.data() != null)
+                .map(ServerSentEvent::data)
+                .take(count)
+                .collectList()
+                .timeout(Duration.ofSeconds(30), Flux.<TournamentEvent>empty().collectList())
+                .toFuture();
+    }
+
+    private Tournament createTournament() {
+        return tournamentService.addTournament(new TournamentRequest(UUID.randomUUID().toString(), 1000, "EUR", new ArrayList<>()));
+    }
+}
@@ -0,0 +1,55 @@
+package com.paf.exercise;
+
+import com.google.gson.Gson;
+import com.paf.exercise.dto.PlayerRequest;
+import com.paf.exercise.dto.TournamentRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMetrics
+@AutoConfigureMockMvc
+@SpringBootTest
+@TestPropertySource("classpath:application-test.properties")
+class TournamentMetricsTests {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Test that service timers, statement counts and gauges are exposed for scraping")
+    void should_expose_service_and_request_metrics_for_scraping() throws Exception {
+        TournamentRequest tournamentRequest = new TournamentRequest(UUID.randomUUID().toString(), 1000, "EUR",
+                List.of(new PlayerRequest("Albert Einstein"), new PlayerRequest("Marie Curie")));
+        mockMvc.perform(post("/api/addTournament").contentType(MediaType.APPLICATION_JSON).content(new Gson().toJson(tournamentRequest)))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/api/getTournament").param("tournamentId", "unknown"))
+                .andExpect(status().is4xxClientError());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+                .contains("tournament_service_seconds_bucket{class=\"com.paf.exercise.service.TournamentServiceImpl\",exception=\"none\",method=\"addTournament\"")
+                .contains("tournament_service_seconds_count{class=\"com.paf.exercise.service.TournamentServiceImpl\",exception=\"TournamentNotFoundException\",method=\"getTournamentVersion\",} 1.0")
+                .contains("http_server_requests_seconds_bucket{exception=\"None\",method=\"POST\",outcome=\"SUCCESS\",status=\"201\",uri=\"/api/addTournament\"")
+                .contains("http_server_requests_statements_count{method=\"POST\",status=\"201\",uri=\"/api/addTournament\",} 1.0")
+                .contains("tournament_count ")
+                .contains("tournament_players_count ")
+                .containsPattern("tournament_roster_largest [1-9]");
+    }
+}
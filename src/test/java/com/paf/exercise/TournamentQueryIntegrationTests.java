@@ -0,0 +1,135 @@
+package com.paf.exercise;
+
+import com.paf.exercise.dto.BulkRegistrationRequest;
+import com.paf.exercise.dto.PlayerRequest;
+import com.paf.exercise.dto.TournamentQuery;
+import com.paf.exercise.dto.TournamentRequest;
+import com.paf.exercise.entity.Tournament;
+import com.paf.exercise.repository.TournamentQueryRepository;
+import com.paf.exercise.response.TournamentPage;
+import com.paf.exercise.service.TournamentService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@TestPropertySource("classpath:application-test.properties")
+class TournamentQueryIntegrationTests {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TournamentService tournamentService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Test that filtered queries page through tournaments sorted by reward")
+    void should_page_filtered_tournaments_by_reward() throws Exception {
+        //A currency of its own keeps tournaments created by other tests out of the results
+        String currency = "Q" + UUID.randomUUID().toString().substring(0, 6);
+        List<String> names = new ArrayList<>();
+        for (int reward : new int[]{500, 2000, 1000, 3000, 1000, 100}) {
+            String name = currency + " Cup " + names.size();
+            tournamentService.addTournament(new TournamentRequest(name, reward, currency, null));
+            names.add(name);
+        }
+
+        TournamentQuery query = new TournamentQuery();
+        query.setCurrency(currency);
+        query.setMinReward(1000);
+        query.setSort(TournamentQuery.SortBy.REWARD);
+        query.setDirection(Sort.Direction.DESC);
+        query.setSize(2);
+        List<String> found = new ArrayList<>();
+        TournamentPage page;
+        do {
+            page = tournamentService.findTournaments(query);
+            page.getTournaments().forEach(tournament -> found.add(tournament.getTournamentName()));
+            query.setCursor(page.getNextCursor());
+        } while (page.isHasMore());
+        //Equal rewards come in descending id order, the later tournament first
+        assertThat(found).containsExactly(names.get(3), names.get(1), names.get(4), names.get(2));
+
+        mockMvc.perform(get("/api/findTournaments").param("currency", currency).param("maxReward", "999")
+                        .param("sort", "REWARD"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tournaments[*].tournamentName").value(contains(names.get(5), names.get(0))))
+                .andExpect(jsonPath("$.hasMore").value(false));
+        mockMvc.perform(get("/api/findTournaments").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/findTournaments").param("minPlayers", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Test that the player count follows every roster change and can be queried")
+    void should_keep_the_player_count_in_sync() throws Exception {
+        String currency = "Q" + UUID.randomUUID().toString().substring(0, 6);
+        Tournament small = tournamentService.addTournament(new TournamentRequest(currency + " Small", 100, currency, List.of(new PlayerRequest("Ann"))));
+        Tournament large = tournamentService.addTournament(new TournamentRequest(currency + " Large", 100, currency,
+                List.of(new PlayerRequest("Bob"), new PlayerRequest("Cid"), new PlayerRequest("Dan"))));
+        assertThat(small.getPlayerCount()).isEqualTo(1);
+        assertThat(large.getPlayerCount()).isEqualTo(3);
+
+        tournamentService.addPlayerIntoTournament(small.getTournamentId(), new PlayerRequest("Eve"));
+        tournamentService.registerPlayers(List.of(new BulkRegistrationRequest(small.getTournamentId(), List.of(new PlayerRequest("Fay")))));
+        tournamentService.removePlayerFromTournament(large.getTournamentId(), large.getPlayers().get(0).getPlayerId());
+        tournamentService.removePlayerFromTournament(large.getTournamentId(), large.getPlayers().get(1).getPlayerId());
+        assertThat(tournamentService.getTournament(small.getTournamentId()).getPlayerCount()).isEqualTo(3);
+        assertThat(tournamentService.getTournament(large.getTournamentId()).getPlayerCount()).isEqualTo(1);
+
+        TournamentQuery fewerThanThree = new TournamentQuery();
+        fewerThanThree.setCurrency(currency);
+        fewerThanThree.setMaxPlayers(2);
+        fewerThanThree.setSort(TournamentQuery.SortBy.PLAYERS);
+        assertThat(tournamentService.findTournaments(fewerThanThree).getTournaments().stream()
+                .map(Tournament::getTournamentName).collect(Collectors.toList())).containsExactly(currency + " Large");
+
+        TournamentQuery createdLately = new TournamentQuery();
+        createdLately.setCurrency(currency);
+        createdLately.setCreatedFrom(large.getCreatedAt());
+        assertThat(tournamentService.findTournaments(createdLately).getTournaments().stream()
+                .map(Tournament::getTournamentName).collect(Collectors.toList())).containsExactly(currency + " Large");
+    }
+
+    @Test
+    @DisplayName("Test that tournament queries are served by the composite indexes")
+    void should_use_the_composite_indexes() {
+        TournamentQuery byCurrency = new TournamentQuery();
+        byCurrency.setCurrency("EUR");
+        byCurrency.setMinReward(1000);
+        byCurrency.setSort(TournamentQuery.SortBy.REWARD);
+        TournamentQuery byPlayers = new TournamentQuery();
+        byPlayers.setMaxPlayers(10);
+        byPlayers.setSort(TournamentQuery.SortBy.PLAYERS);
+        byPlayers.setDirection(Sort.Direction.DESC);
+
+        assertThat(explain(TournamentQueryRepository.toSql(byCurrency, true))).contains("IX_TOURNAMENT_CURRENCY_REWARD");
+        assertThat(explain(TournamentQueryRepository.toSql(byPlayers, true))).contains("IX_TOURNAMENT_PLAYER_COUNT");
+        assertThat(explain(TournamentQueryRepository.toSql(new TournamentQuery(), false))).contains("IX_TOURNAMENT_CREATED_AT");
+    }
+
+    //Parameters are replaced by literals, H2 only explains complete statements
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql
+                .replace(":currency", "'EUR'")
+                .replaceAll(":afterValue|:minReward|:maxPlayers|:afterId|:limit", "10"), String.class);
+    }
+}
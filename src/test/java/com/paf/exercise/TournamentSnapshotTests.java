@@ -0,0 +1,97 @@
+package com.paf.exercise;
+
+import com.paf.exercise.entity.Player;
+import com.paf.exercise.entity.Tournament;
+import com.paf.exercise.event.TournamentEvent;
+import com.paf.exercise.journal.JournalEntry;
+import com.paf.exercise.recovery.SnapshotStore;
+import com.paf.exercise.recovery.TournamentSnapshot;
+import com.paf.exercise.recovery.TournamentSnapshot.SnapshotTournament;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TournamentSnapshotTests {
+    private static final String TOURNAMENT_ID = UUID.randomUUID().toString();
+    private static final String PLAYER_ID = UUID.randomUUID().toString();
+
+    @TempDir
+    Path directory;
+
+    private long sequence;
+
+    @Test
+    @DisplayName("Test that applying journal entries tracks tournaments, rosters and versions")
+    void should_apply_journal_entries() {
+        TournamentSnapshot snapshot = new TournamentSnapshot();
+        apply(snapshot, TournamentEvent.created(tournament(TOURNAMENT_ID, "Chess Open", 1)));
+        apply(snapshot, TournamentEvent.playersJoined(TOURNAMENT_ID, List.of(new Player(0, PLAYER_ID, "Magnus Carlsen"))));
+        apply(snapshot, TournamentEvent.updated(tournament(TOURNAMENT_ID, "Chess Masters", 3)));
+        apply(snapshot, TournamentEvent.playerLeft(TOURNAMENT_ID, PLAYER_ID));
+        String deletedId = UUID.randomUUID().toString();
+        apply(snapshot, TournamentEvent.created(tournament(deletedId, "Go Open", 1)));
+        apply(snapshot, TournamentEvent.deleted(deletedId));
+        //Changes to a tournament the snapshot does not know are ignored, not failed on
+        apply(snapshot, TournamentEvent.playerLeft(deletedId, PLAYER_ID));
+
+        assertThat(snapshot.getSequence()).isEqualTo(7);
+        assertThat(snapshot.getTournaments()).singleElement().satisfies(tournament -> {
+            assertThat(tournament.getTournamentName()).isEqualTo("Chess Masters");
+            assertThat(tournament.getVersion()).isEqualTo(4);
+            assertThat(tournament.getPlayers()).isEmpty();
+        });
+    }
+
+    @Test
+    @DisplayName("Test that a stored snapshot reads back unchanged and a damaged one falls back to the previous")
+    void should_store_snapshots_and_skip_damaged_ones() throws Exception {
+        SnapshotStore store = new SnapshotStore(directory, 2);
+        TournamentSnapshot snapshot = new TournamentSnapshot();
+        apply(snapshot, TournamentEvent.created(tournament(TOURNAMENT_ID, "Chess Open", 1)));
+        apply(snapshot, TournamentEvent.playersJoined(TOURNAMENT_ID, List.of(new Player(0, PLAYER_ID, "Magnus Carlsen"), new Player(0, "legacy-id", null))));
+        store.write(snapshot);
+        apply(snapshot, TournamentEvent.created(tournament(UUID.randomUUID().toString(), "Go Open", 1)));
+        store.write(snapshot);
+
+        TournamentSnapshot latest = store.latest().orElseThrow();
+        assertThat(latest.getSequence()).isEqualTo(3);
+        assertThat(latest.getTournaments()).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(snapshot.getTournaments());
+        SnapshotTournament restored = latest.getTournaments().iterator().next();
+        assertThat(restored.getPlayers()).containsEntry(PLAYER_ID, "Magnus Carlsen").containsEntry("legacy-id", null);
+
+        try (RandomAccessFile file = new RandomAccessFile(snapshots().get(1).toFile(), "rw")) {
+            file.seek(20);
+            file.write(0x7F);
+        }
+        assertThat(store.latest().orElseThrow().getSequence()).isEqualTo(2);
+
+        apply(snapshot, TournamentEvent.deleted(TOURNAMENT_ID));
+        store.write(snapshot);
+        assertThat(snapshots()).hasSize(2);
+    }
+
+    private void apply(TournamentSnapshot snapshot, TournamentEvent event) {
+        snapshot.apply(new JournalEntry(++sequence, Instant.now(), event));
+    }
+
+    private static Tournament tournament(String tournamentId, String tournamentName, long version) {
+        return new Tournament(0, tournamentId, tournamentName, 1000, "EUR", List.of(), version);
+    }
+
+    private List<Path> snapshots() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+}